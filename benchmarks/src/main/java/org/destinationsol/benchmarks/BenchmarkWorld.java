@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Timer;
+import org.destinationsol.Const;
+import org.destinationsol.SolApplication;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.Faction;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.WorldConfig;
+import org.destinationsol.game.asteroid.Asteroid;
+import org.destinationsol.game.asteroid.FarAsteroid;
+import org.destinationsol.game.input.AiPilot;
+import org.destinationsol.game.input.StillGuard;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.modules.ModuleManager;
+import org.destinationsol.testingUtilities.FixedSizeGraphics;
+import org.destinationsol.testingUtilities.MockGL;
+
+import java.util.Random;
+
+/**
+ * Builds the deterministic worlds the benchmarks run against.
+ * <p>
+ * A world is created from a seed and then filled with a target number of objects, all placed and configured by a
+ * random generator seeded with the same seed, so that a benchmark measures the same world on every commit. No other
+ * objects are generated ({@link DebugOptions#NO_OBJS}), and the hero starts in open space next to the first sun.
+ * <p>
+ * The game is owned by the benchmark thread. The headless application is only started to provide the Gdx globals and
+ * never renders or updates anything itself. The display is {@value #DISPLAY_WIDTH}x{@value #DISPLAY_HEIGHT}, and the
+ * game is never saved, so neither the measurements nor the developer's save files are touched by the autosave.
+ */
+public final class BenchmarkWorld {
+    /**
+     * The ship the hero and all the populated ships are built from.
+     */
+    public static final String SHIP = "Imperial Small";
+    /**
+     * Objects per square unit when populating. Chosen so that asteroids rarely spawn overlapping.
+     */
+    private static final float DENSITY = .25f;
+    /**
+     * Radius around the hero that is kept free when populating.
+     */
+    private static final float HERO_CLEARANCE = 3f;
+    private static final float MIN_ASTEROID_SIZE = .5f;
+    private static final float MAX_ASTEROID_SIZE = 1.2f;
+    private static final float MAX_SPEED = .3f;
+    private static final int DISPLAY_WIDTH = 1920;
+    private static final int DISPLAY_HEIGHT = 1080;
+
+    private static SolApplication solApplication;
+
+    private BenchmarkWorld() { } // empty private constructor for utility class
+
+    /**
+     * Starts a new game in a world generated from the seed. Any previously created game is abandoned.
+     */
+    public static synchronized SolGame create(long seed) {
+        init();
+        DebugOptions.NO_OBJS = true;
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = 0;
+        solApplication.play(SHIP, new WorldConfig(seed, 1));
+        // Drops the autosave task the game has just scheduled
+        Timer.instance().clear();
+        SolGame game = solApplication.getGame();
+        // Lets the camera catch up with the hero and the pending objects get added
+        game.update();
+        return game;
+    }
+
+    public static SolApplication getSolApplication() {
+        return solApplication;
+    }
+
+    /**
+     * Adds asteroids and ships around the hero, so that there are {@code objectCount} more near objects.
+     * <p>
+     * The camera view distance is overridden to cover the populated area, as otherwise most of the objects would be
+     * turned into far objects on the first update.
+     *
+     * @param shipShare Fraction of the objects that are ships, the rest are asteroids. Ships alternate between the
+     *                  factions, so they will fight each other.
+     * @return The radius of the populated area
+     */
+    public static float populate(SolGame game, long seed, int objectCount, float shipShare) {
+        Random random = new Random(seed);
+        Vector2 center = new Vector2(game.getHero().getPosition());
+        float radius = areaRadius(objectCount);
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = Math.max(DebugOptions.VIEW_DISTANCE_OVERRIDE, radius + HERO_CLEARANCE);
+
+        ObjectManager objectManager = game.getObjectManager();
+        ShipConfig shipConfig = ShipConfig.load(game.getHullConfigManager(), SHIP, game.getItemMan());
+        int shipCount = Math.round(objectCount * shipShare);
+        for (int i = 0; i < objectCount; i++) {
+            Vector2 position = randomPosition(random, center, HERO_CLEARANCE, radius);
+            Vector2 velocity = new Vector2();
+            SolMath.fromAl(velocity, random.nextFloat() * 360, random.nextFloat() * MAX_SPEED);
+            if (i < shipCount) {
+                Faction faction = i % 2 == 0 ? Faction.EHAR : Faction.LAANI;
+                AiPilot pilot = new AiPilot(new StillGuard(position, game, shipConfig), false, faction, true, null, Const.AI_DET_DIST);
+                SolShip ship = game.getShipBuilder().buildNewFar(game, position, velocity, random.nextFloat() * 360, 0, pilot,
+                        shipConfig.items, shipConfig.hull, null, false, shipConfig.money, null, true).toObject(game);
+                objectManager.addObjNow(game, ship);
+            } else {
+                float size = MIN_ASTEROID_SIZE + random.nextFloat() * (MAX_ASTEROID_SIZE - MIN_ASTEROID_SIZE);
+                Asteroid asteroid = game.getAsteroidBuilder().buildNew(game, position, velocity, size, null);
+                objectManager.addObjNow(game, asteroid);
+            }
+        }
+        return radius;
+    }
+
+    /**
+     * Adds far asteroids in a ring well outside of the view distance, so that none of them wakes up.
+     */
+    public static void populateFar(SolGame game, long seed, int farObjectCount) {
+        Random random = new Random(seed);
+        Vector2 center = new Vector2(game.getHero().getPosition());
+        float innerRadius = 10 * game.getCam().getViewDistance();
+        float outerRadius = (float) Math.sqrt(innerRadius * innerRadius + farObjectCount / DENSITY / Math.PI);
+        ObjectManager objectManager = game.getObjectManager();
+        for (int i = 0; i < farObjectCount; i++) {
+            Vector2 position = randomPosition(random, center, innerRadius, outerRadius);
+            float size = MIN_ASTEROID_SIZE + random.nextFloat() * (MAX_ASTEROID_SIZE - MIN_ASTEROID_SIZE);
+            FarAsteroid asteroid = game.getAsteroidBuilder().buildNewFar(position, new Vector2(), size, null);
+            objectManager.addFarObjNow(asteroid);
+        }
+    }
+
+    /**
+     * @return The radius of a circle holding {@code objectCount} objects at the populating density
+     */
+    public static float areaRadius(int objectCount) {
+        return (float) Math.sqrt(objectCount / DENSITY / Math.PI);
+    }
+
+    private static Vector2 randomPosition(Random random, Vector2 center, float minRadius, float maxRadius) {
+        // Uniform over the area of the ring rather than over its radius
+        float min2 = minRadius * minRadius;
+        float distance = (float) Math.sqrt(min2 + random.nextFloat() * (maxRadius * maxRadius - min2));
+        Vector2 position = new Vector2();
+        SolMath.fromAl(position, random.nextFloat() * 360, distance);
+        return position.add(center);
+    }
+
+    /**
+     * Starts the application and loads the modules and assets, if not done yet.
+     */
+    public static synchronized void init() {
+        if (solApplication != null) {
+            return;
+        }
+        DebugOptions.DEV_ROOT_PATH = "engine/src/main/resources/";
+        ModuleManager moduleManager;
+        try {
+            moduleManager = new ModuleManager();
+            moduleManager.init();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load the modules", e);
+        }
+        GL20 mockGL = new MockGL();
+        Gdx.gl = mockGL;
+        Gdx.gl20 = mockGL;
+        new HeadlessApplication(new ApplicationAdapter() { }, new HeadlessApplicationConfiguration());
+        // The headless backend reports a display of 0x0 pixels, which would make the view and far distances NaN
+        FixedSizeGraphics.install(DISPLAY_WIDTH, DISPLAY_HEIGHT);
+
+        solApplication = new SolApplication(moduleManager, 60);
+        solApplication.create();
+        // The autosave task of a game would run on the timer's own thread, while the benchmark is measuring
+        Timer.instance().stop();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.RemoveController;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.chunk.ChunkFiller;
+import org.destinationsol.game.planet.SolSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChunkFiller#fill(SolGame, Vector2, RemoveController, boolean)} for the chunks of the first star system,
+ * visited in a fixed order so that each invocation fills a chunk in a different part of the system.
+ * <p>
+ * The filled far objects are never removed, so the world is rebuilt for every iteration to drop them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChunkFillerBenchmark {
+    private static final RemoveController NEVER_REMOVE = position -> false;
+
+    @Param({"false", "true"})
+    public boolean farBackground;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ChunkFiller chunkFiller;
+    private final List<Vector2> chunks = new ArrayList<>();
+    private int nextChunk;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        DebugOptions.NO_OBJS = false;
+        chunkFiller = new ChunkFiller();
+        chunks.clear();
+        nextChunk = 0;
+        SolSystem system = game.getPlanetManager().getSystems().get(0);
+        int minX = (int) Math.floor((system.getPosition().x - system.getRadius()) / Const.CHUNK_SIZE);
+        int maxX = (int) Math.floor((system.getPosition().x + system.getRadius()) / Const.CHUNK_SIZE);
+        int minY = (int) Math.floor((system.getPosition().y - system.getRadius()) / Const.CHUNK_SIZE);
+        int maxY = (int) Math.floor((system.getPosition().y + system.getRadius()) / Const.CHUNK_SIZE);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                chunks.add(new Vector2(x, y));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fill() {
+        chunkFiller.fill(game, chunks.get(nextChunk), NEVER_REMOVE, farBackground);
+        nextChunk = (nextChunk + 1) % chunks.size();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.World;
+import org.destinationsol.game.CollisionMeshLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CollisionMeshLoader#attachFixture(Body, String, FixtureDef, float)} with an asteroid mesh, as done for
+ * every asteroid that is built. The body has to be created and destroyed around it, which {@link #createBody()} measures
+ * on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CollisionMeshBenchmark {
+    private static final float SCALE = .8f;
+
+    private World world;
+    private CollisionMeshLoader loader;
+    private String meshName;
+    private final BodyDef bodyDef = new BodyDef();
+    private final FixtureDef fixtureDef = new FixtureDef();
+
+    @Setup
+    public void setUp() {
+        BenchmarkWorld.init();
+        world = new World(new Vector2(), true);
+        loader = new CollisionMeshLoader("engine:asteroids");
+        meshName = new TreeSet<>(loader.getInternalModel().rigidBodies.keySet()).first();
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        fixtureDef.density = 1;
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public boolean attachFixture() {
+        Body body = world.createBody(bodyDef);
+        boolean attached = loader.attachFixture(body, meshName, fixtureDef, SCALE);
+        world.destroyBody(body);
+        return attached;
+    }
+
+    @Benchmark
+    public Body createBody() {
+        Body body = world.createBody(bodyDef);
+        world.destroyBody(body);
+        return body;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.drawables.DrawableManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the culling of {@link DrawableManager#prepare(SolGame)} over a sweep of zoom levels. The zoom is given as
+ * the view distance relative to the radius of the populated area, so at 1 every object is in view.
+ * <p>
+ * Run with {@code gradlew :benchmarks:jmh -Pjmh=CullingBenchmark}. To compare culling strategies, run it on each of
+ * them on the same machine and compare the scores per view share.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CullingBenchmark {
+    @Param("10000")
+    public int objectCount;
+
+    @Param({"0.05", "0.1", "0.25", "0.5", "1"})
+    public float viewShare;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private DrawableManager drawableManager;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        float radius = BenchmarkWorld.populate(game, seed, objectCount, 0);
+        // Updates the drawables of the populated objects once, while they are all near
+        game.update();
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = viewShare * radius;
+        drawableManager = game.getDrawableManager();
+    }
+
+    @Benchmark
+    public void prepare() {
+        drawableManager.prepare(game);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.SolGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the decision phase of {@link ObjectManager#update(SolGame, float)} scales with the number of cores
+ * making the decisions. A {@code threads} value of 0 sets no decision pool, so that the decisions are made serially on
+ * the benchmark thread, as the game does by default.
+ * <p>
+ * Half of the objects are ships, as ships make the most expensive decisions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DecisionScalingBenchmark {
+    private static final float SHIP_SHARE = .5f;
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param("2000")
+    public int objectCount;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ObjectManager objectManager;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populate(game, seed, objectCount, SHIP_SHARE);
+        objectManager = game.getObjectManager();
+        pool = threads == 0 ? null : new ForkJoinPool(threads);
+        objectManager.setDecisionPool(pool);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        objectManager.setDecisionPool(null);
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void objectManagerUpdate() {
+        objectManager.update(game, game.getTimeStep());
+        SolMath.checkVectorsTaken(null);
+    }
+}
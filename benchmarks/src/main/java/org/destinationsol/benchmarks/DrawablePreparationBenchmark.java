@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.drawables.DrawableManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DrawableManager#prepare(SolGame)}, which positions the drawables in view and collects the visible
+ * ones for drawing. The world is populated with asteroids only, as every asteroid has exactly one drawable, so the
+ * object count is the drawable count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DrawablePreparationBenchmark {
+    @Param({"1000", "10000"})
+    public int drawableCount;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private DrawableManager drawableManager;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populate(game, seed, drawableCount, 0);
+        // Updates the drawables of the populated objects once
+        game.update();
+        drawableManager = game.getDrawableManager();
+    }
+
+    @Benchmark
+    public void prepare() {
+        drawableManager.prepare(game);
+    }
+}
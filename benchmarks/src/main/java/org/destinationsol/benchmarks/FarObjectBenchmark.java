@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.SolGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ObjectManager#update(SolGame, float)} with many far objects that stay far, as after a long session
+ * of visiting chunks and planets. Only the hero is near, so the result is the per tick cost of keeping the far objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FarObjectBenchmark {
+    @Param({"10000", "100000"})
+    public int farObjectCount;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ObjectManager objectManager;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populateFar(game, seed, farObjectCount);
+        objectManager = game.getObjectManager();
+    }
+
+    @Benchmark
+    public void objectManagerUpdate() {
+        objectManager.update(game, game.getTimeStep());
+        SolMath.checkVectorsTaken(null);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.item.ItemConfig;
+import org.destinationsol.game.item.ItemManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ItemManager#parseItems(String)} on the item list of the benchmark ship, which is parsed again every
+ * time such a ship is built.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemParsingBenchmark {
+    @Param("1")
+    public long seed;
+
+    private ItemManager itemManager;
+    private String items;
+
+    @Setup
+    public void setUp() {
+        SolGame game = BenchmarkWorld.create(seed);
+        itemManager = game.getItemMan();
+        items = ShipConfig.load(game.getHullConfigManager(), BenchmarkWorld.SHIP, itemManager).items;
+    }
+
+    @Benchmark
+    public List<ItemConfig> parseItems() {
+        return itemManager.parseItems(items);
+    }
+}
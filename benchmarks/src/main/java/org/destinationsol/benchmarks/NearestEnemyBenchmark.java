@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.game.FactionManager;
+import org.destinationsol.game.ShipRegistry;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolObject;
+import org.destinationsol.game.ship.SolShip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick worth of {@link FactionManager#getNearestEnemy(SolGame, SolShip)} lookups: every ship looks for its
+ * nearest enemy once. Only ships are populated, half of each faction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NearestEnemyBenchmark {
+    @Param({"100", "500", "2000"})
+    public int shipCount;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private FactionManager factionManager;
+    private ShipRegistry shipRegistry;
+    private final List<SolShip> ships = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populate(game, seed, shipCount, 1);
+        factionManager = game.getFactionMan();
+        shipRegistry = game.getObjectManager().getShipRegistry();
+        for (SolObject object : game.getObjectManager().getObjects()) {
+            if (object instanceof SolShip) {
+                ships.add((SolShip) object);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getNearestEnemyForAllShips(Blackhole blackhole) {
+        // Lookups share their work within a tick, so every invocation is a tick of its own
+        shipRegistry.nextTick();
+        for (SolShip ship : ships) {
+            blackhole.consume(factionManager.getNearestEnemy(game, ship));
+        }
+    }
+}
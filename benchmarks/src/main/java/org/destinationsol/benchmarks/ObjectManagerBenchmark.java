@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.SolGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of {@link ObjectManager#update(SolGame, float)} and of the whole game with a growing number of near
+ * objects, a tenth of them ships fighting each other.
+ * <p>
+ * Ships get destroyed and asteroids break up while the benchmark runs, so the world is rebuilt for every iteration to
+ * keep the iterations comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ObjectManagerBenchmark {
+    private static final float SHIP_SHARE = .1f;
+
+    @Param({"200", "1000", "5000"})
+    public int objectCount;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ObjectManager objectManager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populate(game, seed, objectCount, SHIP_SHARE);
+        objectManager = game.getObjectManager();
+    }
+
+    @Benchmark
+    public void objectManagerUpdate() {
+        objectManager.update(game, game.getTimeStep());
+        SolMath.checkVectorsTaken(null);
+    }
+
+    @Benchmark
+    public void gameUpdate() {
+        game.update();
+        SolMath.checkVectorsTaken(null);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.destinationsol.game.particle.DSParticleEmitter;
+import org.destinationsol.game.particle.PartMan;
+import org.destinationsol.game.projectile.ProjectileConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures game ticks with a steady stream of projectile impacts, with and without reusing the particle emitters of
+ * finished effects ({@link DebugOptions#EMITTER_POOL}).
+ * <p>
+ * Every impact builds the collision effects of a blaster shot the way a hitting projectile does, around the hero. The
+ * allocation rate is best compared with the GC profiler: {@code -Pjmh="ParticlePoolBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParticlePoolBenchmark {
+    private static final String PROJECTILE = "blast";
+    private static final float IMPACT_RADIUS = 5;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    @Param("1000")
+    public int impactsPerSecond;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ProjectileConfig config;
+    private Random random;
+    private float impactAwait;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        DebugOptions.EMITTER_POOL = pooled;
+        game = BenchmarkWorld.create(seed);
+        config = game.getItemMan().projConfigs.find(PROJECTILE);
+        random = new Random(seed);
+        impactAwait = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        DebugOptions.EMITTER_POOL = false;
+    }
+
+    @Benchmark
+    public void gameUpdate() {
+        impactAwait -= game.getTimeStep();
+        while (impactAwait <= 0) {
+            impactAwait += 1f / impactsPerSecond;
+            impact();
+        }
+        game.update();
+        SolMath.checkVectorsTaken(null);
+    }
+
+    private void impact() {
+        Vector2 position = new Vector2();
+        SolMath.fromAl(position, random.nextFloat() * 360, random.nextFloat() * IMPACT_RADIUS);
+        position.add(game.getHero().getPosition());
+        PartMan partMan = game.getPartMan();
+        DSParticleEmitter fire = new DSParticleEmitter(config.collisionEffect, -1, DrawableLevel.PART_FG_1, new Vector2(),
+                false, game, position, Vector2.Zero, 0);
+        partMan.finish(game, fire, position);
+        if (config.collisionEffectBackground != null) {
+            DSParticleEmitter background = new DSParticleEmitter(config.collisionEffectBackground, -1,
+                    DrawableLevel.PART_FG_0, new Vector2(), false, game, position, Vector2.Zero, 0);
+            partMan.finish(game, background, position);
+        }
+    }
+}
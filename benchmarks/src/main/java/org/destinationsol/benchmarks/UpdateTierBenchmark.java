@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.DistanceUpdateTierPolicy;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.SolGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a tick of {@link ObjectManager#update(SolGame, float)} with and without the {@link DistanceUpdateTierPolicy}
+ * in a dense asteroid belt around the hero, with a few ships in it.
+ * <p>
+ * The belt is populated with the view distance overridden and then shrunk back to the view distance of the default
+ * zoom, so the outer part of the belt turns into far objects and the rest of it is near but mostly off the screen, as
+ * when flying through a belt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UpdateTierBenchmark {
+    private static final float SHIP_SHARE = .05f;
+
+    @Param({"1000", "4000"})
+    public int objectCount;
+
+    @Param({"false", "true"})
+    public boolean tiered;
+
+    @Param("1")
+    public long seed;
+
+    private SolGame game;
+    private ObjectManager objectManager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = BenchmarkWorld.create(seed);
+        BenchmarkWorld.populate(game, seed, objectCount, SHIP_SHARE);
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = 0;
+        objectManager = game.getObjectManager();
+        objectManager.setUpdateTierPolicy(tiered ? new DistanceUpdateTierPolicy() : null);
+        // Turns the objects outside of the view distance into far objects
+        game.update();
+    }
+
+    @Benchmark
+    public void objectManagerUpdate() {
+        objectManager.update(game, game.getTimeStep());
+        SolMath.checkVectorsTaken(null);
+    }
+
+    @Benchmark
+    public void gameUpdate() {
+        game.update();
+        SolMath.checkVectorsTaken(null);
+    }
+}
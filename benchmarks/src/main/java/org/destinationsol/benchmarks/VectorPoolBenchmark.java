@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.common.SolMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares borrowing vectors from the {@link SolMath} pool with allocating them. The nested case borrows several vectors
+ * at once, as the longer update methods do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VectorPoolBenchmark {
+    private float x = 1;
+    private float y = 2;
+
+    @Benchmark
+    public float borrowAndFree() {
+        Vector2 v = SolMath.getVec(x, y);
+        float len = v.len2();
+        SolMath.free(v);
+        return len;
+    }
+
+    @Benchmark
+    public float borrowAndFreeNested() {
+        Vector2 a = SolMath.getVec(x, y);
+        Vector2 b = SolMath.getVec(y, x);
+        Vector2 c = SolMath.getVec(a);
+        Vector2 d = SolMath.getVec();
+        float len = d.set(c).add(b).len2();
+        SolMath.free(d);
+        SolMath.free(c);
+        SolMath.free(b);
+        SolMath.free(a);
+        return len;
+    }
+
+    @Benchmark
+    public float allocate() {
+        Vector2 v = new Vector2(x, y);
+        return v.len2();
+    }
+}
@@ -18,6 +18,7 @@
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -34,34 +35,172 @@
 import org.destinationsol.ui.ResizeSubscriber;
 import org.destinationsol.ui.UiDrawer;
 
+import java.util.Locale;
+
 public class CommonDrawer implements ResizeSubscriber {
-    private final SpriteBatch spriteBatch;
+    private final CountingSpriteBatch directBatch;
+    private final RecordingBatch recordingBatch;
+    private final Matrix4 replayTransform = new Matrix4();
+    private final Matrix4 identity = new Matrix4();
+    private float[] replayVertices = new float[0];
+    private SpriteBatch spriteBatch;
+    private float cameraMoveX;
+    private float cameraMoveY;
+    private float objectMoveX;
+    private float objectMoveY;
+    private final RenderStats renderStats;
+    /**
+     * The stats the draws are counted in, which are those of the snapshot while recording.
+     */
+    private RenderStats countingStats;
     private final BitmapFont font;
     private final float originalFontHeight;
-    private final GlyphLayout layout;
+    private final TextLayoutCache layoutCache;
     private final OrthographicCamera orthographicCamera;
     private final Viewport screenViewport;
 
     private DisplayDimensions displayDimensions;
 
     CommonDrawer() {
+        this(Assets.getFont("engine:main").getBitmapFont());
+        SolApplication.addResizeSubscriber(this);
+    }
+
+    /**
+     * Creates a drawer with the given font that does not follow the size of the display, such as for tests.
+     */
+    CommonDrawer(BitmapFont font) {
         displayDimensions = SolApplication.displayDimensions;
 
-        spriteBatch = new SpriteBatch();
+        renderStats = new RenderStats();
+        countingStats = renderStats;
+        directBatch = new CountingSpriteBatch(renderStats);
+        recordingBatch = new RecordingBatch();
+        spriteBatch = directBatch;
 
-        font = Assets.getFont("engine:main").getBitmapFont();
+        this.font = font;
         originalFontHeight = font.getXHeight();
 
-        layout = new GlyphLayout();
+        layoutCache = new TextLayoutCache(TextLayoutCache.DEFAULT_CAPACITY);
 
         orthographicCamera = new OrthographicCamera(1024, 768);
         screenViewport = new ScreenViewport(orthographicCamera);
-
-        SolApplication.addResizeSubscriber(this);
     }
 
     public void setMatrix(Matrix4 matrix) {
+        setMatrix(matrix, 0, 0);
+    }
+
+    /**
+     * Sets the matrix of a camera that moved by the given distance since the last tick, which is only used to
+     * interpolate when recording.
+     */
+    public void setMatrix(Matrix4 matrix, float cameraMoveX, float cameraMoveY) {
+        this.cameraMoveX = cameraMoveX;
+        this.cameraMoveY = cameraMoveY;
         spriteBatch.setProjectionMatrix(matrix);
+        updateShift();
+    }
+
+    /**
+     * Sets how far the object drawn next moved since the last tick, which is only used to interpolate when recording.
+     */
+    public void setObjectMove(float objectMoveX, float objectMoveY) {
+        if (this.objectMoveX == objectMoveX && this.objectMoveY == objectMoveY) {
+            return;
+        }
+        this.objectMoveX = objectMoveX;
+        this.objectMoveY = objectMoveY;
+        updateShift();
+    }
+
+    private void updateShift() {
+        if (spriteBatch == recordingBatch) {
+            // in the coordinates of the camera, a moving camera moves the drawn sprites the opposite way
+            recordingBatch.setShift(cameraMoveX - objectMoveX, cameraMoveY - objectMoveY);
+        }
+    }
+
+    /**
+     * Records everything drawn from now on into the snapshot instead of drawing it, which can be done off the render
+     * thread. The snapshot is cleared first.
+     */
+    public void startRecording(RenderSnapshot snapshot) {
+        snapshot.clear();
+        recordingBatch.setSnapshot(snapshot);
+        spriteBatch = recordingBatch;
+        countingStats = snapshot.getStats();
+        updateShift();
+    }
+
+    public void stopRecording() {
+        spriteBatch = directBatch;
+        countingStats = renderStats;
+    }
+
+    public boolean isRecording() {
+        return spriteBatch == recordingBatch;
+    }
+
+    /**
+     * Draws a recorded snapshot. The sprites are drawn back along the shift of their runs by the part of the tick that
+     * has not passed yet, so that they move smoothly between the ticks. What was counted while recording is added to
+     * the {@link RenderStats}, and the flushes are counted against the levels the runs were recorded at.
+     *
+     * @param snapshot Snapshot to draw
+     * @param alpha    Part of a tick that passed since the snapshot was recorded, from 0 to 1
+     */
+    public void replay(RenderSnapshot snapshot, float alpha) {
+        float lag = 1 - alpha;
+        float[] vertices = snapshot.getVertices();
+        directBatch.begin();
+        int state = -1;
+        boolean isTransformed = false;
+        for (int run = 0, runCount = snapshot.getRunCount(); run < runCount; run++) {
+            renderStats.setSection(snapshot.getRunSection(run));
+            int runState = snapshot.getRunState(run);
+            if (runState != state) {
+                state = runState;
+                directBatch.setProjectionMatrix(snapshot.getProjection(state));
+                directBatch.setBlendFunction(snapshot.getBlendSrc(state), snapshot.getBlendDst(state));
+            }
+            Texture texture = snapshot.getRunTexture(run);
+            int start = snapshot.getRunStart(run);
+            int count = snapshot.getRunEnd(run) - start;
+            float shiftX = lag * snapshot.getRunShiftX(run);
+            float shiftY = lag * snapshot.getRunShiftY(run);
+            Matrix4 transform = snapshot.getTransform(state);
+            if (transform != null) {
+                replayTransform.setToTranslation(shiftX, shiftY, 0).mul(transform);
+                directBatch.setTransformMatrix(replayTransform);
+                isTransformed = true;
+                directBatch.draw(texture, vertices, start, count);
+                continue;
+            }
+            if (isTransformed) {
+                directBatch.setTransformMatrix(identity);
+                isTransformed = false;
+            }
+            if (shiftX == 0 && shiftY == 0) {
+                directBatch.draw(texture, vertices, start, count);
+                continue;
+            }
+            if (replayVertices.length < count) {
+                replayVertices = new float[count];
+            }
+            System.arraycopy(vertices, start, replayVertices, 0, count);
+            for (int i = 0; i < count; i += RenderSnapshot.VERTEX_SIZE) {
+                replayVertices[i] += shiftX;
+                replayVertices[i + 1] += shiftY;
+            }
+            directBatch.draw(texture, replayVertices, 0, count);
+        }
+        if (isTransformed) {
+            directBatch.setTransformMatrix(identity);
+        }
+        renderStats.setLevel(null);
+        directBatch.end();
+        renderStats.add(snapshot.getStats());
     }
 
     public void begin() {
@@ -81,12 +220,12 @@ public void drawString(String s, float x, float y, float fontSize, UiDrawer.Text
         if (s == null) {
             return;
         }
+        countingStats.count(RenderStats.Counter.STRINGS);
 
         font.setColor(col);
         font.getData().setScale(fontSize / originalFontHeight);
         // http://www.badlogicgames.com/wordpress/?p=3658
-        layout.reset();
-        layout.setText(font, s);
+        GlyphLayout layout = layoutCache.get(font, s);
 
         switch (align) {
             case LEFT:
@@ -106,9 +245,26 @@ public void drawString(String s, float x, float y, float fontSize, UiDrawer.Text
         font.draw(spriteBatch, layout, x, y);
     }
 
+    /**
+     * @return The width of the string as drawn by {@link #drawString}, which lays it out only once for both
+     */
+    public float getStringWidth(String s, float fontSize, Color col) {
+        font.setColor(col);
+        font.getData().setScale(fontSize / originalFontHeight);
+        return layoutCache.get(font, s).width;
+    }
+
+    /**
+     * @return The distance from one line of text to the next, as in a string with several lines
+     */
+    public float getLineOffset(float fontSize) {
+        return font.getData().down / font.getData().scaleY * (fontSize / originalFontHeight);
+    }
+
     public void draw(TextureRegion tr, float width, float height, float origX, float origY, float x, float y,
                      float rot, Color tint) {
         setTint(tint);
+        countingStats.count(RenderStats.Counter.SPRITES);
         spriteBatch.draw(tr, x - origX, y - origY, origX, origY, width, height, 1, 1, rot);
 //        setTint(Color.CYAN);
 //        spriteBatch.draw(UiDrawer.whiteTexture, 0, 0, 0.5f, 0.5f); // debug rectangle for render overhaul purpose
@@ -153,15 +309,52 @@ public void drawLine(TextureRegion tex, Vector2 startPoint, Vector2 endPoint, Co
     }
 
     public void dispose() {
-        spriteBatch.dispose();
+        directBatch.dispose();
+        recordingBatch.dispose();
         font.dispose();
+        renderStats.dispose();
     }
 
     public SpriteBatch getSpriteBatch() {
         return spriteBatch;
     }
 
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    /**
+     * @return The stats what is drawn now is counted in: those of the snapshot while recording, otherwise
+     * {@link #getRenderStats()}
+     */
+    public RenderStats getCountingStats() {
+        return countingStats;
+    }
+
+    public TextLayoutCache getLayoutCache() {
+        return layoutCache;
+    }
+
+    /**
+     * @return The number of times the batch was flushed to the GPU between the last begin() and end()
+     */
+    public int getFlushCount() {
+        return directBatch.renderCalls;
+    }
+
+    /**
+     * @return The number of times the batch changed its texture between the last begin() and end()
+     */
+    public int getTextureSwitchCount() {
+        return directBatch.textureSwitches;
+    }
+
+    public String formatBatchStats() {
+        return String.format(Locale.ROOT, "%d flushes, %d texture switches", getFlushCount(), getTextureSwitchCount());
+    }
+
     public void setAdditive(boolean additive) {
+        countingStats.count(RenderStats.Counter.BLEND_TOGGLES);
         int dstFunc = additive ? GL20.GL_ONE : GL20.GL_ONE_MINUS_SRC_ALPHA;
         spriteBatch.setBlendFunction(GL20.GL_SRC_ALPHA, dstFunc);
     }
@@ -170,4 +363,39 @@ public void setAdditive(boolean additive) {
     public void resize() {
         screenViewport.update(displayDimensions.getWidth(), displayDimensions.getHeight(), true);
     }
+
+    /**
+     * Counts the texture switches, which together with the render calls tell how well the sprites are batched. Both are
+     * also counted in the {@link RenderStats}, which unlike the batch keep them across begin() and end().
+     */
+    private static class CountingSpriteBatch extends SpriteBatch {
+        private final RenderStats renderStats;
+        private int textureSwitches;
+
+        CountingSpriteBatch(RenderStats renderStats) {
+            this.renderStats = renderStats;
+        }
+
+        @Override
+        public void begin() {
+            super.begin();
+            textureSwitches = 0;
+        }
+
+        @Override
+        protected void switchTexture(Texture texture) {
+            super.switchTexture(texture);
+            textureSwitches++;
+            renderStats.count(RenderStats.Counter.TEXTURE_SWITCHES);
+        }
+
+        @Override
+        public void flush() {
+            int renderCallsBefore = renderCalls;
+            super.flush();
+            if (renderCalls != renderCallsBefore) {
+                renderStats.count(RenderStats.Counter.FLUSHES);
+            }
+        }
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A sprite batch that records into a {@link RenderSnapshot} instead of drawing, so that it can be used off the render
+ * thread.
+ * <p>
+ * It records the draw methods used by the {@link CommonDrawer}, fonts and particle emitters. The other draw methods
+ * are not recorded and fail, as the batch is never begun as a {@link SpriteBatch}.
+ */
+class RecordingBatch extends SpriteBatch {
+    private final float[] spriteVertices = new float[4 * RenderSnapshot.VERTEX_SIZE];
+    private RenderSnapshot snapshot;
+    private boolean isRecording;
+
+    RecordingBatch() {
+        // the batch never draws, so its mesh only needs to hold a single sprite
+        super(1);
+    }
+
+    void setSnapshot(RenderSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshot.setProjection(getProjectionMatrix());
+        snapshot.setTransform(getTransformMatrix());
+        snapshot.setBlendFunction(getBlendSrcFunc(), getBlendDstFunc());
+    }
+
+    @Override
+    public void begin() {
+        isRecording = true;
+    }
+
+    @Override
+    public void end() {
+        isRecording = false;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return isRecording;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        super.setProjectionMatrix(projection);
+        snapshot.setProjection(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        super.setTransformMatrix(transform);
+        snapshot.setTransform(transform);
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+        super.setBlendFunction(srcFunc, dstFunc);
+        snapshot.setBlendFunction(srcFunc, dstFunc);
+    }
+
+    void setShift(float x, float y) {
+        snapshot.setShift(x, y);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        snapshot.add(texture, spriteVertices, offset, count);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation) {
+        // the corners in the order of SpriteBatch, rotated around the origin
+        float worldOriginX = x + originX;
+        float worldOriginY = y + originY;
+        float fx = -originX * scaleX;
+        float fy = -originY * scaleY;
+        float fx2 = (width - originX) * scaleX;
+        float fy2 = (height - originY) * scaleY;
+
+        float x1;
+        float y1;
+        float x2;
+        float y2;
+        float x3;
+        float y3;
+        float x4;
+        float y4;
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+            x1 = cos * fx - sin * fy;
+            y1 = sin * fx + cos * fy;
+            x2 = cos * fx - sin * fy2;
+            y2 = sin * fx + cos * fy2;
+            x3 = cos * fx2 - sin * fy2;
+            y3 = sin * fx2 + cos * fy2;
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = fx;
+            y1 = fy;
+            x2 = fx;
+            y2 = fy2;
+            x3 = fx2;
+            y3 = fy2;
+            x4 = fx2;
+            y4 = fy;
+        }
+
+        float color = getPackedColor();
+        float u = region.getU();
+        float v = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+        setVertex(0, x1 + worldOriginX, y1 + worldOriginY, color, u, v);
+        setVertex(1, x2 + worldOriginX, y2 + worldOriginY, color, u, v2);
+        setVertex(2, x3 + worldOriginX, y3 + worldOriginY, color, u2, v2);
+        setVertex(3, x4 + worldOriginX, y4 + worldOriginY, color, u2, v);
+        snapshot.add(region.getTexture(), spriteVertices, 0, spriteVertices.length);
+    }
+
+    private void setVertex(int vertex, float x, float y, float color, float u, float v) {
+        int i = vertex * RenderSnapshot.VERTEX_SIZE;
+        spriteVertices[i] = x;
+        spriteVertices[i + 1] = y;
+        spriteVertices[i + 2] = color;
+        spriteVertices[i + 3] = u;
+        spriteVertices[i + 4] = v;
+    }
+}
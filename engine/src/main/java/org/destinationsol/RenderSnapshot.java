@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Everything drawn in one tick of the {@link SimulationThread}, recorded as sprite vertices so that the render thread
+ * can draw it without reading the game.
+ * <p>
+ * The vertices are kept in runs that share a texture, a batch state (projection, transform and blending) and a shift.
+ * The shift is how far the sprites of the run moved on screen during the tick, from the movement of the camera and of
+ * their object. Replaying a run before the next tick is done draws it back along its shift, which interpolates the
+ * positions between the last two ticks. Rotations are not interpolated.
+ * <p>
+ * A run is also split where the {@link RenderStats} level changes, so that the flushes of the replay are counted
+ * against the levels the sprites were recorded at. What is counted while recording is kept in {@link #getStats()}.
+ */
+public class RenderSnapshot {
+    /**
+     * The number of floats per vertex, as in the {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}: x, y, packed
+     * color, u and v.
+     */
+    static final int VERTEX_SIZE = 5;
+    private static final Matrix4 IDENTITY = new Matrix4();
+
+    private float[] vertices = new float[1024 * VERTEX_SIZE];
+    private int size;
+
+    private final Array<Texture> runTextures = new Array<>();
+    private final IntArray runEnds = new IntArray();
+    private final IntArray runStates = new IntArray();
+    private final FloatArray runShiftXs = new FloatArray();
+    private final FloatArray runShiftYs = new FloatArray();
+    private final IntArray runSections = new IntArray();
+
+    private final Array<Matrix4> stateProjections = new Array<>();
+    private final Array<Matrix4> stateTransforms = new Array<>();
+    private final BooleanArray stateIsTransformed = new BooleanArray();
+    private final IntArray stateBlendSrcs = new IntArray();
+    private final IntArray stateBlendDsts = new IntArray();
+    private int stateCount;
+
+    private final Matrix4 projection = new Matrix4();
+    private final Matrix4 transform = new Matrix4();
+    private boolean isTransformed;
+    private int blendSrc;
+    private int blendDst;
+    private boolean isStateChanged;
+    private float shiftX;
+    private float shiftY;
+
+    private final RenderStats stats = new RenderStats();
+    private long tick;
+    private long time;
+
+    public RenderSnapshot() {
+        clear();
+    }
+
+    /**
+     * Starts recording anew, with the default blending and no transform.
+     */
+    public void clear() {
+        size = 0;
+        runTextures.clear();
+        runEnds.clear();
+        runStates.clear();
+        runShiftXs.clear();
+        runShiftYs.clear();
+        runSections.clear();
+        stats.clear();
+        stateCount = 0;
+        transform.idt();
+        isTransformed = false;
+        blendSrc = GL20.GL_SRC_ALPHA;
+        blendDst = GL20.GL_ONE_MINUS_SRC_ALPHA;
+        isStateChanged = true;
+        shiftX = 0;
+        shiftY = 0;
+    }
+
+    public void setProjection(Matrix4 projection) {
+        this.projection.set(projection);
+        isStateChanged = true;
+    }
+
+    public void setTransform(Matrix4 transform) {
+        this.transform.set(transform);
+        isTransformed = !Arrays.equals(transform.val, IDENTITY.val);
+        isStateChanged = true;
+    }
+
+    public void setBlendFunction(int src, int dst) {
+        if (blendSrc == src && blendDst == dst) {
+            return;
+        }
+        blendSrc = src;
+        blendDst = dst;
+        isStateChanged = true;
+    }
+
+    /**
+     * Sets how far the following sprites moved on screen during the tick, in the units of the projection.
+     */
+    public void setShift(float x, float y) {
+        shiftX = x;
+        shiftY = y;
+    }
+
+    /**
+     * Records sprites, given as vertices in the layout of the {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}.
+     *
+     * @param texture Texture of the sprites
+     * @param spriteVertices Array holding the vertices
+     * @param offset Index of the first float of the vertices
+     * @param count Number of floats of the vertices
+     */
+    public void add(Texture texture, float[] spriteVertices, int offset, int count) {
+        if (isStateChanged) {
+            addState();
+        }
+        int run = runEnds.size - 1;
+        int section = stats.getSection();
+        if (run < 0 || runTextures.get(run) != texture || runStates.get(run) != stateCount - 1
+                || runShiftXs.get(run) != shiftX || runShiftYs.get(run) != shiftY || runSections.get(run) != section) {
+            runTextures.add(texture);
+            runEnds.add(size);
+            runStates.add(stateCount - 1);
+            runShiftXs.add(shiftX);
+            runShiftYs.add(shiftY);
+            runSections.add(section);
+            run++;
+        }
+        if (size + count > vertices.length) {
+            vertices = Arrays.copyOf(vertices, Math.max(size + count, 2 * vertices.length));
+        }
+        System.arraycopy(spriteVertices, offset, vertices, size, count);
+        size += count;
+        runEnds.set(run, size);
+    }
+
+    private void addState() {
+        if (stateCount == stateProjections.size) {
+            stateProjections.add(new Matrix4());
+            stateTransforms.add(new Matrix4());
+            stateIsTransformed.add(false);
+            stateBlendSrcs.add(0);
+            stateBlendDsts.add(0);
+        }
+        stateProjections.get(stateCount).set(projection);
+        stateTransforms.get(stateCount).set(transform);
+        stateIsTransformed.set(stateCount, isTransformed);
+        stateBlendSrcs.set(stateCount, blendSrc);
+        stateBlendDsts.set(stateCount, blendDst);
+        stateCount++;
+        isStateChanged = false;
+    }
+
+    public int getRunCount() {
+        return runEnds.size;
+    }
+
+    public Texture getRunTexture(int run) {
+        return runTextures.get(run);
+    }
+
+    /**
+     * @return Index of the first float of the run in {@link #getVertices()}
+     */
+    public int getRunStart(int run) {
+        return run == 0 ? 0 : runEnds.get(run - 1);
+    }
+
+    /**
+     * @return Index after the last float of the run in {@link #getVertices()}
+     */
+    public int getRunEnd(int run) {
+        return runEnds.get(run);
+    }
+
+    public int getRunState(int run) {
+        return runStates.get(run);
+    }
+
+    public float getRunShiftX(int run) {
+        return runShiftXs.get(run);
+    }
+
+    public float getRunShiftY(int run) {
+        return runShiftYs.get(run);
+    }
+
+    /**
+     * @return The {@link RenderStats} section the run was recorded at
+     */
+    public int getRunSection(int run) {
+        return runSections.get(run);
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public Matrix4 getProjection(int state) {
+        return stateProjections.get(state);
+    }
+
+    /**
+     * @return The transform of the state, or null if the vertices are not transformed
+     */
+    public Matrix4 getTransform(int state) {
+        return stateIsTransformed.get(state) ? stateTransforms.get(state) : null;
+    }
+
+    public int getBlendSrc(int state) {
+        return stateBlendSrcs.get(state);
+    }
+
+    public int getBlendDst(int state) {
+        return stateBlendDsts.get(state);
+    }
+
+    /**
+     * @return What was counted while recording, to be added to the stats of the render thread when replaying
+     */
+    public RenderStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @return The number of the tick that recorded the snapshot
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} at which the tick that recorded the snapshot ended
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public void setTick(long tick, long time) {
+        this.tick = tick;
+        this.time = time;
+    }
+}
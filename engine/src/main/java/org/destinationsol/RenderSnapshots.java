@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the {@link RenderSnapshot}s recorded by the simulation thread over to the render thread, without either of
+ * them waiting for the other.
+ * <p>
+ * Of the three snapshots, the simulation thread records into the back one and the render thread draws the front one.
+ * The third is the latest one published. Publishing swaps the back snapshot with it, and the render thread swaps it
+ * with the front snapshot when there is a newer one. A snapshot is thus only ever used by one thread at a time.
+ */
+public class RenderSnapshots {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final RenderSnapshot[] snapshots = {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+    private final AtomicInteger published = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * @return The snapshot to record the next tick into. Only to be used by the simulation thread.
+     */
+    public RenderSnapshot getBack() {
+        return snapshots[back];
+    }
+
+    /**
+     * Publishes the back snapshot as the latest one, and takes a snapshot the render thread is done with as the new
+     * back one. Only to be called by the simulation thread.
+     */
+    public void publish() {
+        back = published.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * @return The latest published snapshot, which stays unchanged until the next call. Only to be used by the render
+     * thread.
+     */
+    public RenderSnapshot getLatest() {
+        if ((published.get() & FRESH) != 0) {
+            front = published.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+}
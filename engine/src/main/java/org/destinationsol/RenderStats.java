@@ -0,0 +1,295 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.destinationsol.common.Nullable;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.SaveManager;
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Counts what the {@link CommonDrawer} sends to the GPU in a frame, in total and per {@link DrawableLevel}, so that the
+ * cost of rendering can be told apart from the cost of the simulation.
+ * <p>
+ * Everything is counted against the level that is being drawn, as set by the
+ * {@link org.destinationsol.game.drawables.DrawableManager}. A flush is counted against the level of the sprite that
+ * caused it, and whatever is drawn outside of the levels, such as the map, the debug drawings and the UI, is counted
+ * as {@value #OTHER}. The counts of the last finished frame can be shown in the debug overlay
+ * ({@link DebugOptions#RENDER_INFO}), printed with the {@code renderStats} console command and appended to
+ * {@value #CSV_FILE_NAME} every frame ({@link DebugOptions#RENDER_STATS_LOG}).
+ * <p>
+ * Only the render thread writes to these stats. When the {@link SimulationThread} records a {@link RenderSnapshot}, the
+ * sprites, strings and blend toggles are counted in the stats of the snapshot, which the render thread adds to these
+ * when it replays it. The flushes and texture switches happen during the replay, against the levels of the runs.
+ */
+public class RenderStats {
+    public static final String CSV_FILE_NAME = "renderStats.csv";
+    public static final String TOTAL = "Total";
+    public static final String OTHER = "Other";
+    private static final String CSV_HEADER = "frame,level,flushes,textureSwitches,blendToggles,sprites,strings";
+    /**
+     * The log is only flushed to the disk every this many frames.
+     */
+    private static final int LOG_FLUSH_FRAMES = 60;
+    private static final DrawableLevel[] LEVELS = DrawableLevel.values();
+    private static final Logger logger = LoggerFactory.getLogger(RenderStats.class);
+
+    /**
+     * The counts of the current frame, per counter and section. The sections are the levels, then {@value #OTHER}.
+     */
+    private int[][] current = new int[Counter.values().length][LEVELS.length + 1];
+    private int[][] last = new int[Counter.values().length][LEVELS.length + 1];
+    private int section = LEVELS.length;
+    private long frame;
+    private PrintWriter log;
+
+    public enum Counter {
+        /**
+         * Batches sent to the GPU.
+         */
+        FLUSHES,
+        /**
+         * Changes of the texture the batch draws from, each of which flushes the batch.
+         */
+        TEXTURE_SWITCHES,
+        /**
+         * Changes between additive and normal blending, each of which flushes the batch.
+         */
+        BLEND_TOGGLES,
+        /**
+         * Sprites added to the batch, including particles and the sprites of meshes.
+         */
+        SPRITES,
+        /**
+         * Strings laid out and drawn.
+         */
+        STRINGS
+    }
+
+    /**
+     * Sets the level the following draws are counted against.
+     *
+     * @param level The level being drawn, or null when drawing outside of the levels
+     */
+    public void setLevel(@Nullable DrawableLevel level) {
+        section = level == null ? LEVELS.length : level.ordinal();
+    }
+
+    /**
+     * @return The section the following draws are counted against: the ordinal of the level, or the number of levels
+     * outside of them
+     */
+    int getSection() {
+        return section;
+    }
+
+    /**
+     * Sets the section the following draws are counted against, as returned by {@link #getSection()}.
+     */
+    void setSection(int section) {
+        this.section = section;
+    }
+
+    public void count(Counter counter) {
+        current[counter.ordinal()][section]++;
+    }
+
+    public void count(Counter counter, int amount) {
+        current[counter.ordinal()][section] += amount;
+    }
+
+    /**
+     * Adds the counts of the current frame of other stats to those of this frame, section by section.
+     *
+     * @param recorded Stats counted while recording a {@link RenderSnapshot}, which are added when it is replayed
+     */
+    void add(RenderStats recorded) {
+        for (int counter = 0; counter < current.length; counter++) {
+            for (int i = 0; i < current[counter].length; i++) {
+                current[counter][i] += recorded.current[counter][i];
+            }
+        }
+    }
+
+    /**
+     * Drops the counts of the current frame, without finishing it.
+     */
+    void clear() {
+        for (int[] sections : current) {
+            Arrays.fill(sections, 0);
+        }
+        section = LEVELS.length;
+    }
+
+    /**
+     * Finishes the current frame, whose counts are then the ones returned, and writes them to the log if it is
+     * enabled. Called once the frame has been drawn.
+     */
+    public void endFrame() {
+        int[][] finished = current;
+        current = last;
+        last = finished;
+        clear();
+        frame++;
+
+        if (DebugOptions.RENDER_STATS_LOG) {
+            writeLog();
+        }
+    }
+
+    /**
+     * @return The number of frames finished so far
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * @return The count of the last finished frame
+     */
+    public int get(Counter counter) {
+        int sum = 0;
+        for (int count : last[counter.ordinal()]) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * @param level The level to return the count of, or null for what was drawn outside of the levels
+     * @return The count of the last finished frame at the level
+     */
+    public int get(Counter counter, @Nullable DrawableLevel level) {
+        return last[counter.ordinal()][level == null ? LEVELS.length : level.ordinal()];
+    }
+
+    /**
+     * @return The counts of the last finished frame as a line for the debug overlay
+     */
+    public String formatTotals() {
+        return formatSection(TOTAL, -1);
+    }
+
+    /**
+     * @return The counts of the last finished frame as a human readable table, the total first and then every section
+     * that drew anything
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(formatTotals()).append('\n');
+        for (int i = 0; i <= LEVELS.length; i++) {
+            if (isUsed(i)) {
+                builder.append(formatSection(getSectionName(i), i)).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the counts of the last finished frame as CSV rows, one for the total and one for every section that drew
+     * anything.
+     */
+    void writeCsv(Writer writer, boolean withHeader) {
+        PrintWriter printWriter = new PrintWriter(writer);
+        if (withHeader) {
+            printWriter.println(CSV_HEADER);
+        }
+        writeRows(printWriter);
+        printWriter.flush();
+    }
+
+    /**
+     * Closes the log, if it was opened.
+     */
+    public void dispose() {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void writeLog() {
+        if (log == null) {
+            String path = SaveManager.getResourcePath(CSV_FILE_NAME);
+            boolean exists = new File(path).exists();
+            try {
+                log = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path, true), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                logger.error("Could not open the render statistics log", e);
+                DebugOptions.RENDER_STATS_LOG = false;
+                return;
+            }
+            if (!exists) {
+                log.println(CSV_HEADER);
+            }
+        }
+        writeRows(log);
+        if (frame % LOG_FLUSH_FRAMES == 0) {
+            log.flush();
+        }
+    }
+
+    private void writeRows(PrintWriter writer) {
+        writer.println(formatCsvRow(TOTAL, -1));
+        for (int i = 0; i <= LEVELS.length; i++) {
+            if (isUsed(i)) {
+                writer.println(formatCsvRow(getSectionName(i), i));
+            }
+        }
+    }
+
+    private boolean isUsed(int section) {
+        for (int[] sections : last) {
+            if (sections[section] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getAt(Counter counter, int section) {
+        return section < 0 ? get(counter) : last[counter.ordinal()][section];
+    }
+
+    private String formatSection(String name, int section) {
+        return String.format(Locale.ROOT, "%s: %d flushes, %d texture switches, %d blend toggles, %d sprites, %d strings",
+                name, getAt(Counter.FLUSHES, section), getAt(Counter.TEXTURE_SWITCHES, section),
+                getAt(Counter.BLEND_TOGGLES, section), getAt(Counter.SPRITES, section), getAt(Counter.STRINGS, section));
+    }
+
+    private String formatCsvRow(String name, int section) {
+        return String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%d,%d", frame, name, getAt(Counter.FLUSHES, section),
+                getAt(Counter.TEXTURE_SWITCHES, section), getAt(Counter.BLEND_TOGGLES, section),
+                getAt(Counter.SPRITES, section), getAt(Counter.STRINGS, section));
+    }
+
+    private static String getSectionName(int section) {
+        return section == LEVELS.length ? OTHER : LEVELS[section].name();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs work that needs the GL context or other state owned by the thread that renders, such as creating textures,
+ * from the {@link SimulationThread}.
+ * <p>
+ * Until {@link #init()} is called, for example in tests, every thread counts as the render thread.
+ */
+public final class RenderThread {
+    private static final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private static volatile Thread thread;
+
+    private RenderThread() {
+    }
+
+    /**
+     * Makes the calling thread the render thread.
+     */
+    public static void init() {
+        thread = Thread.currentThread();
+    }
+
+    /**
+     * Makes every thread count as the render thread again, for tests.
+     */
+    static void reset() {
+        thread = null;
+    }
+
+    public static boolean isCurrent() {
+        Thread renderThread = thread;
+        return renderThread == null || renderThread == Thread.currentThread();
+    }
+
+    /**
+     * Runs the task on the render thread and waits for its result. On the render thread, the task is run right away.
+     *
+     * @param task Task to run
+     * @param <T> Type of the result
+     * @return Result of the task
+     */
+    public static <T> T call(Callable<T> task) {
+        if (isCurrent()) {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        FutureTask<T> future = new FutureTask<>(task);
+        tasks.add(future);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the render thread", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Runs the task on the render thread without waiting for it. On the render thread, the task is run right away.
+     *
+     * @param task Task to run
+     */
+    public static void post(Runnable task) {
+        if (isCurrent()) {
+            task.run();
+        } else {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Runs the tasks queued by other threads. Called by the render thread once per frame, and while it waits for the
+     * simulation thread to end.
+     */
+    public static void runPending() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
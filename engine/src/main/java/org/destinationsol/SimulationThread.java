@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Runs the game simulation on a thread of its own, ticking at a fixed rate independent of rendering.
+ * <p>
+ * The simulation shares no lock with rendering. Every tick records what is to be drawn into a {@link RenderSnapshot},
+ * which the render thread replays while the next tick runs. Events of the render thread that change the game, such as
+ * input or resizing, are {@link #post posted} to run before the next tick. If the simulation falls behind by more than
+ * {@link #MAX_CATCH_UP_TICKS} ticks, the missed ticks are skipped instead of being run back to back.
+ */
+public class SimulationThread {
+    static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final Runnable tick;
+    private final long timeStepNanos;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private volatile boolean isRunning;
+    private volatile long tickCount;
+    private volatile long lastTickDuration;
+    private volatile Throwable failure;
+
+    /**
+     * @param tick     Action run every tick
+     * @param timeStep Duration of a tick in seconds
+     */
+    public SimulationThread(Runnable tick, float timeStep) {
+        this.tick = tick;
+        timeStepNanos = (long) (timeStep * 1e9);
+        thread = new Thread(this::run, "Simulation");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        isRunning = true;
+        thread.start();
+    }
+
+    /**
+     * Stops ticking after the current tick, without waiting for it. Can be called from within a tick.
+     */
+    public void stop() {
+        isRunning = false;
+    }
+
+    /**
+     * Stops ticking and waits for the thread to end. Called from the render thread, which keeps running the tasks that
+     * the simulation waits for in the meantime. Events posted too late for the last tick are run on the calling thread.
+     */
+    public void stopAndJoin() {
+        stop();
+        while (thread.isAlive()) {
+            RenderThread.runPending();
+            try {
+                thread.join(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        runEvents();
+    }
+
+    /**
+     * Runs the event on the simulation thread before the next tick.
+     *
+     * @param event Event to run
+     */
+    public void post(Runnable event) {
+        events.add(event);
+    }
+
+    private void run() {
+        long nextTickTime = System.nanoTime();
+        while (isRunning) {
+            long waitTime = nextTickTime - System.nanoTime();
+            if (waitTime > 0) {
+                try {
+                    Thread.sleep(waitTime / 1000000, (int) (waitTime % 1000000));
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            long tickStart = System.nanoTime();
+            try {
+                runEvents();
+                tick.run();
+            } catch (Throwable t) {
+                failure = t;
+                break;
+            }
+            lastTickDuration = System.nanoTime() - tickStart;
+            tickCount++;
+            nextTickTime += timeStepNanos;
+            long behind = System.nanoTime() - nextTickTime;
+            if (behind > MAX_CATCH_UP_TICKS * timeStepNanos) {
+                nextTickTime += behind;
+            }
+        }
+        isRunning = false;
+    }
+
+    private void runEvents() {
+        Runnable event;
+        while ((event = events.poll()) != null) {
+            event.run();
+        }
+    }
+
+    /**
+     * @return True until the thread has ended, which it only does after {@link #stop()} or a failed tick
+     */
+    public boolean isAlive() {
+        return thread.isAlive();
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns how long the last tick took, in nanoseconds.
+     */
+    public long getLastTickDuration() {
+        return lastTickDuration;
+    }
+
+    /**
+     * @return What the failed tick threw, or null if no tick failed
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+}
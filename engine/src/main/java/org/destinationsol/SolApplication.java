@@ -18,8 +18,12 @@
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputEventQueue;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Box2D;
+import org.destinationsol.assets.Assets;
 import org.destinationsol.assets.audio.OggMusicManager;
 import org.destinationsol.assets.audio.OggSoundManager;
 import org.destinationsol.common.SolColor;
@@ -28,11 +32,13 @@
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.FactionInfo;
 import org.destinationsol.game.SaveManager;
+import org.destinationsol.game.ShipConfig;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.WorldConfig;
 import org.destinationsol.game.console.adapter.ParameterAdapterManager;
 import org.destinationsol.game.context.Context;
 import org.destinationsol.game.context.internal.ContextImpl;
+import org.destinationsol.game.replay.InputRecorder;
 import org.destinationsol.menu.MenuScreens;
 import org.destinationsol.menu.background.MenuBackgroundManager;
 import org.destinationsol.modules.ModuleManager;
@@ -48,6 +54,8 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.gestalt.module.sandbox.API;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.HashSet;
@@ -87,6 +95,11 @@ public class SolApplication implements ApplicationListener {
     private float timeAccumulator = 0;
     private boolean isMobile;
 
+    private final RenderSnapshots snapshots = new RenderSnapshots();
+    private SimulationThread simulationThread;
+    private InputProcessor inputProcessor;
+    private InputEventQueue inputEventQueue;
+
     // TODO: Make this non-static.
     private static Set<ResizeSubscriber> resizeSubscribers;
 
@@ -100,6 +113,7 @@ public SolApplication(ModuleManager moduleManager, float targetFPS) {
 
     @Override
     public void create() {
+        RenderThread.init();
         context = new ContextImpl();
         context.put(SolApplication.class, this);
         worldConfig = new WorldConfig();
@@ -132,6 +146,14 @@ public void create() {
 
     @Override
     public void resize(int newWidth, int newHeight) {
+        if (simulationThread != null) {
+            simulationThread.post(() -> applySize(newWidth, newHeight));
+        } else {
+            applySize(newWidth, newHeight);
+        }
+    }
+
+    private void applySize(int newWidth, int newHeight) {
         displayDimensions.set(newWidth, newHeight);
 
         for (ResizeSubscriber resizeSubscriber : resizeSubscribers) {
@@ -140,6 +162,15 @@ public void resize(int newWidth, int newHeight) {
     }
 
     public void render() {
+        RenderThread.runPending();
+        if (simulationThread != null) {
+            if (simulationThread.isAlive()) {
+                drawSnapshot();
+                return;
+            }
+            endSimulationThread();
+        }
+
         timeAccumulator += Gdx.graphics.getDeltaTime();
 
         while (timeAccumulator > Const.REAL_TIME_STEP) {
@@ -147,24 +178,109 @@ public void render() {
             timeAccumulator -= Const.REAL_TIME_STEP;
         }
 
+        if (DebugOptions.SIMULATION_THREAD && solGame != null && fatalErrorMsg == null) {
+            startSimulationThread();
+            drawSnapshot();
+            return;
+        }
+
         FramerateLimiter.synchronizeFPS(Math.round(targetFPS));
 
         try {
             draw();
         } catch (Throwable t) {
-            logger.error("Fatal Error:", t);
-            fatalErrorMsg = "A fatal error occurred:\n" + t.getMessage();
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            t.printStackTrace(pw);
-            fatalErrorTrace = sw.toString();
-
+            reportFatalError(t);
             if (!isMobile) {
                 throw t;
             }
         }
     }
 
+    /**
+     * Hands the game over to a {@link SimulationThread}. From then on, the input events are queued for the simulation
+     * thread, and the render thread draws the frames the simulation recorded.
+     */
+    private void startSimulationThread() {
+        inputProcessor = Gdx.input.getInputProcessor();
+        inputEventQueue = new InputEventQueue(inputProcessor);
+        Gdx.input.setInputProcessor(inputEventQueue);
+        // gives the render thread a frame to draw until the first tick is done
+        recordSnapshot(0);
+        simulationThread = new SimulationThread(this::simulationTick, Const.REAL_TIME_STEP);
+        simulationThread.start();
+    }
+
+    /**
+     * Takes the game back from the simulation thread once it has ended, when the game is finished or has failed.
+     */
+    private void endSimulationThread() {
+        simulationThread.stopAndJoin();
+        Throwable failure = simulationThread.getFailure();
+        simulationThread = null;
+        inputEventQueue.drain();
+        Gdx.input.setInputProcessor(inputProcessor);
+        timeAccumulator = 0;
+        if (failure != null && !isMobile) {
+            // ticks throw only unchecked exceptions
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private void simulationTick() {
+        inputEventQueue.drain();
+        try {
+            update();
+            recordSnapshot(simulationThread.getTickCount() + 1);
+        } catch (Throwable t) {
+            reportFatalError(t);
+            throw t;
+        }
+        if (solGame == null) {
+            simulationThread.stop();
+        }
+    }
+
+    /**
+     * Records the frame into a snapshot and publishes it to the render thread.
+     *
+     * @param tick Number of the tick the frame belongs to
+     */
+    private void recordSnapshot(long tick) {
+        RenderSnapshot snapshot = snapshots.getBack();
+        commonDrawer.startRecording(snapshot);
+        try {
+            drawFrame();
+        } finally {
+            commonDrawer.stopRecording();
+        }
+        snapshot.setTick(tick, System.nanoTime());
+        snapshots.publish();
+    }
+
+    /**
+     * Draws the last frame recorded by the simulation thread, interpolated to the time since it was recorded.
+     */
+    private void drawSnapshot() {
+        FramerateLimiter.synchronizeFPS(Math.round(targetFPS));
+        RenderSnapshot snapshot = snapshots.getLatest();
+        float alpha = MathUtils.clamp((System.nanoTime() - snapshot.getTime()) / (Const.REAL_TIME_STEP * 1e9f), 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        commonDrawer.replay(snapshot, alpha);
+        commonDrawer.getRenderStats().endFrame();
+    }
+
+    private void reportFatalError(Throwable t) {
+        logger.error("Fatal Error:", t);
+        fatalErrorMsg = "A fatal error occurred:\n" + t.getMessage();
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        t.printStackTrace(pw);
+        fatalErrorTrace = sw.toString();
+    }
+
     @Override
     public void pause() {
     }
@@ -181,13 +297,7 @@ private void safeUpdate() {
         try {
             update();
         } catch (Throwable t) {
-            logger.error("Fatal Error:", t);
-            fatalErrorMsg = "A fatal error occurred:\n" + t.getMessage();
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            t.printStackTrace(pw);
-            fatalErrorTrace = sw.toString();
-
+            reportFatalError(t);
             if (!isMobile) {
                 throw t;
             }
@@ -200,6 +310,19 @@ private void update() {
         if (DebugOptions.SHOW_FPS) {
             DebugCollector.debug("Fps", Gdx.graphics.getFramesPerSecond());
         }
+        if (DebugOptions.TEX_INFO) {
+            DebugCollector.debug("Batch", commonDrawer.formatBatchStats());
+            if (Assets.getAtlasStage() != null) {
+                DebugCollector.debug("Atlas", Assets.getAtlasStage().format());
+            }
+        }
+        if (DebugOptions.RENDER_INFO) {
+            DebugCollector.debug("Render", commonDrawer.getRenderStats().formatTotals());
+            DebugCollector.debug("Text", commonDrawer.getLayoutCache().format());
+            if (solGame != null) {
+                DebugCollector.debug("Culling", solGame.getDrawableManager().formatCullingStats());
+            }
+        }
 
         inputManager.update(this);
 
@@ -212,6 +335,14 @@ private void update() {
 
     private void draw() {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        drawFrame();
+        commonDrawer.getRenderStats().endFrame();
+    }
+
+    /**
+     * Draws the game and the UI, or records them when the {@link CommonDrawer} is recording.
+     */
+    private void drawFrame() {
         commonDrawer.begin();
         if (solGame != null) {
             solGame.draw();
@@ -233,6 +364,7 @@ private void draw() {
             uiDrawer.drawString("v" + Const.VERSION, 0.01f, .974f, FontSize.DEBUG, UiDrawer.TextAlignment.LEFT, false, SolColor.WHITE);
         }
         commonDrawer.end();
+        commonDrawer.getLayoutCache().endFrame();
     }
 
     public void loadGame(boolean tut, String shipName, boolean isNewGame) {
@@ -251,12 +383,51 @@ public void play(boolean tut, String shipName, boolean isNewGame) {
             beforeLoadGame();
         }
 
+        startGame(tut, shipName, isNewGame);
+    }
+
+    /**
+     * Starts a new game in the given world rather than a freshly seeded one, so that the same galaxy can be generated
+     * again. Used by runners that need reproducible sessions, such as the headless simulation runner.
+     *
+     * @param shipName The name of the ship the hero starts with
+     * @param worldConfig The seed and number of systems of the world to generate
+     */
+    public void play(String shipName, WorldConfig worldConfig) {
+        this.worldConfig = worldConfig;
+        SolRandom.setSeed(worldConfig.getSeed());
+        FactionInfo.clearValues();
+
+        startGame(false, shipName, true);
+    }
+
+    private void startGame(boolean tut, String shipName, boolean isNewGame) {
+        boolean isRecorded = DebugOptions.RECORD_INPUT && isNewGame && !tut;
+        if (isRecorded) {
+            // Makes the whole game repeatable rather than only the world generation
+            SolRandom.setRandomSeed(worldConfig.getSeed());
+        }
         FactionInfo factionInfo = new FactionInfo();
         solGame = new SolGame(shipName, tut, isNewGame, commonDrawer, context, worldConfig);
+        if (isRecorded) {
+            startInputRecording(shipName);
+        }
         factionDisplay = new FactionDisplay(solGame, factionInfo);
         inputManager.setScreen(this, solGame.getScreens().mainGameScreen);
     }
 
+    private void startInputRecording(String shipName) {
+        String path = SaveManager.getResourcePath(InputRecorder.FILE_NAME);
+        ShipConfig shipConfig = ShipConfig.load(solGame.getHullConfigManager(), shipName, solGame.getItemMan());
+        try {
+            solGame.setInputRecorder(new InputRecorder(new FileOutputStream(path), worldConfig, shipName, shipConfig,
+                    displayDimensions.getRatio()));
+            logger.info("Recording the input to {}", path);
+        } catch (IOException e) {
+            logger.error("Could not start recording the input", e);
+        }
+    }
+
     public SolInputManager getInputManager() {
         return inputManager;
     }
@@ -266,6 +437,9 @@ public MenuScreens getMenuScreens() {
     }
 
     public void dispose() {
+        if (simulationThread != null) {
+            simulationThread.stopAndJoin();
+        }
         commonDrawer.dispose();
 
         if (solGame != null) {
@@ -297,6 +471,10 @@ public boolean isMobile() {
         return DebugOptions.EMULATE_MOBILE || isMobile;
     }
 
+    public CommonDrawer getCommonDrawer() {
+        return commonDrawer;
+    }
+
     public GameOptions getOptions() {
         return options;
     }
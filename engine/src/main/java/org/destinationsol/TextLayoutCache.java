@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps the {@link GlyphLayout}s of the most recently drawn strings, so that text which is drawn unchanged every frame,
+ * such as labels, item lists and console lines, is laid out only once.
+ * <p>
+ * A layout depends on the text, the scale of the font and its colour, which is baked into the glyph runs. Alignment is
+ * applied by the {@link CommonDrawer} when the layout is drawn, so strings drawn with different alignments share their
+ * layout. When the cache is full, the least recently drawn layout is dropped and reused for the next new string.
+ * Looking up a string does not allocate, only laying out a new one does.
+ */
+public class TextLayoutCache {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final LinkedHashMap<Key, GlyphLayout> layouts;
+    /**
+     * Reused for every lookup, and only copied when a new layout is added.
+     */
+    private final Key lookupKey = new Key();
+    private GlyphLayout evicted;
+    private long hits;
+    private long misses;
+    private int frameHits;
+    private int frameMisses;
+    private int lastFrameHits;
+    private int lastFrameMisses;
+
+    /**
+     * @param capacity Number of layouts to keep, at least 1
+     */
+    public TextLayoutCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity has to be at least 1, was " + capacity);
+        }
+        layouts = new LinkedHashMap<Key, GlyphLayout>(capacity * 4 / 3 + 1, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, GlyphLayout> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                evicted = eldest.getValue();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the layout of the text in the current scale and colour of the font, laying it out if it is not cached.
+     * The layout stays valid until the next call.
+     */
+    public GlyphLayout get(BitmapFont font, String text) {
+        lookupKey.set(text, font.getScaleX(), font.getScaleY(), Color.rgba8888(font.getColor()));
+        GlyphLayout layout = layouts.get(lookupKey);
+        if (layout != null) {
+            hits++;
+            frameHits++;
+            return layout;
+        }
+        misses++;
+        frameMisses++;
+        layout = evicted != null ? evicted : new GlyphLayout();
+        evicted = null;
+        layout.setText(font, text);
+        layouts.put(lookupKey.copy(), layout);
+        return layout;
+    }
+
+    /**
+     * Ends the counts of the current frame.
+     */
+    public void endFrame() {
+        lastFrameHits = frameHits;
+        lastFrameMisses = frameMisses;
+        frameHits = 0;
+        frameMisses = 0;
+    }
+
+    public void clear() {
+        layouts.clear();
+        evicted = null;
+    }
+
+    /**
+     * @return The number of strings whose layout was found in the cache, since it was created
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of strings that had to be laid out, since the cache was created
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public int getSize() {
+        return layouts.size();
+    }
+
+    public String format() {
+        int requests = lastFrameHits + lastFrameMisses;
+        float hitRate = requests == 0 ? 0 : (float) lastFrameHits / requests;
+        return String.format(Locale.ROOT, "%.0f%% of %d strings cached, %d layouts", 100 * hitRate, requests,
+                layouts.size());
+    }
+
+    private static final class Key {
+        private String text;
+        private float scaleX;
+        private float scaleY;
+        private int color;
+        private int hash;
+
+        void set(String text, float scaleX, float scaleY, int color) {
+            this.text = text;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.color = color;
+            hash = ((text.hashCode() * 31 + Float.floatToIntBits(scaleX)) * 31 + Float.floatToIntBits(scaleY)) * 31 + color;
+        }
+
+        Key copy() {
+            Key copy = new Key();
+            copy.text = text;
+            copy.scaleX = scaleX;
+            copy.scaleY = scaleY;
+            copy.color = color;
+            copy.hash = hash;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && scaleX == other.scaleX && scaleY == other.scaleY && color == other.color
+                    && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -24,6 +24,8 @@
 import org.destinationsol.assets.fonts.Font;
 import org.destinationsol.assets.json.Json;
 import org.destinationsol.assets.textures.DSTexture;
+import org.destinationsol.assets.textures.TextureAtlasStage;
+import org.destinationsol.game.DebugOptions;
 import org.json.JSONArray;
 import org.destinationsol.game.drawables.SpriteManager;
 import org.json.JSONObject;
@@ -45,6 +47,7 @@
 public abstract class Assets {
     private static AssetHelper assetHelper;
     private static Set<ResourceUrn> textureList;
+    private static TextureAtlasStage atlasStage;
 
     private static Logger logger = LoggerFactory.getLogger(Assets.class);
 
@@ -56,12 +59,26 @@ public abstract class Assets {
      */
     public static void initialize(AssetHelper helper) {
         assetHelper = helper;
+        if (atlasStage != null) {
+            atlasStage.dispose();
+            atlasStage = null;
+        }
     }
 
     public static AssetHelper getAssetHelper() {
         return assetHelper;
     }
 
+    /**
+     * Returns the stage textures are packed onto, or null if {@link DebugOptions#TEXTURE_ATLAS} is off.
+     */
+    public static TextureAtlasStage getAtlasStage() {
+        if (atlasStage == null && DebugOptions.TEXTURE_ATLAS) {
+            atlasStage = new TextureAtlasStage();
+        }
+        return atlasStage;
+    }
+
     private static ResourceUrn parsePath(String path) {
         String[] strings = path.split(":");
 
@@ -180,6 +197,7 @@ public static DSTexture getDSTexture(String path) {
 
     /**
      * A wrapper function over getDSTexture() that creates an AtlasRegion out of the given Texture, to use in drawing functions.
+     * Textures with the Nearest filter are taken from the shared pages of the atlas stage, if it is enabled.
      *
      * @param path A String specifying the desired asset.
      * @param textureFilter The texture filtering method for minification and magnification.
@@ -188,6 +206,13 @@ public static DSTexture getDSTexture(String path) {
     public static TextureAtlas.AtlasRegion getAtlasRegion(String path, Texture.TextureFilter textureFilter) {
         Texture texture = getDSTexture(path).getTexture();
         texture.setFilter(textureFilter, textureFilter);
+        TextureAtlasStage stage = getAtlasStage();
+        if (stage != null && textureFilter == Texture.TextureFilter.Nearest) {
+            TextureAtlas.AtlasRegion packedRegion = stage.getRegion(path, texture);
+            if (packedRegion != null) {
+                return packedRegion;
+            }
+        }
         TextureAtlas.AtlasRegion atlasRegion = new TextureAtlas.AtlasRegion(texture, 0, 0, texture.getWidth(), texture.getHeight());
         atlasRegion.flip(false, true);
         atlasRegion.name = path;
@@ -227,12 +252,11 @@ public static Animation<TextureAtlas.AtlasRegion> getAnimation(String texturePat
         TextureAtlas.AtlasRegion[] frames = new TextureAtlas.AtlasRegion[frameCount];
         if (autoGenerateFrames) {
             frameCount = (originalTexture.getWidth() / frameWidth) * (originalTexture.getHeight() / frameHeight);
-            TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(originalTexture, 0, 0, frameWidth, frameHeight);
-            region.name = texturePath;
-            frames = SpriteManager.getSequentialRegions(region, frameCount, frameWidth, frameHeight);
+            frames = SpriteManager.getSequentialRegions(getAtlasRegion(texturePath), frameCount, frameWidth, frameHeight);
         } else {
             ArrayList<TextureAtlas.AtlasRegion> regions = new ArrayList<TextureAtlas.AtlasRegion>();
             JSONArray framesArray = animationInfo.optJSONArray("frames");
+            TextureAtlasStage stage = getAtlasStage();
             if (framesArray != null) {
                 for (int frame = 0; frame < framesArray.length(); frame++) {
                     JSONObject frameObject = framesArray.getJSONObject(frame);
@@ -240,9 +264,14 @@ public static Animation<TextureAtlas.AtlasRegion> getAnimation(String texturePat
                     int y = frameObject.optInt("y", 0);
                     int regionWidth = frameObject.optInt("width", frameWidth);
                     int regionHeight = frameObject.optInt("height", frameHeight);
-                    TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(originalTexture, x, y, regionWidth, regionHeight);
-                    region.flip(false, true);
-                    region.name = texturePath + " frame " + frame;
+                    String frameName = texturePath + " frame " + frame;
+                    TextureAtlas.AtlasRegion region = stage == null ? null
+                            : stage.getRegion(texturePath, originalTexture, x, y, regionWidth, regionHeight, frameName);
+                    if (region == null) {
+                        region = new TextureAtlas.AtlasRegion(originalTexture, x, y, regionWidth, regionHeight);
+                        region.flip(false, true);
+                        region.name = frameName;
+                    }
                     regions.add(region);
                 }
             }
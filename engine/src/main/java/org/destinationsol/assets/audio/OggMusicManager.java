@@ -17,6 +17,7 @@
 
 import com.badlogic.gdx.audio.Music;
 import org.destinationsol.GameOptions;
+import org.destinationsol.RenderThread;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.assets.json.Json;
 import org.json.JSONArray;
@@ -101,6 +102,11 @@ public void registerMusic(String musicSet, Music music) {
      * @param options  GameOptions with volume for the music to have.
      */
     public void playMusic(final String musicSet, final GameOptions options) {
+        if (!RenderThread.isCurrent()) {
+            // the music is streamed on the render thread, which also calls the completion listeners
+            RenderThread.post(() -> playMusic(musicSet, options));
+            return;
+        }
         stopMusic();
         if (musicMap.get(musicSet).isEmpty()) {
             return;
@@ -147,6 +153,10 @@ private void stopMusic() {
      * @param options GameOptions containing the requested volume.
      */
     public void changeVolume(GameOptions options) {
+        if (!RenderThread.isCurrent()) {
+            RenderThread.post(() -> changeVolume(options));
+            return;
+        }
         currentlyPlaying.setVolume(options.musicVolume.getVolume());
     }
 
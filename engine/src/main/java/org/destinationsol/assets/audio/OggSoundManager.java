@@ -18,6 +18,7 @@
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
+import org.destinationsol.RenderThread;
 import org.destinationsol.SolApplication;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.common.Nullable;
@@ -185,7 +186,12 @@ public void play(SolGame game, PlayableSound playableSound, @Nullable Vector2 po
         }
 
         Sound gdxSound = sound.getSound();
-        gdxSound.play(volume, pitch, 0);
+        if (RenderThread.isCurrent()) {
+            gdxSound.play(volume, pitch, 0);
+        } else {
+            // the audio sources are shared with the music, which is streamed on the render thread
+            RenderThread.post(() -> gdxSound.play(volume, pitch, 0));
+        }
     }
 
     /**
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.assets.textures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Places rectangles on square pages of a fixed size, shelf by shelf.
+ * <p>
+ * Every page is filled with horizontal shelves. A rectangle goes onto the first shelf that is tall enough and still
+ * has room to its right, and when none has, a new shelf is opened below the last one of a page. Rectangles are
+ * placed as they come, so that textures can be packed while they are loaded instead of all at once.
+ * <p>
+ * The packer only does the arithmetic, the pixels are copied by {@link TextureAtlasStage}.
+ */
+public class AtlasPacker {
+    private final int pageSize;
+    private final int padding;
+    private final List<List<Shelf>> pages = new ArrayList<>();
+
+    /**
+     * @param pageSize The width and height of every page, in pixels
+     * @param padding The empty pixels kept around every rectangle, so that neighbours do not bleed into each other
+     */
+    public AtlasPacker(int pageSize, int padding) {
+        this.pageSize = pageSize;
+        this.padding = padding;
+    }
+
+    /**
+     * Finds a place for a rectangle, opening a new page if none of the current ones has room for it.
+     *
+     * @param width The width of the rectangle, in pixels
+     * @param height The height of the rectangle, in pixels
+     * @return The place of the rectangle, or null if it does not fit on a page at all
+     */
+    public Placement pack(int width, int height) {
+        int paddedWidth = width + 2 * padding;
+        int paddedHeight = height + 2 * padding;
+        if (width <= 0 || height <= 0 || paddedWidth > pageSize || paddedHeight > pageSize) {
+            return null;
+        }
+        for (int page = 0; page < pages.size(); page++) {
+            Placement placement = packOnPage(page, width, height);
+            if (placement != null) {
+                return placement;
+            }
+        }
+        pages.add(new ArrayList<>());
+        return packOnPage(pages.size() - 1, width, height);
+    }
+
+    private Placement packOnPage(int page, int width, int height) {
+        int paddedWidth = width + 2 * padding;
+        int paddedHeight = height + 2 * padding;
+        List<Shelf> shelves = pages.get(page);
+        for (Shelf shelf : shelves) {
+            if (shelf.height >= paddedHeight && pageSize - shelf.usedWidth >= paddedWidth) {
+                Placement placement = new Placement(page, shelf.usedWidth + padding, shelf.y + padding, width, height);
+                shelf.usedWidth += paddedWidth;
+                return placement;
+            }
+        }
+        int top = 0;
+        if (!shelves.isEmpty()) {
+            Shelf last = shelves.get(shelves.size() - 1);
+            top = last.y + last.height;
+        }
+        if (pageSize - top < paddedHeight) {
+            return null;
+        }
+        Shelf shelf = new Shelf(top, paddedHeight);
+        shelf.usedWidth = paddedWidth;
+        shelves.add(shelf);
+        return new Placement(page, padding, top + padding, width, height);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Forgets all the pages and their shelves.
+     */
+    public void clear() {
+        pages.clear();
+    }
+
+    private static class Shelf {
+        private final int y;
+        private final int height;
+        private int usedWidth;
+
+        Shelf(int y, int height) {
+            this.y = y;
+            this.height = height;
+        }
+    }
+
+    /**
+     * The place of a rectangle on a page, in pixels from the top left corner of the page.
+     */
+    public static class Placement {
+        private final int page;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        Placement(int page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Maps a part of the packed rectangle onto the page.
+         *
+         * @param partX The left edge of the part, relative to the rectangle
+         * @param partY The top edge of the part, relative to the rectangle
+         * @param partWidth The width of the part
+         * @param partHeight The height of the part
+         * @return The place of the part on the same page
+         */
+        public Placement getPart(int partX, int partY, int partWidth, int partHeight) {
+            if (partX < 0 || partY < 0 || partX + partWidth > width || partY + partHeight > height) {
+                throw new IllegalArgumentException("Part " + partX + "," + partY + " " + partWidth + "x" + partHeight
+                        + " lies outside of " + width + "x" + height);
+            }
+            return new Placement(page, x + partX, y + partY, partWidth, partHeight);
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import org.destinationsol.RenderThread;
 import org.destinationsol.assets.AssetDataFileHandle;
 import org.destinationsol.assets.Assets;
 import org.terasology.gestalt.assets.ResourceUrn;
@@ -37,7 +38,8 @@ public DSTextureData load(ResourceUrn urn, List<AssetDataFile> inputs) {
         String path = Assets.getAssetHelper().resolveToPath(inputs);
 
         FileHandle handle = new AssetDataFileHandle(inputs.get(0));
-        Texture texture = new Texture(handle);
+        // textures are uploaded to the GL context, which only the render thread may use
+        Texture texture = RenderThread.call(() -> new Texture(handle));
         return new DSTextureData(texture);
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.assets.textures;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies module textures onto a few large pages as they are requested, so that sprites of different textures can be
+ * drawn in one batch.
+ * <p>
+ * Every texture is packed once and the region of it is kept. The callers get copies of that region, as many of them
+ * flip the regions they are given. Textures that are too large to be worth packing, or whose pixels cannot be read
+ * back, are left alone and the callers fall back to the texture of their own.
+ */
+public class TextureAtlasStage {
+    public static final int DEFAULT_PAGE_SIZE = 2048;
+    /**
+     * Textures larger than this in either direction are not packed, as they would fill pages by themselves.
+     */
+    public static final int DEFAULT_MAX_PACKED_SIZE = 512;
+    private static final int PADDING = 2;
+
+    private final AtlasPacker packer;
+    private final int maxPackedSize;
+    private final PageBackend backend;
+    private final List<Texture> pages = new ArrayList<>();
+    private final Map<String, AtlasPacker.Placement> placements = new HashMap<>();
+    private final Map<String, TextureAtlas.AtlasRegion> regions = new HashMap<>();
+    private final Set<String> unpacked = new HashSet<>();
+
+    public TextureAtlasStage() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_MAX_PACKED_SIZE, new GlPageBackend());
+    }
+
+    public TextureAtlasStage(int pageSize, int maxPackedSize, PageBackend backend) {
+        this.packer = new AtlasPacker(pageSize, PADDING);
+        this.maxPackedSize = maxPackedSize;
+        this.backend = backend;
+    }
+
+    /**
+     * Returns the region a texture has been packed to, packing it on the first request.
+     *
+     * @param path The path of the texture, which the region is cached under
+     * @param texture The texture loaded from the path
+     * @return A copy of the packed region, flipped like the regions of {@link org.destinationsol.assets.Assets}, or
+     * null if the texture is not packed
+     */
+    public TextureAtlas.AtlasRegion getRegion(String path, Texture texture) {
+        TextureAtlas.AtlasRegion region = regions.get(path);
+        if (region == null) {
+            if (!pack(path, texture)) {
+                return null;
+            }
+            region = createRegion(placements.get(path), path);
+            regions.put(path, region);
+        }
+        return new TextureAtlas.AtlasRegion(region);
+    }
+
+    /**
+     * Returns a part of a packed texture, such as a frame of an animation.
+     *
+     * @param path The path of the texture
+     * @param texture The texture loaded from the path
+     * @param x The left edge of the part, in pixels of the texture
+     * @param y The top edge of the part, in pixels of the texture
+     * @param width The width of the part
+     * @param height The height of the part
+     * @param name The name to give the region
+     * @return The region of the part on its page, or null if the texture is not packed
+     */
+    public TextureAtlas.AtlasRegion getRegion(String path, Texture texture, int x, int y, int width, int height, String name) {
+        if (!pack(path, texture)) {
+            return null;
+        }
+        return createRegion(placements.get(path).getPart(x, y, width, height), name);
+    }
+
+    private boolean pack(String path, Texture texture) {
+        if (placements.containsKey(path)) {
+            return true;
+        }
+        if (unpacked.contains(path)) {
+            return false;
+        }
+        int width = texture.getWidth();
+        int height = texture.getHeight();
+        AtlasPacker.Placement placement = width > maxPackedSize || height > maxPackedSize ? null : packer.pack(width, height);
+        if (placement == null) {
+            unpacked.add(path);
+            return false;
+        }
+        while (pages.size() < packer.getPageCount()) {
+            pages.add(backend.createPage(packer.getPageSize()));
+        }
+        if (!backend.copy(texture, pages.get(placement.getPage()), placement.getX(), placement.getY())) {
+            // the space stays taken, which only wastes it
+            unpacked.add(path);
+            return false;
+        }
+        placements.put(path, placement);
+        return true;
+    }
+
+    private TextureAtlas.AtlasRegion createRegion(AtlasPacker.Placement placement, String name) {
+        TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(pages.get(placement.getPage()),
+                placement.getX(), placement.getY(), placement.getWidth(), placement.getHeight());
+        region.flip(false, true);
+        region.name = name;
+        return region;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public int getPackedCount() {
+        return placements.size();
+    }
+
+    public int getUnpackedCount() {
+        return unpacked.size();
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%d textures on %d pages, %d unpacked", getPackedCount(), getPageCount(), getUnpackedCount());
+    }
+
+    /**
+     * Disposes of the pages. The regions handed out before can not be drawn anymore.
+     */
+    public void dispose() {
+        for (Texture page : pages) {
+            page.dispose();
+        }
+        pages.clear();
+        placements.clear();
+        regions.clear();
+        unpacked.clear();
+        packer.clear();
+    }
+
+    /**
+     * Creates the pages and copies textures onto them.
+     */
+    public interface PageBackend {
+        Texture createPage(int size);
+
+        /**
+         * @return false if the pixels of the texture can not be read
+         */
+        boolean copy(Texture texture, Texture page, int x, int y);
+    }
+
+    /**
+     * Reads the pixels of textures back from their files and uploads them into the pages. Needs the GL context.
+     */
+    private static class GlPageBackend implements PageBackend {
+        @Override
+        public Texture createPage(int size) {
+            Pixmap pixmap = new Pixmap(size, size, Pixmap.Format.RGBA8888);
+            pixmap.setBlending(Pixmap.Blending.None);
+            pixmap.setColor(0, 0, 0, 0);
+            pixmap.fill();
+            Texture page = new Texture(pixmap);
+            pixmap.dispose();
+            page.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            return page;
+        }
+
+        @Override
+        public boolean copy(Texture texture, Texture page, int x, int y) {
+            TextureData data = texture.getTextureData();
+            if (data.getType() != TextureData.TextureDataType.Pixmap) {
+                return false;
+            }
+            if (!data.isPrepared()) {
+                data.prepare();
+            }
+            Pixmap pixmap = data.consumePixmap();
+            if (pixmap == null) {
+                return false;
+            }
+            if (pixmap.getFormat() == Pixmap.Format.RGBA8888) {
+                page.draw(pixmap, x, y);
+            } else {
+                Pixmap converted = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), Pixmap.Format.RGBA8888);
+                converted.setBlending(Pixmap.Blending.None);
+                converted.drawPixmap(pixmap, 0, 0);
+                page.draw(converted, x, y);
+                converted.dispose();
+            }
+            if (data.disposePixmap()) {
+                pixmap.dispose();
+            }
+            return true;
+        }
+    }
+}
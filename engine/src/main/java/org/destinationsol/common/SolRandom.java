@@ -176,6 +176,26 @@ public static void setSeed(long seed) {
         seededRandom = new Random(seed);
     }
 
+    /**
+     * Seeds the generator behind the non-seeded methods as well. Games are only fully repeatable when this is done
+     * before they start, which is what input recordings rely on.
+     *
+     * @param seed The seed for the non-seeded generator
+     */
+    public static void setRandomSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns the generator behind the non-seeded methods, for code that takes a generator so that it can also be run
+     * with one of its own.
+     *
+     * @return The non-seeded generator
+     */
+    public static Random getRandom() {
+        return random;
+    }
+
     /**
      * Gets the seed currently in use
      *
@@ -32,6 +32,7 @@
 import org.destinationsol.game.ship.SolShip;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class BeaconHandler implements UpdateAwareSystem {
@@ -121,10 +122,9 @@ private void updateTarget(SolGame game) {
             return;
         }
         ObjectManager om = game.getObjectManager();
-        List<SolObject> objs = om.getObjects();
-        List<FarShip> farShips = om.getFarShips();
+        Collection<FarShip> farShips = om.getFarShips();
         if (target != null) {
-            if (objs.contains(target)) {
+            if (om.containsObj(target)) {
                 return;
             }
             target = null;
@@ -144,6 +144,9 @@ private void updateTarget(SolGame game) {
         if (om.getFarShips().contains(farTarget)) {
             return;
         }
+        // The far ship has just been converted back into a ship at the same position
+        List<SolObject> objs = om.getQueryList();
+        om.collectObjectsNear(farTarget.getPosition(), 0, objs);
         farTarget = null;
         for (SolObject o : objs) {
             if ((o instanceof SolShip)) {
@@ -152,19 +155,20 @@ private void updateTarget(SolGame game) {
                     continue;
                 }
                 target = ship;
+                om.freeQueryList(objs);
                 return;
             }
         }
+        om.freeQueryList(objs);
         applyAction(Action.MOVE);
     }
 
     private void updateD(SolGame game) {
         ObjectManager om = game.getObjectManager();
-        List<SolObject> objs = om.getObjects();
         List<FarObjData> farObjs = om.getFarObjs();
 
         if (drawable != null) {
-            if (objs.contains(drawable)) {
+            if (om.containsObj(drawable)) {
                 return;
             }
             drawable = null;
@@ -192,6 +196,9 @@ private void updateD(SolGame game) {
         if (om.containsFarObj(farDrawable)) {
             return;
         }
+        // The far drawable has just been converted back into a drawable object at the same position
+        List<SolObject> objs = om.getQueryList();
+        om.collectObjectsNear(farDrawable.getPosition(), 0, objs);
         farDrawable = null;
         for (SolObject o : objs) {
             if ((o instanceof DrawableObject)) {
@@ -204,9 +211,11 @@ private void updateD(SolGame game) {
                     continue;
                 }
                 this.drawable = (DrawableObject) o;
+                om.freeQueryList(objs);
                 return;
             }
         }
+        om.freeQueryList(objs);
         throw new AssertionError();
     }
 
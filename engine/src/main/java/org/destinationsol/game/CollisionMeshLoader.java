@@ -266,7 +266,7 @@ public Body getBodyAndSprite(SolGame game, HullConfig hullConfig, float scale, B
         bd.angularDamping = 0;
         bd.position.set(position);
         bd.linearDamping = 0;
-        Body body = game.getObjectManager().getWorld().createBody(bd);
+        Body body = game.getObjectManager().getWorld(position).createBody(bd);
         FixtureDef fd = new FixtureDef();
         fd.density = density;
         fd.friction = Const.FRICTION;
@@ -304,10 +304,23 @@ public Body getBodyAndSprite(World world, TextureAtlas.AtlasRegion tex, float sc
         bd.position.set(position);
         bd.linearDamping = 0;
         Body body = world.createBody(bd);
+        attachFixtures(body, tex, scale, density);
+
+        Vector2 orig = getOrigin(tex.name, 1);
+        RectSprite s = SpriteManager.createSprite(tex.name, scale, orig.x - .5f, orig.y - .5f, new Vector2(), level, 0, 0, SolColor.WHITE, false);
+        drawables.add(s);
+
+        return body;
+    }
+
+    /**
+     * Attaches the fixtures of the texture to the body, or a circle of the texture's size if there is no physics data
+     * for it. Used to resize a body by replacing its fixtures.
+     */
+    public void attachFixtures(Body body, TextureAtlas.AtlasRegion tex, float scale, float density) {
         FixtureDef fd = new FixtureDef();
         fd.density = density;
         fd.friction = Const.FRICTION;
-        Vector2 orig;
         boolean found = attachFixture(body, tex.name, fd, scale);
         if (!found) {
             DebugOptions.MISSING_PHYSICS_ACTION.handle("Could not find physics data for " + tex.name);
@@ -316,12 +329,6 @@ public Body getBodyAndSprite(World world, TextureAtlas.AtlasRegion tex, float sc
             body.createFixture(fd);
             fd.shape.dispose();
         }
-
-        orig = getOrigin(tex.name, 1);
-        RectSprite s = SpriteManager.createSprite(tex.name, scale, orig.x - .5f, orig.y - .5f, new Vector2(), level, 0, 0, SolColor.WHITE, false);
-        drawables.add(s);
-
-        return body;
     }
 
     public static class Model {
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import org.destinationsol.game.projectile.Projectile;
+
+import java.util.Arrays;
+
+/**
+ * Collects the contacts reported while the world of one region of {@link PhysicsRegions} is stepped, so that they can
+ * be handed on to the {@link SolContactListener} in one pass by {@link #flush()} once the step is over.
+ * <p>
+ * Box2D reports a contact for every pair of touching fixtures, and may report a pair more than once per step, so
+ * objects built from several fixtures collide many times per step. The impulses of all the contacts between two
+ * objects are summed into one, which is handled at the point of the strongest of them. Crash damage is rounded down
+ * per handled contact (see {@link org.destinationsol.game.ship.SolShip#calcCrashDmg(float, float, float)}), so several
+ * small impulses between two objects can add up to damage, where handled one by one none of them would have done any.
+ * Collision sounds are coalesced as well, every object plays at most one per step, for the strongest impulse it
+ * received.
+ * <p>
+ * The contacts are kept in preallocated arrays, which only grow when a step reports more contacts than any before.
+ */
+class ContactQueue implements ContactListener {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final SolContactListener target;
+    private final Vector2 position;
+    private final ObjectIntMap<SolObject> firstContacts;
+    private final ObjectIntMap<SolObject> soundIndices;
+
+    private SolObject[] beganA;
+    private SolObject[] beganB;
+    private int beganCount;
+
+    private SolObject[] objectsA;
+    private SolObject[] objectsB;
+    private float[] impulses;
+    private float[] strongestImpulses;
+    private float[] xs;
+    private float[] ys;
+    private int[] nextContacts;
+    private int count;
+
+    private SolObject[] soundSources;
+    private float[] soundImpulses;
+    private float[] soundXs;
+    private float[] soundYs;
+    private int soundCount;
+
+    private int reportedCount;
+    private int lastReportedCount;
+    private int lastHandledCount;
+    private int lastSoundCount;
+
+    ContactQueue(SolContactListener target) {
+        this.target = target;
+        position = new Vector2();
+        firstContacts = new ObjectIntMap<>();
+        soundIndices = new ObjectIntMap<>();
+        beganA = new SolObject[INITIAL_CAPACITY];
+        beganB = new SolObject[INITIAL_CAPACITY];
+        objectsA = new SolObject[INITIAL_CAPACITY];
+        objectsB = new SolObject[INITIAL_CAPACITY];
+        impulses = new float[INITIAL_CAPACITY];
+        strongestImpulses = new float[INITIAL_CAPACITY];
+        xs = new float[INITIAL_CAPACITY];
+        ys = new float[INITIAL_CAPACITY];
+        nextContacts = new int[INITIAL_CAPACITY];
+        soundSources = new SolObject[INITIAL_CAPACITY];
+        soundImpulses = new float[INITIAL_CAPACITY];
+        soundXs = new float[INITIAL_CAPACITY];
+        soundYs = new float[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+        SolObject oA = (SolObject) contact.getFixtureA().getBody().getUserData();
+        SolObject oB = (SolObject) contact.getFixtureB().getBody().getUserData();
+        addBegan(oA, oB);
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+    }
+
+    @Override
+    public void preSolve(Contact contact, Manifold oldManifold) {
+    }
+
+    @Override
+    public void postSolve(Contact contact, ContactImpulse impulse) {
+        SolObject soa = (SolObject) contact.getFixtureA().getBody().getUserData();
+        SolObject sob = (SolObject) contact.getFixtureB().getBody().getUserData();
+        if (!SolContactListener.hasImpulse(soa, sob)) {
+            return;
+        }
+        float absImpulse = SolContactListener.calcAbsImpulse(impulse);
+        int index = find(soa, sob);
+        float x = 0;
+        float y = 0;
+        // The world manifold is computed on request, so only for contacts whose point is kept
+        if (index < 0 || strongestImpulses[index] < absImpulse) {
+            Vector2 point = contact.getWorldManifold().getPoints()[0];
+            x = point.x;
+            y = point.y;
+        }
+        merge(index, soa, sob, absImpulse, x, y);
+    }
+
+    void addBegan(SolObject oA, SolObject oB) {
+        if (!(oA instanceof Projectile) && !(oB instanceof Projectile)) {
+            return;
+        }
+        if (beganCount == beganA.length) {
+            beganA = Arrays.copyOf(beganA, 2 * beganCount);
+            beganB = Arrays.copyOf(beganB, 2 * beganCount);
+        }
+        beganA[beganCount] = oA;
+        beganB[beganCount] = oB;
+        beganCount++;
+    }
+
+    /**
+     * Adds the impulse of a contact between two objects, merging it into an earlier contact between them if there is
+     * one.
+     */
+    void addContact(SolObject soa, SolObject sob, float absImpulse, float x, float y) {
+        merge(find(soa, sob), soa, sob, absImpulse, x, y);
+    }
+
+    private void merge(int index, SolObject soa, SolObject sob, float absImpulse, float x, float y) {
+        reportedCount++;
+        if (index >= 0) {
+            impulses[index] += absImpulse;
+            if (strongestImpulses[index] < absImpulse) {
+                strongestImpulses[index] = absImpulse;
+                xs[index] = x;
+                ys[index] = y;
+            }
+            return;
+        }
+        if (count == objectsA.length) {
+            grow();
+        }
+        index = count++;
+        objectsA[index] = soa;
+        objectsB[index] = sob;
+        impulses[index] = absImpulse;
+        strongestImpulses[index] = absImpulse;
+        xs[index] = x;
+        ys[index] = y;
+        // The contacts of an object are chained, most of them touch only a few others during a step
+        nextContacts[index] = firstContacts.get(soa, -1);
+        firstContacts.put(soa, index);
+    }
+
+    /**
+     * @return The index of the contact between the objects, in either order, or -1 if there is none yet
+     */
+    private int find(SolObject soa, SolObject sob) {
+        for (int i = firstContacts.get(soa, -1); i >= 0; i = nextContacts[i]) {
+            if (objectsB[i] == sob) {
+                return i;
+            }
+        }
+        for (int i = firstContacts.get(sob, -1); i >= 0; i = nextContacts[i]) {
+            if (objectsB[i] == soa) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        int capacity = 2 * objectsA.length;
+        objectsA = Arrays.copyOf(objectsA, capacity);
+        objectsB = Arrays.copyOf(objectsB, capacity);
+        impulses = Arrays.copyOf(impulses, capacity);
+        strongestImpulses = Arrays.copyOf(strongestImpulses, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        nextContacts = Arrays.copyOf(nextContacts, capacity);
+    }
+
+    /**
+     * Hands the contacts collected during the step on to the {@link SolContactListener}, in the order they were first
+     * reported, and plays the collision sounds.
+     */
+    void flush() {
+        for (int i = 0; i < beganCount; i++) {
+            target.handleBeginContact(beganA[i], beganB[i]);
+            beganA[i] = null;
+            beganB[i] = null;
+        }
+        beganCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            position.set(xs[i], ys[i]);
+            target.handleContact(objectsA[i], objectsB[i], impulses[i], position);
+            addSound(objectsA[i], impulses[i], xs[i], ys[i]);
+            addSound(objectsB[i], impulses[i], xs[i], ys[i]);
+            objectsA[i] = null;
+            objectsB[i] = null;
+        }
+        lastHandledCount = count;
+        count = 0;
+        firstContacts.clear();
+
+        for (int i = 0; i < soundCount; i++) {
+            position.set(soundXs[i], soundYs[i]);
+            target.playCollisionSound(soundSources[i], soundImpulses[i], position);
+            soundSources[i] = null;
+        }
+        lastSoundCount = soundCount;
+        soundCount = 0;
+        soundIndices.clear();
+
+        lastReportedCount = reportedCount;
+        reportedCount = 0;
+    }
+
+    private void addSound(SolObject source, float absImpulse, float x, float y) {
+        int index = soundIndices.get(source, -1);
+        if (index < 0) {
+            if (soundCount == soundSources.length) {
+                int capacity = 2 * soundCount;
+                soundSources = Arrays.copyOf(soundSources, capacity);
+                soundImpulses = Arrays.copyOf(soundImpulses, capacity);
+                soundXs = Arrays.copyOf(soundXs, capacity);
+                soundYs = Arrays.copyOf(soundYs, capacity);
+            }
+            index = soundCount++;
+            soundIndices.put(source, index);
+            soundSources[index] = source;
+        } else if (absImpulse <= soundImpulses[index]) {
+            return;
+        }
+        soundImpulses[index] = absImpulse;
+        soundXs[index] = x;
+        soundYs[index] = y;
+    }
+
+    /**
+     * @return The number of contacts with impulses reported during the last step
+     */
+    int getLastReportedCount() {
+        return lastReportedCount;
+    }
+
+    /**
+     * @return The number of object pairs the contacts of the last step were merged into
+     */
+    int getLastHandledCount() {
+        return lastHandledCount;
+    }
+
+    /**
+     * @return The number of collision sounds the contacts of the last step were coalesced into
+     */
+    int getLastSoundCount() {
+        return lastSoundCount;
+    }
+}
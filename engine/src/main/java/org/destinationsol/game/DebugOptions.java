@@ -52,6 +52,26 @@ public class DebugOptions {
     public static boolean OBJ_INFO = false;
     public static boolean SOUND_INFO = false;
     public static boolean TEX_INFO = false;
+    public static boolean POOL_INFO = false;
+    public static boolean TEXTURE_ATLAS = false;
+    public static boolean RENDER_INFO = false;
+    public static boolean STATIC_MESHES = false;
+    public static boolean RENDER_STATS_LOG = false;
+    public static boolean EMITTER_POOL = false;
+    public static boolean NO_OBJECT_POOLS = false;
+
+    // Simulation
+    public static boolean PARALLEL_DECISIONS = false;
+    public static boolean UPDATE_TIERS = false;
+    public static boolean RECORD_INPUT = false;
+    public static float VIEW_DISTANCE_OVERRIDE = 0;
+    public static boolean PROFILE_SYSTEMS = false;
+    public static float PROFILE_DUMP_INTERVAL = 0;
+    public static boolean PHYSICS_REGIONS = false;
+    public static float PHYSICS_BUDGET = 0;
+    public static int PARTICLE_BUDGET = 0;
+    public static boolean ASYNC_CHUNKS = false;
+    public static boolean SIMULATION_THREAD = false;
 
     public static MissingResourceAction MISSING_SOUND_ACTION;
     public static MissingResourceAction MISSING_TEXTURE_ACTION;
@@ -82,6 +102,24 @@ public static void read(SolFileReader reader) {
         OBJ_INFO = r.getBoolean("objInfo", OBJ_INFO);
         SOUND_INFO = r.getBoolean("soundInfo", SOUND_INFO);
         TEX_INFO = r.getBoolean("texInfo", TEX_INFO);
+        POOL_INFO = r.getBoolean("poolInfo", POOL_INFO);
+        TEXTURE_ATLAS = r.getBoolean("textureAtlas", TEXTURE_ATLAS);
+        RENDER_INFO = r.getBoolean("renderInfo", RENDER_INFO);
+        STATIC_MESHES = r.getBoolean("staticMeshes", STATIC_MESHES);
+        RENDER_STATS_LOG = r.getBoolean("renderStatsLog", RENDER_STATS_LOG);
+        EMITTER_POOL = r.getBoolean("emitterPool", EMITTER_POOL);
+        NO_OBJECT_POOLS = r.getBoolean("noObjectPools", NO_OBJECT_POOLS);
+        PARALLEL_DECISIONS = r.getBoolean("parallelDecisions", PARALLEL_DECISIONS);
+        UPDATE_TIERS = r.getBoolean("updateTiers", UPDATE_TIERS);
+        RECORD_INPUT = r.getBoolean("recordInput", RECORD_INPUT);
+        VIEW_DISTANCE_OVERRIDE = r.getFloat("viewDistanceOverride", VIEW_DISTANCE_OVERRIDE);
+        PROFILE_SYSTEMS = r.getBoolean("profileSystems", PROFILE_SYSTEMS);
+        PROFILE_DUMP_INTERVAL = r.getFloat("profileDumpInterval", PROFILE_DUMP_INTERVAL);
+        PHYSICS_REGIONS = r.getBoolean("physicsRegions", PHYSICS_REGIONS);
+        PHYSICS_BUDGET = r.getFloat("physicsBudget", PHYSICS_BUDGET);
+        PARTICLE_BUDGET = r.getInt("particleBudget", PARTICLE_BUDGET);
+        ASYNC_CHUNKS = r.getBoolean("asyncChunks", ASYNC_CHUNKS);
+        SIMULATION_THREAD = r.getBoolean("simulationThread", SIMULATION_THREAD);
         MISSING_SOUND_ACTION = MissingResourceAction.forName(r.getString("missingSoundAction", MissingResourceAction.IGNORE.name));
         MISSING_TEXTURE_ACTION = MissingResourceAction.forName(r.getString("missingTextureAction", MissingResourceAction.IGNORE.name));
         MISSING_PHYSICS_ACTION = MissingResourceAction.forName(r.getString("missingPhysicsAction", MissingResourceAction.IGNORE.name));
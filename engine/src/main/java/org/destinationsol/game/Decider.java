@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+/**
+ * Implemented by {@link SolObject}s which make read-only decisions before they are updated.
+ * <p>
+ * At the beginning of every tick, {@link ObjectManager} calls {@link #decide(WorldView)} on all such objects, from
+ * several threads at once if a decision pool is set with
+ * {@link ObjectManager#setDecisionPool(java.util.concurrent.ForkJoinPool)}, and only then updates the objects one by
+ * one. A decision therefore must read the world only through the given {@link WorldView}, must write only to the
+ * fields of the deciding object and must not use {@link org.destinationsol.common.SolRandom} or the vector pool of
+ * {@link org.destinationsol.common.SolMath}. The decision is then applied in {@link SolObject#update(SolGame)}. As
+ * decisions cannot see each other, the results are the same no matter in which order or on how many threads the
+ * decisions are made.
+ * <p>
+ * Objects added during a tick have not decided when they are first updated, so they make their decisions within that
+ * update instead.
+ */
+public interface Decider {
+
+    /**
+     * Makes the decisions of this object for the current tick.
+     *
+     * @param view Read-only view of the world as of the beginning of the tick
+     */
+    void decide(WorldView view);
+}
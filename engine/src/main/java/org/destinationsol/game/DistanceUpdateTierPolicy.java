@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import org.destinationsol.game.asteroid.Asteroid;
+import org.destinationsol.game.item.Loot;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.game.ship.hulls.HullConfig;
+
+/**
+ * The default {@link UpdateTierPolicy}, which updates objects out of the view less often the further away they are.
+ * <p>
+ * Only asteroids, shards, loot and ships are ever deferred, as the updates of the other objects either are cheap or
+ * do not tolerate a longer time step, such as projectiles or objects bound to planets. Stations, the hero and the
+ * enemies of the hero within detection distance of either side are always updated every tick, so that fights are
+ * simulated at full rate even if they are off the screen.
+ */
+public class DistanceUpdateTierPolicy implements UpdateTierPolicy {
+    /**
+     * Update interval of deferred objects close to the view.
+     */
+    public static final int NEAR_INTERVAL = 2;
+    /**
+     * Update interval of deferred objects further away from the view.
+     */
+    public static final int FAR_INTERVAL = 4;
+    /**
+     * Distance from the visible area beyond which objects are in the far tier, as a fraction of the view distance.
+     */
+    private static final float FAR_TIER_DISTANCE = .5f;
+
+    @Override
+    public int getUpdateInterval(SolGame game, SolObject object, float distanceFromView) {
+        if (distanceFromView <= 0) {
+            return 1;
+        }
+        if (object instanceof SolShip) {
+            if (isFullRateShip(game, (SolShip) object)) {
+                return 1;
+            }
+        } else if (!(object instanceof Asteroid || object instanceof Shard || object instanceof Loot)) {
+            return 1;
+        }
+        return distanceFromView < FAR_TIER_DISTANCE * game.getCam().getViewDistance() ? NEAR_INTERVAL : FAR_INTERVAL;
+    }
+
+    private boolean isFullRateShip(SolGame game, SolShip ship) {
+        // Stations hold their position on a planet by setting their velocity for a single tick
+        if (ship.getHull().getHullConfig().getType() == HullConfig.Type.STATION) {
+            return true;
+        }
+        Hero hero = game.getHero();
+        if (!hero.isAlive() || hero.isTranscendent()) {
+            return false;
+        }
+        SolShip heroShip = hero.getShip();
+        if (ship == heroShip) {
+            return true;
+        }
+        if (!game.getFactionMan().areEnemies(ship, heroShip)) {
+            return false;
+        }
+        float detectionDistance = Math.max(ship.getPilot().getDetectionDist(), heroShip.getPilot().getDetectionDist());
+        return ship.getPosition().dst2(heroShip.getPosition()) < detectionDistance * detectionDistance;
+    }
+}
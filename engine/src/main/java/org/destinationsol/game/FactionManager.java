@@ -15,21 +15,44 @@
  */
 package org.destinationsol.game;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.RayCastCallback;
+import com.badlogic.gdx.utils.LongMap;
 import org.destinationsol.game.input.Pilot;
 import org.destinationsol.game.projectile.Projectile;
 import org.destinationsol.game.ship.SolShip;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class FactionManager {
+    /**
+     * Callers within the same cell of this size share the enemy candidates found for them within a single tick.
+     */
+    private static final float CANDIDATE_CELL_SIZE = 2f;
+    private static final float CANDIDATE_CELL_HALF_DIAGONAL = CANDIDATE_CELL_SIZE * .7072f;
+    /**
+     * Detection distances are rounded up to a multiple of this when sharing enemy candidates.
+     */
+    private static final float CANDIDATE_RADIUS_STEP = 1f;
+    private static final int MAX_CANDIDATE_RADIUS_STEPS = 255;
 
     private final MyRayBack myRayBack;
+    private final List<SolObject> myCandidates;
+    private final LongMap<List<SolObject>> myCachedCandidates;
+    private final List<List<SolObject>> myFreeCandidateLists;
+    private final Vector2 myCellCenter;
+    private int myCachedCandidatesVersion;
 
     public FactionManager() {
         myRayBack = new MyRayBack();
+        myCandidates = new ArrayList<>();
+        myCachedCandidates = new LongMap<>();
+        myFreeCandidateLists = new ArrayList<>();
+        myCellCenter = new Vector2();
+        myCachedCandidatesVersion = -1;
     }
 
     /**
@@ -63,6 +86,9 @@ public SolShip getNearestEnemy(SolGame game, Projectile projectile) {
 
     /**
      * Finds the nearest Enemy @{link SolShip}
+     * <p>
+     * Only ships of the factions hostile to {@code faction} are searched. The found candidates are shared for the rest
+     * of the tick with other callers of the same faction in the same vicinity.
      *
      * @param game          the game object
      * @param detectionDist the maximum distance allowed for detection
@@ -71,17 +97,14 @@ public SolShip getNearestEnemy(SolGame game, Projectile projectile) {
      * @return the nearest Enemy ship
      */
     public SolShip getNearestEnemy(SolGame game, float detectionDist, Faction faction, Vector2 position) {
+        if (faction == null) {
+            return null;
+        }
         SolShip nearestEnemyShip = null;
         float minimumDistance = detectionDist;
-        List<SolObject> objects = game.getObjectManager().getObjects();
-        for (SolObject solObject : objects) {
-            if (!(solObject instanceof SolShip)) {
-                continue;
-            }
+        List<SolObject> candidates = getEnemyCandidates(game.getObjectManager().getShipRegistry(), detectionDist, faction, position);
+        for (SolObject solObject : candidates) {
             SolShip potentialEnemyShip = (SolShip) solObject;
-            if (!areEnemies(faction, potentialEnemyShip.getPilot().getFaction())) {
-                continue;
-            }
             float distance = potentialEnemyShip.getPosition().dst(position) - potentialEnemyShip.getHull().config.getApproxRadius();
             if (minimumDistance < distance) {
                 continue;
@@ -89,14 +112,52 @@ public SolShip getNearestEnemy(SolGame game, float detectionDist, Faction factio
             minimumDistance = distance;
             nearestEnemyShip = potentialEnemyShip;
         }
+        myCandidates.clear();
         return nearestEnemyShip;
     }
 
+    private List<SolObject> getEnemyCandidates(ShipRegistry registry, float detectionDist, Faction faction, Vector2 position) {
+        if (registry.getVersion() != myCachedCandidatesVersion) {
+            for (List<SolObject> candidates : myCachedCandidates.values()) {
+                candidates.clear();
+                myFreeCandidateLists.add(candidates);
+            }
+            myCachedCandidates.clear();
+            myCachedCandidatesVersion = registry.getVersion();
+        }
+
+        int radiusSteps = MathUtils.ceilPositive(detectionDist / CANDIDATE_RADIUS_STEP);
+        if (radiusSteps > MAX_CANDIDATE_RADIUS_STEPS) {
+            collectEnemies(registry, faction, position, detectionDist, myCandidates);
+            return myCandidates;
+        }
+        int cellX = (int) Math.floor(position.x / CANDIDATE_CELL_SIZE);
+        int cellY = (int) Math.floor(position.y / CANDIDATE_CELL_SIZE);
+        long key = ((long) faction.ordinal() << 60) | ((long) radiusSteps << 52)
+                | ((cellX & 0x3FFFFFFL) << 26) | (cellY & 0x3FFFFFFL);
+        List<SolObject> candidates = myCachedCandidates.get(key);
+        if (candidates == null) {
+            candidates = myFreeCandidateLists.isEmpty() ? new ArrayList<>() : myFreeCandidateLists.remove(myFreeCandidateLists.size() - 1);
+            myCellCenter.set((cellX + .5f) * CANDIDATE_CELL_SIZE, (cellY + .5f) * CANDIDATE_CELL_SIZE);
+            collectEnemies(registry, faction, myCellCenter, radiusSteps * CANDIDATE_RADIUS_STEP + CANDIDATE_CELL_HALF_DIAGONAL, candidates);
+            myCachedCandidates.put(key, candidates);
+        }
+        return candidates;
+    }
+
+    private void collectEnemies(ShipRegistry registry, Faction faction, Vector2 position, float radius, List<SolObject> result) {
+        for (Faction otherFaction : Faction.values()) {
+            if (areEnemies(faction, otherFaction)) {
+                registry.collectShipsNear(otherFaction, position, radius, result);
+            }
+        }
+    }
+
     private boolean hasObstacles(SolGame game, SolShip shipFrom, SolShip shipTo) {
         myRayBack.shipFrom = shipFrom;
         myRayBack.shipTo = shipTo;
         myRayBack.hasObstacle = false;
-        game.getObjectManager().getWorld().rayCast(myRayBack, shipFrom.getPosition(), shipTo.getPosition());
+        game.getObjectManager().getWorld(shipFrom.getPosition()).rayCast(myRayBack, shipFrom.getPosition(), shipTo.getPosition());
         return myRayBack.hasObstacle;
     }
 
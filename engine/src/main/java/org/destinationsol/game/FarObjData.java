@@ -18,10 +18,26 @@
 public class FarObjData {
     public final FarObject fo;
     public final float depth;
-    public float delay;
+    /**
+     * Position of this object in the list of far objects of {@link ObjectManager}, or -1 if the object has been removed.
+     */
+    int index;
+    /**
+     * Position of this object in the list of far objects updated every frame, or -1 if it is not updated every frame.
+     */
+    int updateIndex;
+    /**
+     * Slot of {@link FarObjScheduler} this object is scheduled in, or -1 if it is not scheduled.
+     */
+    int slot;
+    FarObjData previousScheduled;
+    FarObjData nextScheduled;
 
     public FarObjData(FarObject fo, float depth) {
         this.fo = fo;
         this.depth = depth;
+        index = -1;
+        updateIndex = -1;
+        slot = -1;
     }
 }
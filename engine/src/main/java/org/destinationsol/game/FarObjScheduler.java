@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import java.util.List;
+
+/**
+ * A timer wheel deciding when far objects are due to be checked for getting near to the camera.
+ * <p>
+ * Each object is kept in the slot of the tick it is due at, in a list linked through the object's own
+ * {@link FarObjData}, so that scheduling and unscheduling an object are constant time operations and every tick
+ * only touches the objects that are actually due. Delays are capped to the size of the wheel, so every object is
+ * checked at least once per {@link #SLOT_COUNT} ticks.
+ * <p>
+ * Objects that are not updated every frame (see {@link FarObject#updatesEveryFrame()}) are only updated and checked for
+ * removal when they are due, so with the 128 slots, removing such an object can be delayed by up to 127 ticks.
+ */
+public class FarObjScheduler {
+    /**
+     * Number of slots of the wheel, which is also the maximum delay in ticks. Must be a power of two.
+     */
+    public static final int SLOT_COUNT = 128;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+
+    private final FarObjData[] slots;
+    private int currentTick;
+    private int size;
+
+    public FarObjScheduler() {
+        slots = new FarObjData[SLOT_COUNT];
+    }
+
+    /**
+     * Schedules the object to be due after the given number of ticks. Already scheduled objects are rescheduled.
+     *
+     * @param fod   Object to schedule
+     * @param delay Number of ticks after which the object is due. Values out of the range of 1 to {@link #SLOT_COUNT} - 1 are clamped.
+     */
+    public void schedule(FarObjData fod, int delay) {
+        unschedule(fod);
+        if (delay < 1) {
+            delay = 1;
+        } else if (delay > SLOT_MASK) {
+            delay = SLOT_MASK;
+        }
+        int slot = (currentTick + delay) & SLOT_MASK;
+        FarObjData head = slots[slot];
+        fod.slot = slot;
+        fod.previousScheduled = null;
+        fod.nextScheduled = head;
+        if (head != null) {
+            head.previousScheduled = fod;
+        }
+        slots[slot] = fod;
+        size++;
+    }
+
+    public void unschedule(FarObjData fod) {
+        if (fod.slot < 0) {
+            return;
+        }
+        if (fod.previousScheduled == null) {
+            slots[fod.slot] = fod.nextScheduled;
+        } else {
+            fod.previousScheduled.nextScheduled = fod.nextScheduled;
+        }
+        if (fod.nextScheduled != null) {
+            fod.nextScheduled.previousScheduled = fod.previousScheduled;
+        }
+        fod.previousScheduled = null;
+        fod.nextScheduled = null;
+        fod.slot = -1;
+        size--;
+    }
+
+    /**
+     * Advances the wheel by one tick and moves all objects that became due into {@code due}, unscheduling them.
+     *
+     * @param due List the due objects are appended to
+     */
+    public void advance(List<FarObjData> due) {
+        currentTick++;
+        int slot = currentTick & SLOT_MASK;
+        FarObjData fod = slots[slot];
+        slots[slot] = null;
+        while (fod != null) {
+            FarObjData next = fod.nextScheduled;
+            fod.previousScheduled = null;
+            fod.nextScheduled = null;
+            fod.slot = -1;
+            size--;
+            due.add(fod);
+            fod = next;
+        }
+    }
+
+    /**
+     * Converts a delay in seconds to the number of ticks to pass to {@link #schedule(FarObjData, int)}.
+     *
+     * @param delay    Delay in seconds
+     * @param timeStep Duration of a single tick in seconds
+     * @return Delay in ticks
+     */
+    public static int toTicks(float delay, float timeStep) {
+        if (timeStep <= 0) {
+            return SLOT_MASK;
+        }
+        return (int) Math.min(Math.ceil(delay / timeStep), SLOT_MASK);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -97,4 +97,18 @@ public interface FarObject {
      * @return True if the {@code SolObject} has {@code Body} associated, false otherwise.
      */
     boolean hasBody();
+
+    /**
+     * Denotes whether {@link #update(SolGame)} has to be called on every game's frame.
+     * <p>
+     * Objects that neither move nor expire on their own can return false, in which case they are updated only when
+     * {@link ObjectManager} checks whether they got close enough to the camera to be transformed into a {@link SolObject}.
+     * {@link #shouldBeRemoved(SolGame)} is then also only checked at those times, so such an object can be removed up to
+     * {@link FarObjScheduler#SLOT_COUNT} - 1 ticks after it could have been.
+     *
+     * @return True if the object has to be updated every frame, false otherwise.
+     */
+    default boolean updatesEveryFrame() {
+        return true;
+    }
 }
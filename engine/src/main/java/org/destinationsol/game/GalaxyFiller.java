@@ -253,7 +253,7 @@ public Vector2 getPlayerSpawnPos(SolGame game) {
             Planet planet = game.getPlanetManager().getPlanets().get(0);
             position.set(planet.getPosition());
             position.x += planet.getFullHeight();
-        } else if (DebugOptions.SPAWN_PLACE.isEmpty() && mainStationPos != null) {
+        } else if (DebugOptions.SPAWN_PLACE.isEmpty() && mainStationHc != null) {
             SolMath.fromAl(position, 90, mainStationHc.getSize() / 2);
             position.add(mainStationPos);
         } else if ("maze".equals(DebugOptions.SPAWN_PLACE)) {
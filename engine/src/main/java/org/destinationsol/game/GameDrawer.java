@@ -17,21 +17,38 @@
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.CommonDrawer;
+import org.destinationsol.RenderStats;
 import org.destinationsol.assets.Assets;
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.destinationsol.game.drawables.StaticMesh;
 
 public class GameDrawer {
+    /**
+     * The longest distance interpolated over a tick, well beyond what ships and projectiles fly in one.
+     */
+    private static final float MAX_INTERPOLATED_MOVE = 2f;
+
     public final TextureAtlas.AtlasRegion debugWhiteTexture;
     private final CommonDrawer myDrawer;
+    private final Matrix4 myMeshTransform = new Matrix4();
+    private final Matrix4 myIdentity = new Matrix4();
+    private final Vector2 myLastCamPosition = new Vector2();
 
     private boolean myCurrAdditive;
 
     public GameDrawer(CommonDrawer commonDrawer) {
+        this(commonDrawer, Assets.getAtlasRegion("engine:uiWhiteTex"));
+    }
+
+    public GameDrawer(CommonDrawer commonDrawer, TextureAtlas.AtlasRegion debugWhiteTexture) {
         myDrawer = commonDrawer;
-        debugWhiteTexture = Assets.getAtlasRegion("engine:uiWhiteTex");
+        this.debugWhiteTexture = debugWhiteTexture;
     }
 
     public void begin() {
@@ -39,13 +56,48 @@ public void begin() {
     }
 
     public void updateMatrix(SolGame game) {
-        myDrawer.setMatrix(game.getCam().getMtx());
+        SolCam cam = game.getCam();
+        Vector2 camPosition = cam.getPosition();
+        float moveX = camPosition.x - myLastCamPosition.x;
+        float moveY = camPosition.y - myLastCamPosition.y;
+        myLastCamPosition.set(camPosition);
+        if (!isInterpolated(moveX, moveY)) {
+            moveX = 0;
+            moveY = 0;
+        }
+        myDrawer.setMatrix(cam.getMtx(), moveX, moveY);
+    }
+
+    /**
+     * Sets how far the object whose drawables are drawn next moved since the last tick, so that a recorded frame can be
+     * interpolated.
+     */
+    public void setObjectMove(float moveX, float moveY) {
+        if (!isInterpolated(moveX, moveY)) {
+            moveX = 0;
+            moveY = 0;
+        }
+        myDrawer.setObjectMove(moveX, moveY);
+    }
+
+    /**
+     * @return False for moves too far for a tick, such as jumps through wormholes, which are not interpolated
+     */
+    private boolean isInterpolated(float moveX, float moveY) {
+        return moveX * moveX + moveY * moveY < MAX_INTERPOLATED_MOVE * MAX_INTERPOLATED_MOVE;
     }
 
     public void end() {
         myDrawer.end();
     }
 
+    /**
+     * @return True if the frame is recorded to be drawn later, see {@link CommonDrawer#startRecording}
+     */
+    public boolean isRecording() {
+        return myDrawer.isRecording();
+    }
+
     public void drawString(String s, float x, float y, float size, boolean centered, Color col) {
         maybeChangeAdditive(false);
         myDrawer.drawString(s, x, y, size, centered, col);
@@ -75,14 +127,41 @@ public void drawLine(TextureRegion tex, Vector2 p1, Vector2 p2, Color col, float
 
     public void draw(ParticleEmitter emitter, TextureAtlas.AtlasRegion tex, boolean additive) {
         maybeChangeAdditive(additive);
+        myDrawer.getCountingStats().count(RenderStats.Counter.SPRITES, emitter.getActiveCount());
         emitter.draw(myDrawer.getSpriteBatch());
     }
 
+    /**
+     * Draws a mesh with its origin at the given place. Changing the transform flushes the batch, so a mesh costs two
+     * flushes plus one per texture, however many sprites it holds.
+     */
+    public void drawStaticMesh(StaticMesh mesh, float x, float y, float angle) {
+        maybeChangeAdditive(false);
+        SpriteBatch batch = myDrawer.getSpriteBatch();
+        myDrawer.getCountingStats().count(RenderStats.Counter.SPRITES, mesh.getSpriteCount());
+        myMeshTransform.setToTranslation(x, y, 0).rotate(0, 0, 1, angle);
+        batch.setTransformMatrix(myMeshTransform);
+        for (int i = 0; i < mesh.getTextureCount(); i++) {
+            float[] vertices = mesh.getVertices(i);
+            batch.draw(mesh.getTexture(i), vertices, 0, vertices.length);
+        }
+        batch.setTransformMatrix(myIdentity);
+    }
+
     public void drawCircle(TextureRegion tex, Vector2 center, float radius, Color col, float width, float vh) {
         maybeChangeAdditive(false);
         myDrawer.drawCircle(tex, center, radius, col, width, vh);
     }
 
+    /**
+     * Sets the level the following draws are counted against in the {@link RenderStats}.
+     *
+     * @param level The level being drawn, or null when drawing outside of the levels
+     */
+    public void setLevel(DrawableLevel level) {
+        myDrawer.getCountingStats().setLevel(level);
+    }
+
     public void maybeChangeAdditive(boolean additive) {
         if (myCurrAdditive == additive) {
             return;
@@ -85,6 +85,15 @@ public void setSolShip(SolShip hero, SolGame solGame) {
         solGame.getSolApplication().getMusicManager().playMusic(OggMusicManager.GAME_MUSIC_SET, options);
     }
 
+    /**
+     * Replaces the ship of the hero by a rebuilt copy of it, such as when it crossed into another
+     * {@link PhysicsRegions physics region}. Unlike {@link #setSolShip(SolShip, SolGame)}, the hero keeps their
+     * mercenaries and waypoints.
+     */
+    public void moveShip(SolShip ship) {
+        shipHero = ship;
+    }
+
     public boolean isTranscendent() {
         return isTranscendent;
     }
@@ -44,6 +44,7 @@
 import org.destinationsol.ui.Waypoint;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class MapDrawer implements UpdateAwareSystem{
@@ -310,7 +311,7 @@ private void drawIcons(GameDrawer drawer, SolGame game, float iconSz, float view
             }
         }
 
-        List<FarShip> farShips = game.getObjectManager().getFarShips();
+        Collection<FarShip> farShips = game.getObjectManager().getFarShips();
         for (FarShip ship : farShips) {
             Vector2 oPos = ship.getPosition();
             if (viewDist < camPos.dst(oPos)) {
@@ -323,7 +324,7 @@ private void drawIcons(GameDrawer drawer, SolGame game, float iconSz, float view
             drawObjIcon(iconSz, oPos, ship.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, ship, ship.getHullConfig().getIcon(), drawer);
         }
 
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
+        Collection<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
         for (StarPort.FarStarPort sp : farPorts) {
             drawStarPortIcon(drawer, iconSz, sp.getFrom(), sp.getTo());
         }
@@ -364,7 +365,7 @@ private void drawStarNodes(GameDrawer drawer, SolGame game, float viewDist, Vect
             drawStarNode(drawer, sp.getFromPlanet(), sp.getToPlanet(), starNodeW);
         }
 
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
+        Collection<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
         for (StarPort.FarStarPort sp : farPorts) {
             Vector2 oPos = sp.getPosition();
             if (viewDist < camPos.dst(oPos)) {
@@ -413,12 +414,14 @@ private void drawNpGround(GameDrawer drawer, SolGame game, float viewDist, Plane
             if (to.getPlanet() != np) {
                 continue;
             }
-            Vector2 oPos = o.getPosition();
+            Vector2 oPos = to.getCurrentPosition();
             if (viewDist < camPos.dst(oPos)) {
+                SolMath.free(oPos);
                 continue;
             }
             float sz = to.getSz();
             drawPlanetTile(to.getTile(), sz, drawer, oPos, to.getAngle());
+            SolMath.free(oPos);
         }
     }
 
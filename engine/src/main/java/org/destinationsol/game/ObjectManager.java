@@ -16,51 +16,104 @@
 package org.destinationsol.game;
 
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.ObjectSet;
 import org.destinationsol.Const;
 import org.destinationsol.common.DebugCol;
+import org.destinationsol.common.Nullable;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.game.asteroid.Asteroid;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableManager;
 import org.destinationsol.game.drawables.FarDrawable;
+import org.destinationsol.game.item.Loot;
+import org.destinationsol.game.item.MercItem;
 import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.ui.DebugCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ObjectManager implements UpdateAwareSystem {
     private static final float MAX_RADIUS_RECALC_AWAIT = 1f;
-    private final List<SolObject> myObjs;
+    private static final float SPATIAL_HASH_CELL_SIZE = 5f;
+    /**
+     * Added to the radius of every object in the spatial hash, so that the index stays conservative for objects whose
+     * position changes between their own updates, such as projectiles reading their position straight from the body.
+     */
+    private static final float SPATIAL_HASH_MARGIN = 1f;
+    /**
+     * Number of {@link Decider}s below which the decisions are not split further between threads.
+     */
+    private static final int DECISION_BATCH_SIZE = 64;
+    private static final Logger logger = LoggerFactory.getLogger(ObjectManager.class);
+    private final ObjectStore myObjs;
     private final List<SolObject> myToRemove;
     private final List<SolObject> myToAdd;
+    private final ObjectSet<SolObject> myPendingRemovals;
+    private final ObjectSet<SolObject> myPendingAdditions;
     private final List<FarObjData> myFarObjs;
-    private final List<FarShip> myFarShips;
-    private final List<StarPort.FarStarPort> myFarPorts;
-    private final World myWorld;
-    private final Box2DDebugRenderer myDr;
-    private final HashMap<SolObject, Float> myRadii;
+    private final List<FarObjData> myEveryFrameFarObjs;
+    private final List<FarObjData> myDueFarObjs;
+    private final FarObjScheduler myFarScheduler;
+    private final LinkedHashSet<FarShip> myFarShips;
+    private final LinkedHashSet<StarPort.FarStarPort> myFarPorts;
+    private final PhysicsRegions myPhysicsRegions;
+    private final PhysicsBudget myPhysicsBudget;
+    private Box2DDebugRenderer myDr;
+    private final SpatialHash mySpatialHash;
+    private final ShipRegistry myShipRegistry;
+    private final List<List<SolObject>> myFreeQueryLists;
+    private final List<Decider> myDeciders;
+    private final WorldView myWorldView;
+    private ForkJoinPool myDecisionPool;
+    private UpdateTierPolicy myUpdateTierPolicy;
+    private boolean[] myUpdateDue;
+    private int myTieredCount;
+    private int myDeferredCount;
+    private long myTick;
 
     private float myFarEndDist;
     private float myFarBeginDist;
     private float myRadiusRecalcAwait;
 
     public ObjectManager(SolContactListener contactListener, FactionManager factionManager) {
-        myObjs = new ArrayList<>();
+        myObjs = new ObjectStore();
         myToRemove = new ArrayList<>();
         myToAdd = new ArrayList<>();
+        myPendingRemovals = new ObjectSet<>();
+        myPendingAdditions = new ObjectSet<>();
         myFarObjs = new ArrayList<>();
-        myFarShips = new ArrayList<>();
-        myFarPorts = new ArrayList<>();
-        myWorld = new World(new Vector2(0, 0), true);
-        myWorld.setContactListener(contactListener);
-        myWorld.setContactFilter(new SolContactFilter(factionManager));
-        myDr = new Box2DDebugRenderer();
-        myRadii = new HashMap<>();
+        myEveryFrameFarObjs = new ArrayList<>();
+        myDueFarObjs = new ArrayList<>();
+        myFarScheduler = new FarObjScheduler();
+        myFarShips = new LinkedHashSet<>();
+        myFarPorts = new LinkedHashSet<>();
+        myPhysicsRegions = new PhysicsRegions(contactListener, new SolContactFilter(factionManager));
+        myPhysicsBudget = new PhysicsBudget(DebugOptions.PHYSICS_BUDGET);
+        mySpatialHash = new SpatialHash(SPATIAL_HASH_CELL_SIZE);
+        myShipRegistry = new ShipRegistry();
+        myFreeQueryLists = new ArrayList<>();
+        myDeciders = new ArrayList<>();
+        myWorldView = new WorldView(myObjs, mySpatialHash, myShipRegistry, factionManager);
+        myDecisionPool = DebugOptions.PARALLEL_DECISIONS ? ForkJoinPool.commonPool() : null;
+        myUpdateTierPolicy = DebugOptions.UPDATE_TIERS ? new DistanceUpdateTierPolicy() : null;
+        myUpdateDue = new boolean[0];
     }
 
     public boolean containsFarObj(FarObject fo) {
@@ -74,15 +127,27 @@ public boolean containsFarObj(FarObject fo) {
 
     @Override
     public void update(SolGame game, float timeStep) {
+        myShipRegistry.nextTick();
         addRemove(game);
 
-        myWorld.step(timeStep, 6, 2);
+        myPhysicsRegions.step(timeStep, myPhysicsBudget.getVelocityIterations(), myPhysicsBudget.getPositionIterations());
+        int activeBodyCount = myPhysicsRegions.getBodyCount() - game.getObjectPools().getParkedBodyCount();
+        myPhysicsBudget.record(myPhysicsRegions.getLastStepNanos(), activeBodyCount, myPhysicsRegions.getContactCount());
+        if (DebugOptions.PROFILE_SYSTEMS) {
+            DebugCollector.debug("Physics", myPhysicsBudget.format());
+            DebugCollector.debug("Contacts", String.format(Locale.ROOT, "%d reported, %d handled, %d sounds, %.2f ms",
+                    myPhysicsRegions.getLastReportedContactCount(), myPhysicsRegions.getLastHandledContactCount(),
+                    myPhysicsRegions.getLastCollisionSoundCount(), myPhysicsRegions.getLastContactNanos() / 1e6f));
+        }
 
         SolCam cam = game.getCam();
         Vector2 camPos = cam.getPosition();
         myFarEndDist = 1.5f * cam.getViewDistance();
         myFarBeginDist = 1.33f * myFarEndDist;
 
+        assignUpdateTiers(game, camPos);
+        decide(game);
+
         boolean recalcRad = false;
         if (myRadiusRecalcAwait > 0) {
             myRadiusRecalcAwait -= timeStep;
@@ -91,12 +156,31 @@ public void update(SolGame game, float timeStep) {
             recalcRad = true;
         }
 
-        for (SolObject o : myObjs) {
-            o.update(game);
-            SolMath.checkVectorsTaken(o);
-            List<Drawable> drawables = o.getDrawables();
-            for (Drawable drawable : drawables) {
-                drawable.update(game, o);
+        for (int i = 0; i < myObjs.size(); i++) {
+            SolObject o = myObjs.getAt(i);
+            if (isUpdateDue(i)) {
+                float skippedTime = myObjs.getSkippedTimeAt(i);
+                if (skippedTime > 0) {
+                    game.setObjectTimeStep(timeStep + skippedTime);
+                    myObjs.setSkippedTimeAt(i, 0);
+                }
+                o.update(game);
+                SolMath.checkVectorsTaken(o);
+                // indexed loops keep the tick free of iterator allocations
+                List<Drawable> drawables = o.getDrawables();
+                for (int j = 0, size = drawables.size(); j < size; j++) {
+                    drawables.get(j).update(game, o);
+                }
+                if (skippedTime > 0) {
+                    game.setObjectTimeStep(timeStep);
+                }
+            } else {
+                myObjs.setSkippedTimeAt(i, myObjs.getSkippedTimeAt(i) + timeStep);
+            }
+            float indexRadius = myObjs.getRadiusAt(i) + SPATIAL_HASH_MARGIN;
+            mySpatialHash.update(o, indexRadius);
+            if (o instanceof SolShip) {
+                myShipRegistry.update((SolShip) o, indexRadius);
             }
 
             final Hero hero = game.getHero();
@@ -107,7 +191,7 @@ public void update(SolGame game, float timeStep) {
                 }
                 continue;
             }
-            if (isFar(o, camPos)) {
+            if (isFar(i, camPos)) {
                 if (hero.isAlive() && hero.isNonTranscendent() && o != hero.getShip()) {
                     FarObject fo = o.toFarObject();
                     if (fo != null) {
@@ -117,19 +201,43 @@ public void update(SolGame game, float timeStep) {
                     continue;
                 }
             }
+            if (myPhysicsRegions.isPartitioned() && o.hasBody()) {
+                int region = myPhysicsRegions.getRegionIndex(o.getPosition());
+                if (region != myObjs.getRegionAt(i)) {
+                    myObjs.setRegionAt(i, region);
+                    if (moveToRegion(game, o)) {
+                        continue;
+                    }
+                }
+            }
             if (recalcRad) {
-                recalcRadius(o);
+                recalcRadius(i);
             }
         }
 
-        for (Iterator<FarObjData> it = myFarObjs.iterator(); it.hasNext(); ) {
-            FarObjData fod = it.next();
+        for (int i = 0; i < myEveryFrameFarObjs.size(); i++) {
+            FarObjData fod = myEveryFrameFarObjs.get(i);
             FarObject fo = fod.fo;
             fo.update(game);
             SolMath.checkVectorsTaken(fo);
             if (fo.shouldBeRemoved(game)) {
-                removeFo(it, fo);
-                continue;
+                removeFarObjNow(fod);
+                // the last object has been moved to the place of the removed one
+                i--;
+            }
+        }
+
+        myFarScheduler.advance(myDueFarObjs);
+        for (int i = 0, size = myDueFarObjs.size(); i < size; i++) {
+            FarObjData fod = myDueFarObjs.get(i);
+            FarObject fo = fod.fo;
+            if (fod.updateIndex < 0) {
+                fo.update(game);
+                SolMath.checkVectorsTaken(fo);
+                if (fo.shouldBeRemoved(game)) {
+                    removeFarObjNow(fod);
+                    continue;
+                }
             }
             if (isNear(fod, camPos, timeStep)) {
                 SolObject o = fo.toObject(game);
@@ -139,14 +247,186 @@ public void update(SolGame game, float timeStep) {
                 } else {
                     addObjDelayed(o);
                 }
-                removeFo(it, fo);
+                removeFarObjNow(fod);
             }
         }
+        myDueFarObjs.clear();
         addRemove(game);
     }
 
-    private void removeFo(Iterator<FarObjData> it, FarObject fo) {
-        it.remove();
+    /**
+     * Rebuilds an object that crossed into another physics region through its far form, which creates its body in the
+     * world of the new region. The far form only keeps the state of the object as of its last update, so the state of
+     * the old body is then copied over to the new one, see {@link PhysicsRegions#copyBodyState(Body, Body)}. Objects
+     * without a far form are short lived, so they stay in the world of the region they were built in until they are
+     * removed. Among them are loot, projectiles and shards, which are freed into the pool of the world their body
+     * belongs to, so the pools never hold the body of a moved object.
+     * <p>
+     * A moved ship keeps its pilot, so whatever finds a ship by its pilot, such as a
+     * {@link org.destinationsol.game.input.Guardian} or the {@link BeaconHandler}, finds the new ship by itself. The
+     * references that are kept to the ship itself, by its {@link MercItem} and by the loot it threw, are moved over to
+     * the new ship here.
+     *
+     * @return True if the object is being replaced
+     */
+    private boolean moveToRegion(SolGame game, SolObject o) {
+        Hero hero = game.getHero();
+        boolean isHero = o == hero.getShipUnchecked();
+        if (isHero && !(hero.isAlive() && hero.isNonTranscendent())) {
+            return false;
+        }
+        FarObject fo = o.toFarObject();
+        if (fo == null) {
+            return false;
+        }
+        SolObject moved = fo.toObject(game);
+        Body body = getBody(o);
+        Body movedBody = getBody(moved);
+        if (body != null && movedBody != null) {
+            PhysicsRegions.copyBodyState(body, movedBody);
+        }
+        if (isHero) {
+            hero.moveShip((SolShip) moved);
+        }
+        if (o instanceof SolShip) {
+            moveShipReferences((SolShip) o, (SolShip) moved);
+        }
+        removeObjDelayed(o);
+        addObjDelayed(moved);
+        return true;
+    }
+
+    private void moveShipReferences(SolShip ship, SolShip moved) {
+        MercItem mercItem = moved.getMerc();
+        if (mercItem != null && mercItem.getSolShip() == ship) {
+            mercItem.setSolShip(moved);
+        }
+        for (int i = 0, size = myObjs.size(); i < size; i++) {
+            SolObject o = myObjs.getAt(i);
+            if (o instanceof Loot && ((Loot) o).getOwner() == ship) {
+                ((Loot) o).setOwner(moved);
+            }
+        }
+    }
+
+    /**
+     * @return The body of an object that can cross into another physics region, or null. Other objects with bodies, such
+     * as star ports and tiles, are bound to a planet or a maze and stay within their star system.
+     */
+    @Nullable
+    private static Body getBody(SolObject o) {
+        if (o instanceof SolShip) {
+            return ((SolShip) o).getHull().getBody();
+        }
+        if (o instanceof Asteroid) {
+            return ((Asteroid) o).getBody();
+        }
+        return null;
+    }
+
+    /**
+     * Decides which objects are updated in this tick, using the update tier policy if one is set.
+     */
+    private void assignUpdateTiers(SolGame game, Vector2 camPos) {
+        myTick++;
+        int size = myObjs.size();
+        myTieredCount = size;
+        myDeferredCount = 0;
+        if (myUpdateDue.length < size) {
+            myUpdateDue = new boolean[Math.max(size, 2 * myUpdateDue.length)];
+        }
+        if (myUpdateTierPolicy == null) {
+            Arrays.fill(myUpdateDue, 0, size, true);
+            return;
+        }
+        float viewDistance = game.getCam().getViewDistance();
+        for (int i = 0; i < size; i++) {
+            SolObject o = myObjs.getAt(i);
+            float distanceFromView = o.getPosition().dst(camPos) - viewDistance * myObjs.getDepthAt(i) - getPresenceRadiusAt(i);
+            int interval = myUpdateTierPolicy.getUpdateInterval(game, o, distanceFromView);
+            // The slot of the handle staggers the objects of a tier over the ticks
+            boolean isDue = interval <= 1 || (myTick + (int) myObjs.getHandleAt(i)) % interval == 0;
+            myUpdateDue[i] = isDue;
+            if (!isDue) {
+                myDeferredCount++;
+            }
+        }
+        if (DebugOptions.PROFILE_SYSTEMS) {
+            DebugCollector.debug("Deferred updates", myDeferredCount + " of " + size);
+        }
+    }
+
+    /**
+     * Objects added while updating have not been assigned a tier, so they are updated right away.
+     */
+    private boolean isUpdateDue(int index) {
+        return index >= myTieredCount || myUpdateDue[index];
+    }
+
+    /**
+     * Sets the policy deciding how often each object is updated.
+     *
+     * @param updateTierPolicy Policy to use, or null to update every object every tick
+     */
+    public void setUpdateTierPolicy(@Nullable UpdateTierPolicy updateTierPolicy) {
+        myUpdateTierPolicy = updateTierPolicy;
+    }
+
+    /**
+     * @return The number of objects whose update was skipped in the last tick
+     */
+    public int getDeferredUpdateCount() {
+        return myDeferredCount;
+    }
+
+    /**
+     * Lets all {@link Decider}s make their decisions for this tick, in parallel if a decision pool is set. Objects that
+     * are not updated in this tick do not decide either.
+     */
+    private void decide(SolGame game) {
+        for (int i = 0, size = myObjs.size(); i < size; i++) {
+            SolObject o = myObjs.getAt(i);
+            if (o instanceof Decider && isUpdateDue(i)) {
+                myDeciders.add((Decider) o);
+            }
+        }
+        myWorldView.begin(game);
+        if (myDecisionPool == null) {
+            for (int i = 0, size = myDeciders.size(); i < size; i++) {
+                myDeciders.get(i).decide(myWorldView);
+            }
+        } else {
+            myDecisionPool.invoke(new DecisionTask(0, myDeciders.size()));
+        }
+        myDeciders.clear();
+    }
+
+    /**
+     * Sets the pool to make the decisions of {@link Decider}s in. The decisions are always made at the start of the
+     * tick, against the positions of the objects before any of them is updated, so whether they are made on one thread
+     * or on many does not change their results.
+     *
+     * @param decisionPool Pool to make decisions in, or null to make them serially on the updating thread
+     */
+    public void setDecisionPool(@Nullable ForkJoinPool decisionPool) {
+        myDecisionPool = decisionPool;
+    }
+
+    private void removeFarObjNow(FarObjData fod) {
+        FarObjData moved = removeSwapping(myFarObjs, fod.index);
+        if (moved != null) {
+            moved.index = fod.index;
+        }
+        fod.index = -1;
+        if (fod.updateIndex >= 0) {
+            moved = removeSwapping(myEveryFrameFarObjs, fod.updateIndex);
+            if (moved != null) {
+                moved.updateIndex = fod.updateIndex;
+            }
+            fod.updateIndex = -1;
+        }
+        myFarScheduler.unschedule(fod);
+        FarObject fo = fod.fo;
         if (fo instanceof FarShip) {
             myFarShips.remove(fo);
         }
@@ -155,74 +435,124 @@ private void removeFo(Iterator<FarObjData> it, FarObject fo) {
         }
     }
 
-    private void recalcRadius(SolObject o) {
-        float rad = DrawableManager.radiusFromDrawables(o.getDrawables());
-        myRadii.put(o, rad);
+    /**
+     * Removes the element at {@code index} by moving the last element of the list to its place.
+     *
+     * @return The moved element, or null if the removed element was the last one
+     */
+    private FarObjData removeSwapping(List<FarObjData> list, int index) {
+        FarObjData last = list.remove(list.size() - 1);
+        if (index == list.size()) {
+            return null;
+        }
+        list.set(index, last);
+        return last;
+    }
+
+    private void recalcRadius(int index) {
+        SolObject o = myObjs.getAt(index);
+        myObjs.setRadiusAt(index, DrawableManager.radiusFromDrawables(o.getDrawables()));
+        myObjs.setDepthAt(index, getDepth(o));
+    }
+
+    private static float getDepth(SolObject o) {
+        List<Drawable> drawables = o.getDrawables();
+        if (drawables != null && drawables.size() > 0) {
+            return drawables.get(0).getLevel().depth;
+        }
+        return 1f;
     }
 
     public float getPresenceRadius(SolObject o) {
-        Float res = getRadius(o);
-        return res + Const.MAX_MOVE_SPD * (MAX_RADIUS_RECALC_AWAIT - myRadiusRecalcAwait);
+        return getPresenceRadiusAt(indexOf(o));
     }
 
-    public Float getRadius(SolObject o) {
-        Float res = myRadii.get(o);
-        if (res == null) {
+    /**
+     * Returns the presence radius of the object at the given index of {@link #getObjectStore()}.
+     *
+     * @param index Index of the object
+     * @return Radius of the object, increased by the distance the object could have moved since its radius was computed
+     */
+    public float getPresenceRadiusAt(int index) {
+        return myObjs.getRadiusAt(index) + Const.MAX_MOVE_SPD * (MAX_RADIUS_RECALC_AWAIT - myRadiusRecalcAwait);
+    }
+
+    public float getRadius(SolObject o) {
+        return myObjs.getRadiusAt(indexOf(o));
+    }
+
+    private int indexOf(SolObject o) {
+        int index = myObjs.indexOf(o);
+        if (index < 0) {
             throw new AssertionError("no radius for " + o);
         }
-        return res;
+        return index;
     }
 
     private void addRemove(SolGame game) {
-        for (SolObject o : myToRemove) {
-            removeObjNow(game, o);
+        for (int i = 0, size = myToRemove.size(); i < size; i++) {
+            removeObjNow(game, myToRemove.get(i));
         }
         myToRemove.clear();
+        myPendingRemovals.clear();
 
-        for (SolObject o : myToAdd) {
-            addObjNow(game, o);
+        for (int i = 0; i < myToAdd.size(); i++) {
+            addObjNow(game, myToAdd.get(i));
         }
         myToAdd.clear();
+        myPendingAdditions.clear();
     }
 
     private void removeObjNow(SolGame game, SolObject o) {
         myObjs.remove(o);
-        myRadii.remove(o);
+        mySpatialHash.remove(o);
+        if (o instanceof SolShip) {
+            myShipRegistry.remove((SolShip) o);
+        }
         o.onRemove(game);
         game.getDrawableManager().removeObject(o);
     }
 
+    /**
+     * Adds the object right away. An object that is already added is not added again, as the store holds every object
+     * only once, but the duplicate add is reported as the bug it is.
+     */
     public void addObjNow(SolGame game, SolObject o) {
-        if (DebugOptions.ASSERTIONS && myObjs.contains(o)) {
-            throw new AssertionError("This object is already contained in the list of objects to add now!");
+        if (myObjs.contains(o)) {
+            if (DebugOptions.ASSERTIONS) {
+                throw new AssertionError("This object is already contained in the list of objects to add now!");
+            }
+            logger.warn("Ignored adding {} again, which is already contained in the objects", o);
+            return;
+        }
+        float radius = DrawableManager.radiusFromDrawables(o.getDrawables());
+        long handle = myObjs.add(o, radius, getDepth(o));
+        int index = myObjs.indexOf(handle);
+        myObjs.setRegionAt(index, myPhysicsRegions.getRegionIndex(o.getPosition()));
+        myObjs.capturePositionAt(index);
+        float indexRadius = radius + SPATIAL_HASH_MARGIN;
+        mySpatialHash.add(o, indexRadius);
+        if (o instanceof SolShip) {
+            myShipRegistry.add((SolShip) o, indexRadius);
         }
-        myObjs.add(o);
-        recalcRadius(o);
         game.getDrawableManager().addObject(o);
     }
 
     private boolean isNear(FarObjData fod, Vector2 camPos, float ts) {
-        if (fod.delay > 0) {
-            fod.delay -= ts;
-            return false;
-        }
         FarObject fo = fod.fo;
         float r = fo.getRadius() * fod.depth;
         float dst = fo.getPosition().dst(camPos) - r;
         if (dst < myFarEndDist) {
             return true;
         }
-        fod.delay = (dst - myFarEndDist) / (2 * Const.MAX_MOVE_SPD);
+        float delay = (dst - myFarEndDist) / (2 * Const.MAX_MOVE_SPD);
+        myFarScheduler.schedule(fod, FarObjScheduler.toTicks(delay, ts));
         return false;
     }
 
-    private boolean isFar(SolObject o, Vector2 camPos) {
-        float r = getPresenceRadius(o);
-        List<Drawable> drawables = o.getDrawables();
-        if (drawables != null && drawables.size() > 0) {
-            r *= drawables.get(0).getLevel().depth;
-        }
-        float dst = o.getPosition().dst(camPos) - r;
+    private boolean isFar(int index, Vector2 camPos) {
+        float r = getPresenceRadiusAt(index) * myObjs.getDepthAt(index);
+        float dst = myObjs.getAt(index).getPosition().dst(camPos) - r;
         return myFarBeginDist < dst;
     }
 
@@ -234,16 +564,22 @@ public void drawDebug(GameDrawer drawer, SolGame game) {
             drawDebugStrings(drawer, game);
         }
 
-        if (DebugOptions.DRAW_PHYSIC_BORDERS) {
+        // the debug renderer draws with GL right away, which a recorded frame can not hold
+        if (DebugOptions.DRAW_PHYSIC_BORDERS && !drawer.isRecording()) {
+            if (myDr == null) {
+                myDr = new Box2DDebugRenderer();
+            }
             drawer.end();
-            myDr.render(myWorld, game.getCam().getMtx());
+            for (int i = 0; i < myPhysicsRegions.getRegionCount(); i++) {
+                myDr.render(myPhysicsRegions.getWorldAt(i), game.getCam().getMtx());
+            }
             drawer.begin();
         }
     }
 
     private void drawDebugStrings(GameDrawer drawer, SolGame game) {
         float fontSize = game.getCam().getDebugFontSize();
-        for (SolObject o : myObjs) {
+        for (SolObject o : myObjs.asList()) {
             Vector2 position = o.getPosition();
             String ds = o.toDebugString();
             if (ds != null) {
@@ -264,9 +600,10 @@ private void drawDebug0(GameDrawer drawer, SolGame game) {
         SolCam cam = game.getCam();
         float lineWidth = cam.getRealLineWidth();
         float vh = cam.getViewHeight();
-        for (SolObject o : myObjs) {
+        for (int i = 0, size = myObjs.size(); i < size; i++) {
+            SolObject o = myObjs.getAt(i);
             Vector2 position = o.getPosition();
-            float r = getRadius(o);
+            float r = myObjs.getRadiusAt(i);
             drawer.drawCircle(drawer.debugWhiteTexture, position, r, DebugCol.OBJ, lineWidth, vh);
             drawer.drawLine(drawer.debugWhiteTexture, position.x, position.y, o.getAngle(), r, DebugCol.OBJ, lineWidth);
         }
@@ -279,9 +616,188 @@ private void drawDebug0(GameDrawer drawer, SolGame game) {
     }
 
     public List<SolObject> getObjects() {
+        return myObjs.asList();
+    }
+
+    /**
+     * Returns the store of the near objects, allowing iteration over the objects together with their radii and depths.
+     * <p>
+     * Indices of the store are valid only until the next object is removed, use handles to refer to objects for longer.
+     *
+     * @return Store of the near objects
+     */
+    public ObjectStore getObjectStore() {
         return myObjs;
     }
 
+    /**
+     * Returns the handle of a near object, which stays the same until the object is removed from this manager.
+     *
+     * @param o Object to look for
+     * @return Handle of the object, or {@link ObjectStore#NO_HANDLE} if the object is not managed by this manager
+     */
+    public long getHandle(SolObject o) {
+        return myObjs.getHandle(o);
+    }
+
+    /**
+     * Returns the near object identified by the handle.
+     *
+     * @param handle Handle of the object
+     * @return The object, or null if it has already been removed from this manager
+     */
+    public SolObject getObject(long handle) {
+        return myObjs.get(handle);
+    }
+
+    public boolean isValid(long handle) {
+        return myObjs.isValid(handle);
+    }
+
+    /**
+     * Returns whether the object is currently one of the near objects managed by this manager.
+     *
+     * @param o Object to look for
+     * @return True if the object has been added and not yet removed, false otherwise
+     */
+    public boolean containsObj(SolObject o) {
+        return myObjs.contains(o);
+    }
+
+    /**
+     * Collects all (non-far) {@link SolObject}s whose bounding circle may intersect the given circle.
+     * <p>
+     * The result is conservative, it can contain objects that are slightly out of reach, so callers should do their
+     * own exact distance checks.
+     *
+     * @param position Center of the searched area
+     * @param radius   Radius of the searched area
+     * @param result   List the found objects are appended to
+     */
+    public void collectObjectsNear(Vector2 position, float radius, List<SolObject> result) {
+        mySpatialHash.collectInRadius(position, radius, result);
+    }
+
+    /**
+     * Collects all (non-far) {@link SolObject}s that may be in view of a camera, whatever the depth of their drawables.
+     * <p>
+     * Every depth of drawable level is searched separately, with the view distance scaled by the depth, so that a few
+     * deep objects do not widen the search for all others. The view distance is also widened by the presence radius
+     * the objects may have grown by since their radii were last recalculated. The objects of a depth whose view covers
+     * so much of the spatial hash that testing them all is faster are all collected. When that is already the case for
+     * the shallowest depth, nothing is collected.
+     *
+     * @param camPosition  Position of the camera
+     * @param viewDistance View distance of the camera at a depth of 1
+     * @param result       List the found objects are appended to
+     * @return True if the objects were collected, false if all objects of {@link #getObjectStore()} should be tested
+     */
+    public boolean collectObjectsInView(Vector2 camPosition, float viewDistance, List<SolObject> result) {
+        float radiusGrowth = Const.MAX_MOVE_SPD * (MAX_RADIUS_RECALC_AWAIT - myRadiusRecalcAwait);
+        int bandCount = myObjs.getDepthBandCount();
+        if (bandCount > 0 && !mySpatialHash.isQueryWorthwhile(viewDistance * myObjs.getDepthBand(0) + radiusGrowth)) {
+            return false;
+        }
+        for (int band = 0; band < bandCount; band++) {
+            float depth = myObjs.getDepthBand(band);
+            float radius = viewDistance * depth + radiusGrowth;
+            if (!mySpatialHash.isQueryWorthwhile(radius)) {
+                myObjs.collectAtDepth(depth, result);
+                continue;
+            }
+            int start = result.size();
+            mySpatialHash.collectInRadius(camPosition, radius, result);
+            if (bandCount > 1) {
+                removeOtherDepths(result, start, depth);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the objects not at the given depth from the end of the list, from {@code start} on. Does not keep the
+     * order of the removed part.
+     */
+    private void removeOtherDepths(List<SolObject> objects, int start, float depth) {
+        for (int i = objects.size() - 1; i >= start; i--) {
+            int index = myObjs.indexOf(objects.get(i));
+            if (index >= 0 && myObjs.getDepthAt(index) == depth) {
+                continue;
+            }
+            int last = objects.size() - 1;
+            objects.set(i, objects.get(last));
+            objects.remove(last);
+        }
+    }
+
+    /**
+     * Finds the (non-far) object of the given type reaching into the given circle with its center closest to {@code position}.
+     * <p>
+     * As with {@link #collectObjectsNear(Vector2, float, List)}, objects are considered when their bounding circle may
+     * intersect the searched area. Exact reach conditions belong into {@code filter}.
+     *
+     * @param position Point of reference
+     * @param radius   Radius of the searched area around the point of reference
+     * @param type     Type of the searched object
+     * @param filter   Additional condition the object has to fulfill, or null if not applicable
+     * @return The nearest matching object, or null if there is none
+     */
+    public <T extends SolObject> T getNearest(Vector2 position, float radius, Class<T> type, Predicate<? super T> filter) {
+        List<SolObject> candidates = getQueryList();
+        mySpatialHash.collectInRadius(position, radius, candidates);
+        T nearest = null;
+        float minimumDistance = Float.MAX_VALUE;
+        for (SolObject candidate : candidates) {
+            if (!type.isInstance(candidate)) {
+                continue;
+            }
+            T object = type.cast(candidate);
+            if (filter != null && !filter.test(object)) {
+                continue;
+            }
+            float distance = object.getPosition().dst2(position);
+            if (minimumDistance < distance) {
+                continue;
+            }
+            minimumDistance = distance;
+            nearest = object;
+        }
+        freeQueryList(candidates);
+        return nearest;
+    }
+
+    /**
+     * Finds up to {@code count} (non-far) objects of the given type reaching into the given circle with their centers
+     * closest to {@code position}.
+     *
+     * @param position Point of reference
+     * @param radius   Radius of the searched area around the point of reference
+     * @param count    Maximum number of objects to find
+     * @param type     Type of the searched objects
+     * @param filter   Additional condition the objects have to fulfill, or null if not applicable
+     * @param result   List the found objects are appended to, ordered from the nearest one
+     */
+    public <T extends SolObject> void getNearest(Vector2 position, float radius, int count, Class<T> type, Predicate<? super T> filter, List<T> result) {
+        List<SolObject> candidates = getQueryList();
+        mySpatialHash.collectInRadius(position, radius, candidates);
+        int firstResult = result.size();
+        for (SolObject candidate : candidates) {
+            if (!type.isInstance(candidate)) {
+                continue;
+            }
+            T object = type.cast(candidate);
+            if (filter == null || filter.test(object)) {
+                result.add(object);
+            }
+        }
+        freeQueryList(candidates);
+        List<T> found = result.subList(firstResult, result.size());
+        found.sort(Comparator.comparingDouble(o -> o.getPosition().dst2(position)));
+        while (found.size() > count) {
+            found.remove(found.size() - 1);
+        }
+    }
+
     /**
      * Commits {@code action} to all (non-far) {@link SolObject}s whose squared distance to {@code fromObject} is less than {@code squaredDistance}.
      *
@@ -291,36 +807,75 @@ public List<SolObject> getObjects() {
      * @param action          The action to commit to {@code fromObject}.
      */
     public void doToAllCloserThan(float squaredDistance, SolObject fromObject, Consumer<SolObject> action) {
-        for (SolObject obj : myObjs) {
-            if (fromObject.getPosition().dst2(obj.getPosition()) < squaredDistance) {
+        Vector2 position = fromObject.getPosition();
+        List<SolObject> candidates = getQueryList();
+        mySpatialHash.collectInRadius(position, (float) Math.sqrt(squaredDistance), candidates);
+        for (int i = 0, size = candidates.size(); i < size; i++) {
+            SolObject obj = candidates.get(i);
+            if (position.dst2(obj.getPosition()) < squaredDistance) {
                 action.accept(obj);
             }
         }
+        freeQueryList(candidates);
+    }
+
+    /**
+     * Borrows an empty list to collect the results of a proximity query into, such as with
+     * {@link #collectObjectsNear(Vector2, float, List)}, without allocating a new one for every query. The list has to
+     * be returned with {@link #freeQueryList(List)} once it is not used anymore. Only to be used on the updating thread.
+     */
+    public List<SolObject> getQueryList() {
+        if (myFreeQueryLists.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return myFreeQueryLists.remove(myFreeQueryLists.size() - 1);
+    }
+
+    /**
+     * Returns a list borrowed with {@link #getQueryList()}, which clears it.
+     */
+    public void freeQueryList(List<SolObject> list) {
+        list.clear();
+        myFreeQueryLists.add(list);
     }
 
     public void addObjDelayed(SolObject p) {
-        if (DebugOptions.ASSERTIONS && myToAdd.contains(p)) {
+        if (DebugOptions.ASSERTIONS && !myPendingAdditions.add(p)) {
             throw new AssertionError("This object is already contained in the list of objects to add!");
         }
         myToAdd.add(p);
     }
 
     public void removeObjDelayed(SolObject obj) {
-        if (DebugOptions.ASSERTIONS && myToRemove.contains(obj)) {
+        if (DebugOptions.ASSERTIONS && !myPendingRemovals.add(obj)) {
             throw new AssertionError("This object is already contained in the list of objects to remove!");
         }
         myToRemove.add(obj);
     }
 
-    public World getWorld() {
-        return myWorld;
+    public ShipRegistry getShipRegistry() {
+        return myShipRegistry;
+    }
+
+    /**
+     * @return The physics world of the region of the position, which bodies built there have to be created in
+     */
+    public World getWorld(Vector2 position) {
+        return myPhysicsRegions.getWorld(position);
+    }
+
+    public PhysicsRegions getPhysicsRegions() {
+        return myPhysicsRegions;
+    }
+
+    public PhysicsBudget getPhysicsBudget() {
+        return myPhysicsBudget;
     }
 
     public void resetDelays() {
         for (FarObjData data : myFarObjs) {
-            data.delay = 0;
+            myFarScheduler.schedule(data, 1);
         }
-
     }
 
     public List<FarObjData> getFarObjs() {
@@ -336,7 +891,13 @@ public void addFarObjNow(FarObject fo) {
             }
         }
         FarObjData fod = new FarObjData(fo, depth);
+        fod.index = myFarObjs.size();
         myFarObjs.add(fod);
+        if (fo.updatesEveryFrame()) {
+            fod.updateIndex = myEveryFrameFarObjs.size();
+            myEveryFrameFarObjs.add(fod);
+        }
+        myFarScheduler.schedule(fod, 1);
         if (fo instanceof FarShip) {
             myFarShips.add((FarShip) fo);
         }
@@ -345,15 +906,37 @@ public void addFarObjNow(FarObject fo) {
         }
     }
 
-    public List<FarShip> getFarShips() {
+    public Collection<FarShip> getFarShips() {
         return myFarShips;
     }
 
-    public List<StarPort.FarStarPort> getFarPorts() {
+    public Collection<StarPort.FarStarPort> getFarPorts() {
         return myFarPorts;
     }
 
     public void dispose() {
-        myWorld.dispose();
+        myPhysicsRegions.dispose();
+    }
+
+    private class DecisionTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        DecisionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DECISION_BATCH_SIZE) {
+                for (int i = from; i < to; i++) {
+                    myDeciders.get(i).decide(myWorldView);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecisionTask(from, middle), new DecisionTask(middle, to));
+        }
     }
 }
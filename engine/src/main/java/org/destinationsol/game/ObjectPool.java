@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import org.destinationsol.common.Nullable;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Keeps removed objects of one kind for reuse, so that short lived objects do not need to be built again, together with
+ * their Box2D bodies, every time.
+ * <p>
+ * Objects are interchangeable only if they share a key, such as the config they were built from, and the physics world
+ * their bodies belong to (see {@link PhysicsRegions}). Objects without a body are pooled by their key alone. The bodies
+ * of freed objects are deactivated rather than destroyed, which takes them out of the simulation until they are
+ * obtained again. The pool counts how many objects were obtained from it and how many had to be built instead, see
+ * {@link ObjectPools}, as well as how many of the obtained ones had to be partly rebuilt.
+ * <p>
+ * With {@link DebugOptions#NO_OBJECT_POOLS} set, the pool keeps nothing, so every object is built anew.
+ *
+ * @param <T> Type of the pooled objects
+ */
+public class ObjectPool<T> {
+    private final String name;
+    private final int maxFreePerKey;
+    private final Predicate<Object> hasBody;
+    private final ObjectMap<World, ObjectMap<Object, Array<T>>> freeObjects;
+    private final ObjectMap<Object, Array<T>> freeUnboundObjects;
+    private int freeCount;
+    private int parkedBodyCount;
+    private long hits;
+    private long misses;
+    private long rebuilds;
+    private int secondMisses;
+    private int allocationsPerSecond;
+
+    /**
+     * Creates a pool whose objects freed with a physics world all have a body.
+     *
+     * @see #ObjectPool(String, int, Predicate)
+     */
+    public ObjectPool(String name, int maxFreePerKey) {
+        this(name, maxFreePerKey, key -> true);
+    }
+
+    /**
+     * @param name          Name of the pool in the statistics
+     * @param maxFreePerKey Number of free objects kept per key, further freed objects are discarded
+     * @param hasBody       Tells whether the objects with a key that are freed with a physics world have a body
+     */
+    public ObjectPool(String name, int maxFreePerKey, Predicate<Object> hasBody) {
+        this.name = name;
+        this.maxFreePerKey = maxFreePerKey;
+        this.hasBody = hasBody;
+        freeObjects = new ObjectMap<>();
+        freeUnboundObjects = new ObjectMap<>();
+    }
+
+    /**
+     * Takes a free object without a body with the key out of the pool.
+     *
+     * @see #obtain(World, Object)
+     */
+    @Nullable
+    public T obtain(Object key) {
+        return obtain(freeUnboundObjects, key);
+    }
+
+    /**
+     * Takes a free object with the key out of the pool. If there is none, the caller has to build a new object.
+     *
+     * @param world World the body of the wanted object has to belong to
+     * @param key   Key of the wanted object
+     * @return A free object, or null if there is none with the key
+     */
+    @Nullable
+    public T obtain(World world, Object key) {
+        T object = obtain(freeObjects.get(world), key);
+        if (object != null && hasBody.test(key)) {
+            parkedBodyCount--;
+        }
+        return object;
+    }
+
+    @Nullable
+    private T obtain(@Nullable ObjectMap<Object, Array<T>> worldObjects, Object key) {
+        Array<T> objects = worldObjects == null ? null : worldObjects.get(key);
+        if (DebugOptions.NO_OBJECT_POOLS || objects == null || objects.size == 0) {
+            misses++;
+            secondMisses++;
+            return null;
+        }
+        hits++;
+        freeCount--;
+        return objects.pop();
+    }
+
+    /**
+     * Puts a removed object into the pool.
+     *
+     * @param world  World the body of the object belongs to
+     * @param key    Key of the object
+     * @param object The object, which must not be used anymore by the caller if it was accepted
+     * @return True if the object was kept, false if the pool already holds enough objects with the key
+     */
+    public boolean free(World world, Object key, T object) {
+        ObjectMap<Object, Array<T>> worldObjects = freeObjects.get(world);
+        if (worldObjects == null) {
+            worldObjects = new ObjectMap<>();
+            freeObjects.put(world, worldObjects);
+        }
+        if (!free(worldObjects, key, object)) {
+            return false;
+        }
+        if (hasBody.test(key)) {
+            parkedBodyCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Puts a removed object without a body into the pool.
+     *
+     * @see #free(World, Object, Object)
+     */
+    public boolean free(Object key, T object) {
+        return free(freeUnboundObjects, key, object);
+    }
+
+    private boolean free(ObjectMap<Object, Array<T>> worldObjects, Object key, T object) {
+        if (DebugOptions.NO_OBJECT_POOLS) {
+            return false;
+        }
+        Array<T> objects = worldObjects.get(key);
+        if (objects == null) {
+            objects = new Array<>(false, 16);
+            worldObjects.put(key, objects);
+        }
+        if (objects.size >= maxFreePerKey) {
+            return false;
+        }
+        objects.add(object);
+        freeCount++;
+        return true;
+    }
+
+    /**
+     * Puts a removed object into the pool and parks its body, or destroys the body if the object is not kept. Has to be
+     * called outside of the physics step, as when objects are removed.
+     */
+    public void freeWithBody(Object key, T object, Body body) {
+        if (free(body.getWorld(), key, object)) {
+            body.setActive(false);
+        } else {
+            body.getWorld().destroyBody(body);
+        }
+    }
+
+    /**
+     * Moves the parked body of an obtained object to its new place and puts it back into the simulation.
+     *
+     * @param angle The new angle, in degrees
+     */
+    public static void activate(Body body, Vector2 position, float angle) {
+        body.setTransform(position, angle * MathUtils.degRad);
+        body.setActive(true);
+        body.setAwake(true);
+    }
+
+    /**
+     * Counts an obtained object that could not be reused as it was, but had part of it built again, such as a shard
+     * whose fixtures are replaced to change its size.
+     */
+    public void countRebuild() {
+        rebuilds++;
+    }
+
+    /**
+     * Ends the current second of the allocation rate, called by {@link ObjectPools} once per second.
+     */
+    void endSecond() {
+        allocationsPerSecond = secondMisses;
+        secondMisses = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of objects obtained from the pool since the game started
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of objects that had to be built because the pool held none, since the game started
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of objects obtained from the pool that had part of them built again, see
+     * {@link #countRebuild()}
+     */
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * @return The fraction of requested objects the pool could provide, 0 if no objects were requested yet
+     */
+    public float getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (float) hits / requests;
+    }
+
+    /**
+     * @return The number of objects built during the last whole second
+     */
+    public int getAllocationsPerSecond() {
+        return allocationsPerSecond;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * @return The number of free objects whose bodies are parked in their physics worlds
+     */
+    public int getParkedBodyCount() {
+        return parkedBodyCount;
+    }
+
+    public String format() {
+        String rebuilt = rebuilds == 0 ? "" : String.format(Locale.ROOT, " (%.0f%% of them rebuilt)", 100f * rebuilds / hits);
+        return String.format(Locale.ROOT, "%s %.0f%% reused%s, %d new/s, %d free", name, 100 * getHitRate(), rebuilt,
+                allocationsPerSecond, freeCount);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import org.destinationsol.game.item.Loot;
+import org.destinationsol.game.projectile.Projectile;
+import org.destinationsol.game.projectile.ProjectileConfig;
+import org.destinationsol.ui.DebugCollector;
+
+/**
+ * The {@link ObjectPool}s of the objects that are created and removed in large numbers during fights: projectiles,
+ * the shards of destroyed ships and asteroids, and loot, as well as the particle emitters of their effects.
+ * <p>
+ * The pools belong to a single game, as the parked bodies belong to its physics worlds. Their statistics are shown in
+ * the debug overlay if {@link DebugOptions#POOL_INFO} is set.
+ */
+public class ObjectPools implements UpdateAwareSystem {
+    // Projectiles without a physical size move without a body
+    private final ObjectPool<Projectile> projectiles = new ObjectPool<>("Projectiles", 128,
+            config -> ((ProjectileConfig) config).physSize > 0);
+    private final ObjectPool<Shard> shards = new ObjectPool<>("Shards", 32);
+    private final ObjectPool<Loot> loot = new ObjectPool<>("Loot", 32);
+    private final ObjectPool<ParticleEmitter> emitters = new ObjectPool<>("Emitters", 32);
+    private float secondAwait = 1;
+
+    @Override
+    public void update(SolGame game, float timeStep) {
+        secondAwait -= timeStep;
+        if (secondAwait <= 0) {
+            secondAwait += 1;
+            projectiles.endSecond();
+            shards.endSecond();
+            loot.endSecond();
+            emitters.endSecond();
+        }
+        if (DebugOptions.POOL_INFO) {
+            DebugCollector.debug("Pool", projectiles.format());
+            DebugCollector.debug("Pool", shards.format());
+            DebugCollector.debug("Pool", loot.format());
+            DebugCollector.debug("Pool", emitters.format());
+        }
+    }
+
+    /**
+     * @return The number of bodies that are parked in the pools, which count towards the bodies of the physics worlds
+     * but are not simulated
+     */
+    public int getParkedBodyCount() {
+        return projectiles.getParkedBodyCount() + shards.getParkedBodyCount() + loot.getParkedBodyCount();
+    }
+
+    /**
+     * @return The pool of projectiles, keyed by their {@link org.destinationsol.game.projectile.ProjectileConfig}
+     */
+    public ObjectPool<Projectile> getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * @return The pool of shards, keyed by their texture
+     */
+    public ObjectPool<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return The pool of loot, keyed by the {@link org.destinationsol.game.item.SolItemType} of their items
+     */
+    public ObjectPool<Loot> getLoot() {
+        return loot;
+    }
+
+    /**
+     * @return The pool of the particle emitters of finished effects, keyed by their
+     * {@link org.destinationsol.game.particle.EffectConfig}. Only used if {@link DebugOptions#EMITTER_POOL} is set.
+     */
+    public ObjectPool<ParticleEmitter> getEmitters() {
+        return emitters;
+    }
+}
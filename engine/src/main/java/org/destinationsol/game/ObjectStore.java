@@ -0,0 +1,419 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Stores the near {@link SolObject}s of {@link ObjectManager} densely packed in an array, together with their radii and
+ * drawable depths.
+ * <p>
+ * Objects are removed by moving the last object to the freed place, so adding and removing objects are constant time
+ * operations, at the price of the order of the objects changing. Every stored object is identified by a handle, which
+ * stays the same for the whole time the object is stored. Handles consist of a slot and its generation, which is
+ * incremented every time the slot gets freed, so handles of removed objects never become valid again. Other systems can
+ * therefore use handles as keys, for instance in {@link com.badlogic.gdx.utils.LongMap}, and detect removed objects
+ * with {@link #isValid(long)}.
+ */
+public class ObjectStore {
+    /**
+     * Handle never given to any object.
+     */
+    public static final long NO_HANDLE = -1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private SolObject[] objects;
+    private float[] radii;
+    private float[] depths;
+    private float[] skippedTimes;
+    private int[] regions;
+    private float[] capturedXs;
+    private float[] capturedYs;
+    private int[] indexSlots;
+    private int[] slotIndices;
+    private int[] slotGenerations;
+    private int slotCount;
+    private int size;
+    private int modificationCount;
+    /**
+     * The distinct depths of the stored objects in ascending order, and how many objects are stored at each.
+     */
+    private final FloatArray depthBands;
+    private final IntArray depthBandSizes;
+    private final IntArray freeSlots;
+    private final ObjectIntMap<SolObject> slots;
+    private final ObjectList objectList;
+
+    public ObjectStore() {
+        objects = new SolObject[INITIAL_CAPACITY];
+        radii = new float[INITIAL_CAPACITY];
+        depths = new float[INITIAL_CAPACITY];
+        skippedTimes = new float[INITIAL_CAPACITY];
+        regions = new int[INITIAL_CAPACITY];
+        capturedXs = new float[INITIAL_CAPACITY];
+        capturedYs = new float[INITIAL_CAPACITY];
+        indexSlots = new int[INITIAL_CAPACITY];
+        slotIndices = new int[INITIAL_CAPACITY];
+        slotGenerations = new int[INITIAL_CAPACITY];
+        depthBands = new FloatArray();
+        depthBandSizes = new IntArray();
+        freeSlots = new IntArray();
+        slots = new ObjectIntMap<>();
+        objectList = new ObjectList();
+    }
+
+    /**
+     * Adds an object to the store. Adding an already stored object has no effect.
+     *
+     * @param o      Object to add
+     * @param radius Radius of the object
+     * @param depth  Depth of the drawable level of the object
+     * @return Handle of the added object
+     */
+    public long add(SolObject o, float radius, float depth) {
+        int storedSlot = slots.get(o, -1);
+        if (storedSlot >= 0) {
+            return toHandle(storedSlot);
+        }
+        if (size == objects.length) {
+            int capacity = size * 2;
+            objects = Arrays.copyOf(objects, capacity);
+            radii = Arrays.copyOf(radii, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            skippedTimes = Arrays.copyOf(skippedTimes, capacity);
+            regions = Arrays.copyOf(regions, capacity);
+            capturedXs = Arrays.copyOf(capturedXs, capacity);
+            capturedYs = Arrays.copyOf(capturedYs, capacity);
+            indexSlots = Arrays.copyOf(indexSlots, capacity);
+        }
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == slotIndices.length) {
+                slotIndices = Arrays.copyOf(slotIndices, slotCount * 2);
+                slotGenerations = Arrays.copyOf(slotGenerations, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        int index = size++;
+        objects[index] = o;
+        radii[index] = radius;
+        depths[index] = depth;
+        countDepth(depth, 1);
+        skippedTimes[index] = 0;
+        regions[index] = PhysicsRegions.DEFAULT_REGION;
+        indexSlots[index] = slot;
+        slotIndices[slot] = index;
+        slots.put(o, slot);
+        objectList.modified();
+        modificationCount++;
+        return toHandle(slot);
+    }
+
+    /**
+     * Removes an object from the store, invalidating its handle.
+     *
+     * @param o Object to remove
+     * @return True if the object was stored, false otherwise
+     */
+    public boolean remove(SolObject o) {
+        int slot = slots.remove(o, -1);
+        if (slot < 0) {
+            return false;
+        }
+        int index = slotIndices[slot];
+        countDepth(depths[index], -1);
+        int last = --size;
+        if (index != last) {
+            objects[index] = objects[last];
+            radii[index] = radii[last];
+            depths[index] = depths[last];
+            skippedTimes[index] = skippedTimes[last];
+            regions[index] = regions[last];
+            capturedXs[index] = capturedXs[last];
+            capturedYs[index] = capturedYs[last];
+            indexSlots[index] = indexSlots[last];
+            slotIndices[indexSlots[index]] = index;
+        }
+        objects[last] = null;
+        slotIndices[slot] = -1;
+        // generations stay positive, so that no handle can equal NO_HANDLE
+        slotGenerations[slot] = (slotGenerations[slot] + 1) & Integer.MAX_VALUE;
+        freeSlots.add(slot);
+        objectList.modified();
+        modificationCount++;
+        return true;
+    }
+
+    /**
+     * Returns a count that changes whenever an object is added or removed, and with it the indices of the objects.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    public boolean contains(SolObject o) {
+        return slots.containsKey(o);
+    }
+
+    /**
+     * Returns the handle of a stored object.
+     *
+     * @param o Object to look for
+     * @return Handle of the object, or {@link #NO_HANDLE} if the object is not stored
+     */
+    public long getHandle(SolObject o) {
+        int slot = slots.get(o, -1);
+        return slot < 0 ? NO_HANDLE : toHandle(slot);
+    }
+
+    /**
+     * Denotes whether the handle belongs to a currently stored object.
+     *
+     * @param handle Handle to check
+     * @return True if the object of the handle has not been removed yet, false otherwise
+     */
+    public boolean isValid(long handle) {
+        return indexOf(handle) >= 0;
+    }
+
+    /**
+     * Returns the object identified by the handle.
+     *
+     * @param handle Handle of the object
+     * @return The object, or null if it has already been removed
+     */
+    public SolObject get(long handle) {
+        int index = indexOf(handle);
+        return index < 0 ? null : objects[index];
+    }
+
+    /**
+     * Returns the current index of an object, usable with the index based getters until the next removal.
+     *
+     * @param o Object to look for
+     * @return Index of the object, or -1 if the object is not stored
+     */
+    public int indexOf(SolObject o) {
+        int slot = slots.get(o, -1);
+        return slot < 0 ? -1 : slotIndices[slot];
+    }
+
+    /**
+     * Returns the current index of the object identified by the handle, usable with the index based getters until the next removal.
+     *
+     * @param handle Handle of the object
+     * @return Index of the object, or -1 if the handle is not valid
+     */
+    public int indexOf(long handle) {
+        if (handle < 0) {
+            return -1;
+        }
+        int slot = (int) handle;
+        int generation = (int) (handle >>> 32);
+        if (slot >= slotCount || slotGenerations[slot] != generation) {
+            return -1;
+        }
+        return slotIndices[slot];
+    }
+
+    public SolObject getAt(int index) {
+        return objects[index];
+    }
+
+    public long getHandleAt(int index) {
+        return toHandle(indexSlots[index]);
+    }
+
+    public float getRadiusAt(int index) {
+        return radii[index];
+    }
+
+    public void setRadiusAt(int index, float radius) {
+        radii[index] = radius;
+    }
+
+    public float getDepthAt(int index) {
+        return depths[index];
+    }
+
+    public void setDepthAt(int index, float depth) {
+        if (depths[index] == depth) {
+            return;
+        }
+        countDepth(depths[index], -1);
+        depths[index] = depth;
+        countDepth(depth, 1);
+    }
+
+    /**
+     * Returns the depth of the deepest stored object.
+     *
+     * @return The greatest depth, or 0 if the store is empty
+     */
+    public float getMaxDepth() {
+        return depthBands.size == 0 ? 0 : depthBands.peek();
+    }
+
+    /**
+     * Returns the number of distinct depths of the stored objects, which are few as they come from the drawable levels.
+     */
+    public int getDepthBandCount() {
+        return depthBands.size;
+    }
+
+    /**
+     * @param band Index of the depth, from 0 for the shallowest to {@link #getDepthBandCount()} - 1 for the deepest
+     * @return The depth of the band
+     */
+    public float getDepthBand(int band) {
+        return depthBands.get(band);
+    }
+
+    /**
+     * Appends all objects stored at the given depth to the list.
+     *
+     * @param depth  Depth of the objects to collect
+     * @param result List the objects are appended to
+     */
+    public void collectAtDepth(float depth, List<SolObject> result) {
+        for (int i = 0; i < size; i++) {
+            if (depths[i] == depth) {
+                result.add(objects[i]);
+            }
+        }
+    }
+
+    private void countDepth(float depth, int amount) {
+        int band = 0;
+        while (band < depthBands.size && depthBands.get(band) < depth) {
+            band++;
+        }
+        if (band == depthBands.size || depthBands.get(band) != depth) {
+            depthBands.insert(band, depth);
+            depthBandSizes.insert(band, 0);
+        }
+        int bandSize = depthBandSizes.get(band) + amount;
+        if (bandSize == 0) {
+            depthBands.removeIndex(band);
+            depthBandSizes.removeIndex(band);
+        } else {
+            depthBandSizes.set(band, bandSize);
+        }
+    }
+
+    /**
+     * Returns the game time that has passed since the object was last updated, in addition to the current tick.
+     *
+     * @param index Index of the object
+     * @return Time the object has not been updated for, 0 if it was updated in the previous tick
+     * @see UpdateTierPolicy
+     */
+    public float getSkippedTimeAt(int index) {
+        return skippedTimes[index];
+    }
+
+    public void setSkippedTimeAt(int index, float skippedTime) {
+        skippedTimes[index] = skippedTime;
+    }
+
+    /**
+     * @param index Index of the object
+     * @return Index of the {@link PhysicsRegions physics region} the object was built in
+     */
+    public int getRegionAt(int index) {
+        return regions[index];
+    }
+
+    public void setRegionAt(int index, int region) {
+        regions[index] = region;
+    }
+
+    /**
+     * Stores the current positions of all objects, so that they can be read by {@link #getCapturedX(int)} and
+     * {@link #getCapturedY(int)} from any thread, until the next object is added or removed. The captured positions
+     * follow their objects when others are removed.
+     */
+    public void capturePositions() {
+        for (int i = 0; i < size; i++) {
+            Vector2 position = objects[i].getPosition();
+            capturedXs[i] = position.x;
+            capturedYs[i] = position.y;
+        }
+    }
+
+    /**
+     * Stores the current position of a single object, such as one added since the positions were last captured.
+     */
+    public void capturePositionAt(int index) {
+        Vector2 position = objects[index].getPosition();
+        capturedXs[index] = position.x;
+        capturedYs[index] = position.y;
+    }
+
+    public float getCapturedX(int index) {
+        return capturedXs[index];
+    }
+
+    public float getCapturedY(int index) {
+        return capturedYs[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only list view of the stored objects, ordered by their indices.
+     *
+     * @return List of the stored objects
+     */
+    public List<SolObject> asList() {
+        return objectList;
+    }
+
+    private long toHandle(int slot) {
+        return ((long) slotGenerations[slot] << 32) | slot;
+    }
+
+    private class ObjectList extends AbstractList<SolObject> implements RandomAccess {
+        @Override
+        public SolObject get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void modified() {
+            modCount++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import java.util.Locale;
+
+/**
+ * Chooses the solver iterations of the physics step, lowering them while the step takes longer than its budget.
+ * <p>
+ * The levels go from the full quality the game was tuned with down to the fewest iterations that still keep stacked
+ * and docked bodies from sinking into each other. The level is lowered when the average step time exceeds the budget,
+ * or at once when the number of active bodies and contacts jumps so far that the step, taking time in proportion to
+ * them, would exceed the budget. It is raised again once the step is well within the budget and the number of active bodies and contacts has dropped
+ * below what it was when the level was lowered, so that the level does not flip back and forth under a steady load.
+ * Only the solver is timed, and the bodies parked in the {@link ObjectPools} are not counted, as they are not
+ * simulated.
+ * <p>
+ * The step is never split into substeps: a world is stepped once per tick at the fixed time step, and substeps would
+ * cost more time rather than less.
+ * <p>
+ * As the level depends on the speed of the machine, an adaptive step makes the simulation nondeterministic. It is only
+ * enabled by {@link DebugOptions#PHYSICS_BUDGET}.
+ */
+public class PhysicsBudget {
+    /**
+     * Velocity and position iterations of every level, full quality first.
+     */
+    static final int[][] LEVELS = {{6, 2}, {4, 2}, {3, 1}, {2, 1}};
+    /**
+     * Share of the budget the average step time has to fall below before the level is raised again.
+     */
+    private static final float RESTORE_SHARE = .5f;
+    /**
+     * Share of the load at the time the level was lowered that the load has to fall below before it is raised again.
+     */
+    private static final float RESTORE_LOAD_SHARE = .8f;
+    /**
+     * The level is changed at most once per this many steps, so that the average can settle on the new level.
+     */
+    private static final int MIN_STEPS_BETWEEN_CHANGES = 30;
+    /**
+     * How far above its average the load has to be to count as a spike, which lowers the level without waiting for the
+     * average step time to catch up.
+     */
+    private static final float SPIKE_LOAD_FACTOR = 1.5f;
+    private static final float SMOOTHING = .1f;
+
+    private final long budgetNanos;
+    private final int[] loweredAtLoad;
+    private int level;
+    private float averageNanos;
+    private float averageLoad;
+    private long lastStepNanos;
+    private int bodyCount;
+    private int contactCount;
+    private int stepsSinceChange;
+
+    /**
+     * @param budgetMillis Time the step may take, 0 to always step at full quality
+     */
+    public PhysicsBudget(float budgetMillis) {
+        budgetNanos = (long) (budgetMillis * 1e6f);
+        loweredAtLoad = new int[LEVELS.length];
+    }
+
+    public int getVelocityIterations() {
+        return LEVELS[level][0];
+    }
+
+    public int getPositionIterations() {
+        return LEVELS[level][1];
+    }
+
+    /**
+     * @return The current level, 0 for full quality
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Records how long the solver took for a step and with how many bodies and contacts, and changes the level if needed.
+     *
+     * @param stepNanos    Time of the world step alone, without handling the contacts
+     * @param bodyCount    Number of simulated bodies, without the bodies parked in object pools
+     * @param contactCount Number of contacts in the worlds
+     */
+    public void record(long stepNanos, int bodyCount, int contactCount) {
+        lastStepNanos = stepNanos;
+        this.bodyCount = bodyCount;
+        this.contactCount = contactCount;
+        int load = bodyCount + contactCount;
+        if (budgetNanos > 0 && isSpike(load) && level < LEVELS.length - 1) {
+            // The following steps are expected to take as long as the load suggests, until they are measured
+            averageNanos *= load / averageLoad;
+            averageLoad = load;
+            level++;
+            loweredAtLoad[level] = load;
+            stepsSinceChange = 0;
+            return;
+        }
+        averageNanos = averageNanos == 0 ? stepNanos : averageNanos + SMOOTHING * (stepNanos - averageNanos);
+        averageLoad = averageLoad == 0 ? load : averageLoad + SMOOTHING * (load - averageLoad);
+        stepsSinceChange++;
+        if (budgetNanos <= 0 || stepsSinceChange < MIN_STEPS_BETWEEN_CHANGES) {
+            return;
+        }
+        if (averageNanos > budgetNanos && level < LEVELS.length - 1) {
+            level++;
+            loweredAtLoad[level] = load;
+            stepsSinceChange = 0;
+        } else if (level > 0 && averageNanos < RESTORE_SHARE * budgetNanos && load < RESTORE_LOAD_SHARE * loweredAtLoad[level]) {
+            level--;
+            stepsSinceChange = 0;
+        }
+    }
+
+    private boolean isSpike(int load) {
+        return averageLoad > 0 && load > SPIKE_LOAD_FACTOR * averageLoad && averageNanos * load / averageLoad > budgetNanos;
+    }
+
+    public long getLastStepNanos() {
+        return lastStepNanos;
+    }
+
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "level %d (%d/%d iterations), step %.2f ms, %d bodies, %d contacts", level,
+                getVelocityIterations(), getPositionIterations(), lastStepNanos / 1e6f, bodyCount, contactCount);
+    }
+}
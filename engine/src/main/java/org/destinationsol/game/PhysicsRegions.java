@@ -0,0 +1,277 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import org.destinationsol.common.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * The Box2D worlds that the near objects are simulated in.
+ * <p>
+ * By default there is a single world. If a region key function is set, every region gets a world of its own, such as
+ * every star system ({@link DebugOptions#PHYSICS_REGIONS}), so that the regions do not share a broadphase and can be
+ * stepped concurrently in the step pool. A body is created in the world of the region it is created in, see
+ * {@link ObjectManager#getWorld(Vector2)}. As bodies cannot move between worlds, the {@link ObjectManager} rebuilds
+ * objects that cross into another region and carries the state of their bodies over. Objects in different regions never
+ * collide with each other.
+ * <p>
+ * Each world has its own {@link ContactQueue}. The contacts are queued during the step and handled on the updating
+ * thread, region by region, once all the worlds have been stepped. The worlds share one {@link SolContactFilter}, which
+ * is stateless.
+ */
+public class PhysicsRegions {
+    /**
+     * Index of the region that positions belong to if there is no region key function, or if it returns no key.
+     */
+    public static final int DEFAULT_REGION = 0;
+
+    private final SolContactListener contactListener;
+    private final SolContactFilter contactFilter;
+    private final List<Region> regions;
+    private final ObjectIntMap<Object> regionIndices;
+    private final List<Region> steppedRegions;
+    private Function<Vector2, Object> regionKeyFunction;
+    private ForkJoinPool stepPool;
+    private long lastStepNanos;
+    private long lastContactNanos;
+    private int lastReportedContactCount;
+    private int lastHandledContactCount;
+    private int lastCollisionSoundCount;
+
+    public PhysicsRegions(SolContactListener contactListener, SolContactFilter contactFilter) {
+        this.contactListener = contactListener;
+        this.contactFilter = contactFilter;
+        regions = new ArrayList<>();
+        regionIndices = new ObjectIntMap<>();
+        steppedRegions = new ArrayList<>();
+        regions.add(new Region());
+    }
+
+    /**
+     * Sets how positions are split into regions. Has to be set before any bodies are created.
+     *
+     * @param regionKeyFunction Function returning the key of the region of a position, or null for a single region
+     */
+    public void setRegionKeyFunction(@Nullable Function<Vector2, Object> regionKeyFunction) {
+        this.regionKeyFunction = regionKeyFunction;
+    }
+
+    /**
+     * Sets the pool to step the worlds in. Whether the worlds are stepped concurrently or not does not change the
+     * results, as no two worlds share any bodies.
+     *
+     * @param stepPool Pool to step the worlds in, or null to step them one after the other on the updating thread
+     */
+    public void setStepPool(@Nullable ForkJoinPool stepPool) {
+        this.stepPool = stepPool;
+    }
+
+    public boolean isPartitioned() {
+        return regionKeyFunction != null;
+    }
+
+    /**
+     * @return The index of the region of the position, creating the region if it does not exist yet
+     */
+    public int getRegionIndex(Vector2 position) {
+        if (regionKeyFunction == null) {
+            return DEFAULT_REGION;
+        }
+        Object key = regionKeyFunction.apply(position);
+        if (key == null) {
+            return DEFAULT_REGION;
+        }
+        int index = regionIndices.get(key, -1);
+        if (index < 0) {
+            index = regions.size();
+            regions.add(new Region());
+            regionIndices.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return The world that bodies at the position belong to
+     */
+    public World getWorld(Vector2 position) {
+        return regions.get(getRegionIndex(position)).world;
+    }
+
+    /**
+     * Copies the transform, the velocities and the awake state of a body to the body that replaces it in another world,
+     * so that an object keeps moving and spinning as before when it crosses into another region.
+     *
+     * @param from Body the object had in the world of the region it left
+     * @param to Body the object was rebuilt with in the world of the region it entered
+     */
+    public static void copyBodyState(Body from, Body to) {
+        to.setTransform(from.getPosition(), from.getAngle());
+        to.setLinearVelocity(from.getLinearVelocity());
+        to.setAngularVelocity(from.getAngularVelocity());
+        to.setAwake(from.isAwake());
+    }
+
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    public World getWorldAt(int regionIndex) {
+        return regions.get(regionIndex).world;
+    }
+
+    /**
+     * @return The number of bodies in all the worlds, including the parked bodies of pooled objects
+     */
+    public int getBodyCount() {
+        int count = 0;
+        for (Region region : regions) {
+            count += region.world.getBodyCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of contacts in all the worlds, as of the last step
+     */
+    public int getContactCount() {
+        int count = 0;
+        for (Region region : regions) {
+            count += region.world.getContactCount();
+        }
+        return count;
+    }
+
+    /**
+     * Steps all the worlds that hold bodies, concurrently if there is a step pool and more than one of them, and then
+     * handles the contacts reported during the step.
+     */
+    public void step(float timeStep, int velocityIterations, int positionIterations) {
+        for (Region region : regions) {
+            if (region.world.getBodyCount() > 0) {
+                steppedRegions.add(region);
+            }
+        }
+        long stepStart = System.nanoTime();
+        if (stepPool == null || steppedRegions.size() < 2) {
+            for (Region region : steppedRegions) {
+                region.world.step(timeStep, velocityIterations, positionIterations);
+            }
+        } else {
+            stepPool.invoke(new StepTask(timeStep, velocityIterations, positionIterations, 0, steppedRegions.size()));
+        }
+        lastStepNanos = System.nanoTime() - stepStart;
+
+        long contactStart = System.nanoTime();
+        lastReportedContactCount = 0;
+        lastHandledContactCount = 0;
+        lastCollisionSoundCount = 0;
+        for (Region region : steppedRegions) {
+            ContactQueue contacts = region.contacts;
+            contacts.flush();
+            lastReportedContactCount += contacts.getLastReportedCount();
+            lastHandledContactCount += contacts.getLastHandledCount();
+            lastCollisionSoundCount += contacts.getLastSoundCount();
+        }
+        lastContactNanos = System.nanoTime() - contactStart;
+        steppedRegions.clear();
+    }
+
+    /**
+     * @return The time it took to step the worlds in the last step, without handling the contacts
+     */
+    public long getLastStepNanos() {
+        return lastStepNanos;
+    }
+
+    /**
+     * @return The time it took to handle the contacts of the last step
+     */
+    public long getLastContactNanos() {
+        return lastContactNanos;
+    }
+
+    /**
+     * @return The number of contacts with impulses reported during the last step, before they were merged
+     */
+    public int getLastReportedContactCount() {
+        return lastReportedContactCount;
+    }
+
+    /**
+     * @return The number of merged contacts handled after the last step
+     */
+    public int getLastHandledContactCount() {
+        return lastHandledContactCount;
+    }
+
+    public int getLastCollisionSoundCount() {
+        return lastCollisionSoundCount;
+    }
+
+    public void dispose() {
+        for (Region region : regions) {
+            region.world.dispose();
+        }
+    }
+
+    private class Region {
+        private final World world;
+        private final ContactQueue contacts;
+
+        Region() {
+            world = new World(new Vector2(0, 0), true);
+            contacts = new ContactQueue(contactListener);
+            world.setContactListener(contacts);
+            world.setContactFilter(contactFilter);
+        }
+    }
+
+    private class StepTask extends RecursiveAction {
+        private final float timeStep;
+        private final int velocityIterations;
+        private final int positionIterations;
+        private final int from;
+        private final int to;
+
+        StepTask(float timeStep, int velocityIterations, int positionIterations, int from, int to) {
+            this.timeStep = timeStep;
+            this.velocityIterations = velocityIterations;
+            this.positionIterations = positionIterations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                steppedRegions.get(from).world.step(timeStep, velocityIterations, positionIterations);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new StepTask(timeStep, velocityIterations, positionIterations, from, middle),
+                    new StepTask(timeStep, velocityIterations, positionIterations, middle, to));
+        }
+    }
+}
@@ -28,13 +28,15 @@ public class Shard implements SolObject {
     private final Body body;
     private final Vector2 position;
     private final ArrayList<Drawable> drawables;
-    private final float mass;
+    private float mass;
+    private final Object poolKey;
 
     private float angle;
 
-    Shard(Body body, ArrayList<Drawable> drawables) {
+    Shard(Body body, ArrayList<Drawable> drawables, Object poolKey) {
         this.drawables = drawables;
         this.body = body;
+        this.poolKey = poolKey;
         position = new Vector2();
         mass = this.body.getMass();
         setParamsFromBody();
@@ -85,6 +87,20 @@ public void update(SolGame game) {
         setParamsFromBody();
     }
 
+    /**
+     * Brings a shard obtained from {@link ObjectPools#getShards()} back into the simulation. The fixtures and sprite have
+     * to be resized to the new size of the shard already.
+     */
+    void reuse(Vector2 position, float angle) {
+        ObjectPool.activate(body, position, angle);
+        mass = body.getMass();
+        setParamsFromBody();
+    }
+
+    Body getBody() {
+        return body;
+    }
+
     private void setParamsFromBody() {
         position.set(body.getPosition());
         angle = body.getAngle() * MathUtils.radDeg;
@@ -97,7 +113,11 @@ public boolean shouldBeRemoved(SolGame game) {
 
     @Override
     public void onRemove(SolGame game) {
-        body.getWorld().destroyBody(body);
+        if (game != null && game.getObjectPools() != null) {
+            game.getObjectPools().getShards().freeWithBody(poolKey, this, body);
+        } else {
+            body.getWorld().destroyBody(body);
+        }
     }
 
     @Override
@@ -19,11 +19,13 @@
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableLevel;
+import org.destinationsol.game.drawables.RectSprite;
 import org.destinationsol.game.ship.ShipBuilder;
 
 import java.util.ArrayList;
@@ -53,23 +55,40 @@ public void buildExplosionShards(SolGame game, Vector2 position, Vector2 baseVel
 
     public Shard build(SolGame game, Vector2 basePos, Vector2 baseVelocity, float size) {
 
-        ArrayList<Drawable> drawables = new ArrayList<>();
         float scale = SolRandom.randomFloat(MIN_SCALE, MAX_SCALE);
         TextureAtlas.AtlasRegion tex = SolRandom.randomElement(myTextures);
         float velocityAngle = SolRandom.randomFloat(180);
         Vector2 position = new Vector2();
         SolMath.fromAl(position, velocityAngle, SolRandom.randomFloat(size));
         position.add(basePos);
-        Body body = myCollisionMeshLoader.getBodyAndSprite(game.getObjectManager().getWorld(), tex, scale, BodyDef.BodyType.DynamicBody, position, SolRandom.randomFloat(180), drawables, ShipBuilder.SHIP_DENSITY, DrawableLevel.PROJECTILES);
+        float angle = SolRandom.randomFloat(180);
+
+        World world = game.getObjectManager().getWorld(position);
+        Shard shard = game.getObjectPools().getShards().obtain(world, tex);
+        Body body;
+        if (shard == null) {
+            ArrayList<Drawable> drawables = new ArrayList<>();
+            body = myCollisionMeshLoader.getBodyAndSprite(world, tex, scale, BodyDef.BodyType.DynamicBody, position, angle, drawables, ShipBuilder.SHIP_DENSITY, DrawableLevel.PROJECTILES);
+            shard = new Shard(body, drawables, tex);
+            body.setUserData(shard);
+        } else {
+            // Shards of a texture are pooled together whatever their size, so the reused one is resized by rebuilding its
+            // fixtures, which the pool statistics count apart from the shards reused as they were
+            game.getObjectPools().getShards().countRebuild();
+            body = shard.getBody();
+            while (body.getFixtureList().size > 0) {
+                body.destroyFixture(body.getFixtureList().first());
+            }
+            myCollisionMeshLoader.attachFixtures(body, tex, scale, ShipBuilder.SHIP_DENSITY);
+            ((RectSprite) shard.getDrawables().get(0)).setTextureSize(scale);
+            shard.reuse(position, angle);
+        }
 
         body.setAngularVelocity(SolRandom.randomFloat(MAX_ROT_SPD));
         Vector2 velocity = SolMath.fromAl(velocityAngle, SolRandom.randomFloat(MAX_SPD));
         velocity.add(baseVelocity);
         body.setLinearVelocity(velocity);
         SolMath.free(velocity);
-
-        Shard shard = new Shard(body, drawables);
-        body.setUserData(shard);
         return shard;
     }
 }
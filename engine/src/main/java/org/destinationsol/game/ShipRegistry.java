@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.ship.SolShip;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Keeps the near {@link SolShip}s in separate spatial indexes per {@link Faction}.
+ * <p>
+ * This allows searching for ships of particular factions only, for instance enemies of a given faction, without
+ * touching any of the other objects. The registry is kept up to date by {@link ObjectManager}.
+ */
+public class ShipRegistry {
+    private static final float CELL_SIZE = 5f;
+
+    private final EnumMap<Faction, SpatialHash> shipsByFaction;
+    private final HashMap<SolShip, Faction> factions;
+    private int version;
+    private float maxPullDist;
+
+    public ShipRegistry() {
+        shipsByFaction = new EnumMap<>(Faction.class);
+        for (Faction faction : Faction.values()) {
+            shipsByFaction.put(faction, new SpatialHash(CELL_SIZE));
+        }
+        factions = new HashMap<>();
+    }
+
+    public void add(SolShip ship, float radius) {
+        maxPullDist = Math.max(maxPullDist, ship.getPullDist());
+        Faction faction = ship.getPilot().getFaction();
+        if (faction == null) {
+            return;
+        }
+        factions.put(ship, faction);
+        shipsByFaction.get(faction).add(ship, radius);
+        version++;
+    }
+
+    /**
+     * Updates the position of the ship in the index of its faction, moving it to another faction's index if its faction changed.
+     *
+     * @param ship   Ship to update
+     * @param radius Radius of the bounding circle around the ship position
+     */
+    public void update(SolShip ship, float radius) {
+        Faction faction = ship.getPilot().getFaction();
+        Faction registeredFaction = factions.get(ship);
+        if (faction == registeredFaction) {
+            if (faction != null) {
+                shipsByFaction.get(faction).update(ship, radius);
+            }
+            return;
+        }
+        remove(ship);
+        add(ship, radius);
+    }
+
+    public void remove(SolShip ship) {
+        Faction faction = factions.remove(ship);
+        if (faction != null) {
+            shipsByFaction.get(faction).remove(ship);
+            version++;
+        }
+    }
+
+    /**
+     * Collects ships of the given faction whose bounding circle may intersect the given circle.
+     *
+     * @param faction  Faction of the searched ships
+     * @param position Center of the searched area
+     * @param radius   Radius of the searched area
+     * @param result   List the found ships are appended to
+     */
+    public void collectShipsNear(Faction faction, Vector2 position, float radius, List<SolObject> result) {
+        shipsByFaction.get(faction).collectInRadius(position, radius, result);
+    }
+
+    /**
+     * Variant of {@link #collectShipsNear(Faction, Vector2, float, List)}, which can be called from several threads at
+     * once, as long as the registry is not being modified. The same ship can be appended more than once.
+     */
+    public void collectShipsNearConcurrently(Faction faction, float x, float y, float radius, List<SolObject> result) {
+        shipsByFaction.get(faction).collectInRadiusConcurrently(x, y, radius, result);
+    }
+
+    public int getShipCount(Faction faction) {
+        return shipsByFaction.get(faction).size();
+    }
+
+    /**
+     * Marks the start of a new game tick.
+     * <p>
+     * Together with ships being added and removed, this changes the {@link #getVersion() version}, so that any results
+     * derived from the registry can be cached for as long as it stays the same.
+     */
+    public void nextTick() {
+        version++;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the largest {@link SolShip#getPullDist() pull distance} of all ships added so far, including those of no
+     * faction. It does not shrink as ships are removed, so it is an upper bound of the distance any near ship can pull
+     * loot from.
+     *
+     * @return The largest pull distance, or 0 if no ship has been added yet
+     */
+    public float getMaxPullDist() {
+        return maxPullDist;
+    }
+}
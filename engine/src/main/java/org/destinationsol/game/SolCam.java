@@ -201,6 +201,9 @@ private void applyAngle() {
     }
 
     public float getViewDistance() {
+        if (DebugOptions.VIEW_DISTANCE_OVERRIDE != 0) {
+            return DebugOptions.VIEW_DISTANCE_OVERRIDE;
+        }
         return getViewDistance(myZoom);
     }
 
@@ -19,6 +19,13 @@
 import com.badlogic.gdx.physics.box2d.Fixture;
 import org.destinationsol.game.projectile.Projectile;
 
+/**
+ * Keeps projectiles from hitting the ship that shot them, and from hitting shields that can't absorb them.
+ * <p>
+ * The filter is stateless: it only reads the fixtures it is given, the projectile and the ship, none of which change
+ * during a step. One filter is therefore shared by all the worlds of the {@link PhysicsRegions}, even when they are
+ * stepped concurrently. Any state added to it has to be kept per world instead.
+ */
 public class SolContactFilter implements ContactFilter {
     private final FactionManager myFactionManager;
 
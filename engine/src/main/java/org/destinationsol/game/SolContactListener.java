@@ -16,25 +16,25 @@
 package org.destinationsol.game;
 
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.Contact;
 import com.badlogic.gdx.physics.box2d.ContactImpulse;
-import com.badlogic.gdx.physics.box2d.ContactListener;
-import com.badlogic.gdx.physics.box2d.Manifold;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.game.projectile.Projectile;
 
-public class SolContactListener implements ContactListener {
+/**
+ * Handles the contacts between objects, once the physics step they were reported in is over. The contacts are
+ * collected and merged during the step by the {@link ContactQueue} of every world.
+ */
+public class SolContactListener {
     private final SolGame myGame;
 
     public SolContactListener(SolGame game) {
         myGame = game;
     }
 
-    @Override
-    public void beginContact(Contact contact) {
-        SolObject oA = (SolObject) contact.getFixtureA().getBody().getUserData();
-        SolObject oB = (SolObject) contact.getFixtureB().getBody().getUserData();
-
+    /**
+     * Handles the beginning of a contact, which only matters to projectiles.
+     */
+    void handleBeginContact(SolObject oA, SolObject oB) {
         boolean aIsProj = oA instanceof Projectile;
         if (!aIsProj && !(oB instanceof Projectile)) {
             return;
@@ -45,34 +45,32 @@ public void beginContact(Contact contact) {
         proj.setObstacle(o, myGame);
     }
 
-    @Override
-    public void endContact(Contact contact) {
-    }
-
-    @Override
-    public void preSolve(Contact contact, Manifold oldManifold) {
-    }
-
-    @Override
-    public void postSolve(Contact contact, ContactImpulse impulse) {
-        SolObject soa = (SolObject) contact.getFixtureA().getBody().getUserData();
-        SolObject sob = (SolObject) contact.getFixtureB().getBody().getUserData();
+    /**
+     * @return False if the impulses between the objects are to be ignored, as for projectiles without density
+     */
+    static boolean hasImpulse(SolObject soa, SolObject sob) {
         if (soa instanceof Projectile && ((Projectile) soa).getConfig().density <= 0) {
-            return;
-        }
-        if (sob instanceof Projectile && ((Projectile) sob).getConfig().density <= 0) {
-            return;
+            return false;
         }
+        return !(sob instanceof Projectile && ((Projectile) sob).getConfig().density <= 0);
+    }
 
-        float absImpulse = calcAbsImpulse(impulse);
-        Vector2 collPos = contact.getWorldManifold().getPoints()[0];
+    /**
+     * Handles the impulse between two objects, summed over all their contacts during the step.
+     */
+    void handleContact(SolObject soa, SolObject sob, float absImpulse, Vector2 collPos) {
         soa.handleContact(sob, absImpulse, myGame, collPos);
         sob.handleContact(soa, absImpulse, myGame, collPos);
-        myGame.getSpecialSounds().playColl(myGame, absImpulse, soa, collPos);
-        myGame.getSpecialSounds().playColl(myGame, absImpulse, sob, collPos);
     }
 
-    private float calcAbsImpulse(ContactImpulse impulse) {
+    /**
+     * Plays the collision sound of an object, for the strongest of its contacts during the step.
+     */
+    void playCollisionSound(SolObject o, float absImpulse, Vector2 collPos) {
+        myGame.getSpecialSounds().playColl(myGame, absImpulse, o, collPos);
+    }
+
+    static float calcAbsImpulse(ContactImpulse impulse) {
         float absImpulse = 0;
         int pointCount = impulse.getCount();
         float[] normImpulses = impulse.getNormalImpulses();
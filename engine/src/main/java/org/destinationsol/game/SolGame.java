@@ -47,6 +47,7 @@
 import org.destinationsol.game.planet.PlanetManager;
 import org.destinationsol.game.planet.SolSystem;
 import org.destinationsol.game.planet.SunSingleton;
+import org.destinationsol.game.replay.InputRecorder;
 import org.destinationsol.game.screens.GameScreens;
 import org.destinationsol.game.ship.ShipAbility;
 import org.destinationsol.game.ship.ShipBuilder;
@@ -58,14 +59,20 @@
 import org.destinationsol.ui.TutorialManager;
 import org.destinationsol.ui.UiDrawer;
 import org.destinationsol.ui.Waypoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class SolGame {
+    private static final Logger logger = LoggerFactory.getLogger(SolGame.class);
+
     private final GameScreens gameScreens;
     private final SolCam camera;
     private final ObjectManager objectManager;
@@ -84,6 +91,7 @@ public class SolGame {
     private final FactionManager factionManager;
     private final MapDrawer mapDrawer;
     private final ShardBuilder shardBuilder;
+    private final ObjectPools objectPools;
     private final ItemManager itemManager;
     private final StarPort.Builder starPortBuilder;
     private final OggSoundManager soundManager;
@@ -97,12 +105,15 @@ public class SolGame {
     private final GalaxyFiller galaxyFiller;
     private Hero hero;
     private float timeStep;
+    private float objectTimeStep;
     private float time;
     private boolean paused;
     private float timeFactor;
     private RespawnState respawnState;
+    private InputRecorder inputRecorder;
     private SortedMap<Integer, List<UpdateAwareSystem>> onPausedUpdateSystems;
     private SortedMap<Integer, List<UpdateAwareSystem>> updateSystems;
+    private final SystemProfiler systemProfiler = new SystemProfiler();
 
 
     public SolGame(String shipName, boolean isTutorial, boolean isNewGame, CommonDrawer commonDrawer, Context context,
@@ -134,13 +145,21 @@ public SolGame(String shipName, boolean isTutorial, boolean isNewGame, CommonDra
         SolContactListener contactListener = new SolContactListener(this);
         factionManager = new FactionManager();
         objectManager = new ObjectManager(contactListener, factionManager);
+        if (DebugOptions.PHYSICS_REGIONS) {
+            objectManager.getPhysicsRegions().setRegionKeyFunction(planetManager::getNearestSystem);
+            objectManager.getPhysicsRegions().setStepPool(ForkJoinPool.commonPool());
+        }
         gridDrawer = new GridDrawer();
         chunkManager = new ChunkManager();
+        if (DebugOptions.ASYNC_CHUNKS) {
+            chunkManager.setPlanPool(ForkJoinPool.commonPool());
+        }
         partMan = new PartMan();
         asteroidBuilder = new AsteroidBuilder();
         lootBuilder = new LootBuilder();
         mapDrawer = new MapDrawer();
         shardBuilder = new ShardBuilder();
+        objectPools = new ObjectPools();
         galaxyFiller = new GalaxyFiller(hullConfigManager);
         starPortBuilder = new StarPort.Builder();
         drawableDebugger = new DrawableDebugger();
@@ -151,7 +170,7 @@ public SolGame(String shipName, boolean isTutorial, boolean isNewGame, CommonDra
         // the ordering of update aware systems is very important, switching them up can cause bugs!
         updateSystems = new TreeMap<Integer, List<UpdateAwareSystem>>();
         List<UpdateAwareSystem> defaultSystems = new ArrayList<UpdateAwareSystem>();
-        defaultSystems.addAll(Arrays.asList(planetManager, camera, chunkManager, mountDetectDrawer, objectManager, mapDrawer, soundManager, beaconHandler, drawableDebugger));
+        defaultSystems.addAll(Arrays.asList(planetManager, camera, chunkManager, mountDetectDrawer, partMan, objectManager, mapDrawer, soundManager, beaconHandler, drawableDebugger, objectPools));
         if (tutorialManager != null) {
             defaultSystems.add(tutorialManager);
         }
@@ -261,6 +280,22 @@ public void onGameEnd(Context context) {
             context.remove(TutorialManager.class, tutorialManager);
         }
         objectManager.dispose();
+        if (inputRecorder != null) {
+            try {
+                inputRecorder.close();
+            } catch (IOException e) {
+                logger.error("Could not finish the input recording", e);
+            }
+            inputRecorder = null;
+        }
+    }
+
+    /**
+     * Starts recording the hero's controls in every tick, see {@link InputRecorder}. The recorder is closed when the game
+     * ends.
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
     }
 
     private void saveShip() {
@@ -295,13 +330,28 @@ public GameScreens getScreens() {
     }
 
     public void update() {
+        long tickStart = System.nanoTime();
         if (paused) {
-            onPausedUpdateSystems.keySet().forEach(key -> onPausedUpdateSystems.get(key).forEach(system -> system.update(this, timeStep)));
+            updateSystems(onPausedUpdateSystems);
         } else {
+            if (inputRecorder != null) {
+                inputRecorder.record(gameScreens.mainGameScreen.shipControl, hero.getPosition());
+            }
             updateTime();
-            updateSystems.keySet().forEach(key ->
-                    updateSystems.get(key).forEach(
-                            system -> system.update(this, timeStep)));
+            updateSystems(updateSystems);
+        }
+        systemProfiler.recordTick(System.nanoTime() - tickStart);
+        systemProfiler.update(time);
+    }
+
+    private void updateSystems(SortedMap<Integer, List<UpdateAwareSystem>> systems) {
+        for (List<UpdateAwareSystem> prioritySystems : systems.values()) {
+            for (int i = 0; i < prioritySystems.size(); i++) {
+                UpdateAwareSystem system = prioritySystems.get(i);
+                long start = System.nanoTime();
+                system.update(this, timeStep);
+                systemProfiler.record(system, System.nanoTime() - start);
+            }
         }
     }
 
@@ -320,6 +370,7 @@ private void scaleTimeStep() {
             }
         }
         timeStep = Const.REAL_TIME_STEP * timeFactor;
+        objectTimeStep = timeStep;
     }
 
     public void draw() {
@@ -347,8 +398,33 @@ private void drawDebugPoint(GameDrawer drawer, Vector2 dp, Color col) {
         }
     }
 
+    /**
+     * Returns the game time that passes in the current update. While {@link ObjectManager} updates an object that is
+     * not updated every tick, this is the time accumulated since the last update of the object.
+     *
+     * @return The time step of the current update
+     */
     public float getTimeStep() {
-        return timeStep;
+        return objectTimeStep;
+    }
+
+    /**
+     * Returns how many ticks the current update stands for, see {@link UpdateTierPolicy}. Forces applied in an update
+     * only act for a single physics step, so continuous forces have to be multiplied by this.
+     *
+     * @return The time step of the current update divided by the time step of the tick
+     */
+    public float getTimeStepMultiple() {
+        return timeStep == 0 ? 1 : objectTimeStep / timeStep;
+    }
+
+    /**
+     * Sets the time step returned by {@link #getTimeStep()} while updating an object that has skipped updates.
+     *
+     * @param objectTimeStep The accumulated time step, or the time step of the tick to end the deferred update
+     */
+    void setObjectTimeStep(float objectTimeStep) {
+        this.objectTimeStep = objectTimeStep;
     }
 
     public SolCam getCam() {
@@ -428,16 +504,19 @@ public boolean isPlaceEmpty(Vector2 position, boolean considerPlanets) {
             return false;
         }
 
-        List<SolObject> objs = objectManager.getObjects();
+        List<SolObject> objs = objectManager.getQueryList();
+        objectManager.collectObjectsNear(position, 0, objs);
         for (SolObject o : objs) {
             if (!o.hasBody()) {
                 continue;
             }
 
             if (position.dst(o.getPosition()) < objectManager.getRadius(o)) {
+                objectManager.freeQueryList(objs);
                 return false;
             }
         }
+        objectManager.freeQueryList(objs);
 
         for (FarObjData fod : objectManager.getFarObjs()) {
             FarObject o = fod.fo;
@@ -458,6 +537,10 @@ public MapDrawer getMapDrawer() {
         return mapDrawer;
     }
 
+    public ObjectPools getObjectPools() {
+        return objectPools;
+    }
+
     public ShardBuilder getShardBuilder() {
         return shardBuilder;
     }
@@ -506,6 +589,10 @@ public float getTimeFactor() {
         return timeFactor;
     }
 
+    public SystemProfiler getSystemProfiler() {
+        return systemProfiler;
+    }
+
     public BeaconHandler getBeaconHandler() {
         return beaconHandler;
     }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A uniform grid of buckets indexing near {@link SolObject}s by their bounding circles.
+ * <p>
+ * Every object is stored in each cell its bounding circle overlaps, so a query only has to visit the cells overlapping
+ * the query circle. Objects too big to be worth spreading over the grid are kept in a separate list that every query
+ * visits. The index is maintained incrementally by {@link ObjectManager}, which calls {@link #update(SolObject, float)}
+ * once per tick for every object that may have moved.
+ */
+public class SpatialHash {
+    /**
+     * Objects spanning more cells than this along an axis are stored in the list of large objects instead.
+     */
+    private static final int MAX_CELL_SPAN = 8;
+    /**
+     * Share of the occupied cells above which visiting the cells is estimated to be slower than going through all
+     * objects, as every object is found once per cell it overlaps.
+     */
+    private static final float MAX_QUERY_CELL_SHARE = .25f;
+
+    private final float cellSize;
+    private final LongMap<Array<Entry>> cells;
+    private final HashMap<SolObject, Entry> entries;
+    private final List<SolObject> largeObjects;
+    private final Array<Array<Entry>> freeCells;
+    private int queryStamp;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        cells = new LongMap<>();
+        entries = new HashMap<>();
+        largeObjects = new ArrayList<>();
+        freeCells = new Array<>();
+    }
+
+    public void add(SolObject object, float radius) {
+        if (entries.containsKey(object)) {
+            throw new AssertionError("This object is already contained in the spatial hash!");
+        }
+        Entry entry = new Entry(object);
+        entries.put(object, entry);
+        place(entry, radius);
+    }
+
+    /**
+     * Moves the object to the cells overlapped by its current bounding circle, if these have changed.
+     *
+     * @param object Object to update
+     * @param radius Radius of the bounding circle around {@link SolObject#getPosition()}
+     */
+    public void update(SolObject object, float radius) {
+        Entry entry = entries.get(object);
+        if (entry == null) {
+            return;
+        }
+        Vector2 position = object.getPosition();
+        int minX = toCell(position.x - radius);
+        int minY = toCell(position.y - radius);
+        int maxX = toCell(position.x + radius);
+        int maxY = toCell(position.y + radius);
+        boolean isLarge = isLarge(minX, minY, maxX, maxY);
+        if (isLarge && entry.isLarge) {
+            return;
+        }
+        if (!isLarge && !entry.isLarge && entry.minX == minX && entry.minY == minY && entry.maxX == maxX && entry.maxY == maxY) {
+            return;
+        }
+        unplace(entry);
+        place(entry, radius);
+    }
+
+    public void remove(SolObject object) {
+        Entry entry = entries.remove(object);
+        if (entry != null) {
+            unplace(entry);
+        }
+    }
+
+    public boolean contains(SolObject object) {
+        return entries.containsKey(object);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Collects every object whose bounding circle may intersect the given circle into {@code result}, each of them once.
+     * <p>
+     * The result is conservative: callers are expected to do their own exact distance check on the found objects.
+     *
+     * @param position Center of the query circle
+     * @param radius   Radius of the query circle
+     * @param result   List the found objects are appended to. It is not cleared beforehand.
+     */
+    public void collectInRadius(Vector2 position, float radius, List<SolObject> result) {
+        int stamp = ++queryStamp;
+        result.addAll(largeObjects);
+        int minX = toCell(position.x - radius);
+        int minY = toCell(position.y - radius);
+        int maxX = toCell(position.x + radius);
+        int maxY = toCell(position.y + radius);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                Array<Entry> cell = cells.get(toKey(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0, sz = cell.size; i < sz; i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.queryStamp == stamp) {
+                        continue;
+                    }
+                    entry.queryStamp = stamp;
+                    result.add(entry.object);
+                }
+            }
+        }
+    }
+
+    /**
+     * Denotes whether a query of the given radius is estimated to be faster than going through all objects.
+     *
+     * @param radius Radius of the query circle
+     * @return False if the query would visit a large share of the occupied cells, true otherwise
+     */
+    public boolean isQueryWorthwhile(float radius) {
+        long span = (long) Math.ceil(2 * radius / cellSize) + 1;
+        return span * span <= cells.size * MAX_QUERY_CELL_SHARE;
+    }
+
+    /**
+     * Variant of {@link #collectInRadius(Vector2, float, List)}, which can be called from several threads at once, as
+     * long as the hash is not being modified. Objects overlapping several of the searched cells are appended once per cell.
+     *
+     * @param x      The x coordinate of the center of the searched area
+     * @param y      The y coordinate of the center of the searched area
+     * @param radius Radius of the searched area
+     * @param result List the found objects are appended to
+     */
+    public void collectInRadiusConcurrently(float x, float y, float radius, List<SolObject> result) {
+        result.addAll(largeObjects);
+        int minX = toCell(x - radius);
+        int minY = toCell(y - radius);
+        int maxX = toCell(x + radius);
+        int maxY = toCell(y + radius);
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellY = minY; cellY <= maxY; cellY++) {
+                Array<Entry> cell = cells.get(toKey(cellX, cellY));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0, sz = cell.size; i < sz; i++) {
+                    result.add(cell.get(i).object);
+                }
+            }
+        }
+    }
+
+    private void place(Entry entry, float radius) {
+        Vector2 position = entry.object.getPosition();
+        entry.minX = toCell(position.x - radius);
+        entry.minY = toCell(position.y - radius);
+        entry.maxX = toCell(position.x + radius);
+        entry.maxY = toCell(position.y + radius);
+        entry.isLarge = isLarge(entry.minX, entry.minY, entry.maxX, entry.maxY);
+        if (entry.isLarge) {
+            largeObjects.add(entry.object);
+            return;
+        }
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                long key = toKey(x, y);
+                Array<Entry> cell = cells.get(key);
+                if (cell == null) {
+                    cell = freeCells.size > 0 ? freeCells.pop() : new Array<>(false, 4);
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    private void unplace(Entry entry) {
+        if (entry.isLarge) {
+            largeObjects.remove(entry.object);
+            return;
+        }
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                long key = toKey(x, y);
+                Array<Entry> cell = cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                cell.removeValue(entry, true);
+                if (cell.size == 0) {
+                    cells.remove(key);
+                    freeCells.add(cell);
+                }
+            }
+        }
+    }
+
+    private boolean isLarge(int minX, int minY, int maxX, int maxY) {
+        return maxX - minX >= MAX_CELL_SPAN || maxY - minY >= MAX_CELL_SPAN;
+    }
+
+    private int toCell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long toKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * The cells store the entries rather than the objects, so that a query can read the dedup stamp of a found object
+     * without looking it up in {@link #entries}.
+     */
+    private static class Entry {
+        private final SolObject object;
+        private int minX;
+        private int minY;
+        private int maxX;
+        private int maxY;
+        private boolean isLarge;
+        private int queryStamp;
+
+        private Entry(SolObject object) {
+            this.object = object;
+        }
+    }
+}
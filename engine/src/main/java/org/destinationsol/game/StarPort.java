@@ -46,6 +46,14 @@ public class StarPort implements SolObject {
 
     private static final float DIST_FROM_PLANET = Const.PLANET_GAP * .5f;
     private static final float FARE = 10f;
+    /**
+     * Ships closer than this are pulled to the center of the port.
+     */
+    private static final float PULL_DIST = .4f * SIZE;
+    /**
+     * Ships closer than this to the center of the port are docked, and taken to the other planet.
+     */
+    private static final float DOCKING_DIST = .05f * SIZE;
     private final Body body;
     private final ArrayList<LightSource> lightSources;
     private final Vector2 position;
@@ -72,6 +80,20 @@ private static void blip(SolGame game, SolShip ship) {
         game.getPartMan().blip(game, ship.getPosition(), SolRandom.randomFloat(180), blipSize, 1, Vector2.Zero, texture);
     }
 
+    /**
+     * @return The distance from the center of the port within which ships are pulled in
+     */
+    static float getPullDistance() {
+        return PULL_DIST;
+    }
+
+    /**
+     * @return The distance from the center of the port within which ships are docked
+     */
+    static float getDockingDistance() {
+        return DOCKING_DIST;
+    }
+
     @Bound
     public static Vector2 getDesiredPosition(Planet from, Planet to, boolean precise) {
         Vector2 fromPosition = from.getPosition();
@@ -117,8 +139,8 @@ public void update(SolGame game) {
         float desiredAngle = SolMath.angle(fromPlanet.getPosition(), toPlanet.getPosition());
         body.setAngularVelocity((desiredAngle - angle) * MathUtils.degRad * fps / 4);
 
-        SolShip ship = ForceBeacon.pullShips(game, this, position, null, null, .4f * SIZE);
-        if (ship != null && ship.getMoney() >= FARE && ship.getPosition().dst(position) < .05f * SIZE) {
+        SolShip ship = ForceBeacon.pullShips(game, this, position, null, null, PULL_DIST);
+        if (ship != null && ship.getMoney() >= FARE && ship.getPosition().dst(position) < DOCKING_DIST) {
             ship.setMoney(ship.getMoney() - FARE);
             Transcendent transcendent = new Transcendent(ship, fromPlanet, toPlanet, game);
             if (transcendent.getShip().getPilot().isPlayer()) {
@@ -240,7 +262,7 @@ public StarPort build(SolGame game, Planet from, Planet to, boolean secondary) {
             // Adjust position so that StarPorts are not overlapping
             position = adjustDesiredPos(game, null, position);
             ArrayList<Drawable> drawables = new ArrayList<>();
-            Body body = myLoader.getBodyAndSprite(game.getObjectManager().getWorld(), Assets.getAtlasRegion("engine:starPort"), SIZE,
+            Body body = myLoader.getBodyAndSprite(game.getObjectManager().getWorld(position), Assets.getAtlasRegion("engine:starPort"), SIZE,
                     BodyDef.BodyType.KinematicBody, new Vector2(position), angle, drawables, 10f, DrawableLevel.BIG_BODIES);
             SolMath.free(position);
             ArrayList<LightSource> lights = new ArrayList<>();
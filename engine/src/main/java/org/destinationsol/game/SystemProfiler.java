@@ -0,0 +1,278 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.destinationsol.ui.DebugCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Times the {@link UpdateAwareSystem}s that {@link SolGame} updates every tick, so that it can be seen which of them
+ * used up the frame budget when the game hitches.
+ * <p>
+ * Each system keeps the durations of its last {@link #WINDOW_SIZE} updates, from which the percentiles are computed on
+ * request. The durations of whole ticks are kept under {@link #TOTAL}. The numbers can be shown in the debug overlay
+ * ({@link DebugOptions#PROFILE_SYSTEMS}), printed with the {@code profile} console command and dumped to
+ * {@value #CSV_FILE_NAME} and {@value #JSON_FILE_NAME} every {@link DebugOptions#PROFILE_DUMP_INTERVAL} seconds.
+ */
+public class SystemProfiler {
+    /**
+     * Number of updates the percentiles are computed over, ten seconds worth of ticks.
+     */
+    public static final int WINDOW_SIZE = 600;
+    public static final String TOTAL = "Total";
+    public static final String CSV_FILE_NAME = "systemProfile.csv";
+    public static final String JSON_FILE_NAME = "systemProfile.json";
+    private static final String CSV_HEADER = "time,system,samples,p50Nanos,p95Nanos,p99Nanos,maxNanos";
+    /**
+     * The overlay is only refreshed every this many ticks, as computing the percentiles sorts all the samples.
+     */
+    private static final int OVERLAY_REFRESH_TICKS = 30;
+    private static final Logger logger = LoggerFactory.getLogger(SystemProfiler.class);
+
+    private final Map<UpdateAwareSystem, Timings> timingsBySystem = new IdentityHashMap<>();
+    private final List<Timings> timings = new ArrayList<>();
+    private final Timings total = new Timings(TOTAL);
+    private final List<String> overlayLines = new ArrayList<>();
+    private int overlayAwait;
+    private float lastDumpTime;
+
+    /**
+     * Records how long a single update of a system took.
+     */
+    public void record(UpdateAwareSystem system, long nanos) {
+        Timings systemTimings = timingsBySystem.get(system);
+        if (systemTimings == null) {
+            systemTimings = new Timings(getName(system));
+            timingsBySystem.put(system, systemTimings);
+            timings.add(systemTimings);
+        }
+        systemTimings.record(nanos);
+    }
+
+    /**
+     * Records how long a whole tick took.
+     */
+    public void recordTick(long nanos) {
+        total.record(nanos);
+    }
+
+    /**
+     * Shows the overlay and writes the periodic dump, if they are enabled. Called by {@link SolGame} after every tick.
+     *
+     * @param time The current game time
+     */
+    public void update(float time) {
+        if (DebugOptions.PROFILE_SYSTEMS) {
+            if (overlayAwait <= 0) {
+                overlayAwait = OVERLAY_REFRESH_TICKS;
+                overlayLines.clear();
+                for (Summary summary : summarize()) {
+                    overlayLines.add(summary.format());
+                }
+            }
+            overlayAwait--;
+            for (String line : overlayLines) {
+                DebugCollector.debug("Profile", line);
+            }
+        }
+
+        if (DebugOptions.PROFILE_DUMP_INTERVAL > 0 && time - lastDumpTime >= DebugOptions.PROFILE_DUMP_INTERVAL) {
+            lastDumpTime = time;
+            dump(time);
+        }
+    }
+
+    /**
+     * @return The current percentiles of the tick and of every system, the tick first and the systems in update order
+     */
+    public List<Summary> summarize() {
+        List<Summary> summaries = new ArrayList<>(timings.size() + 1);
+        summaries.add(total.summarize());
+        for (Timings systemTimings : timings) {
+            summaries.add(systemTimings.summarize());
+        }
+        return summaries;
+    }
+
+    /**
+     * Forgets all the recorded durations.
+     */
+    public void reset() {
+        total.clear();
+        for (Timings systemTimings : timings) {
+            systemTimings.clear();
+        }
+        overlayAwait = 0;
+    }
+
+    /**
+     * @return The current percentiles as a human readable table, in milliseconds
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        for (Summary summary : summarize()) {
+            builder.append(summary.format()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends the current percentiles to the CSV dump and replaces the JSON dump with them.
+     *
+     * @param time The game time to note in the dumps
+     * @return The paths of the written files
+     */
+    public String dump(float time) {
+        List<Summary> summaries = summarize();
+        String csvPath = SaveManager.getResourcePath(CSV_FILE_NAME);
+        String jsonPath = SaveManager.getResourcePath(JSON_FILE_NAME);
+        boolean csvExists = new File(csvPath).exists();
+        try (Writer csvWriter = new OutputStreamWriter(new FileOutputStream(csvPath, true), StandardCharsets.UTF_8);
+             Writer jsonWriter = new OutputStreamWriter(new FileOutputStream(jsonPath), StandardCharsets.UTF_8)) {
+            writeCsv(csvWriter, summaries, time, !csvExists);
+            writeJson(jsonWriter, summaries, time);
+        } catch (IOException e) {
+            logger.error("Could not dump the system profile", e);
+        }
+        return csvPath + ", " + jsonPath;
+    }
+
+    static void writeCsv(Writer writer, List<Summary> summaries, float time, boolean withHeader) {
+        PrintWriter printWriter = new PrintWriter(writer);
+        if (withHeader) {
+            printWriter.println(CSV_HEADER);
+        }
+        for (Summary summary : summaries) {
+            printWriter.println(String.format(Locale.ROOT, "%.2f,%s,%d,%d,%d,%d,%d", time, summary.name, summary.samples,
+                    summary.p50Nanos, summary.p95Nanos, summary.p99Nanos, summary.maxNanos));
+        }
+        printWriter.flush();
+    }
+
+    static void writeJson(Writer writer, List<Summary> summaries, float time) {
+        JsonArray systems = new JsonArray();
+        for (Summary summary : summaries) {
+            JsonObject system = new JsonObject();
+            system.addProperty("name", summary.name);
+            system.addProperty("samples", summary.samples);
+            system.addProperty("p50Nanos", summary.p50Nanos);
+            system.addProperty("p95Nanos", summary.p95Nanos);
+            system.addProperty("p99Nanos", summary.p99Nanos);
+            system.addProperty("maxNanos", summary.maxNanos);
+            systems.add(system);
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("time", time);
+        root.add("systems", systems);
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        gson.toJson(root, writer);
+    }
+
+    private static String getName(UpdateAwareSystem system) {
+        String name = system.getClass().getSimpleName();
+        return name.isEmpty() ? system.getClass().getName() : name;
+    }
+
+    /**
+     * The last {@link #WINDOW_SIZE} durations of one system, in a ring buffer.
+     */
+    static class Timings {
+        private final String name;
+        private final long[] samples = new long[WINDOW_SIZE];
+        private final long[] sorted = new long[WINDOW_SIZE];
+        private int next;
+        private int count;
+
+        Timings(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW_SIZE;
+            if (count < WINDOW_SIZE) {
+                count++;
+            }
+        }
+
+        void clear() {
+            next = 0;
+            count = 0;
+        }
+
+        Summary summarize() {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            return new Summary(name, count, percentile(.5f), percentile(.95f), percentile(.99f), count == 0 ? 0 : sorted[count - 1]);
+        }
+
+        /**
+         * Nearest rank percentile of the sorted samples.
+         */
+        private long percentile(float fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * count);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+
+    /**
+     * The percentiles of one system at the time it was summarized.
+     */
+    public static class Summary {
+        public final String name;
+        public final int samples;
+        public final long p50Nanos;
+        public final long p95Nanos;
+        public final long p99Nanos;
+        public final long maxNanos;
+
+        Summary(String name, int samples, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.samples = samples;
+            this.p50Nanos = p50Nanos;
+            this.p95Nanos = p95Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%s p50 %.2f p95 %.2f p99 %.2f max %.2f ms", name, p50Nanos / 1e6f,
+                    p95Nanos / 1e6f, p99Nanos / 1e6f, maxNanos / 1e6f);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+/**
+ * Decides how often {@link ObjectManager} updates each of the near objects.
+ * <p>
+ * An object that is not updated every tick is updated with the game time accumulated since its last update, see
+ * {@link SolGame#getTimeStep()}, so its timers keep running at the right speed, only in coarser steps. The physics
+ * world keeps stepping all bodies every tick, and forces that an object applies in its update are scaled by
+ * {@link SolGame#getTimeStepMultiple()}. Objects of one tier are spread over the ticks by their handles, so that the
+ * cost of the deferred updates is evenly distributed.
+ */
+public interface UpdateTierPolicy {
+    /**
+     * Chooses the update tier of an object. Called every tick for every near object, so it has to be cheap.
+     *
+     * @param game             The game
+     * @param object           The object to decide about
+     * @param distanceFromView Distance of the edge of the object from the visible area, 0 or less if the object is
+     *                         visible. This is the same test that {@link org.destinationsol.game.drawables.DrawableManager}
+     *                         uses to decide whether the object is drawn.
+     * @return Number of ticks between the updates of the object, 1 to update it every tick
+     */
+    int getUpdateInterval(SolGame game, SolObject object, float distanceFromView);
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.projectile.Projectile;
+import org.destinationsol.game.ship.SolShip;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Read-only view of the near objects of {@link ObjectManager}, given to {@link Decider}s.
+ * <p>
+ * Positions of the objects are captured when the decision phase begins. All methods can be called from several threads
+ * at once, as nothing is modified until the decision phase ends.
+ */
+public class WorldView {
+    private final ObjectStore myObjs;
+    private final SpatialHash mySpatialHash;
+    private final ShipRegistry myShipRegistry;
+    private final FactionManager myFactionManager;
+    private final ThreadLocal<List<SolObject>> myCandidates;
+    private float myViewDistance;
+
+    WorldView(ObjectStore objs, SpatialHash spatialHash, ShipRegistry shipRegistry, FactionManager factionManager) {
+        myObjs = objs;
+        mySpatialHash = spatialHash;
+        myShipRegistry = shipRegistry;
+        myFactionManager = factionManager;
+        myCandidates = ThreadLocal.withInitial(ArrayList::new);
+    }
+
+    void begin(SolGame game) {
+        myObjs.capturePositions();
+        myViewDistance = game.getCam().getViewDistance();
+    }
+
+    public float getX(SolObject o) {
+        return myObjs.getCapturedX(indexOf(o));
+    }
+
+    public float getY(SolObject o) {
+        return myObjs.getCapturedY(indexOf(o));
+    }
+
+    public float getViewDistance() {
+        return myViewDistance;
+    }
+
+    /**
+     * @return The largest distance any near ship can pull loot from, see {@link ShipRegistry#getMaxPullDist()}
+     */
+    public float getMaxPullDist() {
+        return myShipRegistry.getMaxPullDist();
+    }
+
+    /**
+     * Finds the nearest enemy ship of the given ship, as {@link FactionManager#getNearestEnemy(SolGame, SolShip)} does.
+     *
+     * @param ship Ship to find enemies for
+     * @return The nearest enemy ship, or null if there is none
+     */
+    public SolShip findNearestEnemy(SolShip ship) {
+        Pilot pilot = ship.getPilot();
+        float detectionDist = pilot.getDetectionDist();
+        if (detectionDist <= 0) {
+            return null;
+        }
+        detectionDist += ship.getHull().config.getApproxRadius();
+        return findNearestEnemy(detectionDist, pilot.getFaction(), getX(ship), getY(ship));
+    }
+
+    /**
+     * Finds the nearest enemy ship for a target seeking projectile, as {@link FactionManager#getNearestEnemy(SolGame, Projectile)} does.
+     *
+     * @param projectile The target seeking projectile
+     * @return The nearest enemy ship, or null if there is none
+     */
+    public SolShip findNearestEnemy(Projectile projectile) {
+        return findNearestEnemy(myViewDistance, projectile.getFaction(), getX(projectile), getY(projectile));
+    }
+
+    /**
+     * Finds the nearest ship hostile to the faction whose hull reaches within the detection distance.
+     *
+     * @param detectionDist The maximum distance allowed for detection
+     * @param faction       The faction of the searching entity
+     * @param x             The x coordinate of the searching entity
+     * @param y             The y coordinate of the searching entity
+     * @return The nearest enemy ship, or null if there is none
+     */
+    public SolShip findNearestEnemy(float detectionDist, Faction faction, float x, float y) {
+        if (faction == null) {
+            return null;
+        }
+        List<SolObject> candidates = myCandidates.get();
+        for (Faction otherFaction : Faction.values()) {
+            if (myFactionManager.areEnemies(faction, otherFaction)) {
+                myShipRegistry.collectShipsNearConcurrently(otherFaction, x, y, detectionDist, candidates);
+            }
+        }
+        SolShip nearestEnemyShip = null;
+        float minimumDistance = detectionDist;
+        for (SolObject candidate : candidates) {
+            SolShip potentialEnemyShip = (SolShip) candidate;
+            float distance = Vector2.dst(getX(potentialEnemyShip), getY(potentialEnemyShip), x, y) - potentialEnemyShip.getHull().config.getApproxRadius();
+            if (minimumDistance < distance) {
+                continue;
+            }
+            minimumDistance = distance;
+            nearestEnemyShip = potentialEnemyShip;
+        }
+        candidates.clear();
+        return nearestEnemyShip;
+    }
+
+    /**
+     * Finds the object of the given type reaching into the given circle with its center closest to the center of the
+     * circle, as {@link ObjectManager#getNearest(Vector2, float, Class, Predicate)} does.
+     *
+     * @param x      The x coordinate of the point of reference
+     * @param y      The y coordinate of the point of reference
+     * @param radius Radius of the searched area around the point of reference
+     * @param type   Type of the searched object
+     * @param filter Additional condition the object has to fulfill, or null if not applicable
+     * @return The nearest matching object, or null if there is none
+     */
+    public <T extends SolObject> T findNearest(float x, float y, float radius, Class<T> type, Predicate<? super T> filter) {
+        List<SolObject> candidates = myCandidates.get();
+        mySpatialHash.collectInRadiusConcurrently(x, y, radius, candidates);
+        T nearest = null;
+        float minimumDistance = Float.MAX_VALUE;
+        for (SolObject candidate : candidates) {
+            if (!type.isInstance(candidate)) {
+                continue;
+            }
+            T object = type.cast(candidate);
+            if (filter != null && !filter.test(object)) {
+                continue;
+            }
+            float distance = Vector2.dst2(getX(object), getY(object), x, y);
+            if (minimumDistance < distance) {
+                continue;
+            }
+            minimumDistance = distance;
+            nearest = object;
+        }
+        candidates.clear();
+        return nearest;
+    }
+
+    private int indexOf(SolObject o) {
+        int index = myObjs.indexOf(o);
+        if (index < 0) {
+            throw new AssertionError("no captured position for " + o);
+        }
+        return index;
+    }
+}
@@ -82,6 +82,10 @@ public Vector2 getPosition() {
         return position;
     }
 
+    public Body getBody() {
+        return body;
+    }
+
     @Override
     public FarObject toFarObject() {
         float rotationSpeed = body.getAngularVelocity();
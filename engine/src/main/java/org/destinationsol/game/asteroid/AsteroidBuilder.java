@@ -56,7 +56,7 @@ public static Body buildBall(SolGame game, Vector2 position, float angle, float
         bodyDef.angularDamping = 0;
         bodyDef.position.set(position);
         bodyDef.linearDamping = 0;
-        Body body = game.getObjectManager().getWorld().createBody(bodyDef);
+        Body body = game.getObjectManager().getWorld(position).createBody(bodyDef);
         FixtureDef fixtureDef = new FixtureDef();
         fixtureDef.density = density;
         fixtureDef.friction = Const.FRICTION;
@@ -86,7 +86,7 @@ public Asteroid build(SolGame game, Vector2 position, TextureAtlas.AtlasRegion t
         ArrayList<Drawable> drawables = new ArrayList<>();
         Body body;
         if (MAX_BALL_SZ < size) {
-            body = collisionMeshLoader.getBodyAndSprite(game.getObjectManager().getWorld(), texture, size, BodyDef.BodyType.DynamicBody, position, angle, drawables, DENSITY, DrawableLevel.BODIES);
+            body = collisionMeshLoader.getBodyAndSprite(game.getObjectManager().getWorld(position), texture, size, BodyDef.BodyType.DynamicBody, position, angle, drawables, DENSITY, DrawableLevel.BODIES);
         } else {
             body = buildBall(game, position, angle, size / 2, DENSITY, false);
             RectSprite s = SpriteManager.createSprite(texture.name, size, 0, 0, new Vector2(), DrawableLevel.BODIES, 0, 0, SolColor.WHITE, false);
@@ -75,4 +75,9 @@ public String toDebugString() {
     public boolean hasBody() {
         return true;
     }
+
+    @Override
+    public boolean updatesEveryFrame() {
+        return false;
+    }
 }
@@ -20,11 +20,13 @@
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
 import org.destinationsol.assets.Assets;
+import org.destinationsol.common.Nullable;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.Faction;
+import org.destinationsol.game.ObjectManager;
 import org.destinationsol.game.RemoveController;
 import org.destinationsol.game.ShipConfig;
 import org.destinationsol.game.SolGame;
@@ -48,7 +50,9 @@
 import org.destinationsol.game.ship.hulls.HullConfig;
 
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 public class ChunkFiller {
     private static final float DUST_DENSITY = .2f;
@@ -68,14 +72,57 @@ public class ChunkFiller {
     private static final float MAX_A_SPD = .2f;
     private static final float BELT_A_DENSITY = .04f;
     private static final float MAZE_ZONE_BORDER = 20;
+    private static final int MAX_FREE_POSITION_TRIES = 100;
     private final TextureAtlas.AtlasRegion dustTexture;
 
     public ChunkFiller() {
         dustTexture = Assets.getAtlasRegion("engine:spaceDecorationDust");
     }
 
+    /**
+     * What is found around a chunk, as far as its content depends on it. Made on the main thread by
+     * {@link #classify(SolGame, Vector2, boolean)}, as it looks at the planets and the galaxy, and read by the planning
+     * on any thread.
+     */
+    static final class Environment {
+        final Vector2 chunkCenter;
+        final boolean farBackground;
+        @Nullable
+        SpaceEnvConfig config;
+        /**
+         * Multiplied with the density of the far junk, to thin it out towards the borders of systems and mazes.
+         */
+        float densityMultiplier = 1;
+        boolean asteroids;
+        boolean beltAsteroids;
+        List<ShipConfig> enemies = Collections.emptyList();
+
+        Environment(Vector2 chunkCenter, boolean farBackground) {
+            this.chunkCenter = chunkCenter;
+            this.farBackground = farBackground;
+        }
+    }
+
+    /**
+     * Takes the placements of a chunk as they are planned.
+     */
+    interface PlacementSink {
+        /**
+         * Tells whether an asteroid or enemy may be placed at the given position. Sinks that are filled off the main
+         * thread can't look at the game, so they return true and leave finding a free position to
+         * {@link #commit(SolGame, ChunkPlan.Placement, RemoveController)}.
+         */
+        boolean isPlaceEmpty(Vector2 position);
+
+        void add(ChunkPlan.Placement placement);
+    }
+
     /**
      * Fill the background of a given chunk with floating junk.
+     * <p/>
+     * Each object is created as soon as it is planned, drawing from {@link SolRandom} in the same order as always, so
+     * that a seed keeps giving the same world. With a plan pool, {@link ChunkManager} plans the chunk on the pool
+     * instead, and commits the placements over the following ticks.
      *
      * @param game    The {@link SolGame} instance to work with
      * @param chunk   The coordinates of the chunk
@@ -87,139 +134,156 @@ public void fill(SolGame game, Vector2 chunk, RemoveController removeController,
             return;
         }
 
+        Environment environment = classify(game, chunk, fillFarBackground);
+        plan(environment, SolRandom.getRandom(), new PlacementSink() {
+            @Override
+            public boolean isPlaceEmpty(Vector2 position) {
+                return game.isPlaceEmpty(position, true);
+            }
+
+            @Override
+            public void add(ChunkPlan.Placement placement) {
+                commit(game, placement, removeController);
+            }
+        });
+    }
+
+    /**
+     * Finds out what a chunk has to be filled with. Has to be called on the main thread.
+     *
+     * @param chunk             The coordinates of the chunk
+     * @param fillFarBackground Whether the layers furthest away are to be filled, rather than the closer one
+     */
+    Environment classify(SolGame game, Vector2 chunk, boolean fillFarBackground) {
         // Determine the center of the chunk by multiplying the chunk coordinates with the chunk size and adding half a chunk's size
         Vector2 chunkCenter = new Vector2(chunk);
         chunkCenter.scl(Const.CHUNK_SIZE);
         chunkCenter.add(Const.CHUNK_SIZE / 2, Const.CHUNK_SIZE / 2);
+        Environment environment = new Environment(chunkCenter, fillFarBackground);
 
-        // Define the density multiplier for different layers of junk in the far background
-        // Dirty hack - since we want to edit this in getConfig(), it needs to be an Object
-        float[] densityMultiplier = {1};
-
-        // Get the environment configuration
-        Optional<SpaceEnvConfig> config = getConfig(game, chunkCenter, densityMultiplier, removeController, fillFarBackground);
-
-        if (fillFarBackground) {
-            config.ifPresent(spaceEnvConfig -> {
-                fillFarJunk(game, chunkCenter, removeController, DrawableLevel.FAR_DECO_3, spaceEnvConfig, densityMultiplier[0]);
-                fillFarJunk(game, chunkCenter, removeController, DrawableLevel.FAR_DECO_1, spaceEnvConfig, densityMultiplier[0]);
-                fillFarJunk(game, chunkCenter, removeController, DrawableLevel.FAR_DECO_2, spaceEnvConfig, densityMultiplier[0]);
-            });
-        } else {
-            fillDust(game, chunkCenter, removeController);
-            config.ifPresent(spaceEnvConfig -> fillJunk(game, removeController, spaceEnvConfig, chunkCenter));
-        }
-    }
-
-    private Optional<SpaceEnvConfig> getConfig(SolGame game, Vector2 chunkCenter, float[] densityMultiplier,
-                                     RemoveController removeController, boolean fillFarBackground) {
         PlanetManager planetManager = game.getPlanetManager();
         SolSystem system = planetManager.getNearestSystem(chunkCenter);
         float distanceToSystem = system.getPosition().dst(chunkCenter);
         if (distanceToSystem < system.getRadius()) {
             if (distanceToSystem < Const.SUN_RADIUS) {
-                return Optional.empty();
+                return environment;
             }
             for (SystemBelt belt : system.getBelts()) {
                 if (belt.contains(chunkCenter)) {
-                    if (!fillFarBackground) {
-                        fillAsteroids(game, removeController, true, chunkCenter);
-                    }
                     SysConfig beltConfig = belt.getConfig();
-                    for (ShipConfig enemyConfig : beltConfig.tempEnemies) {
-                        if (!fillFarBackground) {
-                            fillEnemies(game, removeController, enemyConfig, chunkCenter);
-                        }
+                    if (!fillFarBackground) {
+                        environment.asteroids = true;
+                        environment.beltAsteroids = true;
+                        environment.enemies = beltConfig.tempEnemies;
                     }
-                    return Optional.of(beltConfig.envConfig);
+                    environment.config = beltConfig.envConfig;
+                    return environment;
                 }
             }
             float percentage = distanceToSystem / system.getRadius() * 2;
             if (percentage > 1) {
                 percentage = 2 - percentage;
             }
-            densityMultiplier[0] = percentage;
+            environment.densityMultiplier = percentage;
             if (!fillFarBackground) {
                 Planet planet = planetManager.getNearestPlanet(chunkCenter);
                 float distanceToPlanet = planet.getPosition().dst(chunkCenter);
                 boolean isPlanetNear = distanceToPlanet < planet.getFullHeight() + Const.CHUNK_SIZE;
                 if (!isPlanetNear) {
-                    fillForSys(game, chunkCenter, removeController, system);
+                    classifyForSys(game, environment, system);
                 }
             }
-            return Optional.of(system.getConfig().envConfig);
+            environment.config = system.getConfig().envConfig;
+            return environment;
         }
         Maze maze = planetManager.getNearestMaze(chunkCenter);
         float distanceToMaze = maze.getPos().dst(chunkCenter);
         float zoneRadius = maze.getRadius() + MAZE_ZONE_BORDER;
         if (distanceToMaze < zoneRadius) {
-            densityMultiplier[0] = 1 - distanceToMaze / zoneRadius;
-            return Optional.of(maze.getConfig().envConfig);
+            environment.densityMultiplier = 1 - distanceToMaze / zoneRadius;
+            environment.config = maze.getConfig().envConfig;
         }
-        return Optional.empty();
+        return environment;
     }
 
-    private void fillForSys(SolGame game, Vector2 chunkCenter, RemoveController removeController, SolSystem system) {
+    private void classifyForSys(SolGame game, Environment environment, SolSystem system) {
         SysConfig config = system.getConfig();
+        Vector2 chunkCenter = environment.chunkCenter;
         Vector2 mainStationPosition = game.getGalaxyFiller().getMainStationPosition();
         Vector2 startPosition = mainStationPosition == null ? new Vector2() : mainStationPosition;
         float distanceToStartPosition = chunkCenter.dst(startPosition);
         if (Const.CHUNK_SIZE < distanceToStartPosition) {
-            fillAsteroids(game, removeController, false, chunkCenter);
-            ArrayList<ShipConfig> enemies = system.getPosition().dst(chunkCenter) < system.getInnerRadius() ? config.innerTempEnemies : config.tempEnemies;
-            for (ShipConfig enemyConfig : enemies) {
-                fillEnemies(game, removeController, enemyConfig, chunkCenter);
-            }
+            environment.asteroids = true;
+            environment.enemies = system.getPosition().dst(chunkCenter) < system.getInnerRadius() ? config.innerTempEnemies : config.tempEnemies;
         }
     }
 
-    private void fillEnemies(SolGame game, RemoveController removeController, ShipConfig enemyConfig, Vector2 chunkCenter) {
-        int enemyCount = getEntityCount(enemyConfig.density);
-        if (enemyCount == 0) {
+    /**
+     * Plans the content of a chunk. Only reads the environment and draws from the given generator, so it can be called
+     * on any thread.
+     */
+    static ChunkPlan plan(Environment environment, Random random) {
+        ChunkPlan plan = new ChunkPlan();
+        plan(environment, random, plan);
+        return plan;
+    }
+
+    /**
+     * Plans the content of a chunk into the given sink. The randoms are drawn in the order the objects of the chunk have
+     * always been made in, so that drawing from {@link SolRandom} gives the same world as ever.
+     */
+    static void plan(Environment environment, Random random, PlacementSink sink) {
+        Vector2 chunkCenter = environment.chunkCenter;
+        SpaceEnvConfig config = environment.config;
+        if (environment.farBackground) {
+            if (config != null) {
+                planFarJunk(sink, random, chunkCenter, DrawableLevel.FAR_DECO_3, config, environment.densityMultiplier);
+                planFarJunk(sink, random, chunkCenter, DrawableLevel.FAR_DECO_1, config, environment.densityMultiplier);
+                planFarJunk(sink, random, chunkCenter, DrawableLevel.FAR_DECO_2, config, environment.densityMultiplier);
+            }
             return;
         }
-
-        for (int i = 0; i < enemyCount; i++) {
-            Optional<Vector2> enemyPosition = getFreeRndPos(game, chunkCenter);
-            enemyPosition.ifPresent(enemyPos -> {
-                FarShip ship = buildSpaceEnemy(game, enemyPos, removeController, enemyConfig);
-                game.getObjectManager().addFarObjNow(ship);
-            });
+        if (environment.asteroids) {
+            planAsteroids(sink, random, environment.beltAsteroids, chunkCenter);
+        }
+        for (ShipConfig enemyConfig : environment.enemies) {
+            planEnemies(sink, random, enemyConfig, chunkCenter);
+        }
+        planDust(sink, random, chunkCenter);
+        if (config != null) {
+            planJunk(sink, random, config, chunkCenter);
         }
     }
 
-    private FarShip buildSpaceEnemy(SolGame game, Vector2 position, RemoveController remover, ShipConfig enemyConf) {
-        Vector2 velocity = new Vector2();
-        SolMath.fromAl(velocity, SolRandom.randomFloat(180), SolRandom.randomFloat(0, ENEMY_MAX_SPD));
-        float rotationSpeed = SolRandom.randomFloat(ENEMY_MAX_ROT_SPD);
-        MoveDestProvider dp = new StillGuard(position, game, enemyConf);
-        Pilot provider = new AiPilot(dp, false, Faction.EHAR, true, null, Const.AI_DET_DIST);
-        HullConfig config = enemyConf.hull;
-        int money = enemyConf.money;
-        float angle = SolRandom.randomFloat(180);
-        return game.getShipBuilder().buildNewFar(game, position, velocity, angle, rotationSpeed, provider, enemyConf.items, config,
-                remover, false, money, null, true);
+    private static void planEnemies(PlacementSink sink, Random random, ShipConfig enemyConfig, Vector2 chunkCenter) {
+        int enemyCount = getEntityCount(random, enemyConfig.density);
+        for (int i = 0; i < enemyCount; i++) {
+            Vector2 position = getFreeRndPos(sink, random, chunkCenter);
+            if (position == null) {
+                continue;
+            }
+            Vector2 velocity = new Vector2();
+            SolMath.fromAl(velocity, randomFloat(random, 180), randomFloat(random, 0, ENEMY_MAX_SPD));
+            float rotationSpeed = randomFloat(random, ENEMY_MAX_ROT_SPD);
+            float angle = randomFloat(random, 180);
+            sink.add(ChunkPlan.Placement.enemy(position, velocity, angle, rotationSpeed, enemyConfig));
+        }
     }
 
-    private void fillAsteroids(SolGame game, RemoveController remover, boolean forBelt, Vector2 chunkCenter) {
+    private static void planAsteroids(PlacementSink sink, Random random, boolean forBelt, Vector2 chunkCenter) {
         float density = forBelt ? BELT_A_DENSITY : ASTEROID_DENSITY;
-        int count = getEntityCount(density);
-        if (count == 0) {
-            return;
-        }
-
+        int count = getEntityCount(random, density);
         for (int i = 0; i < count; i++) {
-            Optional<Vector2> asteroidPosition = getFreeRndPos(game, chunkCenter);
-            asteroidPosition.ifPresent(asteroidPos -> {
-                float minSz = forBelt ? MIN_BELT_A_SZ : MIN_SYS_A_SZ;
-                float maxSz = forBelt ? MAX_BELT_A_SZ : MAX_SYS_A_SZ;
-                float sz = SolRandom.randomFloat(minSz, maxSz);
-                Vector2 velocity = new Vector2();
-                SolMath.fromAl(velocity, SolRandom.randomFloat(180), MAX_A_SPD);
-
-                FarAsteroid a = game.getAsteroidBuilder().buildNewFar(asteroidPos, velocity, sz, remover);
-                game.getObjectManager().addFarObjNow(a);
-            });
+            Vector2 position = getFreeRndPos(sink, random, chunkCenter);
+            if (position == null) {
+                continue;
+            }
+            float minSz = forBelt ? MIN_BELT_A_SZ : MIN_SYS_A_SZ;
+            float maxSz = forBelt ? MAX_BELT_A_SZ : MAX_SYS_A_SZ;
+            float sz = randomFloat(random, minSz, maxSz);
+            Vector2 velocity = new Vector2();
+            SolMath.fromAl(velocity, randomFloat(random, 180), MAX_A_SPD);
+            sink.add(ChunkPlan.Placement.asteroid(position, velocity, sz));
         }
     }
 
@@ -229,46 +293,39 @@ private void fillAsteroids(SolGame game, RemoveController remover, boolean forBe
      * This type of junk does not move on its own, it merely changes position as the camera moves, simulating different
      * depths relative to the camera.
      *
-     * @param game       The {@link SolGame} instance to work with
+     * @param sink          The sink to add the junk to
+     * @param random        The generator to draw from
      * @param chunkCenter   The center of the chunk
-     * @param remover
-     * @param drawableLevel   The depth of the junk
-     * @param conf       The environment configuration
-     * @param densityMul A density multiplier. This will be multiplied with the density defined in the environment configuration
+     * @param drawableLevel The depth of the junk
+     * @param conf          The environment configuration
+     * @param densityMul    A density multiplier. This will be multiplied with the density defined in the environment configuration
      */
-    private void fillFarJunk(SolGame game, Vector2 chunkCenter, RemoveController remover, DrawableLevel drawableLevel,
-                             SpaceEnvConfig conf, float densityMul) {
-        int count = getEntityCount(conf.farJunkDensity * densityMul);
+    private static void planFarJunk(PlacementSink sink, Random random, Vector2 chunkCenter, DrawableLevel drawableLevel,
+                                    SpaceEnvConfig conf, float densityMul) {
+        int count = getEntityCount(random, conf.farJunkDensity * densityMul);
         if (count == 0) {
             return;
         }
 
-        ArrayList<Drawable> drawables = new ArrayList<>();
-
+        List<ChunkPlan.Placement> pieces = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
             // Select a random far junk texture
-            TextureAtlas.AtlasRegion tex = new TextureAtlas.AtlasRegion(SolRandom.randomElement(conf.farJunkTextures));
-            // Flip atlas for every other piece of junk
-            if (SolRandom.test(.5f)) {
-                tex.flip(!tex.isFlipX(), !tex.isFlipY());
-            }
+            String texture = randomElement(random, conf.farJunkTextures).name;
+            // The junk used to be flipped at random here, on a copy of the texture that never reached the sprite
+            random.nextFloat();
             // Choose a random size (within a range)
-            float sz = SolRandom.randomFloat(.3f, 1) * FAR_JUNK_MAX_SZ;
+            float sz = randomFloat(random, .3f, 1) * FAR_JUNK_MAX_SZ;
             // Apply a random rotation speed
-            float rotationSpeed = SolRandom.randomFloat(FAR_JUNK_MAX_ROT_SPD);
+            float rotationSpeed = randomFloat(random, FAR_JUNK_MAX_ROT_SPD);
             // Select a random position in the chunk centered around chunkCenter, relative to the position of the chunk.
-            Vector2 junkPos = getRndPos(chunkCenter);
+            Vector2 junkPos = getRndPos(random, chunkCenter);
             junkPos.sub(chunkCenter);
-
-            // Create the resulting sprite and add it to the list
-            RectSprite s = SpriteManager.createSprite(tex.name, sz, 0, 0, junkPos, drawableLevel, SolRandom.randomFloat(180), rotationSpeed, SolColor.DDG, false);
-            drawables.add(s);
+            float angle = randomFloat(random, 180);
+            pieces.add(ChunkPlan.Placement.sprite(ChunkPlan.Type.FAR_JUNK, junkPos, new Vector2(), texture, sz, angle, rotationSpeed));
         }
 
-        // Create a common FarDrawable instance for the pieces of junk and only allow the junk to be drawn when it's not hidden by a planet
-        FarDrawable so = new FarDrawable(drawables, new Vector2(chunkCenter), new Vector2(), remover, true);
-        // Add the collection of objects to the object manager
-        game.getObjectManager().addFarObjNow(so);
+        // The pieces of junk share one object, which is only drawn when it's not hidden by a planet
+        sink.add(ChunkPlan.Placement.group(ChunkPlan.Type.FAR_JUNK, new Vector2(chunkCenter), drawableLevel, pieces));
     }
 
     /**
@@ -277,43 +334,28 @@ private void fillFarJunk(SolGame game, Vector2 chunkCenter, RemoveController rem
      * This type of junk moves at the same speed as the camera (similar to the dust) but additionally has its own floating
      * direction and angle for every individual piece of junk.
      *
-     * @param game     The {@link SolGame} instance to work with
-     * @param remover
-     * @param conf     The environment configuration
+     * @param sink        The sink to add the junk to
+     * @param random      The generator to draw from
+     * @param conf        The environment configuration
      * @param chunkCenter The center of the chunk
      */
-    private void fillJunk(SolGame game, RemoveController remover, SpaceEnvConfig conf, Vector2 chunkCenter) {
-        int count = getEntityCount(conf.junkDensity);
-        if (count == 0) {
-            return;
-        }
-
+    private static void planJunk(PlacementSink sink, Random random, SpaceEnvConfig conf, Vector2 chunkCenter) {
+        int count = getEntityCount(random, conf.junkDensity);
         for (int i = 0; i < count; i++) {
             // Select a random position in the chunk centered around chunkCenter, relative to the entire map.
-            Vector2 junkPos = getRndPos(chunkCenter);
-
-            // Select a random junk atlas
-            TextureAtlas.AtlasRegion tex = new TextureAtlas.AtlasRegion(SolRandom.randomElement(conf.junkTextures));
-            // Flip atlas for every other piece of junk
-            if (SolRandom.test(.5f)) {
-                tex.flip(!tex.isFlipX(), !tex.isFlipY());
-            }
+            Vector2 junkPos = getRndPos(random, chunkCenter);
+            // Select a random junk texture
+            String texture = randomElement(random, conf.junkTextures).name;
+            // The junk used to be flipped at random here, on a copy of the texture that never reached the sprite
+            random.nextFloat();
             // Choose a random size (within a range)
-            float sz = SolRandom.randomFloat(.3f, 1) * JUNK_MAX_SZ;
+            float sz = randomFloat(random, .3f, 1) * JUNK_MAX_SZ;
             // Apply a random rotation speed
-            float rotationSpeed = SolRandom.randomFloat(JUNK_MAX_ROT_SPD);
-
-            // Create the resulting sprite and add it to the list as the only element
-            RectSprite s = SpriteManager.createSprite(tex.name, sz, 0, 0, new Vector2(), DrawableLevel.DECO, SolRandom.randomFloat(180), rotationSpeed, SolColor.LG, false);
-            ArrayList<Drawable> drawables = new ArrayList<>();
-            drawables.add(s);
-
-            // Create a FarDrawable instance for this piece of junk and only allow it to be drawn when it's not hidden by a planet
+            float rotationSpeed = randomFloat(random, JUNK_MAX_ROT_SPD);
+            float angle = randomFloat(random, 180);
             Vector2 velocity = new Vector2();
-            SolMath.fromAl(velocity, SolRandom.randomFloat(180), SolRandom.randomFloat(JUNK_MAX_SPD_LEN));
-            FarDrawable so = new FarDrawable(drawables, junkPos, velocity, remover, true);
-            // Add the object to the object manager
-            game.getObjectManager().addFarObjNow(so);
+            SolMath.fromAl(velocity, randomFloat(random, 180), randomFloat(random, JUNK_MAX_SPD_LEN));
+            sink.add(ChunkPlan.Placement.sprite(ChunkPlan.Type.JUNK, junkPos, velocity, texture, sz, angle, rotationSpeed));
         }
     }
 
@@ -322,49 +364,136 @@ private void fillJunk(SolGame game, RemoveController remover, SpaceEnvConfig con
      * <p/>
      * Dust is fixed in the world and therefore moves opposite to the cameras movement.
      *
-     * @param game     The {@link SolGame} instance to work with
+     * @param sink        The sink to add the dust to
+     * @param random      The generator to draw from
      * @param chunkCenter The center of the chunk
-     * @param remover
      */
-    private void fillDust(SolGame game, Vector2 chunkCenter, RemoveController remover) {
-        ArrayList<Drawable> drawables = new ArrayList<>();
-        int count = getEntityCount(DUST_DENSITY);
+    private static void planDust(PlacementSink sink, Random random, Vector2 chunkCenter) {
+        int count = getEntityCount(random, DUST_DENSITY);
         if (count == 0) {
             return;
         }
 
+        List<ChunkPlan.Placement> pieces = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
             // Select a random position in the chunk centered around chunkCenter, relative to the position of the chunk.
-            Vector2 dustPos = getRndPos(chunkCenter);
+            Vector2 dustPos = getRndPos(random, chunkCenter);
             dustPos.sub(chunkCenter);
-            // Create the resulting sprite and add it to the list
-            RectSprite s = SpriteManager.createSprite(dustTexture.name, DUST_SZ, 0, 0, dustPos, DrawableLevel.DECO, 0, 0, SolColor.WHITE, false);
+            pieces.add(ChunkPlan.Placement.sprite(ChunkPlan.Type.DUST, dustPos, new Vector2(), null, DUST_SZ, 0, 0));
+        }
+
+        // The specks of dust share one object, which is only drawn when it's not hidden by a planet
+        sink.add(ChunkPlan.Placement.group(ChunkPlan.Type.DUST, new Vector2(chunkCenter), DrawableLevel.DECO, pieces));
+    }
+
+    /**
+     * Creates the object of a placement and adds it to the game. Has to be called on the main thread.
+     */
+    void commit(SolGame game, ChunkPlan.Placement placement, RemoveController remover) {
+        ObjectManager objectManager = game.getObjectManager();
+        switch (placement.type) {
+            case DUST:
+            case FAR_JUNK:
+                objectManager.addFarObjNow(buildGroup(placement, remover));
+                break;
+            case JUNK:
+                RectSprite s = SpriteManager.createSprite(placement.texture, placement.size, 0, 0, new Vector2(), DrawableLevel.DECO,
+                        placement.angle, placement.rotationSpeed, SolColor.LG, false);
+                ArrayList<Drawable> drawables = new ArrayList<>();
+                drawables.add(s);
+                // Only drawn when it's not hidden by a planet
+                objectManager.addFarObjNow(new FarDrawable(drawables, placement.position, placement.velocity, remover, true));
+                break;
+            case ASTEROID:
+                Vector2 asteroidPosition = getFreePos(game, placement);
+                if (asteroidPosition != null) {
+                    FarAsteroid a = game.getAsteroidBuilder().buildNewFar(asteroidPosition, placement.velocity, placement.size, remover);
+                    objectManager.addFarObjNow(a);
+                }
+                break;
+            case ENEMY:
+                Vector2 enemyPosition = getFreePos(game, placement);
+                if (enemyPosition != null) {
+                    objectManager.addFarObjNow(buildSpaceEnemy(game, enemyPosition, remover, placement));
+                }
+                break;
+            default:
+                throw new AssertionError("Unknown placement type " + placement.type);
+        }
+    }
+
+    private FarDrawable buildGroup(ChunkPlan.Placement placement, RemoveController remover) {
+        boolean dust = placement.type == ChunkPlan.Type.DUST;
+        ArrayList<Drawable> drawables = new ArrayList<>(placement.pieces.size());
+        for (int i = 0; i < placement.pieces.size(); i++) {
+            ChunkPlan.Placement piece = placement.pieces.get(i);
+            String texture = dust ? dustTexture.name : piece.texture;
+            RectSprite s = SpriteManager.createSprite(texture, piece.size, 0, 0, piece.position, placement.level, piece.angle,
+                    piece.rotationSpeed, dust ? SolColor.WHITE : SolColor.DDG, false);
             drawables.add(s);
         }
+        // Only drawn when it's not hidden by a planet
+        return new FarDrawable(drawables, placement.position, placement.velocity, remover, true);
+    }
 
-        // Create a common FarDrawable instance for the specks of dust and only allow the dust to be drawn when it's not hidden by a planet
-        FarDrawable so = new FarDrawable(drawables, chunkCenter, new Vector2(), remover, true);
-        game.getObjectManager().addFarObjNow(so);
+    private FarShip buildSpaceEnemy(SolGame game, Vector2 position, RemoveController remover, ChunkPlan.Placement placement) {
+        ShipConfig enemyConf = placement.ship;
+        MoveDestProvider dp = new StillGuard(position, game, enemyConf);
+        Pilot provider = new AiPilot(dp, false, Faction.EHAR, true, null, Const.AI_DET_DIST);
+        HullConfig config = enemyConf.hull;
+        int money = enemyConf.money;
+        return game.getShipBuilder().buildNewFar(game, position, placement.velocity, placement.angle, placement.rotationSpeed,
+                provider, enemyConf.items, config, remover, false, money, null, true);
     }
 
     /**
-     * Find a random position in a chunk centered around chunkCenter, relative to the entire map, and make sure it is not yet
-     * occupied by another entity.
+     * Find a random position in a chunk centered around chunkCenter, relative to the entire map, that the sink takes as
+     * not yet occupied by another entity.
      * <p/>
      * Up to 100 tries will be made to find an unoccupied position; if by then none has been found, <code>null</code> will be returned.
      *
-     * @param game        The {@link SolGame} instance to work with
+     * @param sink        The sink that tells whether a position is free
+     * @param random      The generator to draw from
      * @param chunkCenter The center of a chunk in which a random position should be found
-     * @return A random, unoccupied position in a chunk centered around chunkCenter, relative to the entire map, or <code>null</code> if within 100 tries no unoccupied position has been found
+     * @return A random, unoccupied position in the chunk, or <code>null</code> if within 100 tries no unoccupied position has been found
+     */
+    @Nullable
+    private static Vector2 getFreeRndPos(PlacementSink sink, Random random, Vector2 chunkCenter) {
+        for (int i = 0; i < MAX_FREE_POSITION_TRIES; i++) {
+            Vector2 position = getRndPos(random, chunkCenter);
+            if (sink.isPlaceEmpty(position)) {
+                return position;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a position for an asteroid or enemy that is not yet occupied by another entity, starting with the planned one
+     * and going on with random positions in the chunk, drawn from a generator seeded with the planned position.
+     * <p/>
+     * Up to 100 tries will be made to find an unoccupied position; if by then none has been found, <code>null</code> will be returned.
+     *
+     * @param game      The {@link SolGame} instance to work with
+     * @param placement The planned asteroid or enemy
+     * @return An unoccupied position in the chunk, or <code>null</code> if within 100 tries no unoccupied position has been found
      */
-    private Optional<Vector2> getFreeRndPos(SolGame game, Vector2 chunkCenter) {
-        for (int i = 0; i < 100; i++) {
-            Vector2 position = getRndPos(chunkCenter);
-            if (game.isPlaceEmpty(position, true)) {
-                return Optional.of(position);
+    @Nullable
+    private Vector2 getFreePos(SolGame game, ChunkPlan.Placement placement) {
+        Vector2 position = placement.position;
+        if (game.isPlaceEmpty(position, true)) {
+            return position;
+        }
+        // The chunk center is where the random positions are spread around
+        Vector2 chunkCenter = new Vector2(posToChunkCenter(position.x), posToChunkCenter(position.y));
+        Random random = new Random((long) Float.floatToIntBits(position.x) << 32 | Float.floatToIntBits(position.y) & 0xffffffffL);
+        for (int i = 1; i < MAX_FREE_POSITION_TRIES; i++) {
+            Vector2 nextPosition = getRndPos(random, chunkCenter);
+            if (game.isPlaceEmpty(nextPosition, true)) {
+                return nextPosition;
             }
         }
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -372,29 +501,48 @@ private Optional<Vector2> getFreeRndPos(SolGame game, Vector2 chunkCenter) {
      *
      * The random position is returned in new object.
      *
+     * @param random      The generator to draw from
      * @param chunkCenter The center of a chunk in which a random position should be found
      * @return A random position in a chunk centered around chunkCenter, relative to the entire map, in new object.
      */
-    private Vector2 getRndPos(Vector2 chunkCenter) {
+    private static Vector2 getRndPos(Random random, Vector2 chunkCenter) {
         Vector2 position = new Vector2(chunkCenter);
-        position.x += SolRandom.randomFloat(Const.CHUNK_SIZE / 2);
-        position.y += SolRandom.randomFloat(Const.CHUNK_SIZE / 2);
+        position.x += randomFloat(random, Const.CHUNK_SIZE / 2);
+        position.y += randomFloat(random, Const.CHUNK_SIZE / 2);
         return position;
     }
 
+    private static float posToChunkCenter(float v) {
+        return ((float) Math.floor(v / Const.CHUNK_SIZE) + .5f) * Const.CHUNK_SIZE;
+    }
+
     /**
      * Determine the number of objects per chunk for a given density, based on the chunk size.
      * If the number turns out to be less than 1, 1 will be returned randomly with a probability of the resulting number, otherwise 0.
      *
+     * @param random  The generator to draw from
      * @param density The density of the objects per chunk
      * @return The number of objects for the chunk based on the given density.
      */
-    private int getEntityCount(float density) {
+    private static int getEntityCount(Random random, float density) {
         float amt = Const.CHUNK_SIZE * Const.CHUNK_SIZE * density;
         if (amt >= 1) {
             return (int) amt;
         }
-        return SolRandom.test(amt) ? 1 : 0;
+        return random.nextFloat() < amt ? 1 : 0;
     }
 
+    // The same as the methods of SolRandom, but drawing from the given generator
+
+    private static float randomFloat(Random random, float minMax) {
+        return randomFloat(random, -minMax, minMax);
+    }
+
+    private static float randomFloat(Random random, float min, float max) {
+        return random.nextFloat() * (max - min) + min;
+    }
+
+    private static <T> T randomElement(Random random, List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
 }
@@ -18,28 +18,59 @@
 
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
+import org.destinationsol.common.Nullable;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.RemoveController;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.UpdateAwareSystem;
+import org.destinationsol.ui.DebugCollector;
 
+import java.util.ArrayDeque;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 import java.util.Set;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Fills the chunks around the camera with far objects when the camera moves into a new chunk, and removes them again
+ * once they are far behind.
+ * <p>
+ * By default new chunks are filled right away, which takes the whole tick the camera crosses a chunk border. With a
+ * plan pool set ({@link DebugOptions#ASYNC_CHUNKS}), only the environment of a new chunk is looked up on the main
+ * thread. Its content is planned on the pool, and the planned objects are created over the following ticks, at most
+ * {@value #COMMIT_BUDGET} {@link ChunkPlan.Type#cost cost} per tick. As the ticks the objects appear in depend on the
+ * speed of the pool, this makes the simulation nondeterministic. The time spent at chunk borders is shown in the debug
+ * overlay with {@link DebugOptions#PROFILE_SYSTEMS}.
+ */
 public class ChunkManager implements UpdateAwareSystem {
     private static final int MAX_FILL_DIST = 1;
     private static final int MIN_REMOVE_DIST = MAX_FILL_DIST + 2;
     private static final int MAX_BG_FILL_DIST = 2;
     private static final int MIN_BG_REMOVE_DIST = MAX_BG_FILL_DIST + 1;
+    /**
+     * Summed up cost of the placements that may be committed per tick.
+     */
+    static final int COMMIT_BUDGET = 24;
 
     private final Set<Vector2> filledChunks;
     private final Set<Vector2> backgroundFilledChunks;
     private final RemoveController removeController;
     private final RemoveController backgroundRemoveController;
     private final ChunkFiller filler;
+    private final ArrayDeque<PendingChunk> pendingChunks;
+    @Nullable
+    private Executor planPool;
 
     private int x;
     private int y;
+    private long lastBorderNanos;
+    private long maxBorderNanos;
+    private long maxCommitNanos;
 
     public ChunkManager() {
         filledChunks = new HashSet<>();
@@ -47,10 +78,12 @@ public ChunkManager() {
         removeController = new MyRemover(MIN_REMOVE_DIST);
         backgroundRemoveController = new MyRemover(MIN_BG_REMOVE_DIST);
         filler = new ChunkFiller();
+        pendingChunks = new ArrayDeque<>();
     }
 
     @Override
     public void update(SolGame game, float timeStep) {
+        long start = System.nanoTime();
         Vector2 camPos = game.getCam().getPosition();
         boolean refill = updateCurrChunk(camPos);
         if (refill) {
@@ -59,6 +92,52 @@ public void update(SolGame game, float timeStep) {
             clearFarChunks(backgroundFilledChunks, MIN_BG_REMOVE_DIST);
             addNewChunks(backgroundFilledChunks, MAX_BG_FILL_DIST, game);
         }
+        boolean committed = commitPlans(game);
+        long nanos = System.nanoTime() - start;
+        if (refill) {
+            lastBorderNanos = nanos;
+            maxBorderNanos = Math.max(maxBorderNanos, nanos);
+        } else if (committed) {
+            maxCommitNanos = Math.max(maxCommitNanos, nanos);
+        }
+        if (DebugOptions.PROFILE_SYSTEMS) {
+            DebugCollector.debug("Chunks", format());
+        }
+    }
+
+    /**
+     * Sets the pool to plan the content of new chunks in. Without a pool, new chunks are filled right away.
+     */
+    public void setPlanPool(@Nullable Executor planPool) {
+        this.planPool = planPool;
+    }
+
+    /**
+     * Creates the objects of the planned chunks, in the order the chunks were added, until the budget of the tick is
+     * used up or the plan of the next chunk is not ready yet.
+     *
+     * @return True if anything was committed
+     */
+    private boolean commitPlans(SolGame game) {
+        int budget = COMMIT_BUDGET;
+        boolean committed = false;
+        while (budget > 0 && !pendingChunks.isEmpty()) {
+            PendingChunk pendingChunk = pendingChunks.peek();
+            if (!pendingChunk.plan.isDone()) {
+                break;
+            }
+            List<ChunkPlan.Placement> placements = pendingChunk.plan.join().getPlacements();
+            while (budget > 0 && pendingChunk.committed < placements.size()) {
+                ChunkPlan.Placement placement = placements.get(pendingChunk.committed++);
+                filler.commit(game, placement, pendingChunk.removeController);
+                budget -= placement.type.cost;
+                committed = true;
+            }
+            if (pendingChunk.committed == placements.size()) {
+                pendingChunks.poll();
+            }
+        }
+        return committed;
     }
 
     private boolean updateCurrChunk(Vector2 position) {
@@ -79,6 +158,8 @@ private int posToChunkIdx(float v) {
 
     private void clearFarChunks(Set<Vector2> chunks, int dist) {
         chunks.removeIf(chunk -> isChunkFar((int) chunk.x, (int) chunk.y, dist));
+        // Plans of chunks that were left before they were done are dropped, so that they are planned anew on return
+        pendingChunks.removeIf(pending -> pending.chunks == chunks && isChunkFar((int) pending.chunk.x, (int) pending.chunk.y, dist));
     }
 
     private boolean isChunkFar(int x, int y, int dist) {
@@ -103,17 +184,56 @@ private void maybeAddChunk(Set<Vector2> chunks, int oX, int oY, SolGame game) {
             Vector2 chunk = new Vector2(v);
             chunks.add(chunk);
             boolean background = chunks == backgroundFilledChunks;
-            filler.fill(game, chunk, background ? backgroundRemoveController : removeController, background);
+            RemoveController remover = background ? backgroundRemoveController : removeController;
+            if (planPool == null) {
+                filler.fill(game, chunk, remover, background);
+            } else if (!DebugOptions.NO_OBJS) {
+                ChunkFiller.Environment environment = filler.classify(game, chunk, background);
+                // Drawn here, so that the plans only depend on the order the chunks are added in
+                long seed = SolRandom.getRandom().nextLong();
+                CompletableFuture<ChunkPlan> plan = CompletableFuture.supplyAsync(() -> ChunkFiller.plan(environment, new Random(seed)), planPool);
+                pendingChunks.add(new PendingChunk(chunks, chunk, remover, plan));
+            }
         }
         SolMath.free(v);
     }
 
+    /**
+     * @return The number of chunks whose planned objects are not all created yet
+     */
+    public int getPendingChunkCount() {
+        return pendingChunks.size();
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "last border %.2f ms, max border %.2f ms, max commit %.2f ms, %d chunks pending",
+                lastBorderNanos / 1e6f, maxBorderNanos / 1e6f, maxCommitNanos / 1e6f, pendingChunks.size());
+    }
+
     public boolean isInactive(Vector2 position, int dist) {
         int x = posToChunkIdx(position.x);
         int y = posToChunkIdx(position.y);
         return isChunkFar(x, y, dist);
     }
 
+    private static final class PendingChunk {
+        /**
+         * The set of filled chunks the chunk belongs to, which tells the foreground and background apart
+         */
+        private final Set<Vector2> chunks;
+        private final Vector2 chunk;
+        private final RemoveController removeController;
+        private final CompletableFuture<ChunkPlan> plan;
+        private int committed;
+
+        PendingChunk(Set<Vector2> chunks, Vector2 chunk, RemoveController removeController, CompletableFuture<ChunkPlan> plan) {
+            this.chunks = chunks;
+            this.chunk = chunk;
+            this.removeController = removeController;
+            this.plan = plan;
+        }
+    }
+
     private class MyRemover implements RemoveController {
         private final int myMinRemoveDist;
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.chunk;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.common.Nullable;
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.drawables.DrawableLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the content of a chunk before any of it is created: where each object goes, what it is built from and how
+ * it moves.
+ * <p>
+ * A plan is made by {@link ChunkFiller#plan(ChunkFiller.Environment, java.util.Random)} from nothing but the environment
+ * of the chunk and a random generator, so it can be made on any thread. Its placements are then committed on the main
+ * thread by {@link ChunkFiller#commit}, which creates the objects and adds them to the game.
+ */
+public final class ChunkPlan implements ChunkFiller.PlacementSink {
+    private final List<Placement> placements = new ArrayList<>();
+
+    public enum Type {
+        /**
+         * Specks of dust, as pieces of one object fixed in the world.
+         */
+        DUST(1),
+        /**
+         * Junk in one of the far background layers, as pieces of one object.
+         */
+        FAR_JUNK(1),
+        /**
+         * A single piece of junk floating in the front background layer.
+         */
+        JUNK(1),
+        /**
+         * An asteroid, placed where there is nothing yet.
+         */
+        ASTEROID(2),
+        /**
+         * An enemy ship, placed where there is nothing yet.
+         */
+        ENEMY(8);
+
+        /**
+         * Rough cost of committing a placement of this type, relative to the cheapest one.
+         */
+        public final int cost;
+
+        Type(int cost) {
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * One object of the plan. Which of the values are set depends on the type. The vectors are handed over to the
+     * object when the placement is committed, so a placement can only be committed once.
+     */
+    public static final class Placement {
+        public final Type type;
+        /**
+         * The position of the object, or for asteroids and enemies the first position to try.
+         */
+        public final Vector2 position;
+        public final Vector2 velocity;
+        public final float size;
+        public final float angle;
+        public final float rotationSpeed;
+        @Nullable
+        public final String texture;
+        @Nullable
+        public final DrawableLevel level;
+        @Nullable
+        public final ShipConfig ship;
+        /**
+         * The pieces of dust and far junk, with their positions relative to the position of the placement.
+         */
+        public final List<Placement> pieces;
+
+        private Placement(Type type, Vector2 position, Vector2 velocity, float size, float angle, float rotationSpeed,
+                          @Nullable String texture, @Nullable DrawableLevel level, @Nullable ShipConfig ship,
+                          List<Placement> pieces) {
+            this.type = type;
+            this.position = position;
+            this.velocity = velocity;
+            this.size = size;
+            this.angle = angle;
+            this.rotationSpeed = rotationSpeed;
+            this.texture = texture;
+            this.level = level;
+            this.ship = ship;
+            this.pieces = pieces;
+        }
+
+        static Placement group(Type type, Vector2 position, @Nullable DrawableLevel level, List<Placement> pieces) {
+            return new Placement(type, position, new Vector2(), 0, 0, 0, null, level, null, pieces);
+        }
+
+        static Placement sprite(Type type, Vector2 position, Vector2 velocity, String texture, float size, float angle,
+                                float rotationSpeed) {
+            return new Placement(type, position, velocity, size, angle, rotationSpeed, texture, null, null,
+                    Collections.emptyList());
+        }
+
+        static Placement asteroid(Vector2 position, Vector2 velocity, float size) {
+            return new Placement(Type.ASTEROID, position, velocity, size, 0, 0, null, null, null, Collections.emptyList());
+        }
+
+        static Placement enemy(Vector2 position, Vector2 velocity, float angle, float rotationSpeed, ShipConfig ship) {
+            return new Placement(Type.ENEMY, position, velocity, 0, angle, rotationSpeed, null, null, ship,
+                    Collections.emptyList());
+        }
+    }
+
+    /**
+     * Plans are made off the main thread, so free positions for asteroids and enemies are only looked for on commit.
+     */
+    @Override
+    public boolean isPlaceEmpty(Vector2 position) {
+        return true;
+    }
+
+    @Override
+    public void add(Placement placement) {
+        placements.add(placement);
+    }
+
+    /**
+     * @return The placements in the order they are to be committed
+     */
+    public List<Placement> getPlacements() {
+        return placements;
+    }
+
+    /**
+     * @return The summed up {@link Type#cost} of all placements
+     */
+    public int getCost() {
+        int cost = 0;
+        for (int i = 0; i < placements.size(); i++) {
+            cost += placements.get(i).type.cost;
+        }
+        return cost;
+    }
+}
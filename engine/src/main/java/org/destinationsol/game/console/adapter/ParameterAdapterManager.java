@@ -19,6 +19,7 @@
 import com.google.common.collect.Maps;
 import org.destinationsol.SolApplication;
 import org.destinationsol.game.console.commands.PositionCommandHandler;
+import org.destinationsol.game.console.commands.ProfileCommandHandler;
 import org.destinationsol.game.ship.hulls.HullConfig;
 
 import java.util.Map;
@@ -48,6 +49,7 @@ public static ParameterAdapterManager createCore(SolApplication application) {
 
         manager.registerAdapter(PositionCommandHandler.PositionFormat.class, new PositionFormatAdapter());
         manager.registerAdapter(HullConfig.class, new HullConfigAdapter(application));
+        manager.registerAdapter(ProfileCommandHandler.ProfileAction.class, new ProfileActionAdapter());
 
         return manager;
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.console.commands;
+
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SystemProfiler;
+import org.destinationsol.game.console.annotations.Command;
+import org.destinationsol.game.console.annotations.CommandParam;
+import org.destinationsol.game.console.annotations.Game;
+import org.destinationsol.game.console.annotations.RegisterCommands;
+import org.destinationsol.game.console.suggesters.ProfileActionSuggester;
+
+/**
+ * A command used to inspect the update times of the game systems, as recorded by the {@link SystemProfiler}.
+ * <p>
+ * It takes only (optionally) a single parameter: what to do with the recorded times.
+ *
+ * @see ProfileCommandHandler.ProfileAction for more details
+ */
+@RegisterCommands
+public class ProfileCommandHandler {
+
+    @Command(shortDescription = "Prints the update time percentiles of every system")
+    public String profile(@Game SolGame game, @CommandParam(value = "action", required = false, suggester = ProfileActionSuggester.class) ProfileAction action) {
+        if (action == null) {
+            action = ProfileAction.SHOW;
+        }
+
+        SystemProfiler profiler = game.getSystemProfiler();
+        switch (action) {
+            case RESET:
+                profiler.reset();
+                return "Profile reset";
+            case DUMP:
+                return "Profile written to " + profiler.dump(game.getTime());
+            case SHOW:
+            default:
+                return profiler.format();
+        }
+    }
+
+    /**
+     * What the command should do with the recorded times.
+     */
+    public enum ProfileAction {
+
+        /**
+         * Prints the percentiles of the last {@value SystemProfiler#WINDOW_SIZE} ticks.
+         */
+        SHOW,
+
+        /**
+         * Forgets all the recorded times.
+         */
+        RESET,
+
+        /**
+         * Writes the percentiles to the CSV and JSON dumps.
+         */
+        DUMP
+    }
+}
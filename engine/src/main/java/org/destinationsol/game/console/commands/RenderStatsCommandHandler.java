@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.console.commands;
+
+import org.destinationsol.RenderStats;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.console.annotations.Command;
+import org.destinationsol.game.console.annotations.Game;
+import org.destinationsol.game.console.annotations.RegisterCommands;
+
+/**
+ * A command used to inspect what the last frame sent to the GPU, as counted by the {@link RenderStats}.
+ */
+@RegisterCommands
+public class RenderStatsCommandHandler {
+
+    @Command(shortDescription = "Prints the flushes, texture switches, blend toggles, sprites and strings of the last frame")
+    public String renderStats(@Game SolGame game) {
+        RenderStats stats = game.getSolApplication().getCommonDrawer().getRenderStats();
+        return "Frame " + stats.getFrame() + "\n" + stats.format();
+    }
+}
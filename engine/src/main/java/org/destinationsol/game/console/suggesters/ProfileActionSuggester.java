@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.console.suggesters;
+
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.console.CommandParameterSuggester;
+import org.destinationsol.game.console.commands.ProfileCommandHandler;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ProfileActionSuggester implements CommandParameterSuggester<ProfileCommandHandler.ProfileAction> {
+    @Override
+    public Set<ProfileCommandHandler.ProfileAction> suggest(SolGame game, Object... resolvedParameters) {
+        return EnumSet.allOf(ProfileCommandHandler.ProfileAction.class);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+import java.util.Arrays;
+
+/**
+ * The drawables of one level and texture, in the order they were added, which is the order they are drawn in.
+ * <p>
+ * Removing a drawable only leaves a gap, which {@link #compact()} closes once per frame, or when the bucket is full,
+ * without changing the order of the remaining drawables, so removing is constant time. The drawables found visible in the current frame are collected
+ * separately, so that drawing only goes through them, and {@link #sortVisible()} brings them into the order of the
+ * bucket, as drawables of the same level and texture overlap in that order.
+ */
+class DrawableBucket {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private DrawableEntry[] entries = new DrawableEntry[INITIAL_CAPACITY];
+    private int size;
+    private int gapCount;
+    private DrawableEntry[] visibleEntries = new DrawableEntry[INITIAL_CAPACITY];
+    private int visibleSize;
+    private long[] visibleBits = new long[1];
+    private boolean isVisibleSorted = true;
+
+    void add(DrawableEntry entry) {
+        if (size == entries.length) {
+            // Runs that do not draw, such as headless ones, would otherwise only ever grow the bucket
+            compact();
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entry.bucket = this;
+        entry.index = size;
+        entries[size++] = entry;
+    }
+
+    void remove(DrawableEntry entry) {
+        entries[entry.index] = null;
+        gapCount++;
+        entry.bucket = null;
+        entry.index = -1;
+    }
+
+    /**
+     * Closes the gaps left by removed drawables, keeping the order of the remaining ones.
+     */
+    void compact() {
+        if (gapCount == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            DrawableEntry entry = entries[i];
+            if (entry != null) {
+                entry.index = kept;
+                entries[kept++] = entry;
+            }
+        }
+        Arrays.fill(entries, kept, size, null);
+        size = kept;
+        gapCount = 0;
+    }
+
+    void addVisible(DrawableEntry entry) {
+        if (visibleSize == visibleEntries.length) {
+            visibleEntries = Arrays.copyOf(visibleEntries, visibleSize * 2);
+        }
+        if (visibleSize > 0 && visibleEntries[visibleSize - 1].index > entry.index) {
+            isVisibleSorted = false;
+        }
+        visibleEntries[visibleSize++] = entry;
+    }
+
+    /**
+     * Brings the visible drawables into the order of the bucket. Has to be called before any drawable is removed.
+     * <p>
+     * The indices of the visible drawables are marked in a bitmap, which is then read in order, so that sorting neither
+     * compares entries nor allocates.
+     */
+    void sortVisible() {
+        if (isVisibleSorted) {
+            return;
+        }
+        int wordCount = (size + Long.SIZE - 1) / Long.SIZE;
+        if (visibleBits.length < wordCount) {
+            visibleBits = new long[entries.length / Long.SIZE + 1];
+        }
+        for (int i = 0; i < visibleSize; i++) {
+            int index = visibleEntries[i].index;
+            visibleBits[index / Long.SIZE] |= 1L << index;
+        }
+        int visibleIndex = 0;
+        for (int word = 0; word < wordCount; word++) {
+            long bits = visibleBits[word];
+            visibleBits[word] = 0;
+            while (bits != 0) {
+                visibleEntries[visibleIndex++] = entries[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        isVisibleSorted = true;
+    }
+
+    void clearVisible() {
+        Arrays.fill(visibleEntries, 0, visibleSize, null);
+        visibleSize = 0;
+        isVisibleSorted = true;
+    }
+
+    /**
+     * Returns the number of places in the bucket, including the gaps of drawables removed since the last
+     * {@link #compact()}.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the drawable at a place of the bucket, or null if it has been removed since the last {@link #compact()}.
+     */
+    DrawableEntry get(int index) {
+        return entries[index];
+    }
+
+    int visibleSize() {
+        return visibleSize;
+    }
+
+    /**
+     * Returns a drawable collected as visible. It may have been removed from the bucket since.
+     */
+    DrawableEntry getVisible(int index) {
+        return visibleEntries[index];
+    }
+}
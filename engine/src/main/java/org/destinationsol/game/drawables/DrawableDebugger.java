@@ -66,7 +66,7 @@ public void draw(UiDrawer uiDrawer) {
             uiDrawer.draw(uiDrawer.whiteTexture, 5 * TEX_SZ, TEX_SZ + 2 * GAP, 0, 0, x, y, 0, SolColor.DG);
             y += GAP;
             x += GAP;
-            float dimensionsRatio = 1f * texture.getTexture().getWidth() / texture.getTexture().getHeight();
+            float dimensionsRatio = 1f * texture.getRegionWidth() / texture.getRegionHeight();
             float width = dimensionsRatio > 1 ? TEX_SZ : TEX_SZ / dimensionsRatio;
             float height = dimensionsRatio > 1 ? TEX_SZ / dimensionsRatio : TEX_SZ;
             uiDrawer.draw(texture, width, height, width / 2, height / 2, x + 0.5f * TEX_SZ, y + 0.5f * TEX_SZ, 0, SolColor.WHITE);
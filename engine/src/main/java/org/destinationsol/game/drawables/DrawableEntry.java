@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+/**
+ * The place of a {@link Drawable} in the {@link DrawableManager}.
+ * <p>
+ * The manager keeps the entry of every drawable it holds, so that it can find the bucket of the drawable and its index
+ * within it, and can tell whether the drawable was visible in the last frame by comparing frame stamps.
+ */
+final class DrawableEntry {
+    final Drawable drawable;
+    /**
+     * The bucket the drawable is in, null while it is not added to the manager.
+     */
+    DrawableBucket bucket;
+    int index = -1;
+    /**
+     * The last frame the drawable was found visible in.
+     */
+    int visibleFrame = -1;
+    /**
+     * How far the object of the drawable moved in the last tick, as of the last frame it was found visible in.
+     */
+    float moveX;
+    float moveY;
+
+    DrawableEntry(Drawable drawable) {
+        this.drawable = drawable;
+    }
+}
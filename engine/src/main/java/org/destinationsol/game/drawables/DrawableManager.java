@@ -27,21 +27,36 @@
 import org.destinationsol.game.GameDrawer;
 import org.destinationsol.game.MapDrawer;
 import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.ObjectStore;
 import org.destinationsol.game.SolCam;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
 
+/**
+ * Sorts the drawables into levels and textures, and draws the visible ones in that order.
+ * <p>
+ * The manager keeps an entry for every drawable it holds, by identity, which is stamped with the frame the drawable was
+ * last found visible in, so that visibility does not have to be kept in a set. Only the objects the spatial hash of the
+ * {@link ObjectManager} finds around the camera are tested for visibility, so the cost of a frame grows with the
+ * objects in view rather than with all near objects. When zoomed out far enough for the view to cover most of the
+ * hash, all objects are tested instead.
+ */
 public class DrawableManager {
     private final DrawableLevel[] drawableLevels;
-    private final ArrayList<OrderedMap<Texture, List<Drawable>>> drawables;
-    private final Set<Drawable> visibleDrawables = new HashSet<>();
+    private final ArrayList<OrderedMap<Texture, DrawableBucket>> drawables;
     private final GameDrawer drawer;
+    private final IdentityHashMap<Drawable, DrawableEntry> entries = new IdentityHashMap<>();
+    private int frame;
+    private final List<SolObject> viewCandidates = new ArrayList<>();
+    private int testedCount;
+    private int storedCount;
+    private int drawnCount;
 
     public DrawableManager(GameDrawer drawer) {
         drawableLevels = DrawableLevel.values();
@@ -54,7 +69,8 @@ public DrawableManager(GameDrawer drawer) {
 
     public static float radiusFromDrawables(List<Drawable> drawables) {
         float radius = 0;
-        for (Drawable drawable : drawables) {
+        for (int i = 0, size = drawables.size(); i < size; i++) {
+            Drawable drawable = drawables.get(i);
             float relativeRadius = drawable.getRelativePosition().len() + drawable.getRadius();
             if (radius < relativeRadius) {
                 radius = relativeRadius;
@@ -70,15 +86,11 @@ public void removeObject(SolObject o) {
 
     public void removeAll(List<Drawable> drawables) {
         for (Drawable drawable : drawables) {
-            DrawableLevel level = drawable.getLevel();
-            OrderedMap<Texture, List<Drawable>> map = this.drawables.get(level.ordinal());
-            Texture texture = drawable.getTexture().getTexture();
-            List<Drawable> set = map.get(texture);
-            if (set == null) {
+            DrawableEntry entry = entries.remove(drawable);
+            if (entry == null || entry.bucket == null) {
                 continue;
             }
-            set.remove(drawable);
-            visibleDrawables.remove(drawable);
+            entry.bucket.remove(entry);
         }
     }
 
@@ -89,19 +101,23 @@ public void addObject(SolObject o) {
 
     public void addAll(List<Drawable> drawables) {
         for (Drawable drawable : drawables) {
+            DrawableEntry entry = entries.get(drawable);
+            if (entry == null) {
+                entry = new DrawableEntry(drawable);
+                entries.put(drawable, entry);
+            } else if (entry.bucket != null) {
+                continue;
+            }
             DrawableLevel level = drawable.getLevel();
-            OrderedMap<Texture, List<Drawable>> map = this.drawables.get(level.ordinal());
+            OrderedMap<Texture, DrawableBucket> map = this.drawables.get(level.ordinal());
             Texture texture = drawable.getTexture().getTexture();
-            List<Drawable> set = map.get(texture);
-            if (set == null) {
-                set = new ArrayList<>();
-                map.put(texture, set);
-            }
-            if (set.contains(drawable)) {
-                continue;
+            DrawableBucket bucket = map.get(texture);
+            if (bucket == null) {
+                bucket = new DrawableBucket();
+                map.put(texture, bucket);
             }
-            set.add(drawable);
-            visibleDrawables.remove(drawable);
+            bucket.add(entry);
+            entry.visibleFrame = -1;
         }
     }
 
@@ -115,54 +131,27 @@ public void draw(SolGame game) {
         SolCam cam = game.getCam();
         drawer.updateMatrix(game);
         game.getFarBackgroundgManagerOld().draw(drawer, cam, game);
-        Vector2 camPos = cam.getPosition();
-        float viewDistance = cam.getViewDistance();
-
-        ObjectManager objectManager = game.getObjectManager();
-        List<SolObject> objects = objectManager.getObjects();
-        for (SolObject object : objects) {
-            Vector2 objectPosition = object.getPosition();
-            float radius = objectManager.getPresenceRadius(object);
-            List<Drawable> drawables = object.getDrawables();
-            float drawableLevelViewDistance = viewDistance;
-            if (drawables.size() > 0) {
-                drawableLevelViewDistance *= drawables.get(0).getLevel().depth;
-            }
-            boolean isObjectVisible = isVisible(objectPosition, radius, camPos, drawableLevelViewDistance);
-            for (Drawable drawable : drawables) {
-                if (!isObjectVisible || !drawable.isEnabled()) {
-                    visibleDrawables.remove(drawable);
-                    continue;
-                }
-                drawable.prepare(object);
-                Vector2 draPos = drawable.getPosition();
-                float rr = drawable.getRadius();
-                boolean draInCam = isVisible(draPos, rr, camPos, drawableLevelViewDistance);
-                if (draInCam) {
-                    visibleDrawables.add(drawable);
-                } else {
-                    visibleDrawables.remove(drawable);
-                }
-            }
-        }
+        prepare(game);
 
         for (int dlIdx = 0, dlCount = drawableLevels.length; dlIdx < dlCount; dlIdx++) {
             DrawableLevel drawableLevel = drawableLevels[dlIdx];
             if (drawableLevel == DrawableLevel.PART_FG_0) {
                 game.getMountDetectDrawer().draw(drawer);
             }
-            OrderedMap<Texture, List<Drawable>> map = drawables.get(dlIdx);
-            Array<Texture> texs = map.orderedKeys();
-            for (int texIdx = 0, sz = texs.size; texIdx < sz; texIdx++) {
-                Texture tex = texs.get(texIdx);
-                List<Drawable> drawables = map.get(tex);
-                for (Drawable drawable : drawables) {
-                    if (visibleDrawables.contains(drawable)) {
-                        if (!DebugOptions.NO_DRAS) {
-                            drawable.draw(drawer, game);
-                        }
+            if (!DebugOptions.NO_DRAS) {
+                drawer.setLevel(drawableLevel);
+                OrderedMap<Texture, DrawableBucket> map = drawables.get(dlIdx);
+                Array<Texture> texs = map.orderedKeys();
+                for (int texIdx = 0, sz = texs.size; texIdx < sz; texIdx++) {
+                    DrawableBucket bucket = map.get(texs.get(texIdx));
+                    for (int i = 0, visibleSize = bucket.visibleSize(); i < visibleSize; i++) {
+                        DrawableEntry entry = bucket.getVisible(i);
+                        drawer.setObjectMove(entry.moveX, entry.moveY);
+                        entry.drawable.draw(drawer, game);
                     }
                 }
+                drawer.setObjectMove(0, 0);
+                drawer.setLevel(null);
             }
             if (drawableLevel.depth <= 1) {
                 game.drawDebug(drawer);
@@ -176,10 +165,13 @@ public void draw(SolGame game) {
         }
 
         if (DebugOptions.DRAW_DRA_BORDERS) {
-            for (OrderedMap<Texture, List<Drawable>> map : drawables) {
-                for (List<Drawable> drawables : map.values()) {
-                    for (Drawable drawable : drawables) {
-                        drawDebug(drawer, game, drawable);
+            for (OrderedMap<Texture, DrawableBucket> map : drawables) {
+                for (DrawableBucket bucket : map.values()) {
+                    for (int i = 0, size = bucket.size(); i < size; i++) {
+                        DrawableEntry entry = bucket.get(i);
+                        if (entry != null) {
+                            drawDebug(drawer, game, entry);
+                        }
                     }
                 }
             }
@@ -189,10 +181,90 @@ public void draw(SolGame game) {
         drawer.maybeChangeAdditive(false);
     }
 
-    private void drawDebug(GameDrawer drawer, SolGame game, Drawable drawable) {
+    /**
+     * Prepares the drawables of the objects in view and collects the visible ones, without drawing them.
+     *
+     * @param game Game the drawables belong to
+     */
+    public void prepare(SolGame game) {
+        frame++;
+        for (int dlIdx = 0, dlCount = drawables.size(); dlIdx < dlCount; dlIdx++) {
+            OrderedMap<Texture, DrawableBucket> map = drawables.get(dlIdx);
+            Array<Texture> texs = map.orderedKeys();
+            for (int texIdx = 0, sz = texs.size; texIdx < sz; texIdx++) {
+                DrawableBucket bucket = map.get(texs.get(texIdx));
+                bucket.clearVisible();
+                bucket.compact();
+            }
+        }
+
+        SolCam cam = game.getCam();
+        Vector2 camPos = cam.getPosition();
+        float viewDistance = cam.getViewDistance();
+
+        ObjectManager objectManager = game.getObjectManager();
+        ObjectStore objects = objectManager.getObjectStore();
+        boolean isCulled = objectManager.collectObjectsInView(camPos, viewDistance, viewCandidates);
+        storedCount = objects.size();
+        testedCount = isCulled ? viewCandidates.size() : storedCount;
+        drawnCount = 0;
+
+        for (int candidate = 0; candidate < testedCount; candidate++) {
+            SolObject object = isCulled ? viewCandidates.get(candidate) : objects.getAt(candidate);
+            int i = isCulled ? objects.indexOf(object) : candidate;
+            Vector2 objectPosition = object.getPosition();
+            float moveX = objectPosition.x - objects.getCapturedX(i);
+            float moveY = objectPosition.y - objects.getCapturedY(i);
+            float radius = objectManager.getPresenceRadiusAt(i);
+            List<Drawable> drawables = object.getDrawables();
+            float drawableLevelViewDistance = viewDistance * objects.getDepthAt(i);
+            if (!isVisible(objectPosition, radius, camPos, drawableLevelViewDistance)) {
+                continue;
+            }
+            for (int j = 0, size = drawables.size(); j < size; j++) {
+                Drawable drawable = drawables.get(j);
+                if (!drawable.isEnabled()) {
+                    continue;
+                }
+                drawable.prepare(object);
+                DrawableEntry entry = entries.get(drawable);
+                if (entry == null || entry.bucket == null || entry.visibleFrame == frame) {
+                    continue;
+                }
+                if (isVisible(drawable.getPosition(), drawable.getRadius(), camPos, drawableLevelViewDistance)) {
+                    entry.visibleFrame = frame;
+                    entry.moveX = moveX;
+                    entry.moveY = moveY;
+                    entry.bucket.addVisible(entry);
+                    drawnCount++;
+                }
+            }
+        }
+        viewCandidates.clear();
+
+        // The objects are found in no particular order, while overlapping drawables have to be drawn in bucket order
+        for (int dlIdx = 0, dlCount = drawables.size(); dlIdx < dlCount; dlIdx++) {
+            OrderedMap<Texture, DrawableBucket> map = drawables.get(dlIdx);
+            Array<Texture> texs = map.orderedKeys();
+            for (int texIdx = 0, sz = texs.size; texIdx < sz; texIdx++) {
+                map.get(texs.get(texIdx)).sortVisible();
+            }
+        }
+    }
+
+    /**
+     * @return The number of objects tested for visibility in the last frame, the number of near objects and the
+     * number of drawables drawn
+     */
+    public String formatCullingStats() {
+        return String.format(Locale.ROOT, "%d of %d objects tested, %d drawables drawn", testedCount, storedCount, drawnCount);
+    }
+
+    private void drawDebug(GameDrawer drawer, SolGame game, DrawableEntry entry) {
         SolCam cam = game.getCam();
         float lineWidth = cam.getRealLineWidth();
-        Color col = visibleDrawables.contains(drawable) ? DebugCol.DRA : DebugCol.DRA_OUT;
+        Color col = isVisible(entry) ? DebugCol.DRA : DebugCol.DRA_OUT;
+        Drawable drawable = entry.drawable;
         Vector2 position = drawable.getPosition();
         drawer.drawCircle(drawer.debugWhiteTexture, position, drawable.getRadius(), col, lineWidth, cam.getViewHeight());
     }
@@ -203,20 +275,30 @@ private boolean isVisible(Vector2 position, float radius, Vector2 camPosition, f
 
 
     public boolean isVisible(Drawable drawable) {
-        return visibleDrawables.contains(drawable);
+        DrawableEntry entry = entries.get(drawable);
+        return entry != null && isVisible(entry);
+    }
+
+    private boolean isVisible(DrawableEntry entry) {
+        return entry.bucket != null && entry.visibleFrame == frame;
     }
 
     public void collectTextures(Collection<TextureAtlas.AtlasRegion> collector, Vector2 position) {
-        for (Drawable drawable : visibleDrawables) {
-            if (.5f * drawable.getRadius() < drawable.getPosition().dst(position)) {
-                continue;
-            }
-            TextureAtlas.AtlasRegion tex = drawable.getTexture();
-            if (tex == null) {
-                continue;
+        for (OrderedMap<Texture, DrawableBucket> map : drawables) {
+            for (DrawableBucket bucket : map.values()) {
+                for (int i = 0, visibleSize = bucket.visibleSize(); i < visibleSize; i++) {
+                    DrawableEntry entry = bucket.getVisible(i);
+                    Drawable drawable = entry.drawable;
+                    if (!isVisible(entry) || .5f * drawable.getRadius() < drawable.getPosition().dst(position)) {
+                        continue;
+                    }
+                    TextureAtlas.AtlasRegion tex = drawable.getTexture();
+                    if (tex == null) {
+                        continue;
+                    }
+                    collector.add(tex);
+                }
             }
-            collector.add(tex);
         }
-
     }
 }
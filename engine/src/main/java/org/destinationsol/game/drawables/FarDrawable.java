@@ -76,6 +76,11 @@ public boolean hasBody() {
         return false;
     }
 
+    @Override
+    public boolean updatesEveryFrame() {
+        return false;
+    }
+
     public List<Drawable> getDrawables() {
         return drawables;
     }
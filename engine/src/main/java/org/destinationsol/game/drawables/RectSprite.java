@@ -70,6 +70,17 @@ public RectSprite(TextureAtlas.AtlasRegion tex, float texSz, float origPercX, fl
         isAdditive = additive;
     }
 
+    /**
+     * Replaces the texture, for instance when the object of the sprite is reused for something else.
+     *
+     * @param texture     The new texture
+     * @param textureSize The size of the new texture, as in {@link #setTextureSize(float)}
+     */
+    public void setTexture(TextureAtlas.AtlasRegion texture, float textureSize) {
+        this.texture = texture;
+        setTextureSize(textureSize);
+    }
+
     public void setTextureSize(float textureSize) {
         textureSize /= level.depth;
         int dimensionsRatio = texture.getRegionWidth() / texture.getRegionHeight();
@@ -88,6 +99,32 @@ public void setTextureSize(float textureSize) {
         radius = SolMath.sqrt(relativeX * relativeX + relativeY * relativeY);
     }
 
+    public float getTextureSizeX() {
+        return textureSizeX;
+    }
+
+    public float getTextureSizeY() {
+        return textureSizeY;
+    }
+
+    /**
+     * @return The distance of the point the sprite rotates around from the left edge of the texture
+     */
+    public float getOriginX() {
+        return originalX;
+    }
+
+    /**
+     * @return The distance of the point the sprite rotates around from the bottom edge of the texture
+     */
+    public float getOriginY() {
+        return originalY;
+    }
+
+    public boolean isAdditive() {
+        return isAdditive;
+    }
+
     @Override
     public TextureAtlas.AtlasRegion getTexture() {
         return texture;
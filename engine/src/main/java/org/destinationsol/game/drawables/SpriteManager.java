@@ -207,19 +207,21 @@ public static AnimatedRectSprite createAnimatedSprite(Animation<TextureAtlas.Atl
     /**
      * Divides an image into regions with a constant width and height
      *
-     * @param initialRegion A region to get a texture from
+     * @param initialRegion The region of the whole image, which may be a part of a larger texture
      * @param regionCount The number of regions to divide into
      * @param sequentialWidth The width of a divided region
      * @param sequentialHeight The height of a divided region
-     * @return An array of regions taken from the whole texture
+     * @return An array of regions taken from the whole image
      */
     public static TextureAtlas.AtlasRegion[] getSequentialRegions(TextureAtlas.AtlasRegion initialRegion, int regionCount, int sequentialWidth, int sequentialHeight) {
         Texture texture = initialRegion.getTexture();
-        int textureWidth = texture.getWidth();
+        int originX = Math.round(Math.min(initialRegion.getU(), initialRegion.getU2()) * texture.getWidth());
+        int originY = Math.round(Math.min(initialRegion.getV(), initialRegion.getV2()) * texture.getHeight());
+        int textureWidth = initialRegion.getRegionWidth();
         TextureAtlas.AtlasRegion[] regions = new TextureAtlas.AtlasRegion[regionCount];
         for (int i = 0; i < regionCount; i++) {
-            int x = (i * sequentialWidth) % textureWidth;
-            int y = ((i * sequentialWidth) / textureWidth) * sequentialHeight;
+            int x = originX + (i * sequentialWidth) % textureWidth;
+            int y = originY + ((i * sequentialWidth) / textureWidth) * sequentialHeight;
             regions[i] = new TextureAtlas.AtlasRegion(texture, x, y, sequentialWidth, sequentialHeight);
             regions[i].flip(false, true);
             regions[i].name = initialRegion.name + " frame " + i;
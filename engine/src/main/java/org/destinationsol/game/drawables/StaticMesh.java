@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.OrderedMap;
+
+/**
+ * Sprites that never move relative to each other, baked into sprite batch vertices once so that they can be drawn
+ * with a single transform per frame.
+ * <p>
+ * The vertices are in the local coordinates of the object the mesh belongs to, in the layout of
+ * {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}: position, packed colour and texture coordinates, four vertices per
+ * sprite. They are kept per texture, in the order the textures were first added.
+ */
+public class StaticMesh {
+    /**
+     * Floats per vertex: x, y, colour, u and v.
+     */
+    public static final int VERTEX_SIZE = 5;
+    public static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+
+    private final Texture[] textures;
+    private final float[][] vertices;
+    private final TextureAtlas.AtlasRegion firstRegion;
+    private final float radius;
+
+    private StaticMesh(Texture[] textures, float[][] vertices, TextureAtlas.AtlasRegion firstRegion, float radius) {
+        this.textures = textures;
+        this.vertices = vertices;
+        this.firstRegion = firstRegion;
+        this.radius = radius;
+    }
+
+    public int getTextureCount() {
+        return textures.length;
+    }
+
+    public Texture getTexture(int index) {
+        return textures[index];
+    }
+
+    public float[] getVertices(int index) {
+        return vertices[index];
+    }
+
+    public int getSpriteCount() {
+        int count = 0;
+        for (float[] textureVertices : vertices) {
+            count += textureVertices.length / SPRITE_SIZE;
+        }
+        return count;
+    }
+
+    /**
+     * @return The region of the first sprite added, standing in for the mesh wherever a single texture is expected
+     */
+    public TextureAtlas.AtlasRegion getFirstRegion() {
+        return firstRegion;
+    }
+
+    /**
+     * @return The distance of the furthest vertex from the origin
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    public boolean isEmpty() {
+        return textures.length == 0;
+    }
+
+    public static class Builder {
+        private final OrderedMap<Texture, FloatArray> verticesByTexture = new OrderedMap<>();
+        private TextureAtlas.AtlasRegion firstRegion;
+        private float radius;
+
+        /**
+         * Adds a sprite, placed the way {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} places a rotated region.
+         *
+         * @param region The region to draw
+         * @param width The width of the sprite
+         * @param height The height of the sprite
+         * @param originX The distance of the point the sprite rotates around from its left edge
+         * @param originY The distance of the point the sprite rotates around from its bottom edge
+         * @param x The x coordinate of the point the sprite rotates around, in local coordinates
+         * @param y The y coordinate of the point the sprite rotates around, in local coordinates
+         * @param angle The angle of the sprite in degrees, relative to the local coordinates
+         * @param tint The colour to tint the sprite with
+         * @return This builder
+         */
+        public Builder add(TextureAtlas.AtlasRegion region, float width, float height, float originX, float originY,
+                           float x, float y, float angle, Color tint) {
+            if (firstRegion == null) {
+                firstRegion = region;
+            }
+            FloatArray textureVertices = verticesByTexture.get(region.getTexture());
+            if (textureVertices == null) {
+                textureVertices = new FloatArray();
+                verticesByTexture.put(region.getTexture(), textureVertices);
+            }
+
+            float left = -originX;
+            float bottom = -originY;
+            float right = width - originX;
+            float top = height - originY;
+            float cos = MathUtils.cosDeg(angle);
+            float sin = MathUtils.sinDeg(angle);
+            float color = tint.toFloatBits();
+            // The corners in the order of SpriteBatch: bottom left, top left, top right, bottom right
+            addVertex(textureVertices, left, bottom, cos, sin, x, y, color, region.getU(), region.getV2());
+            addVertex(textureVertices, left, top, cos, sin, x, y, color, region.getU(), region.getV());
+            addVertex(textureVertices, right, top, cos, sin, x, y, color, region.getU2(), region.getV());
+            addVertex(textureVertices, right, bottom, cos, sin, x, y, color, region.getU2(), region.getV2());
+            return this;
+        }
+
+        /**
+         * Adds a sprite as it would be drawn against an object at the given place, in its current frame.
+         *
+         * @param sprite The sprite to add
+         * @param x The x coordinate of the object, in local coordinates
+         * @param y The y coordinate of the object, in local coordinates
+         * @param angle The angle of the object in degrees, relative to the local coordinates
+         * @return This builder
+         */
+        public Builder add(RectSprite sprite, float x, float y, float angle) {
+            if (sprite.getLevel().depth != 1) {
+                throw new IllegalArgumentException("Sprites at level " + sprite.getLevel() + " move with the camera");
+            }
+            if (sprite.isAdditive()) {
+                throw new IllegalArgumentException("Additive sprites are drawn with a blending of their own");
+            }
+            Vector2 position = new Vector2(sprite.getRelativePosition()).rotate(angle).add(x, y);
+            return add(sprite.getTexture(), sprite.getTextureSizeX(), sprite.getTextureSizeY(), sprite.getOriginX(),
+                    sprite.getOriginY(), position.x, position.y, angle + sprite.relativeAngle, sprite.tint);
+        }
+
+        private void addVertex(FloatArray vertices, float cornerX, float cornerY, float cos, float sin, float x, float y,
+                               float color, float u, float v) {
+            float vertexX = cos * cornerX - sin * cornerY + x;
+            float vertexY = sin * cornerX + cos * cornerY + y;
+            vertices.add(vertexX);
+            vertices.add(vertexY);
+            vertices.add(color);
+            vertices.add(u);
+            vertices.add(v);
+            radius = Math.max(radius, (float) Math.sqrt(vertexX * vertexX + vertexY * vertexY));
+        }
+
+        public StaticMesh build() {
+            Array<Texture> keys = verticesByTexture.orderedKeys();
+            Texture[] textures = new Texture[keys.size];
+            float[][] vertices = new float[keys.size][];
+            for (int i = 0; i < keys.size; i++) {
+                textures[i] = keys.get(i);
+                vertices[i] = verticesByTexture.get(textures[i]).toArray();
+            }
+            return new StaticMesh(textures, vertices, firstRegion, radius);
+        }
+    }
+}
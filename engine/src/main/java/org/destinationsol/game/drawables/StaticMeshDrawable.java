@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.GameDrawer;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolObject;
+
+/**
+ * Draws a {@link StaticMesh} with its origin at the object it is drawn against, turned with the object.
+ */
+public class StaticMeshDrawable implements Drawable {
+    private final StaticMesh mesh;
+    private final DrawableLevel level;
+    private final Vector2 relativePosition;
+    private final Vector2 position;
+    private float angle;
+
+    public StaticMeshDrawable(StaticMesh mesh, DrawableLevel level) {
+        if (mesh.isEmpty()) {
+            throw new IllegalArgumentException("A mesh without sprites has nothing to draw");
+        }
+        this.mesh = mesh;
+        this.level = level;
+        relativePosition = new Vector2();
+        position = new Vector2();
+    }
+
+    public StaticMesh getMesh() {
+        return mesh;
+    }
+
+    @Override
+    public TextureAtlas.AtlasRegion getTexture() {
+        return mesh.getFirstRegion();
+    }
+
+    @Override
+    public DrawableLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public void update(SolGame game, SolObject o) {
+    }
+
+    @Override
+    public void prepare(SolObject o) {
+        position.set(o.getPosition());
+        angle = o.getAngle();
+    }
+
+    @Override
+    public Vector2 getPosition() {
+        return position;
+    }
+
+    @Override
+    public Vector2 getRelativePosition() {
+        return relativePosition;
+    }
+
+    @Override
+    public float getRadius() {
+        return mesh.getRadius();
+    }
+
+    @Override
+    public void draw(GameDrawer drawer, SolGame game) {
+        drawer.drawStaticMesh(mesh, position.x, position.y, angle);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean okToRemove() {
+        return false;
+    }
+}
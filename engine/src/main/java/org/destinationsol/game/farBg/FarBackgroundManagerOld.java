@@ -62,8 +62,8 @@ public void draw(GameDrawer drawer, SolCam cam, SolGame game) {
 
         float vd = cam.getViewDistance();
         drawer.draw(nebulaTexture, vd * 2, vd * 2, vd, vd, camPos.x, camPos.y, nebulaAngle, nebulaTint);
-        for (FarBackgroundStar star : stars) {
-            star.draw(drawer, vd, camPos, cam.getAngle());
+        for (int i = 0, size = stars.size(); i < size; i++) {
+            stars.get(i).draw(drawer, vd, camPos, cam.getAngle());
         }
     }
 
@@ -26,6 +26,7 @@
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -95,7 +96,7 @@ public void updateTarget(SolGame game) {
             return;
         }
         myTarget = null;
-        List<FarShip> farShips = om.getFarShips();
+        Collection<FarShip> farShips = om.getFarShips();
         if (myFarTarget != null && farShips.contains(myFarTarget)) {
             return;
         }
@@ -52,7 +52,7 @@ public float avoid(SolGame game, SolShip ship, float toDestAngle, Planet np) {
         SolMath.fromAl(myDest, toDestAngle, raycastLen);
         myDest.add(shipPos);
         myCollided = false;
-        World w = game.getObjectManager().getWorld();
+        World w = game.getObjectManager().getWorld(shipPos);
         w.rayCast(myRayBack, shipPos, myDest);
         if (!myCollided) {
             return toDestAngle;
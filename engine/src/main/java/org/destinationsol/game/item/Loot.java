@@ -20,17 +20,23 @@
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.game.Decider;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.FarObject;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.ObjectPool;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
+import org.destinationsol.game.WorldView;
 import org.destinationsol.game.drawables.Drawable;
+import org.destinationsol.game.drawables.RectSprite;
 import org.destinationsol.game.particle.LightSource;
 import org.destinationsol.game.ship.SolShip;
 
 import java.util.List;
+import java.util.function.Predicate;
 
-public class Loot implements SolObject {
+public class Loot implements SolObject, Decider {
 
     public static final int MAX_ROT_SPD = 4;
     public static final float MAX_SPD = .2f;
@@ -39,23 +45,32 @@ public class Loot implements SolObject {
     private static final float PULL_DESIRED_SPD = 1f;
     private static final float PULL_FORCE = .1f;
     private static final float MAX_OWNER_AWAIT = 4f;
-    private final SolItem item;
     private final List<Drawable> drawables;
+    private final RectSprite sprite;
     private final LightSource lightSource;
     private final Vector2 position;
     private final Body body;
     private final float mass;
+    /**
+     * Accepts the ships that collect this loot. Kept as a field so that searching for a puller every tick does not
+     * allocate a new filter.
+     */
+    private final Predicate<SolShip> pullerFilter = this::canBePulledBy;
 
+    private SolItem item;
     private SolShip owner;
     private float ownerAwait;
     private int life;
     private float angle;
+    private SolShip puller;
+    private boolean isPullerDecided;
 
-    Loot(SolItem item, Body body, int life, List<Drawable> drawables, LightSource ls, SolShip owner) {
+    Loot(SolItem item, Body body, int life, List<Drawable> drawables, RectSprite sprite, LightSource ls, SolShip owner) {
         this.body = body;
         this.life = life;
         this.item = item;
         this.drawables = drawables;
+        this.sprite = sprite;
         lightSource = ls;
         this.owner = owner;
         ownerAwait = MAX_OWNER_AWAIT;
@@ -64,6 +79,34 @@ public class Loot implements SolObject {
         setParamsFromBody();
     }
 
+    /**
+     * Turns loot obtained from {@link org.destinationsol.game.ObjectPools#getLoot()} into loot of another item of the
+     * same type and brings it back into the simulation.
+     */
+    void reuse(SolGame game, SolItem item, int life, SolShip owner, Vector2 position) {
+        this.item = item;
+        this.life = life;
+        this.owner = owner;
+        ownerAwait = MAX_OWNER_AWAIT;
+        puller = null;
+        isPullerDecided = false;
+        sprite.setTexture(item.getIcon(game), item.getItemType().sz);
+        ObjectPool.activate(body, position, 0);
+        setParamsFromBody();
+    }
+
+    Body getBody() {
+        return body;
+    }
+
+    @Override
+    public void decide(WorldView view) {
+        // The nearest collecting ship is the puller, even if it is out of its pull distance. As no ship pulls from
+        // farther than the largest pull distance, a nearest ship found farther than that would not pull either.
+        puller = view.findNearest(view.getX(this), view.getY(this), view.getMaxPullDist(), SolShip.class, pullerFilter);
+        isPullerDecided = true;
+    }
+
     @Override
     public void update(SolGame game) {
         setParamsFromBody();
@@ -74,30 +117,23 @@ public void update(SolGame game) {
                 owner = null;
             }
         }
-        SolShip puller = null;
-        float minDist = Float.MAX_VALUE;
-        List<SolObject> objs = game.getObjectManager().getObjects();
-        for (SolObject o : objs) {
-            if (!(o instanceof SolShip)) {
-                continue;
-            }
-            SolShip ship = (SolShip) o;
-            if (!ship.getPilot().collectsItems()) {
-                continue;
-            }
-            if (!(item instanceof MoneyItem) && !ship.getItemContainer().canAdd(item)) {
-                continue;
-            }
-            float dst = ship.getPosition().dst(position);
-            if (minDist < dst) {
-                continue;
-            }
-            puller = ship;
-            minDist = dst;
+        if (!isPullerDecided) {
+            ObjectManager objectManager = game.getObjectManager();
+            float maxPullDist = objectManager.getShipRegistry().getMaxPullDist();
+            puller = objectManager.getNearest(position, maxPullDist, SolShip.class, pullerFilter);
         }
         if (puller != null) {
-            maybePulled(puller, puller.getPosition(), puller.getPullDist());
+            maybePulled(game, puller, puller.getPosition(), puller.getPullDist());
         }
+        puller = null;
+        isPullerDecided = false;
+    }
+
+    private boolean canBePulledBy(SolShip ship) {
+        if (!ship.getPilot().collectsItems()) {
+            return false;
+        }
+        return item instanceof MoneyItem || ship.getItemContainer().canAdd(item);
     }
 
     private void setParamsFromBody() {
@@ -112,7 +148,11 @@ public boolean shouldBeRemoved(SolGame game) {
 
     @Override
     public void onRemove(SolGame game) {
-        body.getWorld().destroyBody(body);
+        if (game != null && game.getObjectPools() != null) {
+            game.getObjectPools().getLoot().freeWithBody(item.getItemType(), this, body);
+        } else {
+            body.getWorld().destroyBody(body);
+        }
     }
 
     @Override
@@ -181,7 +221,7 @@ public boolean hasBody() {
         return true;
     }
 
-    public void maybePulled(SolShip ship, Vector2 pullerPos, float radius) {
+    public void maybePulled(SolGame game, SolShip ship, Vector2 pullerPos, float radius) {
         if (ship == owner) {
             return;
         }
@@ -194,7 +234,7 @@ public void maybePulled(SolShip ship, Vector2 pullerPos, float radius) {
             Vector2 velocityDiff = SolMath.distVec(velocity, toPuller);
             float speedDiff = velocityDiff.len();
             if (speedDiff > 0) {
-                velocityDiff.scl(PULL_FORCE / speedDiff);
+                velocityDiff.scl(PULL_FORCE * game.getTimeStepMultiple() / speedDiff);
                 body.applyForceToCenter(velocityDiff, true);
             }
             SolMath.free(velocityDiff);
@@ -214,6 +254,14 @@ public SolShip getOwner() {
         return owner;
     }
 
+    /**
+     * Hands the loot to the ship that replaces its owner, such as when the owner crossed into another physics region. The
+     * owner still can't pull the loot until it could have before.
+     */
+    public void setOwner(SolShip owner) {
+        this.owner = owner;
+    }
+
     public void pickedUp(SolGame game, SolShip ship) {
         life = 0;
         Vector2 velocity = new Vector2(ship.getPosition());
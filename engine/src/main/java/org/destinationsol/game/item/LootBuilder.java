@@ -41,6 +41,20 @@ public LootBuilder() {
 
     // set velocity & rot speed
     public Loot build(SolGame game, Vector2 position, SolItem item, Vector2 velocity, int life, float rotationSpeed, SolShip owner) {
+        // Loot of items of the same type has the same size and light, so it only differs by the icon
+        Loot loot = game.getObjectPools().getLoot().obtain(game.getObjectManager().getWorld(position), item.getItemType());
+        if (loot == null) {
+            loot = buildNew(game, position, item, life, owner);
+        } else {
+            loot.reuse(game, item, life, owner, position);
+        }
+        Body b = loot.getBody();
+        b.setLinearVelocity(velocity);
+        b.setAngularVelocity(rotationSpeed);
+        return loot;
+    }
+
+    private Loot buildNew(SolGame game, Vector2 position, SolItem item, int life, SolShip owner) {
         List<Drawable> drawables = new ArrayList<>();
         TextureAtlas.AtlasRegion tex = item.getIcon(game);
         float sz = item.getItemType().sz;
@@ -49,12 +63,10 @@ public Loot build(SolGame game, Vector2 position, SolItem item, Vector2 velocity
         RectSprite s = SpriteManager.createStaticSprite(tex, sz, 0, 0, new Vector2(), DrawableLevel.GUNS, 0, 0, SolColor.WHITE, false);
         drawables.add(s);
         Body b = buildBody(game, position, sz);
-        b.setLinearVelocity(velocity);
-        b.setAngularVelocity(rotationSpeed);
         Color col = item.getItemType().color;
         LightSource ls = new LightSource(sz + .18f, false, .5f, new Vector2(), col);
         ls.collectDrawables(drawables);
-        Loot loot = new Loot(item, b, life, drawables, ls, owner);
+        Loot loot = new Loot(item, b, life, drawables, s, ls, owner);
         b.setUserData(loot);
         return loot;
     }
@@ -66,7 +78,7 @@ private Body buildBody(SolGame game, Vector2 position, float sz) {
         bd.angularDamping = 0;
         bd.position.set(position);
         bd.linearDamping = 0;
-        Body body = game.getObjectManager().getWorld().createBody(bd);
+        Body body = game.getObjectManager().getWorld(position).createBody(bd);
         PolygonShape shape = new PolygonShape();
         shape.setAsBox(sz / 2, sz / 2);
         body.createFixture(shape, .5f);
@@ -21,9 +21,15 @@
 import org.destinationsol.Const;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.Faction;
 import org.destinationsol.game.ShipConfig;
 import org.destinationsol.game.SolGame;
+import org.destinationsol.game.drawables.Drawable;
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.destinationsol.game.drawables.RectSprite;
+import org.destinationsol.game.drawables.StaticMesh;
+import org.destinationsol.game.drawables.StaticMeshDrawable;
 import org.destinationsol.game.input.AiPilot;
 import org.destinationsol.game.input.Pilot;
 import org.destinationsol.game.input.StillGuard;
@@ -31,6 +37,7 @@
 import org.destinationsol.game.ship.ShipBuilder;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class MazeBuilder {
     public static final float BORDER = 4f;
@@ -39,6 +46,8 @@ public class MazeBuilder {
     private Vector2 mazePosition;
     private float mazeAngle;
     private float innerRadius;
+    private StaticMesh.Builder groundMesh;
+    private StaticMesh.Builder decoMesh;
 
     public void build(SolGame game, Maze maze) {
         innerRadius = maze.getRadius() - BORDER;
@@ -54,6 +63,10 @@ private MazeLayout buildMaze(SolGame game, Maze maze) {
         MazeLayout layout = new MazeLayoutBuilder(size).build();
         new MazeTileObject.Builder();
         MazeConfig config = maze.getConfig();
+        if (DebugOptions.STATIC_MESHES) {
+            groundMesh = new StaticMesh.Builder();
+            decoMesh = new StaticMesh.Builder();
+        }
         for (int col = 0; col < size; col++) {
             for (int row = 0; row < size; row++) {
                 boolean ulInner = col > 0 && row > 0 && layout.inners[col][row];
@@ -73,8 +86,7 @@ private MazeLayout buildMaze(SolGame game, Maze maze) {
                         tiles = inner ? config.innerPasses : config.borderPasses;
                     }
                     MazeTile tile = SolRandom.seededRandomElement(tiles);
-                    MazeTileObject.MyFar mto = new MazeTileObject.MyFar(tile, tileAngle, new Vector2(tilePos), SolRandom.test(.5f));
-                    game.getObjectManager().addFarObjNow(mto);
+                    addTile(game, tile, tileAngle, tilePos);
                 }
 
                 boolean dInner = col > 0 && row < size - 1 && layout.inners[col][row + 1];
@@ -93,14 +105,48 @@ private MazeLayout buildMaze(SolGame game, Maze maze) {
                         tiles = inner ? config.innerPasses : config.borderPasses;
                     }
                     MazeTile tile = SolRandom.seededRandomElement(tiles);
-                    MazeTileObject.MyFar mto = new MazeTileObject.MyFar(tile, tileAngle, new Vector2(tilePos), SolRandom.test(.5f));
-                    game.getObjectManager().addFarObjNow(mto);
+                    addTile(game, tile, tileAngle, tilePos);
                 }
             }
         }
+        if (DebugOptions.STATIC_MESHES) {
+            addMeshes(game);
+        }
         return layout;
     }
 
+    private void addTile(SolGame game, MazeTile tile, float tileAngle, Vector2 tilePos) {
+        boolean flipped = SolRandom.test(.5f);
+        boolean meshed = groundMesh != null;
+        if (meshed) {
+            // the meshes are centred on the maze and turned with it
+            Vector2 localPosition = new Vector2(tilePos).sub(mazePosition);
+            SolMath.rotate(localPosition, -mazeAngle);
+            float localAngle = tileAngle - mazeAngle;
+            for (RectSprite sprite : MazeTileObject.Builder.createSprites(tile, flipped)) {
+                StaticMesh.Builder mesh = sprite.getLevel() == DrawableLevel.GROUND ? groundMesh : decoMesh;
+                mesh.add(sprite, localPosition.x, localPosition.y, localAngle);
+            }
+        }
+        MazeTileObject.MyFar mto = new MazeTileObject.MyFar(tile, tileAngle, new Vector2(tilePos), flipped, meshed);
+        game.getObjectManager().addFarObjNow(mto);
+    }
+
+    private void addMeshes(SolGame game) {
+        List<Drawable> drawables = new ArrayList<>();
+        StaticMesh ground = groundMesh.build();
+        if (!ground.isEmpty()) {
+            drawables.add(new StaticMeshDrawable(ground, DrawableLevel.GROUND));
+        }
+        StaticMesh deco = decoMesh.build();
+        if (!deco.isEmpty()) {
+            drawables.add(new StaticMeshDrawable(deco, DrawableLevel.DECO));
+        }
+        if (!drawables.isEmpty()) {
+            game.getObjectManager().addFarObjNow(new MazeMeshObject.MyFar(drawables, new Vector2(mazePosition), mazeAngle));
+        }
+    }
+
     private Vector2 cellPos(int col, int row, float xOffset, float yOffset) {
         Vector2 res = new Vector2((col - size / 2) * TILE_SZ + xOffset, (row - size / 2) * TILE_SZ + yOffset);
         SolMath.rotate(res, mazeAngle);
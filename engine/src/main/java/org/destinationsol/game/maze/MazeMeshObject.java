@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.maze;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.DmgType;
+import org.destinationsol.game.FarObject;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolObject;
+import org.destinationsol.game.drawables.Drawable;
+import org.destinationsol.game.drawables.DrawableManager;
+
+import java.util.List;
+
+/**
+ * Draws all the tiles of a maze from {@link org.destinationsol.game.drawables.StaticMesh}es, centred on the maze and
+ * turned with it. The tiles themselves are still {@link MazeTileObject}s, for their bodies.
+ */
+public class MazeMeshObject implements SolObject {
+    private final List<Drawable> drawables;
+    private final Vector2 position;
+    private final float angle;
+
+    public MazeMeshObject(List<Drawable> drawables, Vector2 position, float angle) {
+        this.drawables = drawables;
+        this.position = position;
+        this.angle = angle;
+    }
+
+    @Override
+    public void update(SolGame game) {
+    }
+
+    @Override
+    public boolean shouldBeRemoved(SolGame game) {
+        return false;
+    }
+
+    @Override
+    public void onRemove(SolGame game) {
+    }
+
+    @Override
+    public void receiveDmg(float dmg, SolGame game, Vector2 position, DmgType dmgType) {
+    }
+
+    @Override
+    public boolean receivesGravity() {
+        return false;
+    }
+
+    @Override
+    public void receiveForce(Vector2 force, SolGame game, boolean acc) {
+    }
+
+    @Override
+    public Vector2 getPosition() {
+        return position;
+    }
+
+    @Override
+    public FarObject toFarObject() {
+        return new MyFar(drawables, position, angle);
+    }
+
+    @Override
+    public List<Drawable> getDrawables() {
+        return drawables;
+    }
+
+    @Override
+    public float getAngle() {
+        return angle;
+    }
+
+    @Override
+    public Vector2 getVelocity() {
+        return null;
+    }
+
+    @Override
+    public void handleContact(SolObject other, float absImpulse,
+                              SolGame game, Vector2 collPos) {
+    }
+
+    @Override
+    public String toDebugString() {
+        return null;
+    }
+
+    @Override
+    public Boolean isMetal() {
+        return false;
+    }
+
+    @Override
+    public boolean hasBody() {
+        return false;
+    }
+
+    public static class MyFar implements FarObject {
+        private final List<Drawable> drawables;
+        private final Vector2 position;
+        private final float angle;
+        private final float radius;
+
+        public MyFar(List<Drawable> drawables, Vector2 position, float angle) {
+            this.drawables = drawables;
+            this.position = position;
+            this.angle = angle;
+            radius = DrawableManager.radiusFromDrawables(drawables);
+        }
+
+        @Override
+        public boolean shouldBeRemoved(SolGame game) {
+            return false;
+        }
+
+        @Override
+        public SolObject toObject(SolGame game) {
+            return new MazeMeshObject(drawables, position, angle);
+        }
+
+        @Override
+        public void update(SolGame game) {
+        }
+
+        @Override
+        public float getRadius() {
+            return radius;
+        }
+
+        @Override
+        public Vector2 getPosition() {
+            return position;
+        }
+
+        @Override
+        public String toDebugString() {
+            return null;
+        }
+
+        @Override
+        public boolean hasBody() {
+            return false;
+        }
+
+        @Override
+        public boolean updatesEveryFrame() {
+            return false;
+        }
+    }
+}
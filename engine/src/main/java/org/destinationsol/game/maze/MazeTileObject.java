@@ -44,14 +44,21 @@ public class MazeTileObject implements SolObject {
     private final float angle;
     private final MazeTile tile;
     private final boolean isFlipped;
+    private final boolean isMeshed;
 
     public MazeTileObject(MazeTile tile, List<Drawable> drawables, Body body, Vector2 position, float angle, boolean flipped) {
+        this(tile, drawables, body, position, angle, flipped, false);
+    }
+
+    public MazeTileObject(MazeTile tile, List<Drawable> drawables, Body body, Vector2 position, float angle, boolean flipped,
+                          boolean meshed) {
         this.tile = tile;
         this.drawables = drawables;
         this.body = body;
         this.position = position;
         this.angle = angle;
         isFlipped = flipped;
+        isMeshed = meshed;
     }
 
     @Override
@@ -91,7 +98,7 @@ public Vector2 getPosition() {
 
     @Override
     public FarObject toFarObject() {
-        return new MyFar(tile, angle, position, isFlipped);
+        return new MyFar(tile, angle, position, isFlipped, isMeshed);
     }
 
     @Override
@@ -135,12 +142,22 @@ public static class MyFar implements FarObject {
         private final float angle;
         private final Vector2 position;
         private final boolean isFlipped;
+        private final boolean isMeshed;
 
         public MyFar(MazeTile tile, float angle, Vector2 position, boolean flipped) {
+            this(tile, angle, position, flipped, false);
+        }
+
+        /**
+         * @param meshed Whether the tile is drawn as a part of a {@link MazeMeshObject}, so that its own sprites are to
+         *               be left disabled
+         */
+        public MyFar(MazeTile tile, float angle, Vector2 position, boolean flipped, boolean meshed) {
             this.tile = tile;
             this.angle = angle;
             this.position = position;
             isFlipped = flipped;
+            isMeshed = meshed;
         }
 
         @Override
@@ -150,7 +167,7 @@ public boolean shouldBeRemoved(SolGame game) {
 
         @Override
         public SolObject toObject(SolGame game) {
-            return new Builder().build(game, tile, position, angle, isFlipped);
+            return new Builder().build(game, tile, position, angle, isFlipped, isMeshed);
         }
 
         @Override
@@ -176,11 +193,40 @@ public String toDebugString() {
         public boolean hasBody() {
             return true;
         }
+
+        @Override
+        public boolean updatesEveryFrame() {
+            return false;
+        }
     }
 
     public static class Builder {
         public MazeTileObject build(SolGame game, MazeTile tile, Vector2 position, float angle, boolean flipped) {
+            return build(game, tile, position, angle, flipped, false);
+        }
+
+        /**
+         * Builds a tile whose sprites are left disabled when the tile is drawn as a part of a {@link MazeMeshObject}.
+         */
+        public MazeTileObject build(SolGame game, MazeTile tile, Vector2 position, float angle, boolean flipped,
+                                    boolean meshed) {
             List<Drawable> drawables = new ArrayList<>();
+            for (RectSprite sprite : createSprites(tile, flipped)) {
+                sprite.setEnabled(!meshed);
+                drawables.add(sprite);
+            }
+            Body body = buildBody(game, angle, position, tile, flipped);
+            MazeTileObject res = new MazeTileObject(tile, drawables, body, position, angle, flipped, meshed);
+            body.setUserData(res);
+            return res;
+        }
+
+        /**
+         * Creates the wall sprite at {@link DrawableLevel#GROUND} and the background sprite at
+         * {@link DrawableLevel#DECO}, both centred on the tile.
+         */
+        static List<RectSprite> createSprites(MazeTile tile, boolean flipped) {
+            List<RectSprite> sprites = new ArrayList<>();
             TextureAtlas.AtlasRegion tex = new TextureAtlas.AtlasRegion(tile.tex);
             TextureAtlas.AtlasRegion backgroundTexture = new TextureAtlas.AtlasRegion(tile.backgroundTexture);
             if (flipped) {
@@ -188,13 +234,10 @@ public MazeTileObject build(SolGame game, MazeTile tile, Vector2 position, float
                 backgroundTexture.flip(!backgroundTexture.isFlipX(), !backgroundTexture.isFlipY());
             }
             RectSprite s = SpriteManager.createSprite(tex.name, MazeBuilder.TILE_SZ, 0, 0, new Vector2(), DrawableLevel.GROUND, 0, 0, SolColor.WHITE, false);
-            drawables.add(s);
+            sprites.add(s);
             RectSprite s2 = SpriteManager.createSprite(backgroundTexture.name, MazeBuilder.TILE_SZ, 0, 0, new Vector2(), DrawableLevel.DECO, 0, 0, SolColor.WHITE, false);
-            drawables.add(s2);
-            Body body = buildBody(game, angle, position, tile, flipped);
-            MazeTileObject res = new MazeTileObject(tile, drawables, body, position, angle, flipped);
-            body.setUserData(res);
-            return res;
+            sprites.add(s2);
+            return sprites;
         }
 
         private Body buildBody(SolGame game, float angle, Vector2 position, MazeTile tile, boolean flipped) {
@@ -203,7 +246,7 @@ private Body buildBody(SolGame game, float angle, Vector2 position, MazeTile til
             def.position.set(position);
             def.angle = angle * MathUtils.degRad;
             def.angularDamping = 0;
-            Body body = game.getObjectManager().getWorld().createBody(def);
+            Body body = game.getObjectManager().getWorld(position).createBody(def);
 
             for (List<Vector2> pts : tile.points) {
                 ChainShape shape = new ChainShape();
@@ -27,8 +27,10 @@
 import org.destinationsol.common.NotNull;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.GameColors;
 import org.destinationsol.game.GameDrawer;
+import org.destinationsol.game.SolCam;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
 import org.destinationsol.game.drawables.Drawable;
@@ -46,6 +48,24 @@ public class DSParticleEmitter {
     private static final float JUMP_SIZE_THRESHOLD = 0.7f;
     private static final float MAX_BOUNDINGBOX_RECALC_AWAIT = .5f;
     private static final float MAX_TIME_BETWEEN_POSITION_CHANGE = .25f;
+    /**
+     * Weight of the priority of continuous effects, such as engine trails, which keep emitting over short lulls, against
+     * that of bursts, such as explosions, which are seen once.
+     */
+    private static final float CONTINUOUS_PRIORITY = .5f;
+    /**
+     * Weight of the priority of emitters out of the view.
+     */
+    private static final float OFF_SCREEN_PRIORITY = .2f;
+    /**
+     * Share of the emission rate left to emitters throttled by the {@link ParticleBudget}.
+     */
+    private static final float REDUCED_EMISSION = .5f;
+    /**
+     * Emitters throttled to {@link ParticleBudget.Throttle#SKIPPED} update their particles once per this many ticks,
+     * with the time of all of them.
+     */
+    private static final int SKIPPED_UPDATE_TICKS = 3;
 
     private Vector2 position;
     private String trigger;
@@ -70,6 +90,17 @@ public class DSParticleEmitter {
     private boolean working;
     private boolean floatedUp;
     private BoundingBox boundingBox;
+    /**
+     * The bounding box reduced to a circle when it is recalculated, as the drawable radius is asked for every frame.
+     */
+    private final Vector3 boundingBoxCenter = new Vector3();
+    private float boundingBoxRadius;
+    private float size;
+    private ParticleEmitter.ScaledNumericValue originalEmission;
+    private boolean emissionReduced;
+    private float skippedTime;
+    private int skippedTicks;
+    private boolean finished;
     private LightSource light;
     private SolGame game;
 
@@ -124,7 +155,13 @@ private void initialiseEmitter(EffectConfig config, float size, DrawableLevel dr
         drawables.add(drawable);
 
         this.config = config;
-        this.particleEmitter = config.emitter.newEmitter();
+        this.particleEmitter = DebugOptions.EMITTER_POOL ? game.getObjectPools().getEmitters().obtain(config) : null;
+        boolean reused = particleEmitter != null;
+        if (reused) {
+            config.emitter.reset(particleEmitter);
+        } else {
+            particleEmitter = config.emitter.newEmitter();
+        }
         this.drawableLevel = drawableLevel;
         this.relativePosition = new Vector2(relativePosition);
         this.originalRelativePosition = new Vector2(this.relativePosition);
@@ -140,6 +177,7 @@ private void initialiseEmitter(EffectConfig config, float size, DrawableLevel dr
         if (size <= 0) {
             size = config.size;
         }
+        this.size = size;
 
         if (particleEmitter.getSpawnShape().getShape() != ParticleEmitter.SpawnShape.point) { // has area
             multiplyValue(particleEmitter.getEmission(), size * size);
@@ -159,12 +197,16 @@ private void initialiseEmitter(EffectConfig config, float size, DrawableLevel dr
             areaSize = size;
         }
 
-        particleEmitter.setSprites(new Array<Sprite>(new Sprite[]{new Sprite(config.tex)}));
-        float[] tint = particleEmitter.getTint().getColors();
-        tint[0] = config.tint.r;
-        tint[1] = config.tint.g;
-        tint[2] = config.tint.b;
+        if (!reused) {
+            particleEmitter.setSprites(new Array<Sprite>(new Sprite[]{new Sprite(config.tex)}));
+            float[] tint = particleEmitter.getTint().getColors();
+            tint[0] = config.tint.r;
+            tint[1] = config.tint.g;
+            tint[2] = config.tint.b;
+        }
 
+        originalEmission = new ParticleEmitter.ScaledNumericValue();
+        originalEmission.load(particleEmitter.getEmission());
         originalVelocityAngle = new ParticleEmitter.ScaledNumericValue();
         originalRotation = new ParticleEmitter.ScaledNumericValue();
         transferAngle(particleEmitter.getAngle(), originalVelocityAngle, 0f);
@@ -183,6 +225,43 @@ private void initialiseEmitter(EffectConfig config, float size, DrawableLevel dr
             particleEmitter.start();
         }
         boundingBox = particleEmitter.getBoundingBox();
+        updateBoundingBoxRadius();
+    }
+
+    private void updateBoundingBoxRadius() {
+        // getDimensions() overwrites the vector it is given, so the center is taken last
+        boundingBoxRadius = boundingBox.getDimensions(boundingBoxCenter).len() / 2;
+        boundingBox.getCenter(boundingBoxCenter);
+    }
+
+    /**
+     * Rates how much this emitter matters for the {@link ParticleBudget}: the larger it is and the closer to the camera,
+     * the more, and less so for continuous effects and those out of the view.
+     */
+    private float getPriority(SolGame game) {
+        SolCam cam = game.getCam();
+        float viewDistance = cam.getViewDistance();
+        float distance = cam.getPosition().dst(position);
+        float priority = size / (1 + distance / viewDistance);
+        if (config.emitter.continuous) {
+            priority *= CONTINUOUS_PRIORITY;
+        }
+        if (distance - boundingBoxRadius > viewDistance) {
+            priority *= OFF_SCREEN_PRIORITY;
+        }
+        return priority;
+    }
+
+    private void setEmissionReduced(boolean reduced) {
+        if (reduced == emissionReduced) {
+            return;
+        }
+        emissionReduced = reduced;
+        ParticleEmitter.ScaledNumericValue emission = particleEmitter.getEmission();
+        emission.load(originalEmission);
+        if (reduced) {
+            multiplyValue(emission, REDUCED_EMISSION);
+        }
     }
 
     private void multiplyValue(ParticleEmitter.ScaledNumericValue value, float multiplier) {
@@ -225,6 +304,30 @@ public boolean isComplete() {
         return particleEmitter.isComplete();
     }
 
+    /**
+     * Marks the effect as handed over to the {@link PartMan}, which happens only once, even if its owner asks again.
+     *
+     * @return False if the effect was finished already
+     */
+    boolean markFinished() {
+        if (finished) {
+            return false;
+        }
+        finished = true;
+        return true;
+    }
+
+    /**
+     * Puts the libGDX emitter of a finished effect into the pool, once its drawables have been removed. The effect must
+     * not be used anymore afterwards.
+     */
+    void free(SolGame game) {
+        if (DebugOptions.EMITTER_POOL && particleEmitter != null) {
+            game.getObjectPools().getEmitters().free(config, particleEmitter);
+            particleEmitter = null;
+        }
+    }
+
     public boolean isContinuous() {
         return config.emitter.continuous;
     }
@@ -352,14 +455,31 @@ public void update(SolGame game, SolObject object) {
             transferAngle(originalRotation, particleEmitter.getRotation(), baseAngle + relativeAngle);
 
             updateVelocity(game, object.getVelocity(), object.getPosition());
-            particleEmitter.update(timeStep);
+            updateParticles(game, timeStep);
 
             if (boundingBoxRecalcAwait > 0) {
                 boundingBoxRecalcAwait -= game.getTimeStep();
             } else {
                 boundingBoxRecalcAwait = MAX_BOUNDINGBOX_RECALC_AWAIT;
                 particleEmitter.getBoundingBox();
+                updateBoundingBoxRadius();
+            }
+        }
+
+        /**
+         * Updates the particles as far as the {@link ParticleBudget} lets this emitter. Skipped ticks are caught up on
+         * with their time added together, so that particles live and move as long as they would have otherwise.
+         */
+        private void updateParticles(SolGame game, float timeStep) {
+            ParticleBudget.Throttle throttle = game.getPartMan().admit(getPriority(game), particleEmitter.getActiveCount());
+            setEmissionReduced(throttle != ParticleBudget.Throttle.NONE);
+            skippedTime += timeStep;
+            if (throttle == ParticleBudget.Throttle.SKIPPED && ++skippedTicks < SKIPPED_UPDATE_TICKS) {
+                return;
             }
+            particleEmitter.update(skippedTime);
+            skippedTime = 0;
+            skippedTicks = 0;
         }
 
         private void maybeSwitchRelativePosition(SolGame game) {
@@ -392,11 +512,8 @@ public Vector2 getRelativePosition() {
 
         @Override
         public float getRadius() {
-            Vector3 center = new Vector3();
-            center = boundingBox.getCenter(center);
-            float toCenter = position.dst(center.x, center.y);
-            float radius = boundingBox.getDimensions(center).len() / 2;
-            return radius > 0 ? toCenter + radius : 0;
+            float toCenter = position.dst(boundingBoxCenter.x, boundingBoxCenter.y);
+            return boundingBoxRadius > 0 ? toCenter + boundingBoxRadius : 0;
         }
 
         @Override
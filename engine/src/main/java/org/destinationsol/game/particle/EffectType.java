@@ -34,4 +34,30 @@ public EffectType(String effectName) {
     public ParticleEmitter newEmitter() {
         return new ParticleEmitter(emitter);
     }
+
+    /**
+     * Restores an emitter made by {@link #newEmitter()} for a new effect, with all of its particles gone. Only the values
+     * that {@link DSParticleEmitter} changes when setting up and updating an effect are restored, the sprites and tint
+     * are left as they are, as they depend only on the {@link EffectConfig}.
+     */
+    public void reset(ParticleEmitter particleEmitter) {
+        restore(emitter.getEmission(), particleEmitter.getEmission());
+        restore(emitter.getSpawnWidth(), particleEmitter.getSpawnWidth());
+        restore(emitter.getSpawnHeight(), particleEmitter.getSpawnHeight());
+        restore(emitter.getVelocity(), particleEmitter.getVelocity());
+        restore(emitter.getXScale(), particleEmitter.getXScale());
+        restore(emitter.getAngle(), particleEmitter.getAngle());
+        restore(emitter.getRotation(), particleEmitter.getRotation());
+        restore(emitter.getWind(), particleEmitter.getWind());
+        restore(emitter.getGravity(), particleEmitter.getGravity());
+        particleEmitter.setContinuous(false);
+        particleEmitter.reset();
+    }
+
+    // Unlike ScaledNumericValue.load(), this leaves the scaling and timeline arrays alone, so that nothing is allocated
+    private static void restore(ParticleEmitter.ScaledNumericValue from, ParticleEmitter.ScaledNumericValue to) {
+        to.setActive(from.isActive());
+        to.setHigh(from.getHighMin(), from.getHighMax());
+        to.setLow(from.getLowMin(), from.getLowMax());
+    }
 }
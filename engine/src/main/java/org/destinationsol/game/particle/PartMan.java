@@ -20,7 +20,9 @@
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.SolGame;
+import org.destinationsol.game.UpdateAwareSystem;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableLevel;
 import org.destinationsol.game.drawables.DrawableObject;
@@ -29,24 +31,63 @@
 import org.destinationsol.game.item.Shield;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.Hull;
+import org.destinationsol.ui.DebugCollector;
 
 import java.util.ArrayList;
+import java.util.List;
 
-public class PartMan {
+public class PartMan implements UpdateAwareSystem {
     public static final float EXPL_LIGHT_MAX_SZ = .4f;
     public static final float EXPL_LIGHT_MAX_FADE_TIME = .8f;
     public static final float SZ_TO_BLINK_COUNT = 18f;
 
+    private final ParticleBudget budget;
+
     public PartMan() {
+        budget = new ParticleBudget(DebugOptions.PARTICLE_BUDGET);
+    }
+
+    /**
+     * Settles the particle budget for this tick from the emitters admitted in the last one. This has to run before the
+     * objects, and so their emitters, are updated.
+     */
+    @Override
+    public void update(SolGame game, float timeStep) {
+        budget.endTick();
+        if (DebugOptions.RENDER_INFO) {
+            DebugCollector.debug("Particles", budget.format());
+        }
+    }
+
+    /**
+     * Admits a particle emitter to the budget for this tick.
+     *
+     * @param priority How much the emitter matters, higher being more
+     * @param activeCount The number of particles the emitter has alive
+     * @return How the emitter is to be throttled this tick
+     */
+    public ParticleBudget.Throttle admit(float priority, int activeCount) {
+        return budget.admit(priority, activeCount);
+    }
+
+    public ParticleBudget getBudget() {
+        return budget;
     }
 
+    /**
+     * Hands an effect over from its owner, which is about to be removed, so that its particles can live on until they
+     * fade. Effects are handed over once, any further calls for the same effect are ignored.
+     */
     public void finish(SolGame game, DSParticleEmitter emitter, Vector2 basePosition) {
+        if (!emitter.markFinished()) {
+            return;
+        }
         if (emitter.isContinuous()) {
             emitter.setWorking(false);
         }
         ArrayList<Drawable> drawables = new ArrayList<>();
         drawables.addAll(emitter.getDrawables());
-        DrawableObject drawableObject = new DrawableObject(drawables, new Vector2(basePosition), new Vector2(), null, true, false);
+        DrawableObject drawableObject = new FinishedEffect(drawables, new Vector2(basePosition), emitter);
         game.getObjectManager().addObjDelayed(drawableObject);
     }
 
@@ -109,4 +150,22 @@ public void updateAllHullEmittersOfType(SolShip ship, String triggerType, boolea
             }
         }
     }
+
+    /**
+     * Holds the drawables of a finished effect until its particles are gone, and then gives its emitter back to the
+     * pool.
+     */
+    private static class FinishedEffect extends DrawableObject {
+        private final DSParticleEmitter emitter;
+
+        FinishedEffect(List<Drawable> drawables, Vector2 position, DSParticleEmitter emitter) {
+            super(drawables, position, new Vector2(), null, true, false);
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onRemove(SolGame game) {
+            emitter.free(game);
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.particle;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Keeps the number of live particles within a budget by throttling the emitters that matter least.
+ * <p>
+ * Every emitter is admitted once per tick with its priority and the number of particles it currently has alive. At the
+ * start of the next tick the emitters are ranked by priority and their particles summed up, highest priority first. The
+ * emitters that come after the budget is used up emit at a lower rate, and those that come after twice the budget is
+ * used up also update their particles only every few ticks. The thresholds found at the start of a tick apply to all
+ * admissions during that tick, so an emitter is throttled the same way for a whole tick and particles that are already
+ * alive are never removed.
+ * <p>
+ * The budget is set by {@link org.destinationsol.game.DebugOptions#PARTICLE_BUDGET}, 0 leaving all emitters alone.
+ */
+public class ParticleBudget {
+    private static final int NO_THRESHOLD = -1;
+
+    public enum Throttle {
+        /**
+         * The emitter emits and updates as configured.
+         */
+        NONE,
+        /**
+         * The emitter emits fewer particles.
+         */
+        REDUCED,
+        /**
+         * The emitter emits fewer particles and updates them only every few ticks.
+         */
+        SKIPPED
+    }
+
+    private final int budget;
+    /**
+     * Admissions of the current tick, each the bits of the priority in the upper half and the particle count in the
+     * lower half, so that sorting them sorts by priority. Priorities are never negative, so their bits sort like them.
+     */
+    private long[] admissions = new long[64];
+    private int admissionCount;
+    private float reduceThreshold = NO_THRESHOLD;
+    private float skipThreshold = NO_THRESHOLD;
+    private int liveParticles;
+    private int emitters;
+    private int reduced;
+    private int skipped;
+    private int lastLiveParticles;
+    private int lastEmitters;
+    private int lastReduced;
+    private int lastSkipped;
+
+    /**
+     * @param budget Number of live particles to keep to, 0 to never throttle
+     */
+    public ParticleBudget(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Admits an emitter for the current tick.
+     *
+     * @param priority How much the emitter matters, higher being more, never negative
+     * @param activeCount The number of particles the emitter has alive
+     * @return How the emitter is to be throttled this tick
+     */
+    public Throttle admit(float priority, int activeCount) {
+        liveParticles += activeCount;
+        emitters++;
+        if (budget <= 0) {
+            return Throttle.NONE;
+        }
+        if (admissionCount == admissions.length) {
+            admissions = Arrays.copyOf(admissions, admissionCount * 2);
+        }
+        admissions[admissionCount++] = ((long) Float.floatToIntBits(Math.max(priority, 0)) << 32) | activeCount;
+        if (priority <= skipThreshold) {
+            skipped++;
+            return Throttle.SKIPPED;
+        }
+        if (priority <= reduceThreshold) {
+            reduced++;
+            return Throttle.REDUCED;
+        }
+        return Throttle.NONE;
+    }
+
+    /**
+     * Finds the thresholds for the coming tick from the admissions of the last one, and starts counting anew.
+     */
+    public void endTick() {
+        reduceThreshold = NO_THRESHOLD;
+        skipThreshold = NO_THRESHOLD;
+        if (budget > 0 && liveParticles > budget) {
+            Arrays.sort(admissions, 0, admissionCount);
+            long sum = 0;
+            for (int i = admissionCount - 1; i >= 0; i--) {
+                sum += (int) admissions[i];
+                float priority = Float.intBitsToFloat((int) (admissions[i] >>> 32));
+                if (reduceThreshold == NO_THRESHOLD && sum > budget) {
+                    reduceThreshold = priority;
+                }
+                if (sum > 2L * budget) {
+                    skipThreshold = priority;
+                    break;
+                }
+            }
+        }
+        lastLiveParticles = liveParticles;
+        lastEmitters = emitters;
+        lastReduced = reduced;
+        lastSkipped = skipped;
+        admissionCount = 0;
+        liveParticles = 0;
+        emitters = 0;
+        reduced = 0;
+        skipped = 0;
+    }
+
+    /**
+     * @return The particles alive in the last tick
+     */
+    public int getLiveParticles() {
+        return lastLiveParticles;
+    }
+
+    /**
+     * @return The emitters admitted in the last tick
+     */
+    public int getEmitters() {
+        return lastEmitters;
+    }
+
+    /**
+     * @return The emitters that were throttled to {@link Throttle#REDUCED} in the last tick
+     */
+    public int getReduced() {
+        return lastReduced;
+    }
+
+    /**
+     * @return The emitters that were throttled to {@link Throttle#SKIPPED} in the last tick
+     */
+    public int getSkipped() {
+        return lastSkipped;
+    }
+
+    /**
+     * @return The share of the budget the particles of the last tick took up, 0 without a budget
+     */
+    public float getPressure() {
+        return budget > 0 ? (float) lastLiveParticles / budget : 0;
+    }
+
+    public String format() {
+        if (budget <= 0) {
+            return String.format(Locale.ROOT, "%d live in %d emitters", lastLiveParticles, lastEmitters);
+        }
+        return String.format(Locale.ROOT, "%d live in %d emitters, %.0f%% of budget %d, %d reduced, %d skipped",
+                lastLiveParticles, lastEmitters, getPressure() * 100, budget, lastReduced, lastSkipped);
+    }
+}
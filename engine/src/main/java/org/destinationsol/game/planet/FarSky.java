@@ -62,4 +62,9 @@ public String toDebugString() {
     public boolean hasBody() {
         return false;
     }
+
+    @Override
+    public boolean updatesEveryFrame() {
+        return false;
+    }
 }
@@ -29,15 +29,26 @@ public class FarTileObject implements FarObject {
     private final Tile myTile;
     private final Vector2 position;
     private final float myRadius;
+    private final boolean myMeshed;
 
     public FarTileObject(Planet planet, float toPlanetAngle, float dist, float size, Tile tile) {
+        this(planet, toPlanetAngle, dist, size, tile, false);
+    }
+
+    /**
+     * @param meshed Whether the tile is drawn as a part of a {@link org.destinationsol.game.drawables.StaticMesh}, so
+     *               that its own sprite is to be left disabled
+     */
+    public FarTileObject(Planet planet, float toPlanetAngle, float dist, float size, Tile tile, boolean meshed) {
         myPlanet = planet;
         myToPlanetAngle = toPlanetAngle;
         myDist = dist;
         mySize = size;
         myRadius = SolMath.sqrt(2) * mySize;
         myTile = tile;
+        myMeshed = meshed;
         position = new Vector2();
+        updatePosition();
     }
 
     @Override
@@ -47,15 +58,29 @@ public boolean shouldBeRemoved(SolGame game) {
 
     @Override
     public SolObject toObject(SolGame game) {
-        return new TileObjBuilder().build(game, mySize, myToPlanetAngle, myDist, myTile, myPlanet);
+        return new TileObjBuilder().build(game, mySize, myToPlanetAngle, myDist, myTile, myPlanet, myMeshed);
     }
 
     @Override
     public void update(SolGame game) {
-        if (game.getPlanetManager().getNearestPlanet() == myPlanet) {
-            SolMath.fromAl(position, myPlanet.getAngle() + myToPlanetAngle, myDist);
-            position.add(myPlanet.getPosition());
-        }
+        // tiles rotate with their planet, but are only updated when they are checked for getting near to the camera
+        updatePosition();
+    }
+
+    private void updatePosition() {
+        SolMath.fromAl(position, myPlanet.getAngle() + myToPlanetAngle, myDist);
+        position.add(myPlanet.getPosition());
+    }
+
+    /**
+     * Computes where the tile is as of now, as {@link #getPosition()} is the position as of the last update.
+     *
+     * @return The current position of the tile, to be freed with {@link SolMath#free(Vector2)}
+     */
+    public Vector2 getCurrentPosition() {
+        Vector2 currentPosition = SolMath.fromAl(myPlanet.getAngle() + myToPlanetAngle, myDist);
+        currentPosition.add(myPlanet.getPosition());
+        return currentPosition;
     }
 
     @Override
@@ -78,6 +103,11 @@ public boolean hasBody() {
         return true;
     }
 
+    @Override
+    public boolean updatesEveryFrame() {
+        return false;
+    }
+
     public float getAngle() {
         return myPlanet.getAngle() + myToPlanetAngle + 90;
     }
@@ -54,7 +54,7 @@ public Vector2 find(SolGame game, Planet planet, ConsumedAngles takenAngles, flo
             deviation = angle;
             SolMath.fromAl(vector, angle, planet.getFullHeight());
             vector.add(pPos);
-            game.getObjectManager().getWorld().rayCast(myRayBack, vector, pPos);
+            game.getObjectManager().getWorld(pPos).rayCast(myRayBack, vector, pPos);
             if (deviation < minDeviation) {
                 result.set(vector);
                 minDeviation = deviation;
@@ -19,6 +19,7 @@
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import org.destinationsol.Const;
+import org.destinationsol.common.Bound;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.files.HullConfigManager;
@@ -139,15 +140,7 @@ private void applyGrav(SolGame game, SolSystem nearestSys) {
                 continue;
             }
 
-            Vector2 grav = SolMath.getVec(srcPos);
-            grav.sub(objPos);
-            float len = grav.len();
-            grav.nor();
-            if (len < minDist) {
-                len = minDist;
-            }
-            float g = gravConst / len / len;
-            grav.scl(g);
+            Vector2 grav = getGravity(srcPos, objPos, gravConst, minDist);
             obj.receiveForce(grav, game, true);
             SolMath.free(grav);
             if (!onPlanet) {
@@ -157,6 +150,29 @@ private void applyGrav(SolGame game, SolSystem nearestSys) {
 
     }
 
+    /**
+     * Computes the pull of a planet or sun on an object, as an acceleration.
+     *
+     * @param srcPos    The center of the planet or sun
+     * @param objPos    The position of the object
+     * @param gravConst The gravitation constant of the planet or sun
+     * @param minDist   The distance below which the pull grows no further
+     * @return The acceleration, taken from {@link SolMath#getVec()}, so it has to be freed
+     */
+    @Bound
+    public static Vector2 getGravity(Vector2 srcPos, Vector2 objPos, float gravConst, float minDist) {
+        Vector2 grav = SolMath.getVec(srcPos);
+        grav.sub(objPos);
+        float len = grav.len();
+        grav.nor();
+        if (len < minDist) {
+            len = minDist;
+        }
+        float g = gravConst / len / len;
+        grav.scl(g);
+        return grav;
+    }
+
     private boolean recoverObj(SolObject obj, float toNp, float npMinH) {
         if (npMinH < toNp) {
             return false;
@@ -32,6 +32,8 @@
 import org.destinationsol.game.drawables.DrawableLevel;
 import org.destinationsol.game.drawables.RectSprite;
 import org.destinationsol.game.drawables.SpriteManager;
+import org.destinationsol.game.drawables.StaticMesh;
+import org.destinationsol.game.drawables.StaticMeshDrawable;
 import org.destinationsol.game.input.AiPilot;
 import org.destinationsol.game.input.OrbiterDestProvider;
 import org.destinationsol.game.input.Pilot;
@@ -47,6 +49,10 @@
 
 public class PlanetObjectsBuilder {
     private static final float TOP_TILE_SZ = 2f;
+    /**
+     * Columns of ground tiles baked into one mesh, when {@link DebugOptions#STATIC_MESHES} is on.
+     */
+    private static final int GROUND_SEGMENT_COLUMNS = 8;
 
     private static final float MAX_CLOUD_PIECE_SZ = 1.5f;
     private static final float MAX_CLOUT_PIECE_ROT_SPD = 5f;
@@ -147,6 +153,15 @@ private float createGround(SolGame game, Planet planet) {
 
         Tile[][] tileMap = new GroundBuilder(planet.getConfig(), columns, rows).build();
 
+        StaticMesh.Builder[] segmentMeshes = null;
+        float segmentDistance = (maxRadius + minRadius) / 2;
+        if (DebugOptions.STATIC_MESHES) {
+            segmentMeshes = new StaticMesh.Builder[(columns + GROUND_SEGMENT_COLUMNS - 1) / GROUND_SEGMENT_COLUMNS];
+            for (int i = 0; i < segmentMeshes.length; i++) {
+                segmentMeshes[i] = new StaticMesh.Builder();
+            }
+        }
+
         // create ground
         for (int row = 0; row < rows; row++) {
             float tileDistance = radii[row];
@@ -157,19 +172,58 @@ private float createGround(SolGame game, Planet planet) {
                     continue;
                 }
                 float toPlanetRelAngle = 360f * col / columns;
+                // animated tiles change their texture, so they keep being drawn on their own
+                boolean meshed = segmentMeshes != null && tile.sprite.frames.getKeyFrames().length == 1;
+                if (meshed) {
+                    int segment = col / GROUND_SEGMENT_COLUMNS;
+                    addToGroundSegment(segmentMeshes[segment], segmentAngle(segment, columns), segmentDistance, tile,
+                            tileSize, toPlanetRelAngle, tileDistance);
+                }
                 if (tile.points.isEmpty()) {
-                    FarTileObject farTileObject = new FarTileObject(planet, toPlanetRelAngle, tileDistance, tileSize, tile);
+                    FarTileObject farTileObject = new FarTileObject(planet, toPlanetRelAngle, tileDistance, tileSize, tile, meshed);
                     game.getObjectManager().addFarObjNow(farTileObject);
                 } else {
-                    TileObject tileObject = new TileObjBuilder().build(game, tileSize, toPlanetRelAngle, tileDistance, tile, planet);
+                    TileObject tileObject = new TileObjBuilder().build(game, tileSize, toPlanetRelAngle, tileDistance, tile, planet, meshed);
                     game.getObjectManager().addObjNow(game, tileObject);
                 }
             }
         }
 
+        if (segmentMeshes != null) {
+            for (int segment = 0; segment < segmentMeshes.length; segment++) {
+                StaticMesh mesh = segmentMeshes[segment].build();
+                if (mesh.isEmpty()) {
+                    continue;
+                }
+                List<Drawable> drawables = new ArrayList<>();
+                drawables.add(new StaticMeshDrawable(mesh, DrawableLevel.GROUND));
+                FarPlanetSprites groundSegment = new FarPlanetSprites(planet, segmentAngle(segment, columns), segmentDistance, drawables, 0);
+                game.getObjectManager().addFarObjNow(groundSegment);
+            }
+        }
+
         return minRadius;
     }
 
+    private float segmentAngle(int segment, int columns) {
+        int firstColumn = segment * GROUND_SEGMENT_COLUMNS;
+        int lastColumn = Math.min(firstColumn + GROUND_SEGMENT_COLUMNS, columns) - 1;
+        return 360f * (firstColumn + lastColumn) / 2 / columns;
+    }
+
+    /**
+     * Adds a tile to the mesh of its segment. The segment is placed like the {@link PlanetSprites} it will be drawn
+     * against, so the tile is rotated into the frame of the segment, where the planet centre is straight up.
+     */
+    private void addToGroundSegment(StaticMesh.Builder segmentMesh, float segmentAngle, float segmentDistance, Tile tile,
+                                    float tileSize, float toPlanetRelAngle, float tileDistance) {
+        float localAngle = toPlanetRelAngle - segmentAngle;
+        Vector2 localPosition = SolMath.fromAl(localAngle - 90, tileDistance);
+        localPosition.y += segmentDistance;
+        segmentMesh.add(TileObjBuilder.createSprite(tile, tileSize), localPosition.x, localPosition.y, localAngle);
+        SolMath.free(localPosition);
+    }
+
     private void createClouds(SolGame game, Planet planet) {
         List<TextureAtlas.AtlasRegion> cloudTextures = planet.getConfig().cloudTextures;
         if (cloudTextures.isEmpty()) {
@@ -248,7 +302,7 @@ private void createDecorations(SolGame game, Planet planet) {
 
     private void addDeco(SolGame game, float groundHeight, Vector2 planetPos,
                          Map<Vector2, List<Drawable>> collector, DecoConfig decoConfig) {
-        World world = game.getObjectManager().getWorld();
+        World world = game.getObjectManager().getWorld(planetPos);
         ConsumedAngles consumed = new ConsumedAngles();
 
         final Vector2 rayCasted = new Vector2();
@@ -34,19 +34,33 @@
 
 public class TileObjBuilder {
     public TileObject build(SolGame game, float size, float toPlanetRelAngle, float distance, Tile tile, Planet planet) {
+        return build(game, size, toPlanetRelAngle, distance, tile, planet, false);
+    }
+
+    /**
+     * Builds a tile whose sprite is left disabled when the tile is drawn as a part of a mesh. The sprite is still kept,
+     * so that the tile is brought near and far at the same distance as the tiles drawn on their own.
+     */
+    public TileObject build(SolGame game, float size, float toPlanetRelAngle, float distance, Tile tile, Planet planet,
+                            boolean meshed) {
         float spriteSize = size * 2;
-        RectSprite sprite = new AnimatedRectSprite(tile.sprite.frames, spriteSize, 0, 0, new Vector2(), DrawableLevel.GROUND, 0, 0f, SolColor.WHITE, false);
+        RectSprite sprite = createSprite(tile, size);
+        sprite.setEnabled(!meshed);
         Body body = null;
         if (tile.points.size() > 0) {
             body = buildBody(game, toPlanetRelAngle, distance, tile, planet, spriteSize);
         }
-        TileObject res = new TileObject(planet, toPlanetRelAngle, distance, size, sprite, body, tile);
+        TileObject res = new TileObject(planet, toPlanetRelAngle, distance, size, sprite, body, tile, meshed);
         if (body != null) {
             body.setUserData(res);
         }
         return res;
     }
 
+    static RectSprite createSprite(Tile tile, float size) {
+        return new AnimatedRectSprite(tile.sprite.frames, size * 2, 0, 0, new Vector2(), DrawableLevel.GROUND, 0, 0f, SolColor.WHITE, false);
+    }
+
     private Body buildBody(SolGame game, float toPlanetRelAngle, float dist, Tile tile, Planet planet, float spriteSize) {
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.KinematicBody;
@@ -55,7 +69,7 @@ private Body buildBody(SolGame game, float toPlanetRelAngle, float dist, Tile ti
         bodyDef.position.add(planet.getPosition());
         bodyDef.angle = (toPlanetAngle + 90) * MathUtils.degRad;
         bodyDef.angularDamping = 0;
-        Body body = game.getObjectManager().getWorld().createBody(bodyDef);
+        Body body = game.getObjectManager().getWorld(bodyDef.position).createBody(bodyDef);
         ChainShape shape = new ChainShape();
         List<Vector2> points = new ArrayList<>();
         for (Vector2 curr : tile.points) {
@@ -41,12 +41,15 @@ public class TileObject implements SolObject {
     // for far objs {
     private final float size;
     private final Tile tile;
+    private final boolean isMeshed;
     // }
 
     private float angle;
 
-    TileObject(Planet planet, float relativeAngleToPlanet, float distance, float size, RectSprite sprite, Body body, Tile tile) {
+    TileObject(Planet planet, float relativeAngleToPlanet, float distance, float size, RectSprite sprite, Body body, Tile tile,
+               boolean meshed) {
         this.tile = tile;
+        isMeshed = meshed;
         drawables = new ArrayList<>();
 
         this.planet = planet;
@@ -117,7 +120,7 @@ public Vector2 getPosition() {
 
     @Override
     public FarObject toFarObject() {
-        return new FarTileObject(planet, relativeAngleToPlanet, distance, size, tile);
+        return new FarTileObject(planet, relativeAngleToPlanet, distance, size, tile, isMeshed);
     }
 
     @Override
@@ -19,6 +19,7 @@
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.game.ObjectPool;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.asteroid.AsteroidBuilder;
 import org.destinationsol.game.ship.SolShip;
@@ -29,6 +30,7 @@ public class BallProjectileBody implements ProjectileBody {
     private final Vector2 velocity;
     private final float acceleration;
     private final float mass;
+    private final boolean zeroAbsSpeed;
 
     private float angle;
 
@@ -36,14 +38,13 @@ public class BallProjectileBody implements ProjectileBody {
                        Vector2 gunVelocity, float speed, ProjectileConfig config) {
         float density = config.density == -1 ? 1 : config.density;
         body = AsteroidBuilder.buildBall(game, position, angle, config.physSize / 2, density, config.massless);
-        if (config.zeroAbsSpeed) {
+        zeroAbsSpeed = config.zeroAbsSpeed;
+        if (zeroAbsSpeed) {
             body.setAngularVelocity(15f * MathUtils.degRad);
         }
 
         velocity = new Vector2();
-        SolMath.fromAl(velocity, angle, speed);
-        velocity.add(gunVelocity);
-        body.setLinearVelocity(velocity);
+        setVelocity(angle, gunVelocity, speed);
         body.setUserData(projectile);
 
         this.position = new Vector2();
@@ -52,6 +53,12 @@ public class BallProjectileBody implements ProjectileBody {
         setParamsFromBody();
     }
 
+    private void setVelocity(float angle, Vector2 gunVelocity, float speed) {
+        SolMath.fromAl(velocity, angle, speed);
+        velocity.add(gunVelocity);
+        body.setLinearVelocity(velocity);
+    }
+
     private void setParamsFromBody() {
         position.set(body.getPosition());
         angle = body.getAngle() * MathUtils.radDeg;
@@ -91,6 +98,19 @@ public void onRemove(SolGame game) {
         body.getWorld().destroyBody(body);
     }
 
+    @Override
+    public void deactivate() {
+        body.setActive(false);
+    }
+
+    @Override
+    public void reset(float angle, Vector2 muzzlePos, Vector2 gunVelocity, float speed) {
+        ObjectPool.activate(body, muzzlePos, angle);
+        body.setAngularVelocity(zeroAbsSpeed ? 15f * MathUtils.degRad : 0);
+        setVelocity(angle, gunVelocity, speed);
+        setParamsFromBody();
+    }
+
     @Override
     public float getAngle() {
         return angle;
@@ -53,7 +53,7 @@ public void update(SolGame game) {
         diff.scl(game.getTimeStep());
         position.add(diff);
         SolMath.free(diff);
-        game.getObjectManager().getWorld().rayCast(rayBack, prevPos, position);
+        game.getObjectManager().getWorld(prevPos).rayCast(rayBack, prevPos, position);
         SolMath.free(prevPos);
     }
 
@@ -80,6 +80,17 @@ public Vector2 getVelocity() {
     public void onRemove(SolGame game) {
     }
 
+    @Override
+    public void deactivate() {
+    }
+
+    @Override
+    public void reset(float angle, Vector2 muzzlePos, Vector2 gunVelocity, float speed) {
+        position.set(muzzlePos);
+        SolMath.fromAl(velocity, angle, speed);
+        velocity.add(gunVelocity);
+    }
+
     @Override
     public float getAngle() {
         return SolMath.angle(velocity);
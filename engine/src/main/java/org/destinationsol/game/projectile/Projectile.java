@@ -21,9 +21,11 @@
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.Decider;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.Faction;
 import org.destinationsol.game.FactionManager;
@@ -31,6 +33,7 @@
 import org.destinationsol.game.GameDrawer;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
+import org.destinationsol.game.WorldView;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableLevel;
 import org.destinationsol.game.drawables.RectSprite;
@@ -44,58 +47,102 @@
 import java.util.ArrayList;
 import java.util.List;
 
-public class Projectile implements SolObject {
+public class Projectile implements SolObject, Decider {
 
     private static final float MIN_ANGLE_TO_GUIDE = 2f;
     private final ArrayList<Drawable> drawables;
     private final ProjectileBody body;
-    private final Faction faction;
-    private final DSParticleEmitter bodyEffect;
-    private final DSParticleEmitter trailEffect;
+    private final Drawable drawable;
     private final LightSource lightSource;
     private final ProjectileConfig config;
+    private final World world;
 
+    private Faction faction;
+    private DSParticleEmitter bodyEffect;
+    private DSParticleEmitter trailEffect;
     private boolean shouldBeRemoved;
     private SolObject obstacle;
     private SolShip ship;
     private boolean wasDamageDealt;
+    private SolShip guideTarget;
+    private boolean isGuideTargetDecided;
 
     public Projectile(SolGame game, float angle, Vector2 muzzlePos, Vector2 gunVelocity, Faction faction,
                       ProjectileConfig config, boolean varySpeed, SolShip ship) {
         drawables = new ArrayList<>();
         this.config = config;
+        world = game.getObjectManager().getWorld(muzzlePos);
 
-        this.ship = ship;
-
-        Drawable drawable;
         if (config.stretch) {
             drawable = new ProjectileDrawable(this, config.sprite.frames, config.texSz);
         } else {
             drawable = SpriteManager.createSprite(config.sprite.displayName, config.texSz, config.origin.x, config.origin.y, new Vector2(), DrawableLevel.PROJECTILES, 0, 0, SolColor.WHITE, false);
         }
         drawables.add(drawable);
-        float speed = config.speed;
-        if (varySpeed) {
-            speed *= SolRandom.randomFloat(.9f, 1.1f);
-        }
+        float speed = getSpeed(config, varySpeed);
         if (config.physSize > 0) {
             body = new BallProjectileBody(game, muzzlePos, angle, this, gunVelocity, speed, config);
         } else {
             body = new PointProjectileBody(angle, muzzlePos, gunVelocity, speed, this, game, config.acc);
         }
-        this.faction = faction;
-        bodyEffect = buildEffect(game, config.bodyEffect, DrawableLevel.PART_BG_0, null, true);
-        trailEffect = buildEffect(game, config.trailEffect, DrawableLevel.PART_BG_0, null, false);
         if (config.lightSz > 0) {
             Color col = SolColor.WHITE;
-            if (bodyEffect != null) {
+            if (config.bodyEffect != null) {
                 col = config.bodyEffect.tint;
             }
             lightSource = new LightSource(config.lightSz, true, 1f, new Vector2(), col);
-            lightSource.collectDrawables(drawables);
         } else {
             lightSource = null;
         }
+        init(game, faction, ship);
+    }
+
+    /**
+     * Fires a projectile, reusing a removed one with the same config if {@link org.destinationsol.game.ObjectPools}
+     * holds any. Takes the same arguments as the constructor.
+     */
+    public static Projectile obtain(SolGame game, float angle, Vector2 muzzlePos, Vector2 gunVelocity, Faction faction,
+                                    ProjectileConfig config, boolean varySpeed, SolShip ship) {
+        World world = game.getObjectManager().getWorld(muzzlePos);
+        Projectile projectile = game.getObjectPools().getProjectiles().obtain(world, config);
+        if (projectile == null) {
+            return new Projectile(game, angle, muzzlePos, gunVelocity, faction, config, varySpeed, ship);
+        }
+        projectile.body.reset(angle, muzzlePos, gunVelocity, getSpeed(config, varySpeed));
+        if (projectile.drawable instanceof ProjectileDrawable) {
+            ((ProjectileDrawable) projectile.drawable).reset();
+        }
+        projectile.drawables.clear();
+        projectile.drawables.add(projectile.drawable);
+        projectile.init(game, faction, ship);
+        return projectile;
+    }
+
+    private static float getSpeed(ProjectileConfig config, boolean varySpeed) {
+        float speed = config.speed;
+        if (varySpeed) {
+            speed *= SolRandom.randomFloat(.9f, 1.1f);
+        }
+        return speed;
+    }
+
+    /**
+     * Sets up the state that is not kept when the projectile is reused. The body has to be in place already.
+     */
+    private void init(SolGame game, Faction faction, SolShip ship) {
+        this.faction = faction;
+        this.ship = ship;
+        shouldBeRemoved = false;
+        obstacle = null;
+        wasDamageDealt = false;
+        guideTarget = null;
+        isGuideTargetDecided = false;
+        // The emitters are handed over to the particle manager on removal, so they cannot be reused
+        bodyEffect = buildEffect(game, config.bodyEffect, DrawableLevel.PART_BG_0, null, true);
+        trailEffect = buildEffect(game, config.trailEffect, DrawableLevel.PART_BG_0, null, false);
+        if (lightSource != null) {
+            lightSource.collectDrawables(drawables);
+        }
     }
 
     private DSParticleEmitter buildEffect(SolGame game, EffectConfig ec, DrawableLevel drawableLevel, Vector2 position, boolean inheritsVelocity) {
@@ -112,6 +159,15 @@ private DSParticleEmitter buildEffect(SolGame game, EffectConfig ec, DrawableLev
         return res;
     }
 
+    @Override
+    public void decide(WorldView view) {
+        if (config.guideRotationSpeed == 0) {
+            return;
+        }
+        guideTarget = view.findNearestEnemy(this);
+        isGuideTargetDecided = true;
+    }
+
     @Override
     public void update(SolGame game) {
         body.update(game);
@@ -148,7 +204,9 @@ private void maybeGuide(SolGame game) {
             return;
         }
         float ts = game.getTimeStep();
-        SolShip ne = game.getFactionMan().getNearestEnemy(game, this);
+        SolShip ne = isGuideTargetDecided ? guideTarget : game.getFactionMan().getNearestEnemy(game, this);
+        guideTarget = null;
+        isGuideTargetDecided = false;
         if (ne == null) {
             return;
         }
@@ -193,7 +251,11 @@ public void onRemove(SolGame game) {
         if (trailEffect != null) {
             game.getPartMan().finish(game, trailEffect, position);
         }
-        body.onRemove(game);
+        if (game.getObjectPools().getProjectiles().free(world, config, this)) {
+            body.deactivate();
+        } else {
+            body.onRemove(game);
+        }
     }
 
     @Override
@@ -311,6 +373,11 @@ private static class ProjectileDrawable implements Drawable {
             this.width = width;
         }
 
+        void reset() {
+            animationTime = 0;
+            texture = animation.getKeyFrame(animationTime, true);
+        }
+
         @Override
         public TextureAtlas.AtlasRegion getTexture() {
             return texture;
@@ -370,7 +437,6 @@ public boolean isEnabled() {
         public boolean okToRemove() {
             return false;
         }
-
     }
 
 }
@@ -30,6 +30,16 @@ public interface ProjectileBody {
 
     void onRemove(SolGame game);
 
+    /**
+     * Takes the body out of the simulation when the projectile is kept for reuse, instead of {@link #onRemove(SolGame)}.
+     */
+    void deactivate();
+
+    /**
+     * Puts the body of a reused projectile back into the simulation, as if it was just fired.
+     */
+    void reset(float angle, Vector2 muzzlePos, Vector2 gunVelocity, float speed);
+
     float getAngle();
 
     void changeAngle(float diff);
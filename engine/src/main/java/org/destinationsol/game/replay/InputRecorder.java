@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.replay;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.WorldConfig;
+import org.destinationsol.game.screens.ShipUiControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes an {@link InputRecording} while the game is played, so that the session can be replayed headless later.
+ * <p>
+ * Only the controls that drive {@link org.destinationsol.game.input.UiControlledPilot} are recorded, so a session played
+ * with mouse control, where the hero follows the beacon instead, cannot be replayed. The recording is only repeatable
+ * if both of the {@link org.destinationsol.common.SolRandom} generators were seeded before the game started.
+ */
+public class InputRecorder implements Closeable {
+    public static final String FILE_NAME = "inputRecording.bin";
+    private static final Logger logger = LoggerFactory.getLogger(InputRecorder.class);
+
+    private final DataOutputStream out;
+    private int runState = -1;
+    private int runLength;
+    private long tick;
+    private boolean failed;
+
+    /**
+     * @param viewportRatio The width of the display divided by its height, which the view distance depends on
+     */
+    public InputRecorder(OutputStream out, WorldConfig worldConfig, String shipName, ShipConfig shipConfig,
+                         float viewportRatio) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        InputRecording.writeHeader(this.out, worldConfig.getSeed(), worldConfig.getNumberOfSystems(), shipName,
+                shipConfig.getHull().getInternalName(), shipConfig.getItems(), shipConfig.getMoney(), viewportRatio);
+    }
+
+    /**
+     * Records the state of the controls for the current tick, and every {@link InputRecording#CHECKPOINT_INTERVAL}
+     * ticks the position of the hero. Called by {@link org.destinationsol.game.SolGame} before every tick that is not
+     * paused.
+     */
+    public void record(ShipUiControl control, Vector2 heroPosition) {
+        if (tick > 0 && tick % InputRecording.CHECKPOINT_INTERVAL == 0) {
+            writeCheckpoint(heroPosition);
+        }
+        tick++;
+        int state = InputRecording.capture(control);
+        if (state == runState) {
+            runLength++;
+            return;
+        }
+        writeRun();
+        runState = state;
+        runLength = 1;
+    }
+
+    private void writeRun() {
+        if (runLength == 0 || failed) {
+            return;
+        }
+        try {
+            InputRecording.writeRun(out, runState, runLength);
+        } catch (IOException e) {
+            // The game goes on, only the recording is lost
+            logger.error("Could not write the input recording", e);
+            failed = true;
+        }
+    }
+
+    private void writeCheckpoint(Vector2 heroPosition) {
+        // The run so far goes first, so that the checkpoint is read after the ticks it was taken after
+        writeRun();
+        runLength = 0;
+        if (failed) {
+            return;
+        }
+        try {
+            InputRecording.writeCheckpoint(out, heroPosition.x, heroPosition.y);
+        } catch (IOException e) {
+            logger.error("Could not write the input recording", e);
+            failed = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeRun();
+        runLength = 0;
+        out.close();
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.replay;
+
+import org.destinationsol.game.screens.ShipUiControl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A recorded game session: the world and the ship it started with, and the state of the hero's controls in every tick.
+ * <p>
+ * Recordings are stored in a compact binary format. After a header holding the world seed, the number of systems, the
+ * starting {@link org.destinationsol.game.ShipConfig} and the viewport ratio, the control states follow as runs, each
+ * one a state byte followed by the number of ticks it lasted as a variable length integer. As the controls rarely
+ * change between ticks, an hour of play takes a few kilobytes.
+ * <p>
+ * Every {@value #CHECKPOINT_INTERVAL} ticks, the runs are interrupted by a checkpoint: the {@link #CHECKPOINT} byte,
+ * followed by the position of the hero at the start of that tick. A replay compares the hero's position against them to
+ * tell whether it still repeats the recorded game.
+ */
+public class InputRecording {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int SHOOT = 1 << 4;
+    public static final int SHOOT2 = 1 << 5;
+    public static final int ABILITY = 1 << 6;
+    /**
+     * Ticks between two checkpoints.
+     */
+    public static final int CHECKPOINT_INTERVAL = 600;
+    /**
+     * Marks a checkpoint in place of a state byte, which never has this bit set.
+     */
+    static final int CHECKPOINT = 1 << 7;
+    static final int MAGIC = 0x44535250;
+    static final int VERSION = 2;
+
+    private final long seed;
+    private final int numberOfSystems;
+    private final String shipName;
+    private final String hullName;
+    private final String items;
+    private final int money;
+    private final float viewportRatio;
+    private byte[] runStates;
+    private int[] runLengths;
+    private int runCount;
+    private long tickCount;
+    private long[] checkpointTicks;
+    /**
+     * The hero positions of the checkpoints, x and y after each other.
+     */
+    private float[] checkpointPositions;
+    private int checkpointCount;
+
+    public InputRecording(long seed, int numberOfSystems, String shipName, String hullName, String items, int money,
+                          float viewportRatio) {
+        this.seed = seed;
+        this.numberOfSystems = numberOfSystems;
+        this.shipName = shipName;
+        this.hullName = hullName;
+        this.items = items;
+        this.money = money;
+        this.viewportRatio = viewportRatio;
+        runStates = new byte[16];
+        runLengths = new int[16];
+        checkpointTicks = new long[16];
+        checkpointPositions = new float[32];
+    }
+
+    /**
+     * Packs the state of the controls into the bits of a single byte.
+     */
+    public static int capture(ShipUiControl control) {
+        int state = 0;
+        if (control.isLeft()) {
+            state |= LEFT;
+        }
+        if (control.isRight()) {
+            state |= RIGHT;
+        }
+        if (control.isUp()) {
+            state |= UP;
+        }
+        if (control.isDown()) {
+            state |= DOWN;
+        }
+        if (control.isShoot()) {
+            state |= SHOOT;
+        }
+        if (control.isShoot2()) {
+            state |= SHOOT2;
+        }
+        if (control.isAbility()) {
+            state |= ABILITY;
+        }
+        return state;
+    }
+
+    /**
+     * Appends ticks with the same control state to the recording.
+     */
+    public void addRun(int state, int length) {
+        if (runCount > 0 && runStates[runCount - 1] == (byte) state) {
+            runLengths[runCount - 1] += length;
+        } else {
+            if (runCount == runStates.length) {
+                runStates = Arrays.copyOf(runStates, runCount * 2);
+                runLengths = Arrays.copyOf(runLengths, runCount * 2);
+            }
+            runStates[runCount] = (byte) state;
+            runLengths[runCount] = length;
+            runCount++;
+        }
+        tickCount += length;
+    }
+
+    /**
+     * Appends a checkpoint with the position of the hero after the ticks recorded so far.
+     */
+    public void addCheckpoint(float heroX, float heroY) {
+        if (checkpointCount == checkpointTicks.length) {
+            checkpointTicks = Arrays.copyOf(checkpointTicks, checkpointCount * 2);
+            checkpointPositions = Arrays.copyOf(checkpointPositions, checkpointCount * 4);
+        }
+        checkpointTicks[checkpointCount] = tickCount;
+        checkpointPositions[checkpointCount * 2] = heroX;
+        checkpointPositions[checkpointCount * 2 + 1] = heroY;
+        checkpointCount++;
+    }
+
+    public static InputRecording read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input recording version " + version);
+        }
+        InputRecording recording = new InputRecording(data.readLong(), data.readInt(), data.readUTF(), data.readUTF(),
+                data.readUTF(), data.readInt(), data.readFloat());
+        int state;
+        while ((state = data.read()) >= 0) {
+            if (state == CHECKPOINT) {
+                recording.addCheckpoint(data.readFloat(), data.readFloat());
+            } else {
+                recording.addRun(state, readVarInt(data));
+            }
+        }
+        return recording;
+    }
+
+    static void writeHeader(DataOutputStream out, long seed, int numberOfSystems, String shipName, String hullName,
+                            String items, int money, float viewportRatio) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeInt(numberOfSystems);
+        out.writeUTF(shipName);
+        out.writeUTF(hullName);
+        out.writeUTF(items);
+        out.writeInt(money);
+        out.writeFloat(viewportRatio);
+    }
+
+    static void writeRun(DataOutputStream out, int state, int length) throws IOException {
+        out.writeByte(state);
+        // Seven bits per byte, the highest bit marks that more bytes follow
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+    }
+
+    static void writeCheckpoint(DataOutputStream out, float heroX, float heroY) throws IOException {
+        out.writeByte(CHECKPOINT);
+        out.writeFloat(heroX);
+        out.writeFloat(heroY);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Input recording ends within a run");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed run length in input recording");
+    }
+
+    /**
+     * Writes the whole recording, in the same format as {@link InputRecorder}.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        writeHeader(out, seed, numberOfSystems, shipName, hullName, items, money, viewportRatio);
+        long tick = 0;
+        int checkpoint = 0;
+        for (int i = 0; i < runCount; i++) {
+            int length = runLengths[i];
+            // Runs are split where a checkpoint falls within them
+            while (checkpoint < checkpointCount && checkpointTicks[checkpoint] < tick + length) {
+                int before = (int) (checkpointTicks[checkpoint] - tick);
+                if (before > 0) {
+                    writeRun(out, runStates[i], before);
+                    tick += before;
+                    length -= before;
+                }
+                writeCheckpoint(out, getCheckpointX(checkpoint), getCheckpointY(checkpoint));
+                checkpoint++;
+            }
+            writeRun(out, runStates[i], length);
+            tick += length;
+        }
+        for (; checkpoint < checkpointCount; checkpoint++) {
+            writeCheckpoint(out, getCheckpointX(checkpoint), getCheckpointY(checkpoint));
+        }
+        out.flush();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getNumberOfSystems() {
+        return numberOfSystems;
+    }
+
+    public String getShipName() {
+        return shipName;
+    }
+
+    public String getHullName() {
+        return hullName;
+    }
+
+    public String getItems() {
+        return items;
+    }
+
+    public int getMoney() {
+        return money;
+    }
+
+    /**
+     * @return The width of the display the game was recorded on, divided by its height
+     */
+    public float getViewportRatio() {
+        return viewportRatio;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public int getRunState(int run) {
+        return runStates[run];
+    }
+
+    public int getRunLength(int run) {
+        return runLengths[run];
+    }
+
+    /**
+     * @return The number of recorded ticks
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    /**
+     * @return The number of ticks played before the checkpoint was taken
+     */
+    public long getCheckpointTick(int checkpoint) {
+        return checkpointTicks[checkpoint];
+    }
+
+    public float getCheckpointX(int checkpoint) {
+        return checkpointPositions[checkpoint * 2];
+    }
+
+    public float getCheckpointY(int checkpoint) {
+        return checkpointPositions[checkpoint * 2 + 1];
+    }
+}
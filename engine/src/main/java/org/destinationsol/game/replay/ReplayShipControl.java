@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.replay;
+
+import org.destinationsol.game.screens.ShipUiControl;
+
+/**
+ * Plays the control states of an {@link InputRecording} back, one tick at a time, in place of the player's input.
+ *
+ * @see org.destinationsol.game.screens.MainGameScreen#setShipControlOverride(ShipUiControl)
+ */
+public class ReplayShipControl implements ShipUiControl {
+    private final InputRecording recording;
+    private int run = -1;
+    private int ticksLeftInRun;
+    private int state;
+
+    public ReplayShipControl(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Moves on to the control state of the next tick. Has to be called before every game update.
+     *
+     * @return False if the recording has ended, in which case all controls are released
+     */
+    public boolean advance() {
+        while (ticksLeftInRun == 0) {
+            if (run + 1 >= recording.getRunCount()) {
+                state = 0;
+                return false;
+            }
+            run++;
+            ticksLeftInRun = recording.getRunLength(run);
+            state = recording.getRunState(run);
+        }
+        ticksLeftInRun--;
+        return true;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return (state & InputRecording.LEFT) != 0;
+    }
+
+    @Override
+    public boolean isRight() {
+        return (state & InputRecording.RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isUp() {
+        return (state & InputRecording.UP) != 0;
+    }
+
+    @Override
+    public boolean isDown() {
+        return (state & InputRecording.DOWN) != 0;
+    }
+
+    @Override
+    public boolean isShoot() {
+        return (state & InputRecording.SHOOT) != 0;
+    }
+
+    @Override
+    public boolean isShoot2() {
+        return (state & InputRecording.SHOOT2) != 0;
+    }
+
+    @Override
+    public boolean isAbility() {
+        return (state & InputRecording.ABILITY) != 0;
+    }
+}
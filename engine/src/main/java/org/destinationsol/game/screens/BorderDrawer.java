@@ -43,6 +43,7 @@
 import org.destinationsol.ui.Waypoint;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class BorderDrawer {
@@ -110,7 +111,7 @@ public void draw(UiDrawer drawer, SolApplication application) {
             }
         }
 
-        List<FarShip> farShips = game.getObjectManager().getFarShips();
+        Collection<FarShip> farShips = game.getObjectManager().getFarShips();
         for (FarShip ship : farShips) {
             Vector2 shipPos = ship.getPosition();
             Faction shipFaction = ship.getPilot().getFaction();
@@ -118,7 +119,7 @@ public void draw(UiDrawer drawer, SolApplication application) {
             float shipAngle = ship.getAngle();
             maybeDrawIcon(drawer, shipPos, cam, shipSize, shipAngle, mapDrawer, factionManager, hero, shipFaction, ship, heroDamageCap, ship.getHullConfig().getIcon());
         }
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
+        Collection<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
         for (StarPort.FarStarPort starPort : farPorts) {
             maybeDrawIcon(drawer, starPort.getPosition(), cam, StarPort.SIZE, starPort.getAngle(), mapDrawer, null, null, null, null, -1, mapDrawer.getStarPortTex());
         }
@@ -52,7 +52,7 @@ public boolean shouldWarn(SolGame game) {
         SolMath.fromAl(finalPos, velocityAngle, breakWay);
         finalPos.add(position);
         warnCallback.show = false;
-        game.getObjectManager().getWorld().rayCast(warnCallback, position, finalPos);
+        game.getObjectManager().getWorld(position).rayCast(warnCallback, position, finalPos);
         SolMath.free(finalPos);
         return warnCallback.show;
     }
@@ -96,6 +96,7 @@ public class MainGameScreen extends SolUiBaseScreen {
     private final TextPlace myChargesExcessTp;
     private final TextPlace myMoneyExcessTp;
     private final SolApplication solApplication;
+    private ShipUiControl shipControlOverride;
 
     private List<SolUiScreen> gameOverlayScreens = new ArrayList<>();
     private List<WarnDrawer> warnDrawers = new ArrayList<>();
@@ -523,32 +524,45 @@ public void blurCustom(SolApplication solApplication) {
         }
     }
 
+    /**
+     * Replaces the player's input for the hero's ship, for instance with the controls of a replayed recording.
+     *
+     * @param shipControlOverride The controls to use instead of {@link #shipControl}, or null to use the player's input
+     */
+    public void setShipControlOverride(ShipUiControl shipControlOverride) {
+        this.shipControlOverride = shipControlOverride;
+    }
+
+    private ShipUiControl getActiveShipControl() {
+        return shipControlOverride != null ? shipControlOverride : shipControl;
+    }
+
     public boolean isLeft() {
-        return shipControl.isLeft();
+        return getActiveShipControl().isLeft();
     }
 
     public boolean isRight() {
-        return shipControl.isRight();
+        return getActiveShipControl().isRight();
     }
 
     public boolean isUp() {
-        return shipControl.isUp();
+        return getActiveShipControl().isUp();
     }
 
     public boolean isDown() {
-        return shipControl.isDown();
+        return getActiveShipControl().isDown();
     }
 
     public boolean isShoot() {
-        return shipControl.isShoot();
+        return getActiveShipControl().isShoot();
     }
 
     public boolean isShoot2() {
-        return shipControl.isShoot2();
+        return getActiveShipControl().isShoot2();
     }
 
     public boolean isAbility() {
-        return shipControl.isAbility();
+        return getActiveShipControl().isAbility();
     }
 
     public boolean isCameraUp() {
@@ -101,8 +101,8 @@ public Body getBody() {
     }
 
     public void onRemove(SolGame game) {
-        World w = game.getObjectManager().getWorld();
         Body doorBody = getBody();
+        World w = doorBody.getWorld();
         w.destroyJoint(myJoint);
         w.destroyBody(doorBody);
     }
@@ -291,7 +291,7 @@ private Fixture createShieldFixture(HullConfig hullConfig, Body body) {
     }
 
     private Door createDoor(SolGame game, Vector2 position, float angle, Body body, Vector2 doorRelPos) {
-        World w = game.getObjectManager().getWorld();
+        World w = body.getWorld();
         TextureAtlas.AtlasRegion tex = Assets.getAtlasRegion("engine:door");
         PrismaticJoint joint = createDoorJoint(body, w, position, doorRelPos, angle);
         RectSprite s = SpriteManager.createSprite(tex.name, Door.DOOR_LEN, 0, 0, new Vector2(doorRelPos), DrawableLevel.BODIES, 0, 0, SolColor.WHITE, false);
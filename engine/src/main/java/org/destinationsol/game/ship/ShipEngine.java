@@ -50,7 +50,7 @@ private boolean applyInput(SolGame cmp, float shipAngle, Pilot provider, Body bo
 
         Engine e = myItem;
         if (working) {
-            Vector2 v = SolMath.fromAl(shipAngle, mass * e.getAcceleration());
+            Vector2 v = SolMath.fromAl(shipAngle, mass * e.getAcceleration() * cmp.getTimeStepMultiple());
             body.applyForceToCenter(v, true);
             SolMath.free(v);
         }
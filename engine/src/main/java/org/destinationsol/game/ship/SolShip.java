@@ -25,12 +25,14 @@
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.AbilityCommonConfig;
+import org.destinationsol.game.Decider;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.FactionInfo;
 import org.destinationsol.game.Hero;
 import org.destinationsol.game.RemoveController;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
+import org.destinationsol.game.WorldView;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.gun.GunMount;
 import org.destinationsol.game.input.Pilot;
@@ -52,7 +54,7 @@
 import java.util.List;
 import java.util.Objects;
 
-public class SolShip implements SolObject {
+public class SolShip implements SolObject, Decider {
     public static final float BASE_DUR_MOD = .3f;
     public static final float PULL_DIST = 2f;
     public static final float SMOKE_PERC = .6f;
@@ -85,6 +87,8 @@ public class SolShip implements SolObject {
     private float myControlEnableAwait;
     private MercItem mercItem;
     private boolean isMerc;
+    private SolShip myDecidedEnemy;
+    private boolean myEnemyDecided;
 
     public SolShip(SolGame game, Pilot pilot, Hull hull, RemoveController removeController, List<Drawable> drawables,
                    ItemContainer container, ShipRepairer repairer, float money, TradeContainer tradeContainer, Shield shield,
@@ -146,12 +150,28 @@ public void handleContact(SolObject other, float absImpulse,
             return;
         }
         if (myHull.config.getType() != HullConfig.Type.STATION) {
-            float dmg = absImpulse / myHull.getMass() / myHull.config.getDurability();
-            dmg *= BASE_DUR_MOD;
-            receiveDmg((int) dmg, game, collPos, DmgType.CRASH);
+            receiveDmg(calcCrashDmg(absImpulse, myHull.getMass(), myHull.config.getDurability()), game, collPos, DmgType.CRASH);
         }
     }
 
+    /**
+     * Computes the damage a ship takes from a crash. The damage is rounded down, so small impulses do no damage at all.
+     * <p>
+     * The impulse is the sum of all contacts between the ship and the other object during a physics step, see
+     * {@link org.destinationsol.game.PhysicsRegions}. Several small impulses in one step can therefore add up to damage,
+     * even if none of them would do damage on its own.
+     *
+     * @param absImpulse The impulse of the crash
+     * @param mass       The mass of the ship
+     * @param durability The durability of the hull of the ship
+     * @return The damage to deal to the ship
+     */
+    public static int calcCrashDmg(float absImpulse, float mass, float durability) {
+        float dmg = absImpulse / mass / durability;
+        dmg *= BASE_DUR_MOD;
+        return (int) dmg;
+    }
+
     @Override
     public String toDebugString() {
         return myPilot.toDebugString();
@@ -230,9 +250,17 @@ public float getAcceleration() {
         return engine == null ? 0 : engine.getAcceleration();
     }
 
+    @Override
+    public void decide(WorldView view) {
+        myDecidedEnemy = view.findNearestEnemy(this);
+        myEnemyDecided = true;
+    }
+
     @Override
     public void update(SolGame game) {
-        SolShip nearestEnemy = game.getFactionMan().getNearestEnemy(game, this);
+        SolShip nearestEnemy = myEnemyDecided ? myDecidedEnemy : game.getFactionMan().getNearestEnemy(game, this);
+        myDecidedEnemy = null;
+        myEnemyDecided = false;
         myPilot.update(game, this, nearestEnemy);
         myHull.update(game, myItemContainer, myPilot, this, nearestEnemy);
         game.getPartMan().updateAllHullEmittersOfType(this, "collision", colliding);
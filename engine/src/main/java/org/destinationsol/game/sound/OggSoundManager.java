@@ -17,7 +17,9 @@
 
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.LongMap;
 import org.destinationsol.Const;
+import org.destinationsol.RenderThread;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.assets.audio.OggSound;
 import org.destinationsol.assets.audio.PlayableSound;
@@ -27,6 +29,8 @@
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.GameDrawer;
 import org.destinationsol.game.Hero;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.ObjectStore;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
 import org.destinationsol.game.planet.Planet;
@@ -37,14 +41,14 @@
 public class OggSoundManager {
     // private static Logger logger = LoggerFactory.getLogger(OggSoundManager.class);
     private final Map<String, OggSound> soundMap;
-    private final Map<SolObject, Map<OggSound, Float>> loopedSoundMap;
+    private final LongMap<Map<OggSound, Float>> loopedSoundMap;
     private final DebugHintDrawer debugHintDrawer;
 
     private float myLoopAwait;
 
     public OggSoundManager() {
         this.soundMap = new HashMap<>();
-        this.loopedSoundMap = new HashMap<>();
+        this.loopedSoundMap = new LongMap<>();
         this.debugHintDrawer = new DebugHintDrawer();
     }
 
@@ -123,7 +127,7 @@ public void play(SolGame game, PlayableSound playableSound, @Nullable Vector2 po
         // Calculate the pitch for the sound
         float pitch = SolRandom.randomFloat(.97f, 1.03f) * game.getTimeFactor() * playableSound.getBasePitch();
 
-        if (skipLooped(source, sound, game.getTime())) {
+        if (skipLooped(game, source, sound)) {
             return;
         }
 
@@ -132,7 +136,12 @@ public void play(SolGame game, PlayableSound playableSound, @Nullable Vector2 po
         }
 
         Sound gdxSound = sound.getSound();
-        gdxSound.play(volume, pitch, 0);
+        if (RenderThread.isCurrent()) {
+            gdxSound.play(volume, pitch, 0);
+        } else {
+            // the audio sources are shared with the music, which is streamed on the render thread
+            RenderThread.post(() -> gdxSound.play(volume, pitch, 0));
+        }
     }
 
     /**
@@ -145,16 +154,21 @@ public void play(SolGame game, PlayableSound sound, @Nullable Vector2 position,
         this.play(game, sound, position, source, 1f);
     }
 
-    private boolean skipLooped(SolObject source, OggSound sound, float time) {
+    private boolean skipLooped(SolGame game, SolObject source, OggSound sound) {
         if (sound.getLoopTime() == 0) {
             return false;
         }
+        long handle = game.getObjectManager().getHandle(source);
+        if (handle == ObjectStore.NO_HANDLE) {
+            return false;
+        }
 
+        float time = game.getTime();
         boolean playing;
-        Map<OggSound, Float> looped = loopedSoundMap.get(source);
+        Map<OggSound, Float> looped = loopedSoundMap.get(handle);
         if (looped == null) {
             looped = new HashMap<>();
-            loopedSoundMap.put(source, looped);
+            loopedSoundMap.put(handle, looped);
             playing = false;
         } else {
             Float endTime = looped.get(sound);
@@ -187,7 +201,13 @@ public void update(SolGame game) {
     }
 
     private void cleanLooped(SolGame game) {
-        loopedSoundMap.keySet().removeIf(o -> o.shouldBeRemoved(game));
+        ObjectManager objectManager = game.getObjectManager();
+        LongMap.Keys handles = loopedSoundMap.keys();
+        while (handles.hasNext) {
+            if (!objectManager.isValid(handles.next())) {
+                handles.remove();
+            }
+        }
     }
 
     public void dispose() {
@@ -20,28 +20,44 @@
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.screens.BorderDrawer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 public class DebugCollector {
     private static final long WARN_TIME = 6000;
-    private static final StringBuilder myDebugStrings = new StringBuilder();
+    /**
+     * The lines are kept and drawn apart, so that the layouts of the lines that do not change are reused.
+     */
+    private static final List<String> myDebugLines = new ArrayList<>();
     private static final Map<String, Long> myWarnings = new HashMap<>();
 
     private DebugCollector() {
     }
 
     public static void draw(UiDrawer drawer) {
-        drawer.drawString(myDebugStrings.toString(), .5f, BorderDrawer.PLANET_PROXIMITY_INDICATOR_SIZE, FontSize.DEBUG, false, SolColor.WHITE);
+        // The lines are centered as a block, left aligned within it
+        float width = 0;
+        for (int i = 0; i < myDebugLines.size(); i++) {
+            width = Math.max(width, drawer.getStringWidth(myDebugLines.get(i), FontSize.DEBUG, SolColor.WHITE));
+        }
+        float x = .5f - width / 2;
+        float y = BorderDrawer.PLANET_PROXIMITY_INDICATOR_SIZE;
+        float lineOffset = drawer.getLineOffset(FontSize.DEBUG);
+        for (int i = 0; i < myDebugLines.size(); i++) {
+            drawer.drawString(myDebugLines.get(i), x, y, FontSize.DEBUG, UiDrawer.TextAlignment.LEFT, false, SolColor.WHITE);
+            y += lineOffset;
+        }
     }
 
     public static void debug(String name, String val) {
-        myDebugStrings.append(name).append(": ").append(val).append("\n");
+        myDebugLines.add(name + ": " + val);
     }
 
     public static void debug(String name, int val) {
-        myDebugStrings.append(name).append(": ").append(val).append("\n");
+        myDebugLines.add(name + ": " + val);
     }
 
     public static void warn(String msg) {
@@ -52,7 +68,7 @@ public static void warn(String msg) {
     }
 
     public static void update() {
-        myDebugStrings.setLength(0);
+        myDebugLines.clear();
 
         Iterator<Map.Entry<String, Long>> it = myWarnings.entrySet().iterator();
         long now = TimeUtils.millis();
@@ -62,7 +78,7 @@ public static void update() {
                 it.remove();
                 continue;
             }
-            myDebugStrings.append(e.getKey()).append("\n");
+            myDebugLines.add(e.getKey());
         }
 
     }
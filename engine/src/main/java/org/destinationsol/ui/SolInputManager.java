@@ -25,6 +25,7 @@
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
 import org.destinationsol.GameOptions;
+import org.destinationsol.RenderThread;
 import org.destinationsol.SolApplication;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.assets.audio.OggSoundManager;
@@ -63,6 +64,10 @@ public class SolInputManager {
     private float mouseIdleTime;
     //HACK: Mouse locking is currently broken on Linux
     private final boolean osIsLinux;
+    /**
+     * True while a change of the cursor catching is posted to the render thread but not done yet.
+     */
+    private volatile boolean cursorCatchPending;
     private TextureAtlas.AtlasRegion currCursor;
     private boolean mouseOnUi;
     private float warnPercentage;
@@ -99,6 +104,20 @@ public SolInputManager(OggSoundManager soundManager, Context context) {
         osIsLinux = System.getProperty("os.name").equals("Linux");
     }
 
+    /**
+     * Catches or releases the cursor on the render thread, unless it already is or a change is still pending there.
+     */
+    private void maybeSetCursorCatched(boolean catched) {
+        if (cursorCatchPending || Gdx.input.isCursorCatched() == catched) {
+            return;
+        }
+        cursorCatchPending = true;
+        RenderThread.post(() -> {
+            Gdx.input.setCursorCatched(catched);
+            cursorCatchPending = false;
+        });
+    }
+
     private static void setPointerPosition(InputPointer inputPointer, int screenX, int screenY) {
         int h = Gdx.graphics.getHeight();
 
@@ -110,7 +129,7 @@ private static void setPointerPosition(InputPointer inputPointer, int screenX, i
      * Hides the mouse cursor by setting it to a transparent image.
      */
     private void setMouseCursorHidden() {
-        Gdx.graphics.setCursor(hiddenCursor);
+        RenderThread.post(() -> Gdx.graphics.setCursor(hiddenCursor));
     }
 
     void maybeFlashPressed(int keyCode) {
@@ -184,14 +203,12 @@ public void update(SolApplication solApplication) {
         // This keeps the mouse within the window, but only when playing the game with the mouse.
         // All other times the mouse can freely leave and return.
         if (!mobile && solApplication.getOptions().controlType == GameOptions.ControlType.MIXED && game != null && getTopScreen() != game.getScreens().menuScreen) {
-            if (!Gdx.input.isCursorCatched() && !osIsLinux) {
-                Gdx.input.setCursorCatched(true);
+            if (!osIsLinux) {
+                maybeSetCursorCatched(true);
             }
             maybeFixMousePos();
         } else {
-            if (Gdx.input.isCursorCatched()) {
-                Gdx.input.setCursorCatched(false);
-            }
+            maybeSetCursorCatched(false);
         }
 
         updatePointers();
@@ -307,14 +324,13 @@ private void maybeFixMousePos() {
             return;
         }
 
-        int mouseX = Gdx.input.getX();
-        int mouseY = Gdx.input.getY();
         // TODO: look into the usefulness of this, and replace with Gdx.graphics.* with displayDimensions if nothing else
         int w = Gdx.graphics.getWidth();
         int h = Gdx.graphics.getHeight();
-        mouseX = (int) MathUtils.clamp((float) mouseX, (float) 0, (float) w);
-        mouseY = (int) MathUtils.clamp((float) mouseY, (float) 0, (float) h);
-        Gdx.input.setCursorPosition(mouseX, mouseY);
+        int mouseX = (int) MathUtils.clamp((float) Gdx.input.getX(), (float) 0, (float) w);
+        int mouseY = (int) MathUtils.clamp((float) Gdx.input.getY(), (float) 0, (float) h);
+        // the window may only be changed from the render thread
+        RenderThread.post(() -> Gdx.input.setCursorPosition(mouseX, mouseY));
     }
 
     private void updatePointers() {
@@ -92,6 +92,14 @@ public void drawString(String s, float x, float y, float scale, TextAlignment al
         drawer.drawString(s, x, y, scale * FONT_SIZE, align, centered, tint);
     }
 
+    public float getStringWidth(String s, float scale, Color tint) {
+        return drawer.getStringWidth(s, scale * FONT_SIZE, tint);
+    }
+
+    public float getLineOffset(float scale) {
+        return drawer.getLineOffset(scale * FONT_SIZE);
+    }
+
     private void check() {
         if (isTextMode != null && isTextMode) {
             throw new AssertionError("drawing atlas in text mode");
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import org.destinationsol.game.GameDrawer;
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.destinationsol.testingUtilities.MockGL;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Draws through the {@link CommonDrawer} and {@link GameDrawer} against MockGL, to check what the {@link RenderStats}
+ * count when the sprite batch actually flushes, switches textures and changes blending.
+ */
+public class CommonDrawerTest {
+    private static HeadlessApplication application;
+    private static GL20 originalGL;
+    private static GL20 originalGL20;
+
+    @BeforeClass
+    public static void init() {
+        originalGL = Gdx.gl;
+        originalGL20 = Gdx.gl20;
+        GL20 mockGL = new MockGL();
+        Gdx.gl = mockGL;
+        Gdx.gl20 = mockGL;
+        application = new HeadlessApplication(new ApplicationAdapter() { }, new HeadlessApplicationConfiguration());
+    }
+
+    @AfterClass
+    public static void dispose() {
+        application.exit();
+        Gdx.gl = originalGL;
+        Gdx.gl20 = originalGL20;
+    }
+
+    @Test
+    public void shouldCountBatchEventsAgainstTheLevelBeingDrawn() {
+        CommonDrawer commonDrawer = new CommonDrawer(new BitmapFont(new BitmapFont.BitmapFontData(), new TextureRegion(), false));
+        GameDrawer drawer = new GameDrawer(commonDrawer, null);
+        Texture firstTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        Texture secondTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        TextureRegion first = new TextureRegion(firstTexture);
+        TextureRegion second = new TextureRegion(secondTexture);
+
+        commonDrawer.begin();
+        drawer.setLevel(DrawableLevel.GROUND);
+        // binding the first texture switches, but the empty batch has nothing to flush
+        drawer.draw(first, 1, 1, 0, 0, 0, 0, 0, Color.WHITE);
+        drawer.draw(first, 1, 1, 0, 0, 1, 0, 0, Color.WHITE);
+        drawer.draw(second, 1, 1, 0, 0, 2, 0, 0, Color.WHITE);
+        drawer.setLevel(DrawableLevel.PROJECTILES);
+        // turning additive blending on flushes the sprites of the ground
+        drawer.drawAdditive(second, 1, 1, 0, 0, 3, 0, 0, Color.WHITE);
+        drawer.drawAdditive(first, 1, 1, 0, 0, 4, 0, 0, Color.WHITE);
+        drawer.setLevel(null);
+        commonDrawer.end();
+        RenderStats stats = commonDrawer.getRenderStats();
+        stats.endFrame();
+
+        assertEquals(3, stats.get(RenderStats.Counter.SPRITES, DrawableLevel.GROUND));
+        assertEquals(2, stats.get(RenderStats.Counter.TEXTURE_SWITCHES, DrawableLevel.GROUND));
+        assertEquals(1, stats.get(RenderStats.Counter.FLUSHES, DrawableLevel.GROUND));
+        assertEquals(0, stats.get(RenderStats.Counter.BLEND_TOGGLES, DrawableLevel.GROUND));
+
+        assertEquals(2, stats.get(RenderStats.Counter.SPRITES, DrawableLevel.PROJECTILES));
+        assertEquals(1, stats.get(RenderStats.Counter.TEXTURE_SWITCHES, DrawableLevel.PROJECTILES));
+        assertEquals(2, stats.get(RenderStats.Counter.FLUSHES, DrawableLevel.PROJECTILES));
+        assertEquals(1, stats.get(RenderStats.Counter.BLEND_TOGGLES, DrawableLevel.PROJECTILES));
+
+        // the end of the batch flushes the last sprite outside of the levels
+        assertEquals(1, stats.get(RenderStats.Counter.FLUSHES, null));
+        assertEquals(4, stats.get(RenderStats.Counter.FLUSHES));
+        assertEquals(3, stats.get(RenderStats.Counter.TEXTURE_SWITCHES));
+        assertEquals(commonDrawer.getFlushCount(), stats.get(RenderStats.Counter.FLUSHES));
+        assertEquals(commonDrawer.getTextureSwitchCount(), stats.get(RenderStats.Counter.TEXTURE_SWITCHES));
+
+        commonDrawer.getSpriteBatch().dispose();
+        firstTexture.dispose();
+        secondTexture.dispose();
+    }
+
+    @Test
+    public void shouldRecordWhatIsDrawnAndReplayIt() {
+        CommonDrawer commonDrawer = new CommonDrawer(new BitmapFont(new BitmapFont.BitmapFontData(), new TextureRegion(), false));
+        GameDrawer drawer = new GameDrawer(commonDrawer, null);
+        Texture firstTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        Texture secondTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        TextureRegion first = new TextureRegion(firstTexture);
+        TextureRegion second = new TextureRegion(secondTexture);
+        RenderSnapshot snapshot = new RenderSnapshot();
+
+        commonDrawer.startRecording(snapshot);
+        commonDrawer.begin();
+        commonDrawer.setMatrix(new Matrix4(), 1, 0);
+        drawer.setObjectMove(.5f, 0);
+        drawer.draw(first, 2, 1, 1, .5f, 10, 20, 90, Color.WHITE);
+        drawer.setObjectMove(0, 0);
+        drawer.drawAdditive(second, 1, 1, 0, 0, 0, 0, 0, Color.WHITE);
+        commonDrawer.end();
+        commonDrawer.stopRecording();
+
+        assertEquals(2, snapshot.getRunCount());
+        // the sprite moved with its object, half as far as the camera
+        assertEquals(.5f, snapshot.getRunShiftX(0), 0);
+        assertEquals(1, snapshot.getRunShiftX(1), 0);
+        assertEquals(GL20.GL_ONE, snapshot.getBlendDst(snapshot.getRunState(1)));
+        // a sprite of 2 by 1 centered on (10, 20) and turned upright spans from 9.5 to 10.5 and from 19 to 21
+        float[] vertices = snapshot.getVertices();
+        for (int i = 0; i < 4; i++) {
+            float x = vertices[i * RenderSnapshot.VERTEX_SIZE];
+            float y = vertices[i * RenderSnapshot.VERTEX_SIZE + 1];
+            assertEquals(.5f, Math.abs(x - 10), .001f);
+            assertEquals(1, Math.abs(y - 20), .001f);
+        }
+        // what is recorded is counted in the snapshot, and only added to the stats when it is replayed
+        RenderStats stats = commonDrawer.getRenderStats();
+        stats.endFrame();
+        assertEquals(0, stats.get(RenderStats.Counter.SPRITES));
+        assertEquals(0, stats.get(RenderStats.Counter.FLUSHES));
+
+        commonDrawer.replay(snapshot, .5f);
+        stats.endFrame();
+
+        assertEquals(2, stats.get(RenderStats.Counter.SPRITES));
+        assertEquals(2, stats.get(RenderStats.Counter.TEXTURE_SWITCHES));
+        assertEquals(2, stats.get(RenderStats.Counter.FLUSHES));
+
+        commonDrawer.dispose();
+        firstTexture.dispose();
+        secondTexture.dispose();
+    }
+
+    @Test
+    public void shouldCountAReplayedSnapshotLikeADirectlyDrawnFrame() throws InterruptedException {
+        Texture firstTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        Texture secondTexture = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+        TextureRegion first = new TextureRegion(firstTexture);
+        TextureRegion second = new TextureRegion(secondTexture);
+
+        CommonDrawer directDrawer = new CommonDrawer(new BitmapFont(new BitmapFont.BitmapFontData(), new TextureRegion(), false));
+        drawScene(directDrawer, first, second);
+        RenderStats directStats = directDrawer.getRenderStats();
+        directStats.endFrame();
+
+        // the snapshot is recorded on the simulation thread, as when the game runs with it
+        CommonDrawer replayDrawer = new CommonDrawer(new BitmapFont(new BitmapFont.BitmapFontData(), new TextureRegion(), false));
+        RenderSnapshot snapshot = new RenderSnapshot();
+        SimulationThread[] simulationThread = new SimulationThread[1];
+        simulationThread[0] = new SimulationThread(() -> {
+            replayDrawer.startRecording(snapshot);
+            drawScene(replayDrawer, first, second);
+            replayDrawer.stopRecording();
+            simulationThread[0].stop();
+        }, 1 / 100f);
+        simulationThread[0].start();
+        long deadline = System.nanoTime() + 5000000000L;
+        while (simulationThread[0].isAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertNull(simulationThread[0].getFailure());
+        assertEquals(1, simulationThread[0].getTickCount());
+        RenderStats replayStats = replayDrawer.getRenderStats();
+        replayStats.endFrame();
+        replayDrawer.replay(snapshot, 1);
+        replayStats.endFrame();
+
+        for (RenderStats.Counter counter : RenderStats.Counter.values()) {
+            for (DrawableLevel level : DrawableLevel.values()) {
+                assertEquals(counter + " at " + level,
+                        directStats.get(counter, level), replayStats.get(counter, level));
+            }
+            assertEquals(counter + " outside of the levels",
+                    directStats.get(counter, null), replayStats.get(counter, null));
+        }
+        assertEquals(5, replayStats.get(RenderStats.Counter.FLUSHES));
+
+        directDrawer.dispose();
+        replayDrawer.dispose();
+        firstTexture.dispose();
+        secondTexture.dispose();
+    }
+
+    /**
+     * Draws sprites at two levels and outside of them, switching textures and blending.
+     */
+    private static void drawScene(CommonDrawer commonDrawer, TextureRegion first, TextureRegion second) {
+        GameDrawer drawer = new GameDrawer(commonDrawer, null);
+        commonDrawer.begin();
+        drawer.setLevel(DrawableLevel.GROUND);
+        drawer.draw(first, 1, 1, 0, 0, 0, 0, 0, Color.WHITE);
+        drawer.draw(first, 1, 1, 0, 0, 1, 0, 0, Color.WHITE);
+        drawer.draw(second, 1, 1, 0, 0, 2, 0, 0, Color.WHITE);
+        drawer.setLevel(DrawableLevel.PROJECTILES);
+        drawer.drawAdditive(second, 1, 1, 0, 0, 3, 0, 0, Color.WHITE);
+        drawer.drawAdditive(first, 1, 1, 0, 0, 4, 0, 0, Color.WHITE);
+        drawer.setLevel(null);
+        drawer.draw(first, 1, 1, 0, 0, 5, 0, 0, Color.WHITE);
+        commonDrawer.end();
+    }
+}
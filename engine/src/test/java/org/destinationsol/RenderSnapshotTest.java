@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Matrix4;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class RenderSnapshotTest {
+    private final float[] sprite = new float[4 * RenderSnapshot.VERTEX_SIZE];
+
+    @Test
+    public void shouldStartRunsOnChangesOnly() {
+        Texture first = mock(Texture.class);
+        Texture second = mock(Texture.class);
+        RenderSnapshot snapshot = new RenderSnapshot();
+
+        snapshot.add(first, sprite, 0, sprite.length);
+        snapshot.add(first, sprite, 0, sprite.length);
+        snapshot.add(second, sprite, 0, sprite.length);
+        snapshot.setShift(1, 2);
+        snapshot.add(second, sprite, 0, sprite.length);
+        snapshot.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+        snapshot.add(second, sprite, 0, sprite.length);
+
+        assertEquals(4, snapshot.getRunCount());
+        assertSame(first, snapshot.getRunTexture(0));
+        assertEquals(0, snapshot.getRunStart(0));
+        assertEquals(2 * sprite.length, snapshot.getRunEnd(0));
+        assertEquals(2 * sprite.length, snapshot.getRunStart(1));
+        assertEquals(1, snapshot.getRunShiftX(2), 0);
+        assertEquals(2, snapshot.getRunShiftY(2), 0);
+        assertEquals(snapshot.getRunState(1), snapshot.getRunState(2));
+        assertNotEquals(snapshot.getRunState(2), snapshot.getRunState(3));
+        assertEquals(GL20.GL_ONE, snapshot.getBlendDst(snapshot.getRunState(3)));
+    }
+
+    @Test
+    public void shouldOnlyKeepTransformsThatChangeTheVertices() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.setTransform(new Matrix4().setToTranslation(3, 4, 0));
+        snapshot.add(null, sprite, 0, sprite.length);
+        snapshot.setTransform(new Matrix4());
+        snapshot.add(null, sprite, 0, sprite.length);
+
+        Matrix4 transform = snapshot.getTransform(snapshot.getRunState(0));
+        assertEquals(3, transform.val[Matrix4.M03], 0);
+        assertEquals(4, transform.val[Matrix4.M13], 0);
+        assertNull(snapshot.getTransform(snapshot.getRunState(1)));
+    }
+
+    @Test
+    public void shouldForgetTheRecordingWhenCleared() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.setShift(1, 1);
+        snapshot.add(null, sprite, 0, sprite.length);
+        snapshot.clear();
+        snapshot.add(null, sprite, 0, sprite.length);
+
+        assertEquals(1, snapshot.getRunCount());
+        assertEquals(sprite.length, snapshot.getRunEnd(0));
+        assertEquals(0, snapshot.getRunShiftX(0), 0);
+    }
+}
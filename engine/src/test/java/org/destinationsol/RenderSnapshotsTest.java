@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Hands snapshots from a recording thread to a drawing one, to check that the drawing thread only ever sees complete
+ * snapshots, in the order they were published.
+ */
+public class RenderSnapshotsTest {
+    private static final int SPRITES_PER_TICK = 50;
+    private static final int TICKS = 20000;
+
+    @Test
+    public void shouldOnlyShowCompleteSnapshots() throws InterruptedException {
+        RenderSnapshots snapshots = new RenderSnapshots();
+        AtomicBoolean isDone = new AtomicBoolean();
+        Thread simulation = new Thread(() -> {
+            float[] vertices = new float[4 * RenderSnapshot.VERTEX_SIZE];
+            for (int tick = 1; tick <= TICKS; tick++) {
+                RenderSnapshot snapshot = snapshots.getBack();
+                snapshot.clear();
+                Arrays.fill(vertices, tick);
+                for (int i = 0; i < SPRITES_PER_TICK; i++) {
+                    snapshot.setShift(i, 0);
+                    snapshot.add(null, vertices, 0, vertices.length);
+                }
+                snapshot.setTick(tick, System.nanoTime());
+                snapshots.publish();
+            }
+            isDone.set(true);
+        });
+        simulation.start();
+
+        long lastTick = 0;
+        int drawnSnapshots = 0;
+        boolean isLast = false;
+        while (!isLast) {
+            isLast = isDone.get();
+            RenderSnapshot snapshot = snapshots.getLatest();
+            long tick = snapshot.getTick();
+            assertTrue("went back from tick " + lastTick + " to " + tick, tick >= lastTick);
+            if (tick == 0) {
+                continue;
+            }
+            assertEquals(SPRITES_PER_TICK, snapshot.getRunCount());
+            float[] vertices = snapshot.getVertices();
+            for (int i = 0, end = snapshot.getRunEnd(SPRITES_PER_TICK - 1); i < end; i++) {
+                assertEquals("vertex " + i + " of tick " + tick, tick, vertices[i], 0);
+            }
+            if (tick != lastTick) {
+                drawnSnapshots++;
+            }
+            lastTick = tick;
+        }
+        simulation.join();
+
+        assertEquals(TICKS, lastTick);
+        assertTrue(drawnSnapshots > 0);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.destinationsol.game.drawables.DrawableLevel;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class RenderStatsTest {
+
+    @Test
+    public void shouldCountAgainstTheLevelBeingDrawn() {
+        RenderStats stats = new RenderStats();
+        stats.count(RenderStats.Counter.STRINGS);
+        stats.setLevel(DrawableLevel.GROUND);
+        stats.count(RenderStats.Counter.SPRITES, 20);
+        stats.count(RenderStats.Counter.FLUSHES);
+        stats.setLevel(DrawableLevel.PROJECTILES);
+        stats.count(RenderStats.Counter.SPRITES);
+        stats.count(RenderStats.Counter.BLEND_TOGGLES);
+        stats.setLevel(null);
+        stats.count(RenderStats.Counter.SPRITES);
+        stats.endFrame();
+
+        assertEquals(22, stats.get(RenderStats.Counter.SPRITES));
+        assertEquals(20, stats.get(RenderStats.Counter.SPRITES, DrawableLevel.GROUND));
+        assertEquals(1, stats.get(RenderStats.Counter.SPRITES, DrawableLevel.PROJECTILES));
+        assertEquals(1, stats.get(RenderStats.Counter.SPRITES, null));
+        assertEquals(1, stats.get(RenderStats.Counter.STRINGS, null));
+        assertEquals(1, stats.get(RenderStats.Counter.BLEND_TOGGLES));
+        assertEquals(0, stats.get(RenderStats.Counter.TEXTURE_SWITCHES));
+    }
+
+    @Test
+    public void shouldStartEveryFrameFromZero() {
+        RenderStats stats = new RenderStats();
+        stats.setLevel(DrawableLevel.BODIES);
+        stats.count(RenderStats.Counter.SPRITES, 5);
+        stats.endFrame();
+        // the level is reset with the frame
+        stats.count(RenderStats.Counter.SPRITES, 2);
+        stats.endFrame();
+
+        assertEquals(2, stats.getFrame());
+        assertEquals(2, stats.get(RenderStats.Counter.SPRITES));
+        assertEquals(0, stats.get(RenderStats.Counter.SPRITES, DrawableLevel.BODIES));
+        assertEquals(2, stats.get(RenderStats.Counter.SPRITES, null));
+    }
+
+    @Test
+    public void shouldWriteRowsOfTheLevelsThatDrew() {
+        RenderStats stats = new RenderStats();
+        stats.setLevel(DrawableLevel.DECO);
+        stats.count(RenderStats.Counter.SPRITES, 3);
+        stats.count(RenderStats.Counter.TEXTURE_SWITCHES);
+        stats.setLevel(null);
+        stats.count(RenderStats.Counter.FLUSHES, 2);
+        stats.endFrame();
+
+        StringWriter writer = new StringWriter();
+        stats.writeCsv(writer, true);
+
+        String[] lines = writer.toString().split("\\R");
+        assertEquals(4, lines.length);
+        assertEquals("frame,level,flushes,textureSwitches,blendToggles,sprites,strings", lines[0]);
+        assertEquals("1,Total,2,1,0,3,0", lines[1]);
+        assertEquals("1,DECO,0,1,0,3,0", lines[2]);
+        assertEquals("1,Other,2,0,0,0,0", lines[3]);
+    }
+}
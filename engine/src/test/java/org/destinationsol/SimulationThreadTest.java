@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationThreadTest {
+    private static final float TIME_STEP = 1 / 100f;
+    private static final long TIME_STEP_NANOS = (long) (TIME_STEP * 1e9);
+
+    @Test
+    public void shouldTickAtSteadyRate() throws InterruptedException {
+        SimulationThread simulationThread = new SimulationThread(() -> { }, TIME_STEP);
+
+        long start = System.nanoTime();
+        simulationThread.start();
+        Thread.sleep(500);
+        simulationThread.stopAndJoin();
+        long elapsedNanos = System.nanoTime() - start;
+
+        long expectedTicks = elapsedNanos / TIME_STEP_NANOS;
+        long ticks = simulationThread.getTickCount();
+        assertTrue("expected about " + expectedTicks + " ticks, got " + ticks, Math.abs(ticks - expectedTicks) <= expectedTicks / 5);
+    }
+
+    @Test
+    public void shouldSkipMissedTicksInsteadOfCatchingUp() throws InterruptedException {
+        List<Long> tickTimes = new ArrayList<>();
+        SimulationThread[] simulationThread = new SimulationThread[1];
+        simulationThread[0] = new SimulationThread(() -> {
+            tickTimes.add(System.nanoTime());
+            if (tickTimes.size() == 5) {
+                sleep(20 * TIME_STEP_NANOS);
+            }
+            if (tickTimes.size() == 30) {
+                simulationThread[0].stop();
+            }
+        }, TIME_STEP);
+        simulationThread[0].start();
+        awaitEnd(simulationThread[0]);
+
+        // after the slow tick, only the allowed number of ticks is run back to back
+        long slowTickEnd = tickTimes.get(5);
+        int burst = 0;
+        for (int i = 5; i < tickTimes.size() && tickTimes.get(i) - slowTickEnd < TIME_STEP_NANOS / 2; i++) {
+            burst++;
+        }
+        assertTrue("ran " + burst + " ticks back to back", burst <= SimulationThread.MAX_CATCH_UP_TICKS + 1);
+    }
+
+    @Test
+    public void shouldStopFromWithinATick() throws InterruptedException {
+        SimulationThread[] simulationThread = new SimulationThread[1];
+        simulationThread[0] = new SimulationThread(() -> {
+            if (simulationThread[0].getTickCount() == 2) {
+                simulationThread[0].stop();
+            }
+        }, TIME_STEP);
+        simulationThread[0].start();
+        awaitEnd(simulationThread[0]);
+
+        assertFalse(simulationThread[0].isAlive());
+        assertEquals(3, simulationThread[0].getTickCount());
+        assertNull(simulationThread[0].getFailure());
+    }
+
+    @Test
+    public void shouldEndWithTheFailureOfATick() throws InterruptedException {
+        RuntimeException failure = new IllegalStateException();
+        SimulationThread simulationThread = new SimulationThread(() -> {
+            throw failure;
+        }, TIME_STEP);
+        simulationThread.start();
+        awaitEnd(simulationThread);
+
+        assertFalse(simulationThread.isAlive());
+        assertSame(failure, simulationThread.getFailure());
+    }
+
+    @Test
+    public void shouldRunPostedEventsOnTheSimulationThread() throws InterruptedException {
+        AtomicReference<Thread> tickThread = new AtomicReference<>();
+        AtomicReference<Thread> eventThread = new AtomicReference<>();
+        SimulationThread simulationThread = new SimulationThread(() -> tickThread.set(Thread.currentThread()), TIME_STEP);
+        simulationThread.start();
+        simulationThread.post(() -> eventThread.set(Thread.currentThread()));
+        Thread.sleep(50);
+        simulationThread.stopAndJoin();
+
+        assertSame(tickThread.get(), eventThread.get());
+    }
+
+    @Test
+    public void shouldRunTasksForTheRenderThreadWhileJoining() throws InterruptedException {
+        RenderThread.init();
+        AtomicReference<Thread> taskThread = new AtomicReference<>();
+        SimulationThread simulationThread = new SimulationThread(() -> {
+            RenderThread.call(() -> {
+                taskThread.set(Thread.currentThread());
+                return null;
+            });
+        }, TIME_STEP);
+        simulationThread.start();
+        Thread.sleep(50);
+        // the first tick waits for the task, which only runs while joining
+        simulationThread.stopAndJoin();
+
+        RenderThread.reset();
+
+        assertFalse(simulationThread.isAlive());
+        assertSame(Thread.currentThread(), taskThread.get());
+    }
+
+    /**
+     * Waits for a simulation thread that stops by itself to end.
+     */
+    private static void awaitEnd(SimulationThread simulationThread) throws InterruptedException {
+        long deadline = System.nanoTime() + 5000000000L;
+        while (simulationThread.isAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
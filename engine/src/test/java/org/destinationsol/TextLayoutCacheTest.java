@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TextLayoutCacheTest {
+    private BitmapFont font;
+    private TextLayoutCache cache;
+
+    @Before
+    public void init() {
+        // A font without glyphs, as the layouts themselves do not matter here
+        font = new BitmapFont(new BitmapFont.BitmapFontData(), new TextureRegion(), false);
+        cache = new TextLayoutCache(2);
+    }
+
+    @Test
+    public void shouldReuseLayoutOfEqualText() {
+        GlyphLayout layout = cache.get(font, "Fps: 60");
+
+        assertSame(layout, cache.get(font, new StringBuilder("Fps: ").append(60).toString()));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldLayOutTextAgainInOtherScaleOrColor() {
+        GlyphLayout layout = cache.get(font, "a");
+        font.getData().setScale(2);
+        GlyphLayout scaled = cache.get(font, "a");
+        font.setColor(Color.RED);
+        GlyphLayout tinted = cache.get(font, "a");
+
+        assertNotSame(layout, scaled);
+        assertNotSame(scaled, tinted);
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void shouldDropLeastRecentlyUsedLayout() {
+        GlyphLayout a = cache.get(font, "a");
+        GlyphLayout b = cache.get(font, "b");
+        cache.get(font, "a");
+        cache.get(font, "c");
+
+        assertEquals(2, cache.getSize());
+        assertSame(a, cache.get(font, "a"));
+        // "b" was dropped to make room for "c", and its layout is reused for the next new string
+        assertSame(b, cache.get(font, "d"));
+        assertEquals(4, cache.getMisses());
+    }
+}
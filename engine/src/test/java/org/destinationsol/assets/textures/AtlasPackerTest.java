@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.assets.textures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AtlasPackerTest {
+
+    @Test
+    public void shouldPlaceRectanglesWithoutOverlap() {
+        AtlasPacker packer = new AtlasPacker(256, 2);
+        AtlasPacker.Placement[] placements = new AtlasPacker.Placement[40];
+        for (int i = 0; i < placements.length; i++) {
+            placements[i] = packer.pack(10 + (i * 7) % 50, 10 + (i * 13) % 40);
+        }
+
+        for (int i = 0; i < placements.length; i++) {
+            AtlasPacker.Placement a = placements[i];
+            assertTrue(a.getX() >= 2 && a.getX() + a.getWidth() <= 254);
+            assertTrue(a.getY() >= 2 && a.getY() + a.getHeight() <= 254);
+            for (int j = i + 1; j < placements.length; j++) {
+                AtlasPacker.Placement b = placements[j];
+                boolean apart = a.getPage() != b.getPage()
+                        || a.getX() + a.getWidth() + 2 <= b.getX() || b.getX() + b.getWidth() + 2 <= a.getX()
+                        || a.getY() + a.getHeight() + 2 <= b.getY() || b.getY() + b.getHeight() + 2 <= a.getY();
+                assertTrue("Placements " + i + " and " + j + " overlap", apart);
+            }
+        }
+    }
+
+    @Test
+    public void shouldFillShelvesBeforeOpeningPages() {
+        AtlasPacker packer = new AtlasPacker(64, 0);
+        for (int i = 0; i < 16; i++) {
+            AtlasPacker.Placement placement = packer.pack(16, 16);
+            assertEquals(0, placement.getPage());
+            assertEquals((i % 4) * 16, placement.getX());
+            assertEquals((i / 4) * 16, placement.getY());
+        }
+
+        assertEquals(1, packer.pack(16, 16).getPage());
+        assertEquals(2, packer.getPageCount());
+    }
+
+    @Test
+    public void shouldRejectRectanglesLargerThanAPage() {
+        AtlasPacker packer = new AtlasPacker(64, 1);
+
+        assertNull(packer.pack(63, 10));
+        assertNull(packer.pack(0, 10));
+        assertEquals(0, packer.getPageCount());
+    }
+
+    @Test
+    public void shouldMapPartsOntoThePage() {
+        AtlasPacker packer = new AtlasPacker(64, 0);
+        packer.pack(20, 20);
+        AtlasPacker.Placement placement = packer.pack(32, 16);
+
+        AtlasPacker.Placement part = placement.getPart(16, 8, 16, 8);
+
+        assertEquals(36, part.getX());
+        assertEquals(8, part.getY());
+        assertEquals(16, part.getWidth());
+        assertEquals(placement.getPage(), part.getPage());
+        boolean thrown = false;
+        try {
+            placement.getPart(20, 0, 16, 8);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+}
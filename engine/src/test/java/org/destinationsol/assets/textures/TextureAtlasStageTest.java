@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.assets.textures;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TextureAtlasStageTest {
+    private static final int PAGE_SIZE = 128;
+    private static final float DELTA = 1e-6f;
+
+    private TextureAtlasStage.PageBackend backend;
+    private TextureAtlasStage stage;
+
+    @Before
+    public void init() {
+        backend = mock(TextureAtlasStage.PageBackend.class);
+        when(backend.createPage(anyInt())).thenAnswer(invocation -> texture(PAGE_SIZE, PAGE_SIZE));
+        when(backend.copy(any(), any(), anyInt(), anyInt())).thenReturn(true);
+        stage = new TextureAtlasStage(PAGE_SIZE, 64, backend);
+    }
+
+    @Test
+    public void shouldRemapRegionsOntoThePage() {
+        TextureAtlas.AtlasRegion first = stage.getRegion("test:first", texture(30, 40));
+        TextureAtlas.AtlasRegion second = stage.getRegion("test:second", texture(16, 32));
+
+        assertSame(first.getTexture(), second.getTexture());
+        assertEquals("test:second", second.name);
+        assertEquals(16, second.getRegionWidth());
+        assertEquals(32, second.getRegionHeight());
+        // placed right of the first one, with 2 pixels of padding around both
+        assertEquals(36f / PAGE_SIZE, second.getU(), DELTA);
+        assertEquals(52f / PAGE_SIZE, second.getU2(), DELTA);
+        // flipped like the regions of whole textures
+        assertEquals(34f / PAGE_SIZE, second.getV(), DELTA);
+        assertEquals(2f / PAGE_SIZE, second.getV2(), DELTA);
+        verify(backend).createPage(PAGE_SIZE);
+    }
+
+    @Test
+    public void shouldPackEveryTextureOnce() {
+        Texture texture = texture(10, 10);
+        TextureAtlas.AtlasRegion first = stage.getRegion("test:texture", texture);
+        TextureAtlas.AtlasRegion second = stage.getRegion("test:texture", texture);
+        first.flip(true, true);
+
+        assertNotSame(first, second);
+        assertEquals(2f / PAGE_SIZE, second.getU(), DELTA);
+        assertEquals(12f / PAGE_SIZE, second.getV(), DELTA);
+        assertEquals(1, stage.getPackedCount());
+        verify(backend, times(1)).copy(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldRemapPartsOfPackedTextures() {
+        Texture texture = texture(40, 20);
+        stage.getRegion("test:filler", texture(50, 30));
+
+        TextureAtlas.AtlasRegion frame = stage.getRegion("test:animation", texture, 20, 0, 20, 20, "frame 1");
+
+        assertEquals(20, frame.getRegionWidth());
+        assertEquals((54f + 2 + 20) / PAGE_SIZE, frame.getU(), DELTA);
+        assertEquals(22f / PAGE_SIZE, frame.getV(), DELTA);
+        assertEquals("frame 1", frame.name);
+        verify(backend, times(2)).copy(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldLeaveLargeOrUnreadableTexturesAlone() {
+        assertNull(stage.getRegion("test:large", texture(100, 10)));
+        Texture unreadable = texture(10, 10);
+        when(backend.copy(any(), any(), anyInt(), anyInt())).thenReturn(false);
+        assertNull(stage.getRegion("test:unreadable", unreadable));
+        assertNull(stage.getRegion("test:unreadable", unreadable));
+
+        assertEquals(0, stage.getPackedCount());
+        assertEquals(2, stage.getUnpackedCount());
+        verify(backend, times(1)).copy(any(), any(), anyInt(), anyInt());
+    }
+
+    private static Texture texture(int width, int height) {
+        Texture texture = mock(Texture.class);
+        when(texture.getWidth()).thenReturn(width);
+        when(texture.getHeight()).thenReturn(height);
+        return texture;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Timer;
+import org.destinationsol.CommonDrawer;
+import org.destinationsol.Const;
+import org.destinationsol.SolApplication;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.asteroid.Asteroid;
+import org.destinationsol.modules.ModuleManager;
+import org.destinationsol.testingUtilities.FixedSizeGraphics;
+import org.destinationsol.testingUtilities.MockGL;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.security.Policy;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the bytes allocated by the per-frame path of the objects and their drawables, so that garbage collection
+ * does not cause hitches in long fights. A tick here is an update of the {@link ObjectManager} followed by a draw of
+ * the {@link org.destinationsol.game.drawables.DrawableManager} against MockGL.
+ * <p>
+ * The game is started from the modules of the repository, so the tests have to be run from its root directory, as the
+ * engine build does. The test is skipped unless a budget is given in {@value #BUDGET_PROPERTY}, as no budget has been
+ * measured yet.
+ */
+public class AllocationBudgetTest {
+    /**
+     * System property holding the bytes a tick may allocate on average. For scale, the smallest object takes 16 bytes,
+     * so allocating one per asteroid and tick comes to 3200 bytes.
+     */
+    private static final String BUDGET_PROPERTY = "allocationBudget.bytesPerTick";
+    private static final int ASTEROID_COUNT = 200;
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 300;
+    private static final long SEED = 1;
+
+    private static String originalDevRootPath;
+    private static boolean originalNoObjs;
+    private static float originalViewDistanceOverride;
+    private static GL20 originalGL;
+    private static GL20 originalGL20;
+    private static Graphics originalGraphics;
+    private static Policy originalPolicy;
+    private static SecurityManager originalSecurityManager;
+    private static SolGame game;
+    private static CommonDrawer commonDrawer;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        assumeTrue("No allocation budget given in " + BUDGET_PROPERTY, Long.getLong(BUDGET_PROPERTY) != null);
+        originalDevRootPath = DebugOptions.DEV_ROOT_PATH;
+        originalNoObjs = DebugOptions.NO_OBJS;
+        originalViewDistanceOverride = DebugOptions.VIEW_DISTANCE_OVERRIDE;
+        originalGL = Gdx.gl;
+        originalGL20 = Gdx.gl20;
+        originalPolicy = Policy.getPolicy();
+        originalSecurityManager = System.getSecurityManager();
+        DebugOptions.DEV_ROOT_PATH = "engine/src/main/resources/";
+        DebugOptions.NO_OBJS = true;
+        GL20 mockGL = new MockGL();
+        Gdx.gl = mockGL;
+        Gdx.gl20 = mockGL;
+
+        ModuleManager moduleManager = new ModuleManager();
+        moduleManager.init();
+        new HeadlessApplication(new ApplicationAdapter() { }, new HeadlessApplicationConfiguration());
+        originalGraphics = Gdx.graphics;
+        FixedSizeGraphics.install(1920, 1080);
+        SolApplication solApplication = new SolApplication(moduleManager, 60);
+        solApplication.create();
+        // The autosave task would save the ship on the timer's own thread, into the resources of the repository
+        Timer.instance().stop();
+        solApplication.play("Imperial Small", new WorldConfig(SEED, 1));
+        Timer.instance().clear();
+        game = solApplication.getGame();
+        commonDrawer = solApplication.getCommonDrawer();
+
+        // Still asteroids around the hero, all kept near by the view distance
+        Random random = new Random(SEED);
+        Vector2 center = new Vector2(game.getHero().getPosition());
+        float radius = (float) Math.sqrt(ASTEROID_COUNT * 4 / Math.PI);
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = radius + 5;
+        for (int i = 0; i < ASTEROID_COUNT; i++) {
+            Vector2 position = new Vector2();
+            SolMath.fromAl(position, random.nextFloat() * 360, 3 + random.nextFloat() * radius);
+            position.add(center);
+            Asteroid asteroid = game.getAsteroidBuilder().buildNew(game, position, new Vector2(), .5f + random.nextFloat() * .5f, null);
+            game.getObjectManager().addObjNow(game, asteroid);
+        }
+        // Lets the camera catch up with the hero and the planets find the nearest one, which the sounds of collisions need
+        game.update();
+    }
+
+    @AfterClass
+    public static void restore() {
+        if (Long.getLong(BUDGET_PROPERTY) == null) {
+            // skipped before anything was changed
+            return;
+        }
+        DebugOptions.DEV_ROOT_PATH = originalDevRootPath;
+        DebugOptions.NO_OBJS = originalNoObjs;
+        DebugOptions.VIEW_DISTANCE_OVERRIDE = originalViewDistanceOverride;
+        Gdx.gl = originalGL;
+        Gdx.gl20 = originalGL20;
+        Gdx.graphics = originalGraphics;
+        Timer.instance().start();
+        // loading the modules sandboxes them for the rest of the JVM
+        System.setSecurityManager(originalSecurityManager);
+        Policy.setPolicy(originalPolicy);
+    }
+
+    @Test
+    public void shouldStayWithinTheAllocationBudget() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick();
+        }
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tick();
+        }
+        long bytesPerTick = (threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_TICKS;
+
+        long budget = Long.getLong(BUDGET_PROPERTY);
+        assertTrue("Allocated " + bytesPerTick + " bytes per tick, " + budget + " allowed", bytesPerTick <= budget);
+    }
+
+    private void tick() {
+        game.getObjectManager().update(game, Const.REAL_TIME_STEP);
+        commonDrawer.begin();
+        game.getDrawableManager().draw(game);
+        commonDrawer.end();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.projectile.Projectile;
+import org.destinationsol.game.ship.SolShip;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ContactQueueTest {
+
+    private SolContactListener listener;
+    private ContactQueue queue;
+    private List<String> handled;
+
+    @Before
+    public void init() {
+        listener = mock(SolContactListener.class);
+        queue = new ContactQueue(listener);
+        handled = new ArrayList<>();
+        // The position passed on is reused, so it is recorded at the time of the call
+        doAnswer(invocation -> handled.add("contact " + invocation.getArgument(2) + " at " + invocation.getArgument(3)))
+                .when(listener).handleContact(any(), any(), anyFloat(), any());
+        doAnswer(invocation -> handled.add("sound " + invocation.getArgument(1) + " at " + invocation.getArgument(2)))
+                .when(listener).playCollisionSound(any(), anyFloat(), any());
+    }
+
+    @Test
+    public void shouldMergeContactsBetweenSameObjects() {
+        SolObject first = mock(SolObject.class);
+        SolObject second = mock(SolObject.class);
+        queue.addContact(first, second, 1, 0, 0);
+        queue.addContact(second, first, 3, 1, 1);
+        queue.addContact(first, second, 2, 2, 2);
+
+        queue.flush();
+
+        verify(listener).handleContact(any(), any(), anyFloat(), any());
+        assertTrue(handled.contains("contact 6.0 at " + new Vector2(1, 1)));
+        assertEquals(3, queue.getLastReportedCount());
+        assertEquals(1, queue.getLastHandledCount());
+    }
+
+    @Test
+    public void shouldDealCrashDamageForTheMergedImpulse() {
+        SolObject ship = mock(SolObject.class);
+        SolObject rock = mock(SolObject.class);
+        float mass = 1;
+        float durability = 1;
+        // Too weak to do any damage on its own
+        float impulse = 2;
+        assertEquals(0, SolShip.calcCrashDmg(impulse, mass, durability));
+        ArgumentCaptor<Float> handledImpulse = ArgumentCaptor.forClass(Float.class);
+        queue.addContact(ship, rock, impulse, 0, 0);
+        queue.addContact(ship, rock, impulse, 0, 0);
+        queue.addContact(rock, ship, impulse, 0, 0);
+
+        queue.flush();
+
+        verify(listener).handleContact(any(), any(), handledImpulse.capture(), any());
+        assertEquals(3 * impulse, handledImpulse.getValue(), 0);
+        assertEquals(1, SolShip.calcCrashDmg(handledImpulse.getValue(), mass, durability));
+    }
+
+    @Test
+    public void shouldPlayOneSoundPerObject() {
+        SolObject rock = mock(SolObject.class);
+        SolObject ship = mock(SolObject.class);
+        SolObject station = mock(SolObject.class);
+        queue.addContact(rock, ship, 1, 0, 0);
+        queue.addContact(ship, station, 5, 3, 3);
+
+        queue.flush();
+
+        assertEquals(2, queue.getLastHandledCount());
+        assertEquals(3, queue.getLastSoundCount());
+        assertTrue(handled.contains("sound 1.0 at " + new Vector2(0, 0)));
+        assertEquals(2, handled.stream().filter(line -> line.equals("sound 5.0 at " + new Vector2(3, 3))).count());
+    }
+
+    @Test
+    public void shouldOnlyPassOnBeginningContactsOfProjectiles() {
+        SolObject rock = mock(SolObject.class);
+        SolObject ship = mock(SolObject.class);
+        Projectile projectile = mock(Projectile.class);
+        queue.addBegan(rock, ship);
+        queue.addBegan(ship, projectile);
+
+        queue.flush();
+
+        verify(listener, never()).handleBeginContact(rock, ship);
+        verify(listener).handleBeginContact(ship, projectile);
+    }
+
+    @Test
+    public void shouldStartOverAfterFlush() {
+        SolObject first = mock(SolObject.class);
+        SolObject second = mock(SolObject.class);
+        queue.addContact(first, second, 1, 0, 0);
+        queue.flush();
+        queue.addContact(first, second, 2, 0, 0);
+        queue.flush();
+
+        assertTrue(handled.contains("contact 1.0 at " + new Vector2(0, 0)));
+        assertTrue(handled.contains("contact 2.0 at " + new Vector2(0, 0)));
+        assertEquals(1, queue.getLastReportedCount());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.asteroid.Asteroid;
+import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.projectile.Projectile;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.game.ship.hulls.Hull;
+import org.destinationsol.game.ship.hulls.HullConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DistanceUpdateTierPolicyTest {
+    private static final float VIEW_DISTANCE = 10f;
+    private static final float DETECTION_DISTANCE = 20f;
+
+    private SolGame game;
+    private SolShip heroShip;
+    private DistanceUpdateTierPolicy policy;
+
+    @Before
+    public void init() {
+        game = mock(SolGame.class);
+        SolCam cam = mock(SolCam.class);
+        when(cam.getViewDistance()).thenReturn(VIEW_DISTANCE);
+        when(game.getCam()).thenReturn(cam);
+        when(game.getFactionMan()).thenReturn(new FactionManager());
+
+        heroShip = mockShip(Faction.EHAR, new Vector2(), HullConfig.Type.STD);
+        Hero hero = mock(Hero.class);
+        when(hero.isAlive()).thenReturn(true);
+        when(hero.getShip()).thenReturn(heroShip);
+        when(game.getHero()).thenReturn(hero);
+
+        policy = new DistanceUpdateTierPolicy();
+    }
+
+    private SolShip mockShip(Faction faction, Vector2 position, HullConfig.Type type) {
+        Pilot pilot = mock(Pilot.class);
+        when(pilot.getFaction()).thenReturn(faction);
+        when(pilot.getDetectionDist()).thenReturn(DETECTION_DISTANCE);
+        HullConfig hullConfig = mock(HullConfig.class);
+        when(hullConfig.getType()).thenReturn(type);
+        Hull hull = mock(Hull.class);
+        when(hull.getHullConfig()).thenReturn(hullConfig);
+        SolShip ship = mock(SolShip.class);
+        when(ship.getPilot()).thenReturn(pilot);
+        when(ship.getHull()).thenReturn(hull);
+        when(ship.getPosition()).thenReturn(position);
+        return ship;
+    }
+
+    @Test
+    public void shouldUpdateVisibleObjectsEveryTick() {
+        assertEquals(1, policy.getUpdateInterval(game, mock(Asteroid.class), 0));
+        assertEquals(1, policy.getUpdateInterval(game, mock(Asteroid.class), -5));
+    }
+
+    @Test
+    public void shouldDeferObjectsOutOfViewByDistance() {
+        Asteroid asteroid = mock(Asteroid.class);
+        assertEquals(DistanceUpdateTierPolicy.NEAR_INTERVAL, policy.getUpdateInterval(game, asteroid, 1));
+        assertEquals(DistanceUpdateTierPolicy.FAR_INTERVAL, policy.getUpdateInterval(game, asteroid, VIEW_DISTANCE));
+    }
+
+    @Test
+    public void shouldNotDeferProjectiles() {
+        assertEquals(1, policy.getUpdateInterval(game, mock(Projectile.class), VIEW_DISTANCE));
+    }
+
+    @Test
+    public void shouldNotDeferEnemiesInCombatWithHero() {
+        SolShip enemy = mockShip(Faction.LAANI, new Vector2(DETECTION_DISTANCE / 2, 0), HullConfig.Type.STD);
+        assertEquals(1, policy.getUpdateInterval(game, enemy, VIEW_DISTANCE));
+    }
+
+    @Test
+    public void shouldDeferDistantEnemiesAndFriends() {
+        SolShip enemy = mockShip(Faction.LAANI, new Vector2(DETECTION_DISTANCE * 2, 0), HullConfig.Type.STD);
+        SolShip friend = mockShip(Faction.EHAR, new Vector2(DETECTION_DISTANCE / 2, 0), HullConfig.Type.STD);
+        assertEquals(DistanceUpdateTierPolicy.FAR_INTERVAL, policy.getUpdateInterval(game, enemy, VIEW_DISTANCE));
+        assertEquals(DistanceUpdateTierPolicy.FAR_INTERVAL, policy.getUpdateInterval(game, friend, VIEW_DISTANCE));
+    }
+
+    @Test
+    public void shouldNotDeferStations() {
+        SolShip station = mockShip(Faction.EHAR, new Vector2(DETECTION_DISTANCE * 2, 0), HullConfig.Type.STATION);
+        assertEquals(1, policy.getUpdateInterval(game, station, VIEW_DISTANCE));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class FarObjSchedulerTest {
+
+    private FarObjScheduler scheduler;
+
+    @Before
+    public void init() {
+        scheduler = new FarObjScheduler();
+    }
+
+    private static FarObjData createData() {
+        return new FarObjData(mock(FarObject.class), 1f);
+    }
+
+    private int ticksUntilDue(FarObjData fod) {
+        List<FarObjData> due = new ArrayList<>();
+        for (int tick = 1; tick <= FarObjScheduler.SLOT_COUNT; tick++) {
+            scheduler.advance(due);
+            if (due.contains(fod)) {
+                return tick;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void shouldBeDueAfterDelay() {
+        FarObjData fod = createData();
+        scheduler.schedule(fod, 5);
+
+        assertEquals(5, ticksUntilDue(fod));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void shouldClampDelays() {
+        FarObjData soon = createData();
+        FarObjData late = createData();
+        scheduler.schedule(soon, -3);
+        scheduler.schedule(late, 10000);
+
+        assertEquals(1, ticksUntilDue(soon));
+        assertEquals(FarObjScheduler.SLOT_COUNT - 2, ticksUntilDue(late));
+    }
+
+    @Test
+    public void shouldNotReturnUnscheduledObjects() {
+        FarObjData first = createData();
+        FarObjData second = createData();
+        FarObjData third = createData();
+        scheduler.schedule(first, 2);
+        scheduler.schedule(second, 2);
+        scheduler.schedule(third, 2);
+        scheduler.unschedule(second);
+
+        List<FarObjData> due = new ArrayList<>();
+        scheduler.advance(due);
+        scheduler.advance(due);
+
+        assertEquals(2, due.size());
+        assertTrue(due.contains(first));
+        assertTrue(due.contains(third));
+    }
+
+    @Test
+    public void shouldRescheduleInsteadOfDuplicating() {
+        FarObjData fod = createData();
+        scheduler.schedule(fod, 3);
+        scheduler.schedule(fod, 1);
+
+        assertEquals(1, scheduler.size());
+        assertEquals(1, ticksUntilDue(fod));
+    }
+
+    @Test
+    public void shouldConvertSecondsToTicks() {
+        assertEquals(3, FarObjScheduler.toTicks(0.05f, 1 / 60f));
+        assertEquals(FarObjScheduler.SLOT_COUNT - 1, FarObjScheduler.toTicks(100f, 1 / 60f));
+    }
+}
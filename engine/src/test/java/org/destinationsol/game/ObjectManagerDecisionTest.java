@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.drawables.Drawable;
+import org.destinationsol.game.drawables.DrawableManager;
+import org.destinationsol.testingUtilities.MockGL;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the same objects through {@link ObjectManager#update(SolGame, float)} with and without a decision pool, to check
+ * that making the decisions of {@link Decider}s in parallel does not change the simulation.
+ */
+public class ObjectManagerDecisionTest {
+    private static final int OBJECT_COUNT = 500;
+    private static final int TICKS = 120;
+    private static final float AREA_SIZE = 60f;
+    private static final long SEED = 7;
+
+    private static HeadlessApplication application;
+    private static GL20 originalGL;
+    private static GL20 originalGL20;
+
+    @BeforeClass
+    public static void init() {
+        originalGL = Gdx.gl;
+        originalGL20 = Gdx.gl20;
+        // the object manager is created within an application, as in the game
+        GL20 mockGL = new MockGL();
+        Gdx.gl = mockGL;
+        Gdx.gl20 = mockGL;
+        application = new HeadlessApplication(new ApplicationAdapter() { }, new HeadlessApplicationConfiguration());
+    }
+
+    @AfterClass
+    public static void dispose() {
+        application.exit();
+        Gdx.gl = originalGL;
+        Gdx.gl20 = originalGL20;
+    }
+
+    @Test
+    public void shouldMoveObjectsTheSameWithDecisionPool() {
+        float[] serial = run(null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        float[] parallel = run(pool);
+        pool.shutdown();
+
+        for (int i = 0; i < serial.length; i++) {
+            assertEquals("coordinate " + i, serial[i], parallel[i], 0f);
+        }
+    }
+
+    /**
+     * @return The coordinates of all objects after {@link #TICKS} ticks, x and y alternating
+     */
+    private float[] run(ForkJoinPool decisionPool) {
+        SolRandom.setSeed(SEED);
+        SolRandom.setRandomSeed(SEED);
+        SolGame game = mockGame();
+        ObjectManager objectManager = new ObjectManager(mock(SolContactListener.class), new FactionManager());
+        when(game.getObjectManager()).thenReturn(objectManager);
+        objectManager.setDecisionPool(decisionPool);
+
+        Random random = new Random(SEED);
+        List<Seeker> seekers = new ArrayList<>();
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            Seeker seeker = new Seeker(new Vector2(random.nextFloat() * AREA_SIZE, random.nextFloat() * AREA_SIZE));
+            objectManager.addObjNow(game, seeker);
+            seekers.add(seeker);
+        }
+        for (int i = 0; i < TICKS; i++) {
+            objectManager.update(game, Const.REAL_TIME_STEP);
+        }
+        objectManager.dispose();
+
+        float[] coordinates = new float[2 * OBJECT_COUNT];
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            Vector2 position = seekers.get(i).getPosition();
+            coordinates[2 * i] = position.x;
+            coordinates[2 * i + 1] = position.y;
+        }
+        return coordinates;
+    }
+
+    private static SolGame mockGame() {
+        SolGame game = mock(SolGame.class);
+        SolCam cam = mock(SolCam.class);
+        when(cam.getPosition()).thenReturn(new Vector2(AREA_SIZE / 2, AREA_SIZE / 2));
+        // keeps every object near
+        when(cam.getViewDistance()).thenReturn(10 * AREA_SIZE);
+        when(game.getCam()).thenReturn(cam);
+        when(game.getHero()).thenReturn(mock(Hero.class));
+        when(game.getObjectPools()).thenReturn(mock(ObjectPools.class));
+        when(game.getDrawableManager()).thenReturn(mock(DrawableManager.class));
+        when(game.getTimeStep()).thenReturn(Const.REAL_TIME_STEP);
+        return game;
+    }
+
+    /**
+     * Decides on the nearest other seeker and moves a step towards it, with some noise from {@link SolRandom}. As the
+     * seekers move in their updates, deciding against positions that are already updated would change the result.
+     */
+    private static class Seeker implements SolObject, Decider {
+        private static final float SEARCH_RADIUS = 5f;
+        private static final float STEP = .05f;
+        private static final float NOISE = .02f;
+
+        private final Vector2 position;
+        private boolean hasTarget;
+        private float targetX;
+        private float targetY;
+
+        Seeker(Vector2 position) {
+            this.position = position;
+        }
+
+        @Override
+        public void decide(WorldView view) {
+            float x = view.getX(this);
+            float y = view.getY(this);
+            Seeker target = view.findNearest(x, y, SEARCH_RADIUS, Seeker.class, other -> other != this);
+            hasTarget = target != null;
+            if (hasTarget) {
+                targetX = view.getX(target);
+                targetY = view.getY(target);
+            }
+        }
+
+        @Override
+        public void update(SolGame game) {
+            if (hasTarget) {
+                float length = Vector2.dst(position.x, position.y, targetX, targetY);
+                if (length > STEP) {
+                    position.add((targetX - position.x) * STEP / length, (targetY - position.y) * STEP / length);
+                }
+            }
+            position.add(SolRandom.randomFloat(NOISE), SolRandom.randomFloat(NOISE));
+            hasTarget = false;
+        }
+
+        @Override
+        public boolean shouldBeRemoved(SolGame game) {
+            return false;
+        }
+
+        @Override
+        public void onRemove(SolGame game) {
+        }
+
+        @Override
+        public void receiveDmg(float dmg, SolGame game, Vector2 position, DmgType dmgType) {
+        }
+
+        @Override
+        public boolean receivesGravity() {
+            return false;
+        }
+
+        @Override
+        public void receiveForce(Vector2 force, SolGame game, boolean acc) {
+        }
+
+        @Override
+        public Vector2 getPosition() {
+            return position;
+        }
+
+        @Override
+        public FarObject toFarObject() {
+            return null;
+        }
+
+        @Override
+        public List<Drawable> getDrawables() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public float getAngle() {
+            return 0;
+        }
+
+        @Override
+        public Vector2 getVelocity() {
+            return null;
+        }
+
+        @Override
+        public void handleContact(SolObject other, float absImpulse, SolGame game, Vector2 collPos) {
+        }
+
+        @Override
+        public Boolean isMetal() {
+            return null;
+        }
+
+        @Override
+        public boolean hasBody() {
+            return false;
+        }
+    }
+}
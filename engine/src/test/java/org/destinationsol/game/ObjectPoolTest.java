@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import org.destinationsol.testingUtilities.BodyUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectPoolTest {
+
+    private ObjectPool<Object> pool;
+    private World world;
+
+    @Before
+    public void init() {
+        pool = new ObjectPool<>("Test", 2);
+        world = new World(new Vector2(), true);
+    }
+
+    @After
+    public void dispose() {
+        world.dispose();
+    }
+
+    @Test
+    public void shouldOnlyProvideObjectsWithTheSameKey() {
+        Object object = new Object();
+        assertTrue(pool.free(world, "a", object));
+
+        assertNull(pool.obtain(world, "b"));
+        assertSame(object, pool.obtain(world, "a"));
+        assertNull(pool.obtain(world, "a"));
+        assertEquals(0, pool.getFreeCount());
+    }
+
+    @Test
+    public void shouldOnlyProvideObjectsOfTheSameWorld() {
+        World otherWorld = new World(new Vector2(), true);
+        pool.free(world, "a", new Object());
+
+        assertNull(pool.obtain(otherWorld, "a"));
+        assertEquals(1, pool.getFreeCount());
+        otherWorld.dispose();
+    }
+
+    @Test
+    public void shouldKeepObjectsWithoutBodyApartFromWorlds() {
+        Object object = new Object();
+        assertTrue(pool.free("a", object));
+
+        assertNull(pool.obtain(world, "a"));
+        assertSame(object, pool.obtain("a"));
+        assertNull(pool.obtain("a"));
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void shouldKeepLimitedNumberOfObjectsPerKey() {
+        assertTrue(pool.free(world, "a", new Object()));
+        assertTrue(pool.free(world, "a", new Object()));
+        assertFalse(pool.free(world, "a", new Object()));
+        assertTrue(pool.free(world, "b", new Object()));
+
+        assertEquals(3, pool.getFreeCount());
+    }
+
+    @Test
+    public void shouldCountParkedBodiesOfKeysWithBodies() {
+        pool = new ObjectPool<>("Test", 2, key -> key.equals("b"));
+        pool.free(world, "a", new Object());
+        pool.free(world, "b", new Object());
+        pool.free(world, "b", new Object());
+        pool.free(world, "b", new Object());
+        pool.free("b", new Object());
+        assertEquals(2, pool.getParkedBodyCount());
+
+        pool.obtain(world, "b");
+        pool.obtain(world, "a");
+        pool.obtain("b");
+        assertEquals(1, pool.getParkedBodyCount());
+    }
+
+    @Test
+    public void shouldKeepNothingWithoutPools() {
+        boolean originalNoObjectPools = DebugOptions.NO_OBJECT_POOLS;
+        DebugOptions.NO_OBJECT_POOLS = true;
+        try {
+            assertFalse(pool.free(world, "a", new Object()));
+            assertNull(pool.obtain(world, "a"));
+            assertEquals(0, pool.getFreeCount());
+            assertEquals(1, pool.getMisses());
+        } finally {
+            DebugOptions.NO_OBJECT_POOLS = originalNoObjectPools;
+        }
+    }
+
+    @Test
+    public void shouldCountHitsAndAllocations() {
+        pool.obtain(world, "a");
+        pool.obtain(world, "a");
+        pool.free(world, "a", new Object());
+        pool.obtain(world, "a");
+        pool.endSecond();
+
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+        assertEquals(1 / 3f, pool.getHitRate(), 1e-6f);
+        assertEquals(2, pool.getAllocationsPerSecond());
+
+        pool.endSecond();
+        assertEquals(0, pool.getAllocationsPerSecond());
+    }
+
+    @Test
+    public void shouldReportRebuiltObjectsApart() {
+        pool.free(world, "a", new Object());
+        pool.free(world, "a", new Object());
+        pool.obtain(world, "a");
+        pool.obtain(world, "a");
+        pool.countRebuild();
+
+        assertEquals(2, pool.getHits());
+        assertEquals(1, pool.getRebuilds());
+        assertEquals("Test 100% reused (50% of them rebuilt), 0 new/s, 0 free", pool.format());
+    }
+
+    @Test
+    public void shouldParkBodiesOfKeptObjectsAndDestroyTheRest() {
+        pool = new ObjectPool<>("Test", 1);
+        Body kept = BodyUtilities.createDummyBody();
+        Body discarded = BodyUtilities.createDummyBody();
+        World bodyWorld = kept.getWorld();
+        int bodyCount = bodyWorld.getBodyCount();
+
+        pool.freeWithBody("a", new Object(), kept);
+        pool.freeWithBody("a", new Object(), discarded);
+
+        assertFalse(kept.isActive());
+        assertEquals(bodyCount - 1, bodyWorld.getBodyCount());
+    }
+
+    @Test
+    public void shouldMoveActivatedBodies() {
+        Body body = BodyUtilities.createDummyBody();
+        pool.freeWithBody("a", new Object(), body);
+
+        ObjectPool.activate(body, new Vector2(3, 4), 90);
+
+        assertTrue(body.isActive());
+        assertTrue(body.getPosition().epsilonEquals(3, 4, 1e-4f));
+        assertEquals(90 * MathUtils.degRad, body.getAngle(), 1e-4f);
+        body.getWorld().destroyBody(body);
+    }
+}
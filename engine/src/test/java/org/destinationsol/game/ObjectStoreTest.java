@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ObjectStoreTest {
+
+    private ObjectStore store;
+
+    @Before
+    public void init() {
+        store = new ObjectStore();
+    }
+
+    @Test
+    public void shouldKeepDataTogetherAfterSwapRemove() {
+        SolObject first = mock(SolObject.class);
+        SolObject second = mock(SolObject.class);
+        SolObject third = mock(SolObject.class);
+        store.add(first, 1f, 1f);
+        store.add(second, 2f, 1f);
+        long thirdHandle = store.add(third, 3f, 0.5f);
+        store.setSkippedTimeAt(store.indexOf(third), 0.25f);
+
+        assertTrue(store.remove(first));
+
+        assertEquals(2, store.size());
+        int index = store.indexOf(third);
+        assertSame(third, store.getAt(index));
+        assertEquals(3f, store.getRadiusAt(index), 0f);
+        assertEquals(0.5f, store.getDepthAt(index), 0f);
+        assertEquals(0.25f, store.getSkippedTimeAt(index), 0f);
+        assertEquals(thirdHandle, store.getHandleAt(index));
+        assertSame(third, store.get(thirdHandle));
+        assertEquals(2, store.asList().size());
+    }
+
+    @Test
+    public void shouldTrackTheDepthsOfTheStoredObjects() {
+        SolObject shallow = mock(SolObject.class);
+        SolObject deep = mock(SolObject.class);
+        SolObject alsoDeep = mock(SolObject.class);
+        store.add(shallow, 1f, 1f);
+        store.add(deep, 1f, 2.5f);
+        store.add(alsoDeep, 1f, 2.5f);
+
+        assertEquals(2, store.getDepthBandCount());
+        assertEquals(1f, store.getDepthBand(0), 0f);
+        assertEquals(2.5f, store.getDepthBand(1), 0f);
+        List<SolObject> deepObjects = new ArrayList<>();
+        store.collectAtDepth(2.5f, deepObjects);
+        assertEquals(2, deepObjects.size());
+
+        store.remove(deep);
+        assertEquals(2.5f, store.getMaxDepth(), 0f);
+        store.setDepthAt(store.indexOf(alsoDeep), 1.5f);
+        assertEquals(1.5f, store.getMaxDepth(), 0f);
+        store.remove(alsoDeep);
+        assertEquals(1f, store.getMaxDepth(), 0f);
+        assertEquals(1, store.getDepthBandCount());
+        store.remove(shallow);
+        assertEquals(0f, store.getMaxDepth(), 0f);
+    }
+
+    @Test
+    public void shouldInvalidateHandlesOfRemovedObjects() {
+        SolObject removed = mock(SolObject.class);
+        long handle = store.add(removed, 1f, 1f);
+        store.remove(removed);
+        long reusedHandle = store.add(mock(SolObject.class), 1f, 1f);
+
+        assertFalse(store.isValid(handle));
+        assertNull(store.get(handle));
+        assertTrue(store.isValid(reusedHandle));
+        assertFalse(store.contains(removed));
+        assertEquals(ObjectStore.NO_HANDLE, store.getHandle(removed));
+        assertFalse(store.isValid(ObjectStore.NO_HANDLE));
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity() {
+        SolObject[] objects = new SolObject[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = mock(SolObject.class);
+            store.add(objects[i], i, 1f);
+        }
+        for (int i = 0; i < objects.length; i += 2) {
+            store.remove(objects[i]);
+        }
+
+        assertEquals(500, store.size());
+        for (int i = 1; i < objects.length; i += 2) {
+            assertEquals(i, store.getRadiusAt(store.indexOf(objects[i])), 0f);
+        }
+    }
+}
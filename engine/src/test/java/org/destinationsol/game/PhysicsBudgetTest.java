@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import org.destinationsol.Const;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.planet.PlanetManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PhysicsBudgetTest {
+    private static final float TIME_STEP = Const.REAL_TIME_STEP;
+    private static final long MILLI = 1000000;
+    private static final String MISC_COLLISION_MESHES = "engine/src/main/resources/assets/collisionMeshes/miscCollisionMeshes.json";
+
+    @Test
+    public void shouldKeepFullQualityWithoutBudget() {
+        PhysicsBudget budget = new PhysicsBudget(0);
+        recordSteps(budget, 100, 50 * MILLI, 1000, 1000);
+
+        assertEquals(0, budget.getLevel());
+        assertEquals(6, budget.getVelocityIterations());
+        assertEquals(2, budget.getPositionIterations());
+    }
+
+    @Test
+    public void shouldLowerLevelWhileOverBudget() {
+        PhysicsBudget budget = new PhysicsBudget(4);
+        recordSteps(budget, 30, 2 * MILLI, 100, 100);
+        assertEquals(0, budget.getLevel());
+
+        recordSteps(budget, 60, 8 * MILLI, 1000, 1000);
+        assertEquals(2, budget.getLevel());
+
+        recordSteps(budget, 1000, 8 * MILLI, 1000, 1000);
+        assertEquals(PhysicsBudget.LEVELS.length - 1, budget.getLevel());
+    }
+
+    @Test
+    public void shouldRestoreLevelOnlyOnceLoadDrops() {
+        PhysicsBudget budget = new PhysicsBudget(4);
+        recordSteps(budget, 30, 8 * MILLI, 1000, 1000);
+        assertEquals(1, budget.getLevel());
+
+        // Cheap enough now, but only because of the lowered level
+        recordSteps(budget, 300, MILLI, 1000, 1000);
+        assertEquals(1, budget.getLevel());
+
+        recordSteps(budget, 30, MILLI, 100, 100);
+        assertEquals(0, budget.getLevel());
+    }
+
+    @Test
+    public void shouldLowerLevelAtOnceOnLoadSpike() {
+        PhysicsBudget budget = new PhysicsBudget(4);
+        recordSteps(budget, 30, 3 * MILLI, 100, 100);
+        assertEquals(0, budget.getLevel());
+
+        // Twice the bodies and contacts would take twice as long, over the budget
+        budget.record(3 * MILLI, 200, 200);
+        assertEquals(1, budget.getLevel());
+
+        // The spike is the new normal, so it's not a spike again
+        budget.record(3 * MILLI, 200, 200);
+        assertEquals(1, budget.getLevel());
+    }
+
+    @Test
+    public void shouldIgnoreLoadSpikeWithinBudget() {
+        PhysicsBudget budget = new PhysicsBudget(4);
+        recordSteps(budget, 30, MILLI, 100, 100);
+
+        budget.record(MILLI, 200, 200);
+        assertEquals(0, budget.getLevel());
+    }
+
+    @Test
+    public void shouldKeepOrbitsStableAtEveryLevel() {
+        // A ship circling a planet of the greatest size and gravity a planet config allows, within its atmosphere
+        float groundHeight = Const.MAX_GROUND_HEIGHT;
+        float gravConst = .6f * groundHeight * groundHeight;
+        float radius = groundHeight + Const.ATM_HEIGHT / 2;
+        float speed = (float) Math.sqrt(gravConst / radius);
+        int steps = (int) (2 * Math.PI * radius / speed / TIME_STEP);
+        Vector2 planetPosition = new Vector2();
+        Vector2[] endPositions = new Vector2[PhysicsBudget.LEVELS.length];
+        for (int i = 0; i < PhysicsBudget.LEVELS.length; i++) {
+            int[] level = PhysicsBudget.LEVELS[i];
+            World world = new World(new Vector2(), true);
+            Body ship = createBox(world, BodyDef.BodyType.DynamicBody, new Vector2(radius, 0), .5f);
+            ship.setLinearVelocity(0, speed);
+            for (int step = 0; step < steps; step++) {
+                // As PlanetManager pulls the objects near a planet
+                Vector2 gravity = PlanetManager.getGravity(planetPosition, ship.getPosition(), gravConst, groundHeight);
+                gravity.scl(ship.getMass());
+                ship.applyForceToCenter(gravity, true);
+                SolMath.free(gravity);
+                world.step(TIME_STEP, level[0], level[1]);
+                assertEquals("The orbit decayed at " + level[0] + "/" + level[1] + " iterations",
+                        radius, ship.getPosition().len(), radius * .02f);
+            }
+            endPositions[i] = new Vector2(ship.getPosition());
+            world.dispose();
+        }
+        // Without contacts, the solver iterations leave the orbit alone
+        for (Vector2 endPosition : endPositions) {
+            assertEquals(endPositions[0], endPosition);
+        }
+    }
+
+    @Test
+    public void shouldDockAtStarPortAtEveryLevel() throws IOException {
+        CollisionMeshLoader loader = loadMiscCollisionMeshes();
+        Vector2 planetVelocity = new Vector2(.2f, .1f);
+        // The ships enter through the two openings of the port
+        for (float approachAngle : new float[] {45, -45}) {
+            for (int[] level : PhysicsBudget.LEVELS) {
+                World world = new World(new Vector2(), true);
+                BodyDef portDef = new BodyDef();
+                portDef.type = BodyDef.BodyType.KinematicBody;
+                Body port = world.createBody(portDef);
+                FixtureDef portFixture = new FixtureDef();
+                portFixture.density = 10f;
+                portFixture.friction = Const.FRICTION;
+                assertTrue(loader.attachFixture(port, "engine:starPort", portFixture, StarPort.SIZE));
+
+                Vector2 shipPosition = new Vector2();
+                SolMath.fromAl(shipPosition, approachAngle, .9f * StarPort.getPullDistance());
+                Body ship = createCircle(world, shipPosition, .5f);
+
+                Vector2 desiredPosition = new Vector2();
+                Vector2 velocity = new Vector2();
+                int dockedAt = -1;
+                for (int step = 0; step < 10 / TIME_STEP && dockedAt < 0; step++) {
+                    // As in StarPort.update: the port follows the planet, and pulls the ship to its center
+                    desiredPosition.mulAdd(planetVelocity, TIME_STEP);
+                    velocity.set(desiredPosition).sub(port.getPosition()).scl(1 / TIME_STEP / 4);
+                    port.setLinearVelocity(velocity);
+                    velocity.set(port.getPosition()).sub(ship.getPosition());
+                    float distance = velocity.len();
+                    assertTrue("The ship was pushed out of the port", distance < StarPort.getPullDistance());
+                    if (distance < StarPort.getDockingDistance()) {
+                        dockedAt = step;
+                    }
+                    if (distance > 1) {
+                        velocity.scl(1 / distance);
+                    }
+                    ship.setLinearVelocity(velocity);
+                    world.step(TIME_STEP, level[0], level[1]);
+                }
+                assertTrue("The ship did not dock from " + approachAngle + " degrees at " + level[0] + "/" + level[1]
+                        + " iterations", dockedAt >= 0);
+                world.dispose();
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepDockedShipsInPlaceAtEveryLevel() {
+        // A ship held against a moving station, as when docked
+        for (int[] level : PhysicsBudget.LEVELS) {
+            World world = new World(new Vector2(), true);
+            Body station = createBox(world, BodyDef.BodyType.KinematicBody, new Vector2(0, 0), 2);
+            station.setLinearVelocity(1, 0);
+            Body ship = createBox(world, BodyDef.BodyType.DynamicBody, new Vector2(0, 2.5f), .5f);
+            ship.setLinearVelocity(1, 0);
+            Vector2 push = new Vector2();
+            for (int i = 0; i < 600; i++) {
+                push.set(0, -2 * ship.getMass());
+                ship.applyForceToCenter(push, true);
+                world.step(TIME_STEP, level[0], level[1]);
+            }
+            float gap = ship.getPosition().y - station.getPosition().y - 2.5f;
+            assertTrue("The ship sank into the station at " + level[0] + "/" + level[1] + " iterations", gap > -.05f);
+            assertEquals(station.getPosition().x, ship.getPosition().x, .05f);
+            world.dispose();
+        }
+    }
+
+    private static void recordSteps(PhysicsBudget budget, int steps, long nanos, int bodyCount, int contactCount) {
+        for (int i = 0; i < steps; i++) {
+            budget.record(nanos, bodyCount, contactCount);
+        }
+    }
+
+    private static CollisionMeshLoader loadMiscCollisionMeshes() throws IOException {
+        CollisionMeshLoader loader = new CollisionMeshLoader();
+        String json = new String(Files.readAllBytes(Paths.get(MISC_COLLISION_MESHES)), StandardCharsets.UTF_8);
+        JSONArray rigidBodies = new JSONObject(json).getJSONArray("rigidBodies");
+        for (int i = 0; i < rigidBodies.length(); i++) {
+            loader.readRigidBody(rigidBodies.getJSONObject(i));
+        }
+        return loader;
+    }
+
+    private static Body createCircle(World world, Vector2 position, float radius) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        bodyDef.position.set(position);
+        Body body = world.createBody(bodyDef);
+        CircleShape shape = new CircleShape();
+        shape.setRadius(radius);
+        body.createFixture(shape, 1).setFriction(Const.FRICTION);
+        shape.dispose();
+        return body;
+    }
+
+    private static Body createBox(World world, BodyDef.BodyType type, Vector2 position, float halfSize) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = type;
+        bodyDef.position.set(position);
+        Body body = world.createBody(bodyDef);
+        PolygonShape shape = new PolygonShape();
+        shape.setAsBox(halfSize, halfSize);
+        body.createFixture(shape, 1).setFriction(Const.FRICTION);
+        shape.dispose();
+        return body;
+    }
+}
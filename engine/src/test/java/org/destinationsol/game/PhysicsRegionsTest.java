@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class PhysicsRegionsTest {
+
+    private PhysicsRegions regions;
+
+    @Before
+    public void init() {
+        regions = new PhysicsRegions(mock(SolContactListener.class), mock(SolContactFilter.class));
+    }
+
+    @After
+    public void dispose() {
+        regions.dispose();
+    }
+
+    @Test
+    public void shouldHaveSingleWorldByDefault() {
+        assertFalse(regions.isPartitioned());
+        assertSame(regions.getWorld(new Vector2(-1000, 0)), regions.getWorld(new Vector2(1000, 0)));
+        assertEquals(1, regions.getRegionCount());
+    }
+
+    @Test
+    public void shouldGiveEveryRegionItsOwnWorld() {
+        regions.setRegionKeyFunction(position -> position.x < 0 ? "west" : "east");
+
+        World west = regions.getWorld(new Vector2(-1000, 0));
+        World east = regions.getWorld(new Vector2(1000, 0));
+
+        assertTrue(regions.isPartitioned());
+        assertNotSame(west, east);
+        assertSame(west, regions.getWorld(new Vector2(-1, 5)));
+        assertEquals(regions.getRegionIndex(new Vector2(2, 0)), regions.getRegionIndex(new Vector2(1000, 0)));
+    }
+
+    @Test
+    public void shouldStepRegionsConcurrentlyLikeSerially() {
+        regions.setRegionKeyFunction(position -> position.x < 0 ? "west" : "east");
+        Body west = createMovingBody(regions.getWorld(new Vector2(-10, 0)), new Vector2(-10, 0));
+        Body east = createMovingBody(regions.getWorld(new Vector2(10, 0)), new Vector2(10, 0));
+        PhysicsRegions serialRegions = new PhysicsRegions(mock(SolContactListener.class), mock(SolContactFilter.class));
+        Body serial = createMovingBody(serialRegions.getWorld(new Vector2(10, 0)), new Vector2(10, 0));
+
+        regions.setStepPool(ForkJoinPool.commonPool());
+        for (int i = 0; i < 60; i++) {
+            regions.step(1 / 60f, 6, 2);
+            serialRegions.step(1 / 60f, 6, 2);
+        }
+
+        assertEquals(-9, west.getPosition().x, 1e-3f);
+        assertEquals(serial.getPosition().x, east.getPosition().x, 0f);
+        serialRegions.dispose();
+    }
+
+    @Test
+    public void shouldKeepBodyStateWhenCrossingRegionBorder() {
+        regions.setRegionKeyFunction(position -> position.x < 0 ? "west" : "east");
+        Body ship = createMovingBody(regions.getWorld(new Vector2(-0.5f, 0)), new Vector2(-0.5f, 0));
+        ship.setAngularVelocity(2);
+        PhysicsRegions serialRegions = new PhysicsRegions(mock(SolContactListener.class), mock(SolContactFilter.class));
+        Body reference = createMovingBody(serialRegions.getWorld(new Vector2(-0.5f, 0)), new Vector2(-0.5f, 0));
+        reference.setAngularVelocity(2);
+
+        World west = ship.getWorld();
+        while (regions.getWorld(ship.getPosition()) == west) {
+            regions.step(1 / 60f, 6, 2);
+            serialRegions.step(1 / 60f, 6, 2);
+        }
+        // the ship is rebuilt in the world of the new region, as far objects are built at rest
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        bodyDef.position.set(ship.getPosition());
+        Body moved = regions.getWorld(ship.getPosition()).createBody(bodyDef);
+        PhysicsRegions.copyBodyState(ship, moved);
+        west.destroyBody(ship);
+        for (int i = 0; i < 30; i++) {
+            regions.step(1 / 60f, 6, 2);
+            serialRegions.step(1 / 60f, 6, 2);
+        }
+
+        assertNotSame(west, moved.getWorld());
+        assertEquals(reference.getPosition().x, moved.getPosition().x, 0f);
+        assertEquals(reference.getAngle(), moved.getAngle(), 0f);
+        assertEquals(reference.getLinearVelocity().x, moved.getLinearVelocity().x, 0f);
+        assertEquals(reference.getAngularVelocity(), moved.getAngularVelocity(), 0f);
+        serialRegions.dispose();
+    }
+
+    private static Body createMovingBody(World world, Vector2 position) {
+        BodyDef bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.DynamicBody;
+        bodyDef.position.set(position);
+        bodyDef.linearVelocity.set(1, 0);
+        return world.createBody(bodyDef);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpatialHashTest {
+
+    private SpatialHash spatialHash;
+
+    @Before
+    public void init() {
+        spatialHash = new SpatialHash(5f);
+    }
+
+    private static SolObject createObject(Vector2 position) {
+        SolObject object = mock(SolObject.class);
+        when(object.getPosition()).thenReturn(position);
+        return object;
+    }
+
+    private List<SolObject> query(float x, float y, float radius) {
+        List<SolObject> result = new ArrayList<>();
+        spatialHash.collectInRadius(new Vector2(x, y), radius, result);
+        return result;
+    }
+
+    @Test
+    public void shouldFindObjectsInOverlappingCells() {
+        SolObject near = createObject(new Vector2(1f, 1f));
+        SolObject far = createObject(new Vector2(100f, 100f));
+        spatialHash.add(near, 1f);
+        spatialHash.add(far, 1f);
+
+        List<SolObject> result = query(0f, 0f, 3f);
+
+        assertTrue(result.contains(near));
+        assertFalse(result.contains(far));
+    }
+
+    @Test
+    public void shouldReportObjectSpanningSeveralCellsOnce() {
+        SolObject object = createObject(new Vector2(5f, 5f));
+        spatialHash.add(object, 4f);
+
+        List<SolObject> result = query(5f, 5f, 10f);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    public void shouldOnlyQueryASmallShareOfTheOccupiedCells() {
+        for (int i = 0; i < 100; i++) {
+            spatialHash.add(createObject(new Vector2(i * 5f + 2.5f, 2.5f)), 1f);
+        }
+
+        assertTrue(spatialHash.isQueryWorthwhile(5f));
+        assertFalse(spatialHash.isQueryWorthwhile(50f));
+    }
+
+    @Test
+    public void shouldFollowMovedObjects() {
+        Vector2 position = new Vector2(0f, 0f);
+        SolObject object = createObject(position);
+        spatialHash.add(object, 1f);
+
+        position.set(50f, 50f);
+        spatialHash.update(object, 1f);
+
+        assertTrue(query(0f, 0f, 2f).isEmpty());
+        assertTrue(query(50f, 50f, 2f).contains(object));
+    }
+
+    @Test
+    public void shouldAlwaysReportLargeObjects() {
+        SolObject object = createObject(new Vector2(0f, 0f));
+        spatialHash.add(object, 100f);
+
+        assertTrue(query(1000f, 1000f, 1f).contains(object));
+    }
+
+    @Test
+    public void shouldForgetRemovedObjects() {
+        SolObject object = createObject(new Vector2(0f, 0f));
+        spatialHash.add(object, 1f);
+        spatialHash.remove(object);
+
+        assertFalse(spatialHash.contains(object));
+        assertTrue(query(0f, 0f, 2f).isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SystemProfilerTest {
+
+    private SystemProfiler profiler;
+    private UpdateAwareSystem firstSystem;
+    private UpdateAwareSystem secondSystem;
+
+    @Before
+    public void init() {
+        profiler = new SystemProfiler();
+        firstSystem = new FirstSystem();
+        secondSystem = new SecondSystem();
+    }
+
+    @Test
+    public void shouldComputeNearestRankPercentiles() {
+        for (int i = 100; i >= 1; i--) {
+            profiler.record(firstSystem, i);
+        }
+
+        SystemProfiler.Summary summary = profiler.summarize().get(1);
+        assertEquals("FirstSystem", summary.name);
+        assertEquals(100, summary.samples);
+        assertEquals(50, summary.p50Nanos);
+        assertEquals(95, summary.p95Nanos);
+        assertEquals(99, summary.p99Nanos);
+        assertEquals(100, summary.maxNanos);
+    }
+
+    @Test
+    public void shouldOnlyKeepLastWindow() {
+        profiler.record(firstSystem, 1_000_000);
+        for (int i = 0; i < SystemProfiler.WINDOW_SIZE; i++) {
+            profiler.record(firstSystem, 10);
+        }
+
+        SystemProfiler.Summary summary = profiler.summarize().get(1);
+        assertEquals(SystemProfiler.WINDOW_SIZE, summary.samples);
+        assertEquals(10, summary.maxNanos);
+    }
+
+    @Test
+    public void shouldListTotalFirstAndSystemsInRecordOrder() {
+        profiler.record(secondSystem, 1);
+        profiler.record(firstSystem, 2);
+        profiler.recordTick(3);
+
+        List<SystemProfiler.Summary> summaries = profiler.summarize();
+        assertEquals(3, summaries.size());
+        assertEquals(SystemProfiler.TOTAL, summaries.get(0).name);
+        assertEquals(3, summaries.get(0).maxNanos);
+        assertEquals("SecondSystem", summaries.get(1).name);
+        assertEquals("FirstSystem", summaries.get(2).name);
+    }
+
+    @Test
+    public void shouldForgetTimesOnReset() {
+        profiler.record(firstSystem, 5);
+        profiler.recordTick(5);
+        profiler.reset();
+
+        for (SystemProfiler.Summary summary : profiler.summarize()) {
+            assertEquals(0, summary.samples);
+            assertEquals(0, summary.maxNanos);
+        }
+    }
+
+    @Test
+    public void shouldWriteCsvRowPerSystem() {
+        profiler.record(firstSystem, 7);
+        profiler.recordTick(9);
+        StringWriter writer = new StringWriter();
+
+        SystemProfiler.writeCsv(writer, profiler.summarize(), 1.5f, true);
+
+        String[] lines = writer.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("time,system,"));
+        assertEquals("1.50,Total,1,9,9,9,9", lines[1]);
+        assertEquals("1.50,FirstSystem,1,7,7,7,7", lines[2]);
+    }
+
+    @Test
+    public void shouldWriteJson() {
+        profiler.record(firstSystem, 7);
+        StringWriter writer = new StringWriter();
+
+        SystemProfiler.writeJson(writer, profiler.summarize(), 2f);
+
+        JsonObject root = new JsonParser().parse(writer.toString()).getAsJsonObject();
+        assertEquals(2f, root.get("time").getAsFloat(), 0);
+        JsonObject system = root.getAsJsonArray("systems").get(1).getAsJsonObject();
+        assertEquals("FirstSystem", system.get("name").getAsString());
+        assertEquals(7, system.get("p99Nanos").getAsLong());
+    }
+
+    private static class FirstSystem implements UpdateAwareSystem {
+        @Override
+        public void update(SolGame game, float timeStep) {
+        }
+    }
+
+    private static class SecondSystem implements UpdateAwareSystem {
+        @Override
+        public void update(SolGame game, float timeStep) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorldViewTest {
+    private static final int OBJECT_COUNT = 2000;
+    private static final float RADIUS = 3f;
+
+    private List<SolObject> objects;
+    private WorldView worldView;
+
+    @Before
+    public void init() {
+        Random random = new Random(42);
+        ObjectStore store = new ObjectStore();
+        SpatialHash spatialHash = new SpatialHash(5f);
+        objects = new ArrayList<>();
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            SolObject object = mock(SolObject.class);
+            when(object.getPosition()).thenReturn(new Vector2(random.nextFloat() * 100, random.nextFloat() * 100));
+            store.add(object, .5f, 1f);
+            spatialHash.add(object, .5f + RADIUS);
+            objects.add(object);
+        }
+        worldView = new WorldView(store, spatialHash, new ShipRegistry(), new FactionManager());
+        store.capturePositions();
+    }
+
+    private SolObject findNearestOther(SolObject object) {
+        return worldView.findNearest(worldView.getX(object), worldView.getY(object), RADIUS, SolObject.class, other -> other != object);
+    }
+
+    @Test
+    public void shouldFindNearestObject() {
+        SolObject object = objects.get(0);
+        SolObject nearest = findNearestOther(object);
+
+        assertNotNull(nearest);
+        float nearestDistance = object.getPosition().dst2(nearest.getPosition());
+        for (SolObject other : objects) {
+            if (other != object && other.getPosition().dst(object.getPosition()) < RADIUS) {
+                assertTrue(nearestDistance <= object.getPosition().dst2(other.getPosition()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldGiveSameResultsInParallel() throws Exception {
+        SolObject[] serial = new SolObject[OBJECT_COUNT];
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            serial[i] = findNearestOther(objects.get(i));
+        }
+
+        SolObject[] parallel = new SolObject[OBJECT_COUNT];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        pool.submit(() -> IntStream.range(0, OBJECT_COUNT).parallel().forEach(i -> parallel[i] = findNearestOther(objects.get(i)))).get();
+        pool.shutdown();
+
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            assertSame(serial[i], parallel[i]);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.chunk;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkFillerTest {
+    @Test
+    public void shouldPlanTheSameContentForTheSameSeed() {
+        ChunkFiller.Environment environment = new ChunkFiller.Environment(new Vector2(50, 70), false);
+        environment.asteroids = true;
+        List<ChunkPlan.Placement> first = ChunkFiller.plan(environment, new Random(42)).getPlacements();
+        List<ChunkPlan.Placement> second = ChunkFiller.plan(environment, new Random(42)).getPlacements();
+        assertSamePlacements(first, second);
+    }
+
+    @Test
+    public void shouldPlanTheSameWhetherCommittedAtOnceOrLater() {
+        for (long seed : new long[] {1, 5}) {
+            Random immediateRandom = new Random(seed);
+            Random laterRandom = new Random(seed);
+            for (int x = -3; x <= 3; x++) {
+                for (int y = -3; y <= 3; y++) {
+                    ChunkFiller.Environment environment = new ChunkFiller.Environment(new Vector2(x, y).scl(Const.CHUNK_SIZE), false);
+                    environment.asteroids = true;
+                    environment.beltAsteroids = (x + y) % 2 == 0;
+                    // as fill() does when every position is free, committing each placement as it is planned
+                    List<ChunkPlan.Placement> immediate = new ArrayList<>();
+                    ChunkFiller.plan(environment, immediateRandom, new ChunkFiller.PlacementSink() {
+                        @Override
+                        public boolean isPlaceEmpty(Vector2 position) {
+                            return true;
+                        }
+
+                        @Override
+                        public void add(ChunkPlan.Placement placement) {
+                            immediate.add(placement);
+                        }
+                    });
+                    List<ChunkPlan.Placement> later = ChunkFiller.plan(environment, laterRandom).getPlacements();
+                    assertSamePlacements(immediate, later);
+                }
+            }
+            // the chunks after these ones are drawn from the same place in the sequence
+            assertEquals(immediateRandom.nextLong(), laterRandom.nextLong());
+        }
+    }
+
+    @Test
+    public void shouldPlanNothingInFarBackgroundWithoutConfig() {
+        ChunkFiller.Environment environment = new ChunkFiller.Environment(new Vector2(50, 70), true);
+        ChunkPlan plan = ChunkFiller.plan(environment, new Random(1));
+        assertTrue(plan.getPlacements().isEmpty());
+        assertEquals(0, plan.getCost());
+    }
+
+    @Test
+    public void shouldPlanBeltAsteroidsInsideChunk() {
+        Vector2 chunkCenter = new Vector2(50, 70);
+        ChunkFiller.Environment environment = new ChunkFiller.Environment(chunkCenter, false);
+        environment.asteroids = true;
+        environment.beltAsteroids = true;
+        int asteroids = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            for (ChunkPlan.Placement placement : ChunkFiller.plan(environment, new Random(seed)).getPlacements()) {
+                assertFalse(placement.type == ChunkPlan.Type.ENEMY || placement.type == ChunkPlan.Type.JUNK);
+                if (placement.type == ChunkPlan.Type.ASTEROID) {
+                    asteroids++;
+                    assertTrue(Math.abs(placement.position.x - chunkCenter.x) <= Const.CHUNK_SIZE / 2);
+                    assertTrue(Math.abs(placement.position.y - chunkCenter.y) <= Const.CHUNK_SIZE / 2);
+                }
+            }
+        }
+        assertTrue(asteroids > 0);
+    }
+
+    @Test
+    public void shouldLeaveOutAsteroidsWithoutFreePosition() {
+        ChunkFiller.Environment environment = new ChunkFiller.Environment(new Vector2(50, 70), false);
+        environment.asteroids = true;
+        environment.beltAsteroids = true;
+        List<ChunkPlan.Placement> placements = new ArrayList<>();
+        int[] positionsTried = {0};
+        ChunkFiller.plan(environment, new Random(3), new ChunkFiller.PlacementSink() {
+            @Override
+            public boolean isPlaceEmpty(Vector2 position) {
+                positionsTried[0]++;
+                return false;
+            }
+
+            @Override
+            public void add(ChunkPlan.Placement placement) {
+                placements.add(placement);
+            }
+        });
+        assertTrue(positionsTried[0] > 0);
+        for (ChunkPlan.Placement placement : placements) {
+            assertFalse(placement.type == ChunkPlan.Type.ASTEROID);
+        }
+    }
+
+    private static void assertSamePlacements(List<ChunkPlan.Placement> expected, List<ChunkPlan.Placement> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).type, actual.get(i).type);
+            assertEquals(expected.get(i).position, actual.get(i).position);
+            assertEquals(expected.get(i).velocity, actual.get(i).velocity);
+            assertEquals(expected.get(i).size, actual.get(i).size, 0);
+            assertEquals(expected.get(i).angle, actual.get(i).angle, 0);
+            assertEquals(expected.get(i).texture, actual.get(i).texture);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class DrawableBucketTest {
+
+    @Test
+    public void shouldKeepTheOrderOfTheRemainingEntries() {
+        DrawableBucket bucket = new DrawableBucket();
+        DrawableEntry[] entries = new DrawableEntry[20];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new DrawableEntry(mock(Drawable.class));
+            bucket.add(entries[i]);
+        }
+
+        bucket.remove(entries[3]);
+        bucket.remove(entries[0]);
+
+        assertNull(entries[3].bucket);
+        assertEquals(-1, entries[3].index);
+        assertNull(bucket.get(3));
+        bucket.compact();
+        assertEquals(18, bucket.size());
+        assertSame(entries[1], bucket.get(0));
+        assertSame(entries[4], bucket.get(2));
+        assertSame(entries[19], bucket.get(17));
+        for (int i = 0; i < bucket.size(); i++) {
+            assertEquals(i, bucket.get(i).index);
+            assertSame(bucket, bucket.get(i).bucket);
+        }
+    }
+
+    @Test
+    public void shouldSortVisibleEntriesIntoBucketOrder() {
+        DrawableBucket bucket = new DrawableBucket();
+        DrawableEntry[] entries = new DrawableEntry[40];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new DrawableEntry(mock(Drawable.class));
+            bucket.add(entries[i]);
+        }
+
+        for (int i = entries.length - 1; i >= 0; i -= 2) {
+            bucket.addVisible(entries[i]);
+        }
+        bucket.sortVisible();
+
+        assertEquals(20, bucket.visibleSize());
+        for (int i = 0; i < bucket.visibleSize(); i++) {
+            assertSame(entries[2 * i + 1], bucket.getVisible(i));
+        }
+    }
+
+    @Test
+    public void shouldKeepVisibleEntriesUntilCleared() {
+        DrawableBucket bucket = new DrawableBucket();
+        DrawableEntry first = new DrawableEntry(mock(Drawable.class));
+        DrawableEntry second = new DrawableEntry(mock(Drawable.class));
+        bucket.add(first);
+        bucket.add(second);
+
+        bucket.addVisible(second);
+        bucket.remove(second);
+
+        assertEquals(1, bucket.visibleSize());
+        assertSame(second, bucket.getVisible(0));
+        bucket.clearVisible();
+        assertEquals(0, bucket.visibleSize());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.drawables;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StaticMeshTest {
+    private static final float DELTA = 1e-5f;
+
+    @Test
+    public void shouldLayOutCornersLikeSpriteBatch() {
+        TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(texture(64, 64), 0, 0, 32, 16);
+        StaticMesh mesh = new StaticMesh.Builder().add(region, 2, 1, 1, .5f, 10, 0, 0, Color.WHITE).build();
+
+        float[] vertices = mesh.getVertices(0);
+        assertEquals(StaticMesh.SPRITE_SIZE, vertices.length);
+        // bottom left, top left, top right, bottom right
+        assertVertex(vertices, 0, 9, -.5f, 0, .25f);
+        assertVertex(vertices, 1, 9, .5f, 0, 0);
+        assertVertex(vertices, 2, 11, .5f, .5f, 0);
+        assertVertex(vertices, 3, 11, -.5f, .5f, .25f);
+        assertEquals(Color.WHITE.toFloatBits(), vertices[2], 0);
+        assertEquals(Math.sqrt(11 * 11 + .5f * .5f), mesh.getRadius(), DELTA);
+    }
+
+    @Test
+    public void shouldRotateAroundTheOrigin() {
+        TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(texture(16, 16), 0, 0, 16, 16);
+        StaticMesh mesh = new StaticMesh.Builder().add(region, 2, 2, 1, 1, 0, 0, 90, Color.WHITE).build();
+
+        float[] vertices = mesh.getVertices(0);
+        assertVertex(vertices, 0, 1, -1, 0, 1);
+        assertVertex(vertices, 2, -1, 1, 1, 0);
+    }
+
+    @Test
+    public void shouldGroupSpritesPerTexture() {
+        TextureAtlas.AtlasRegion first = new TextureAtlas.AtlasRegion(texture(16, 16), 0, 0, 16, 16);
+        TextureAtlas.AtlasRegion second = new TextureAtlas.AtlasRegion(texture(16, 16), 0, 0, 16, 16);
+        StaticMesh mesh = new StaticMesh.Builder()
+                .add(first, 1, 1, 0, 0, 0, 0, 0, Color.WHITE)
+                .add(second, 1, 1, 0, 0, 1, 0, 0, Color.WHITE)
+                .add(first, 1, 1, 0, 0, 2, 0, 0, Color.WHITE)
+                .build();
+
+        assertEquals(2, mesh.getTextureCount());
+        assertSame(first.getTexture(), mesh.getTexture(0));
+        assertEquals(2 * StaticMesh.SPRITE_SIZE, mesh.getVertices(0).length);
+        assertEquals(StaticMesh.SPRITE_SIZE, mesh.getVertices(1).length);
+        assertEquals(3, mesh.getSpriteCount());
+        assertSame(first, mesh.getFirstRegion());
+        // the third sprite follows the first one
+        assertEquals(2, mesh.getVertices(0)[StaticMesh.SPRITE_SIZE], DELTA);
+    }
+
+    @Test
+    public void shouldPlaceSpritesWhereTheyWouldBeDrawn() {
+        TextureAtlas.AtlasRegion region = new TextureAtlas.AtlasRegion(texture(16, 16), 0, 0, 16, 16);
+        RectSprite sprite = new RectSprite(region, 2, 0, 0, new Vector2(1, 0), DrawableLevel.GROUND, 0, 0, Color.WHITE, false);
+        StaticMesh mesh = new StaticMesh.Builder().add(sprite, 5, 0, 90).build();
+
+        // the relative position turns with the object, the sprite is centred at (5, 1) and turned by 90 degrees
+        float[] vertices = mesh.getVertices(0);
+        assertVertex(vertices, 0, 6, 0, 0, 1);
+        assertVertex(vertices, 2, 4, 2, 1, 0);
+        assertTrue(new StaticMesh.Builder().build().isEmpty());
+    }
+
+    private void assertVertex(float[] vertices, int corner, float x, float y, float u, float v) {
+        int offset = corner * StaticMesh.VERTEX_SIZE;
+        assertEquals(x, vertices[offset], DELTA);
+        assertEquals(y, vertices[offset + 1], DELTA);
+        assertEquals(u, vertices[offset + 3], DELTA);
+        assertEquals(v, vertices[offset + 4], DELTA);
+    }
+
+    private Texture texture(int width, int height) {
+        Texture texture = mock(Texture.class);
+        when(texture.getWidth()).thenReturn(width);
+        when(texture.getHeight()).thenReturn(height);
+        return texture;
+    }
+}
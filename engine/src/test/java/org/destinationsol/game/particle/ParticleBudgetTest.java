@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.particle;
+
+import org.destinationsol.game.particle.ParticleBudget.Throttle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParticleBudgetTest {
+    @Test
+    public void shouldNeverThrottleWithoutBudget() {
+        ParticleBudget budget = new ParticleBudget(0);
+        for (int tick = 0; tick < 3; tick++) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(Throttle.NONE, budget.admit(i, 1000));
+            }
+            budget.endTick();
+        }
+        assertEquals(10000, budget.getLiveParticles());
+        assertEquals(10, budget.getEmitters());
+        assertEquals(0, budget.getPressure(), 0);
+    }
+
+    @Test
+    public void shouldThrottleLowestPrioritiesOnceOverBudget() {
+        ParticleBudget budget = new ParticleBudget(100);
+        admitTick(budget);
+        budget.endTick();
+        assertEquals(250, budget.getLiveParticles());
+        assertEquals(2.5f, budget.getPressure(), 1e-6f);
+
+        // 50 particles per emitter, highest priority first: the third passes the budget, the fifth twice the budget
+        assertEquals(Throttle.NONE, budget.admit(5, 50));
+        assertEquals(Throttle.NONE, budget.admit(4, 50));
+        assertEquals(Throttle.REDUCED, budget.admit(3, 50));
+        assertEquals(Throttle.REDUCED, budget.admit(2, 50));
+        assertEquals(Throttle.SKIPPED, budget.admit(1, 50));
+        budget.endTick();
+        assertEquals(2, budget.getReduced());
+        assertEquals(1, budget.getSkipped());
+    }
+
+    @Test
+    public void shouldReleaseThrottleOnceWithinBudget() {
+        ParticleBudget budget = new ParticleBudget(100);
+        admitTick(budget);
+        budget.endTick();
+        assertEquals(Throttle.SKIPPED, budget.admit(1, 10));
+        budget.endTick();
+
+        assertEquals(Throttle.NONE, budget.admit(1, 10));
+        budget.endTick();
+        assertEquals(0, budget.getReduced());
+        assertEquals(0, budget.getSkipped());
+    }
+
+    private void admitTick(ParticleBudget budget) {
+        // admitted out of order, as emitters are updated in the order of their objects
+        budget.admit(3, 50);
+        budget.admit(1, 50);
+        budget.admit(5, 50);
+        budget.admit(2, 50);
+        budget.admit(4, 50);
+    }
+}
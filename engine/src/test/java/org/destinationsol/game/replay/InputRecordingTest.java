@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.replay;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.WorldConfig;
+import org.destinationsol.game.screens.ShipUiControl;
+import org.destinationsol.game.ship.hulls.HullConfig;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InputRecordingTest {
+    private static final int[] STATES = {0, 0, 0, InputRecording.UP, InputRecording.UP | InputRecording.SHOOT,
+            InputRecording.LEFT | InputRecording.ABILITY, InputRecording.RIGHT, InputRecording.RIGHT, InputRecording.DOWN,
+            InputRecording.SHOOT2};
+    private static final float VIEWPORT_RATIO = 16 / 9f;
+
+    private static InputRecording recordAndRead(int[] states) throws IOException {
+        HullConfig hullConfig = mock(HullConfig.class);
+        when(hullConfig.getInternalName()).thenReturn("core:imperialSmall");
+        ShipConfig shipConfig = mock(ShipConfig.class);
+        when(shipConfig.getHull()).thenReturn(hullConfig);
+        when(shipConfig.getItems()).thenReturn("core:blaster core:fixedBlaster");
+        when(shipConfig.getMoney()).thenReturn(100);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputRecorder recorder = new InputRecorder(bytes, new WorldConfig(42, 3), "Imperial Small", shipConfig,
+                VIEWPORT_RATIO)) {
+            for (int tick = 0; tick < states.length; tick++) {
+                recorder.record(new FixedControl(states[tick]), new Vector2(tick, -tick));
+            }
+        }
+        return InputRecording.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    public void shouldReadRecordedHeader() throws IOException {
+        InputRecording recording = recordAndRead(STATES);
+
+        assertEquals(42, recording.getSeed());
+        assertEquals(3, recording.getNumberOfSystems());
+        assertEquals("Imperial Small", recording.getShipName());
+        assertEquals("core:imperialSmall", recording.getHullName());
+        assertEquals("core:blaster core:fixedBlaster", recording.getItems());
+        assertEquals(100, recording.getMoney());
+        assertEquals(VIEWPORT_RATIO, recording.getViewportRatio(), 0);
+        assertEquals(STATES.length, recording.getTickCount());
+    }
+
+    @Test
+    public void shouldReplayRecordedStates() throws IOException {
+        ReplayShipControl control = new ReplayShipControl(recordAndRead(STATES));
+
+        for (int state : STATES) {
+            assertTrue(control.advance());
+            assertEquals(state, InputRecording.capture(control));
+        }
+        assertFalse(control.advance());
+        assertEquals(0, InputRecording.capture(control));
+    }
+
+    @Test
+    public void shouldStoreLongRunsCompactly() throws IOException {
+        int[] states = new int[100000];
+        states[states.length - 1] = InputRecording.UP;
+        InputRecording recording = recordAndRead(states);
+
+        assertEquals(2, recording.getRunCount());
+        assertEquals(states.length - 1, recording.getRunLength(0));
+        assertEquals(states.length, recording.getTickCount());
+    }
+
+    @Test
+    public void shouldRecordCheckpoints() throws IOException {
+        int[] states = new int[InputRecording.CHECKPOINT_INTERVAL * 2 + 1];
+        states[InputRecording.CHECKPOINT_INTERVAL - 1] = InputRecording.UP;
+        InputRecording recording = recordAndRead(states);
+
+        assertEquals(2, recording.getCheckpointCount());
+        for (int checkpoint = 0; checkpoint < 2; checkpoint++) {
+            long tick = (checkpoint + 1) * InputRecording.CHECKPOINT_INTERVAL;
+            assertEquals(tick, recording.getCheckpointTick(checkpoint));
+            assertEquals(tick, recording.getCheckpointX(checkpoint), 0);
+            assertEquals(-tick, recording.getCheckpointY(checkpoint), 0);
+        }
+        assertEquals(states.length, recording.getTickCount());
+        ReplayShipControl control = new ReplayShipControl(recording);
+        for (int state : states) {
+            assertTrue(control.advance());
+            assertEquals(state, InputRecording.capture(control));
+        }
+    }
+
+    @Test
+    public void shouldWriteCheckpointsWhereTheyWereRecorded() throws IOException {
+        int[] states = new int[InputRecording.CHECKPOINT_INTERVAL * 3];
+        InputRecording recording = recordAndRead(states);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recording.write(new DataOutputStream(bytes));
+        InputRecording rewritten = InputRecording.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(recording.getTickCount(), rewritten.getTickCount());
+        assertEquals(recording.getCheckpointCount(), rewritten.getCheckpointCount());
+        for (int checkpoint = 0; checkpoint < recording.getCheckpointCount(); checkpoint++) {
+            assertEquals(recording.getCheckpointTick(checkpoint), rewritten.getCheckpointTick(checkpoint));
+            assertEquals(recording.getCheckpointX(checkpoint), rewritten.getCheckpointX(checkpoint), 0);
+        }
+    }
+
+    private static class FixedControl implements ShipUiControl {
+        private final int state;
+
+        FixedControl(int state) {
+            this.state = state;
+        }
+
+        @Override
+        public boolean isLeft() {
+            return (state & InputRecording.LEFT) != 0;
+        }
+
+        @Override
+        public boolean isRight() {
+            return (state & InputRecording.RIGHT) != 0;
+        }
+
+        @Override
+        public boolean isUp() {
+            return (state & InputRecording.UP) != 0;
+        }
+
+        @Override
+        public boolean isDown() {
+            return (state & InputRecording.DOWN) != 0;
+        }
+
+        @Override
+        public boolean isShoot() {
+            return (state & InputRecording.SHOOT) != 0;
+        }
+
+        @Override
+        public boolean isShoot2() {
+            return (state & InputRecording.SHOOT2) != 0;
+        }
+
+        @Override
+        public boolean isAbility() {
+            return (state & InputRecording.ABILITY) != 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.testingUtilities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+
+/**
+ * Graphics of a display with a fixed size, for headless runs.
+ *
+ * HACK: The headless backend reports a display of 0x0 pixels, which gives the game a viewport ratio of NaN, and with it
+ * NaN view and far distances. The timing is still taken from the graphics of the backend, which keeps it up to date.
+ */
+public class FixedSizeGraphics extends MockGraphics {
+    private final Graphics timing;
+    private final int width;
+    private final int height;
+
+    public FixedSizeGraphics(Graphics timing, int width, int height) {
+        this.timing = timing;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Replaces {@link Gdx#graphics} with graphics of the given size. Has to be called after the headless application
+     * is created, and before the game is.
+     */
+    public static void install(int width, int height) {
+        Gdx.graphics = new FixedSizeGraphics(Gdx.graphics, width, height);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getBackBufferWidth() {
+        return width;
+    }
+
+    @Override
+    public int getBackBufferHeight() {
+        return height;
+    }
+
+    @Override
+    public long getFrameId() {
+        return timing.getFrameId();
+    }
+
+    @Override
+    public float getDeltaTime() {
+        return timing.getDeltaTime();
+    }
+
+    @Override
+    public float getRawDeltaTime() {
+        return timing.getRawDeltaTime();
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return timing.getFramesPerSecond();
+    }
+}
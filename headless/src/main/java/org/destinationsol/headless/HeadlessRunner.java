@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.Timer;
+import org.destinationsol.GameOptions;
+import org.destinationsol.SolApplication;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.WorldConfig;
+import org.destinationsol.modules.ModuleManager;
+import org.destinationsol.testingUtilities.FixedSizeGraphics;
+import org.destinationsol.testingUtilities.MockGL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs a whole {@link SolGame} without a window, updating it as fast as the machine allows.
+ * <p>
+ * The runner is meant for soak and throughput testing: it starts a new game from a fixed seed and ship, optionally lets
+ * a {@link ScriptedHeroPilot} fly the hero around, and periodically prints one CSV row with the tick rate, the number
+ * of near and far objects and the heap usage. Rendering is never done, so no GPU is needed.
+ * <p>
+ * The game is deliberately never ended, as ending it would overwrite the player's save files.
+ */
+public final class HeadlessRunner {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessRunner.class);
+    private static final String CSV_HEADER = "tick,gameTime,ticksPerSecond,objects,farObjects,heapUsedMb";
+    private static final long BYTES_PER_MB = 1024 * 1024;
+    /**
+     * Size of the display the game is run with, if not given otherwise. The headless backend reports 0x0 pixels, which
+     * would make the view and far distances NaN.
+     */
+    static final int DISPLAY_WIDTH = 1920;
+    static final int DISPLAY_HEIGHT = 1080;
+
+    private final Settings settings;
+    private final PrintStream out;
+
+    private HeadlessRunner(Settings settings, PrintStream out) {
+        this.settings = settings;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = Settings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Settings.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(settings, System.out);
+        int exitCode = runHeadless(runner::play) ? 0 : 1;
+        // The application is not exited normally, as disposing it would save the game
+        System.exit(exitCode);
+    }
+
+    /**
+     * Starts the application without a window, on a display of {@value #DISPLAY_WIDTH}x{@value #DISPLAY_HEIGHT}, and
+     * runs {@code play} on the application thread.
+     *
+     * @param play Plays the game, returns once done
+     * @return true if {@code play} finished without an error
+     */
+    static boolean runHeadless(Consumer<SolApplication> play) throws Exception {
+        return runHeadless(DISPLAY_WIDTH, DISPLAY_HEIGHT, play);
+    }
+
+    /**
+     * Starts the application without a window, on a display of the given size, and runs {@code play} on the
+     * application thread. The autosave is stopped, so that the player's save files are kept.
+     *
+     * @param play Plays the game, returns once done
+     * @return true if {@code play} finished without an error
+     */
+    static boolean runHeadless(int displayWidth, int displayHeight, Consumer<SolApplication> play) throws Exception {
+        DebugOptions.DEV_ROOT_PATH = "engine/src/main/resources/";
+        ModuleManager moduleManager = new ModuleManager();
+        moduleManager.init();
+        GL20 mockGL = new MockGL();
+        Gdx.gl = mockGL;
+        Gdx.gl20 = mockGL;
+
+        SolApplication solApplication = new SolApplication(moduleManager, 60);
+        HeadlessApplication application = new HeadlessApplication(new ApplicationAdapter() { }, new HeadlessApplicationConfiguration());
+
+        // Everything touching the game has to happen on the application thread, so the whole run is posted there.
+        // It blocks the application's own render loop until it is finished.
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        application.postRunnable(() -> {
+            try {
+                // The display size is read when the application is created
+                FixedSizeGraphics.install(displayWidth, displayHeight);
+                logger.info("Running on a display of {}x{}", Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+                solApplication.create();
+                // The autosave task of the game would run on the timer's own thread, and overwrite the player's ship
+                Timer.instance().stop();
+                play.accept(solApplication);
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                finished.countDown();
+            }
+        });
+        finished.await();
+
+        if (failure.get() != null) {
+            logger.error("Headless run failed", failure.get());
+            return false;
+        }
+        return true;
+    }
+
+    private void play(SolApplication solApplication) {
+        if (settings.scriptedPilot) {
+            // The hero is only given an AI pilot that follows the beacon when mouse control is selected
+            solApplication.getOptions().controlType = GameOptions.ControlType.MOUSE;
+        }
+        logger.info("Starting headless game with seed {}, {} systems and ship '{}'", settings.seed, settings.systems, settings.ship);
+        solApplication.play(settings.ship, new WorldConfig(settings.seed, settings.systems));
+        SolGame game = solApplication.getGame();
+        ScriptedHeroPilot pilot = settings.scriptedPilot ? new ScriptedHeroPilot(settings.seed) : null;
+
+        out.println(CSV_HEADER);
+        long startTime = System.nanoTime();
+        long intervalStartTime = startTime;
+        long lastReportedTick = 0;
+        long peakHeap = 0;
+        for (long tick = 1; tick <= settings.ticks; tick++) {
+            if (pilot != null) {
+                pilot.update(game);
+            }
+            game.update();
+            SolMath.checkVectorsTaken(null);
+
+            if (tick % settings.reportInterval == 0 || tick == settings.ticks) {
+                long now = System.nanoTime();
+                float ticksPerSecond = (tick - lastReportedTick) * 1e9f / Math.max(1, now - intervalStartTime);
+                long heapUsed = measureHeap();
+                peakHeap = Math.max(peakHeap, heapUsed);
+                out.println(String.format(Locale.ROOT, "%d,%.1f,%.1f,%d,%d,%.1f", tick, game.getTime(), ticksPerSecond,
+                        game.getObjectManager().getObjects().size(), game.getObjectManager().getFarObjs().size(),
+                        (float) heapUsed / BYTES_PER_MB));
+                // Exclude the time spent measuring the heap from the next interval
+                intervalStartTime = System.nanoTime();
+                lastReportedTick = tick;
+            }
+        }
+
+        float totalSeconds = (System.nanoTime() - startTime) / 1e9f;
+        logger.info(String.format(Locale.ROOT, "Played %d ticks in %.1f s (%.1f ticks/s), peak heap %.1f MB",
+                settings.ticks, totalSeconds, settings.ticks / totalSeconds, (float) peakHeap / BYTES_PER_MB));
+    }
+
+    private long measureHeap() {
+        if (settings.collectGarbage) {
+            // Only the heap that survives a collection says anything about leaks
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * The command line options of the runner.
+     */
+    static final class Settings {
+        static final String USAGE = "Usage: HeadlessRunner [--seed <long>] [--ship <name>] [--systems <count>] [--ticks <count>]"
+                + " [--report-interval <ticks>] [--scripted-pilot] [--gc]";
+
+        long seed = 1;
+        String ship = "Imperial Small";
+        int systems = 2;
+        long ticks = 36000;
+        long reportInterval = 600;
+        boolean scriptedPilot;
+        boolean collectGarbage;
+
+        static Settings parse(String[] args) {
+            Settings settings = new Settings();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--seed":
+                        settings.seed = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--ship":
+                        settings.ship = value(args, ++i);
+                        break;
+                    case "--systems":
+                        settings.systems = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--ticks":
+                        settings.ticks = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--report-interval":
+                        settings.reportInterval = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--scripted-pilot":
+                        settings.scriptedPilot = true;
+                        break;
+                    case "--gc":
+                        settings.collectGarbage = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (settings.ticks <= 0 || settings.reportInterval <= 0 || settings.systems <= 0) {
+                throw new IllegalArgumentException("Counts have to be positive");
+            }
+            return settings;
+        }
+
+        private static String value(String[] args, int i) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            }
+            return args[i];
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.headless;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.SolApplication;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.ShipConfig;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.WorldConfig;
+import org.destinationsol.game.replay.InputRecorder;
+import org.destinationsol.game.replay.InputRecording;
+import org.destinationsol.game.replay.ReplayShipControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Replays an input recording made with {@link DebugOptions#RECORD_INPUT} without a window and reports how long every
+ * tick took.
+ * <p>
+ * The world is generated from the recorded seed, with both random generators seeded the way the recording game seeded
+ * them and a display of the recorded viewport ratio, and the recorded control states are fed to the hero tick by tick
+ * through {@link SolGame#update()}. A recorded heavy fight can so be rerun on every build, and the distributions of the
+ * tick times compared. One CSV row with the duration of every tick is printed, followed by the percentiles in the log.
+ * <p>
+ * At every checkpoint of the recording, the position of the hero is compared with the recorded one. The first one that
+ * does not match is warned about, as the tick times after it are no longer those of the recorded game.
+ * <p>
+ * As with {@link HeadlessRunner}, the game is never ended, so that the save files are not touched.
+ */
+public final class ReplayRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRunner.class);
+    private static final String CSV_HEADER = "tick,nanos";
+    private static final String USAGE = "Usage: ReplayRunner [<recording file>]";
+    /**
+     * Distance the hero may be off a checkpoint, in world units.
+     */
+    private static final float CHECKPOINT_TOLERANCE = .01f;
+
+    private final InputRecording recording;
+    private final PrintStream out;
+
+    private ReplayRunner(InputRecording recording, PrintStream out) {
+        this.recording = recording;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        String path = args.length == 1 ? args[0] : InputRecorder.FILE_NAME;
+        InputRecording recording;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(path))) {
+            recording = InputRecording.read(in);
+        } catch (IOException e) {
+            System.err.println("Could not read the recording " + path + ": " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ReplayRunner runner = new ReplayRunner(recording, System.out);
+        int displayHeight = HeadlessRunner.DISPLAY_HEIGHT;
+        int displayWidth = Math.round(displayHeight * recording.getViewportRatio());
+        int exitCode = HeadlessRunner.runHeadless(displayWidth, displayHeight, runner::replay) ? 0 : 1;
+        // The application is not exited normally, as disposing it would save the game
+        System.exit(exitCode);
+    }
+
+    private void replay(SolApplication solApplication) {
+        DebugOptions.RECORD_INPUT = false;
+        logger.info("Replaying {} ticks with seed {}, {} systems and ship '{}'", recording.getTickCount(),
+                recording.getSeed(), recording.getNumberOfSystems(), recording.getShipName());
+        SolRandom.setRandomSeed(recording.getSeed());
+        solApplication.play(recording.getShipName(), new WorldConfig(recording.getSeed(), recording.getNumberOfSystems()));
+        SolGame game = solApplication.getGame();
+        checkShipConfig(game);
+        ReplayShipControl control = new ReplayShipControl(recording);
+        game.getScreens().mainGameScreen.setShipControlOverride(control);
+
+        long[] tickNanos = new long[(int) Math.min(recording.getTickCount(), Integer.MAX_VALUE)];
+        out.println(CSV_HEADER);
+        int tick = 0;
+        int checkpoint = 0;
+        boolean diverged = false;
+        while (tick < tickNanos.length && control.advance()) {
+            if (checkpoint < recording.getCheckpointCount() && recording.getCheckpointTick(checkpoint) == tick) {
+                diverged |= !checkCheckpoint(game, checkpoint++, diverged);
+            }
+            long start = System.nanoTime();
+            game.update();
+            tickNanos[tick] = System.nanoTime() - start;
+            SolMath.checkVectorsTaken(null);
+            out.println(tick + "," + tickNanos[tick]);
+            tick++;
+        }
+        if (!diverged) {
+            logger.info("The hero passed all {} checkpoints of the recording", checkpoint);
+        }
+        report(Arrays.copyOf(tickNanos, tick));
+    }
+
+    /**
+     * Compares the position of the hero with a checkpoint of the recording, warning about it if it is off and the
+     * replay has not diverged before.
+     *
+     * @return true if the hero is where it was when recording
+     */
+    private boolean checkCheckpoint(SolGame game, int checkpoint, boolean diverged) {
+        Vector2 position = game.getHero().getPosition();
+        float distance = position.dst(recording.getCheckpointX(checkpoint), recording.getCheckpointY(checkpoint));
+        if (distance <= CHECKPOINT_TOLERANCE) {
+            return true;
+        }
+        if (!diverged) {
+            logger.warn(String.format(Locale.ROOT, "The replay has diverged at tick %d, the hero is %.3f off the recorded "
+                    + "position", recording.getCheckpointTick(checkpoint), distance));
+        }
+        return false;
+    }
+
+    /**
+     * The ship is loaded by name, so the replay only repeats the recorded game if its config has not changed since.
+     */
+    private void checkShipConfig(SolGame game) {
+        ShipConfig shipConfig = ShipConfig.load(game.getHullConfigManager(), recording.getShipName(), game.getItemMan());
+        if (!shipConfig.getHull().getInternalName().equals(recording.getHullName())
+                || !shipConfig.getItems().equals(recording.getItems()) || shipConfig.getMoney() != recording.getMoney()) {
+            logger.warn("The ship '{}' has changed since it was recorded, the replay will diverge", recording.getShipName());
+        }
+    }
+
+    private void report(long[] tickNanos) {
+        if (tickNanos.length == 0) {
+            logger.info("The recording holds no ticks");
+            return;
+        }
+        long total = 0;
+        for (long nanos : tickNanos) {
+            total += nanos;
+        }
+        Arrays.sort(tickNanos);
+        logger.info(String.format(Locale.ROOT, "Replayed %d ticks, mean %.3f p50 %.3f p95 %.3f p99 %.3f max %.3f ms",
+                tickNanos.length, total / 1e6f / tickNanos.length, percentile(tickNanos, .5f) / 1e6f,
+                percentile(tickNanos, .95f) / 1e6f, percentile(tickNanos, .99f) / 1e6f,
+                tickNanos[tickNanos.length - 1] / 1e6f));
+    }
+
+    /**
+     * Nearest rank percentile of sorted durations.
+     */
+    private static long percentile(long[] sorted, float fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.headless;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.common.SolMath;
+import org.destinationsol.game.Hero;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.planet.Planet;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Flies the hero from planet to planet by moving the beacon, the way a player using mouse control would.
+ * <p>
+ * Visiting planets makes the game generate and drop chunks, spawn and remove enemies and fight, which is what a soak
+ * run needs to exercise. The hero is respawned shortly after dying. The pilot uses its own random generator, so that
+ * it does not change the sequence of {@link org.destinationsol.common.SolRandom} for a given seed.
+ */
+public class ScriptedHeroPilot {
+    private static final float RETARGET_INTERVAL = 30f;
+    private static final float ARRIVAL_DISTANCE = 2f;
+    private static final float RESPAWN_DELAY = 3f;
+
+    private final Random random;
+    private final Vector2 destination;
+    private float nextRetargetTime;
+    private float deathTime = -1;
+
+    public ScriptedHeroPilot(long seed) {
+        random = new Random(seed);
+        destination = new Vector2();
+    }
+
+    /**
+     * Has to be called before every game update.
+     */
+    public void update(SolGame game) {
+        Hero hero = game.getHero();
+        float time = game.getTime();
+        if (hero.isDead()) {
+            if (deathTime < 0) {
+                deathTime = time;
+            } else if (time - deathTime > RESPAWN_DELAY) {
+                deathTime = -1;
+                game.respawn();
+                nextRetargetTime = time;
+            }
+            return;
+        }
+
+        if (time >= nextRetargetTime || hero.getPosition().dst(destination) < ARRIVAL_DISTANCE) {
+            pickDestination(game);
+            game.getBeaconHandler().processMouse(game, destination, true, false);
+            nextRetargetTime = time + RETARGET_INTERVAL;
+        }
+    }
+
+    private void pickDestination(SolGame game) {
+        List<Planet> planets = game.getPlanetManager().getPlanets();
+        Planet planet = planets.get(random.nextInt(planets.size()));
+        // Somewhere in the atmosphere, where most of the planet's ships and enemies are
+        float distance = planet.getGroundHeight() + (planet.getFullHeight() - planet.getGroundHeight()) * (.5f + .5f * random.nextFloat());
+        SolMath.fromAl(destination, random.nextFloat() * 360, distance);
+        destination.add(planet.getPosition());
+    }
+}